@@ -0,0 +1,7 @@
+package org.dbs.sbgb.domain.exception;
+
+public class RenderJobQueueFullException extends RuntimeException {
+    public RenderJobQueueFullException(Throwable cause) {
+        super("Too many render jobs are already queued. Please retry later.", cause);
+    }
+}
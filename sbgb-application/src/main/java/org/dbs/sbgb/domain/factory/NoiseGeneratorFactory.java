@@ -32,11 +32,51 @@ public class NoiseGeneratorFactory {
             int height,
             Interpolation interpolation,
             FadeFunction fadeFunction) {
+        return createNoiseGenerator(parameters, seed, width, height, interpolation, fadeFunction, true);
+    }
+
+    /**
+     * Create a noise generator, optionally without a materialized field.
+     * With {@code materialized = false} the normalization ranges come from streaming scans and every read
+     * re-evaluates the noise: memory no longer grows with the image, values are the same.
+     *
+     * @param materialized true to keep the normalized field in memory, false for strip rendering of large images
+     */
+    public PerlinGenerator createNoiseGenerator(
+            GalaxyParameters parameters,
+            long seed,
+            int width,
+            int height,
+            Interpolation interpolation,
+            FadeFunction fadeFunction,
+            boolean materialized) {
+        return createNoiseGenerator(parameters, seed, width, height, interpolation, fadeFunction, materialized,
+                NoiseNormalization.FULL_SCAN);
+    }
+
+    /**
+     * Create a noise generator whose normalization range is obtained with the given strategy.
+     * An estimated range ({@link NoiseNormalization#STRIDED_SAMPLE}, {@link NoiseNormalization#ANALYTIC_BOUNDS})
+     * avoids the full pre-scan, so a strip render can start with its first band.
+     *
+     * @param normalization how the normalization range is obtained
+     */
+    public PerlinGenerator createNoiseGenerator(
+            GalaxyParameters parameters,
+            long seed,
+            int width,
+            int height,
+            Interpolation interpolation,
+            FadeFunction fadeFunction,
+            boolean materialized,
+            NoiseNormalization normalization) {
 
         if (parameters.getMultiLayerNoiseParameters() != null && parameters.getMultiLayerNoiseParameters().isEnabled()) {
-            return createMultiLayerNoise(parameters, seed, width, height, interpolation, fadeFunction);
+            return createMultiLayerNoise(parameters, seed, width, height, interpolation, fadeFunction, materialized,
+                    normalization);
         } else {
-            return createSingleLayerNoise(parameters, seed, width, height, interpolation, fadeFunction);
+            return createSingleLayerNoise(parameters, seed, width, height, interpolation, fadeFunction, materialized,
+                    normalization);
         }
     }
 
@@ -46,7 +86,9 @@ public class NoiseGeneratorFactory {
             int width,
             int height,
             Interpolation interpolation,
-            FadeFunction fadeFunction) {
+            FadeFunction fadeFunction,
+            boolean materialized,
+            NoiseNormalization normalization) {
 
         log.debug("Creating multi-layer noise generator with seed={}", seed);
 
@@ -63,6 +105,8 @@ public class NoiseGeneratorFactory {
                 .mesoWeight(parameters.getMultiLayerNoiseParameters().getMesoLayerWeight())
                 .microScale(parameters.getMultiLayerNoiseParameters().getMicroLayerScale())
                 .microWeight(parameters.getMultiLayerNoiseParameters().getMicroLayerWeight())
+                .materialized(materialized)
+                .normalization(normalization)
                 .build();
 
         multiLayerNoise.initialize();
@@ -76,11 +120,14 @@ public class NoiseGeneratorFactory {
             int width,
             int height,
             Interpolation interpolation,
-            FadeFunction fadeFunction) {
+            FadeFunction fadeFunction,
+            boolean materialized,
+            NoiseNormalization normalization) {
 
         log.debug("Creating single-layer Perlin noise with seed={}", seed);
 
-        PerlinGenerator noiseGenerator = new PerlinGenerator(interpolation, fadeFunction);
+        PerlinGenerator noiseGenerator = new PerlinGenerator(interpolation, fadeFunction, NoiseEngine.JNOISE,
+                normalization);
         noiseGenerator.createNoisePipeline(
                 seed,
                 width,
@@ -90,7 +137,11 @@ public class NoiseGeneratorFactory {
                 parameters.getNoiseTextureParameters().getLacunarity(),
                 parameters.getNoiseTextureParameters().getScale(),
                 NoiseType.FBM);
-        noiseGenerator.performNormalization();
+        if (materialized) {
+            noiseGenerator.performNormalization();
+        } else {
+            noiseGenerator.computeNormalizationRange();
+        }
 
         return noiseGenerator;
     }
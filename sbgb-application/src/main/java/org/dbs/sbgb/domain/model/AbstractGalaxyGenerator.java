@@ -4,7 +4,9 @@ import org.dbs.sbgb.domain.model.parameters.CoreParameters;
 
 /**
  * Shared base class for all galaxy intensity generators.
- * Provides common geometric calculations (distances, normalization).
+ * Provides common geometric calculations (distances, normalization) backed by a
+ * {@link PixelGeometryTable} shared by every generator of the same image size, so the
+ * per-pixel methods neither allocate nor call {@code sqrt}.
  */
 public abstract class AbstractGalaxyGenerator implements GalaxyIntensityCalculator {
 
@@ -14,6 +16,8 @@ public abstract class AbstractGalaxyGenerator implements GalaxyIntensityCalculat
     protected final double centerY;
     protected final PerlinGenerator noiseGenerator;
     protected final CoreParameters coreParameters;
+    protected final PixelGeometryTable geometry;
+    private final double inverseGalaxyRadius;
 
     protected AbstractGalaxyGenerator(int width, int height, PerlinGenerator noiseGenerator,
             CoreParameters coreParameters) {
@@ -23,39 +27,26 @@ public abstract class AbstractGalaxyGenerator implements GalaxyIntensityCalculat
         this.centerY = height / 2.0;
         this.noiseGenerator = noiseGenerator;
         this.coreParameters = coreParameters;
+        this.geometry = PixelGeometryTable.forSize(width, height);
+        this.inverseGalaxyRadius = 1.0 / coreParameters.getGalaxyRadius();
+    }
+
+    @Override
+    public void prepare(TileRenderEngine tileRenderEngine) {
+        geometry.prepareRadius(tileRenderEngine);
     }
 
     /**
-     * Common geometric data calculated for each pixel.
+     * Distance of the pixel to the galaxy center, read from the shared geometry table.
      */
-    protected static class PixelGeometry {
-        public final double dx;
-        public final double dy;
-        public final double distance;
-        public final double normalizedDistance;
-
-        public PixelGeometry(double dx, double dy, double distance, double normalizedDistance) {
-            this.dx = dx;
-            this.dy = dy;
-            this.distance = distance;
-            this.normalizedDistance = normalizedDistance;
-        }
+    protected double distance(int x, int y) {
+        return geometry.radius(x, y);
     }
 
     /**
-     * Calculates the shared geometry (distances) for a given pixel.
-     * Retuns null if the pixel is outside the galaxy radius.
+     * Distance normalized by the galaxy radius; values above 1.0 are outside the galaxy.
      */
-    protected PixelGeometry calculateGeometry(int x, int y) {
-        double dx = x - centerX;
-        double dy = y - centerY;
-        double distance = Math.sqrt(dx * dx + dy * dy);
-        double normalizedDistance = distance / coreParameters.getGalaxyRadius();
-
-        if (normalizedDistance > 1.0) {
-            return null; // Outside the galaxy
-        }
-
-        return new PixelGeometry(dx, dy, distance, normalizedDistance);
+    protected double normalizedDistance(double distance) {
+        return distance * inverseGalaxyRadius;
     }
 }
@@ -0,0 +1,99 @@
+package org.dbs.sbgb.domain.model;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+
+/**
+ * Image backed by a row-major packed {@code int[]} shared with a {@link BufferedImage}.
+ * Pixel loops read and write {@link #pixels()} directly instead of going through
+ * {@code getRGB}/{@code setRGB}, which convert through the color model on every call.
+ * The same array is visible through {@link #toBufferedImage()} without any copy.
+ */
+public final class ArgbImageBuffer {
+
+    private final BufferedImage image;
+    private final int[] pixels;
+    private final int width;
+    private final int height;
+
+    private ArgbImageBuffer(BufferedImage image) {
+        this.image = image;
+        this.pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        this.width = image.getWidth();
+        this.height = image.getHeight();
+    }
+
+    /**
+     * Empty buffer with an alpha channel ({@link BufferedImage#TYPE_INT_ARGB}).
+     */
+    public static ArgbImageBuffer create(int width, int height) {
+        return new ArgbImageBuffer(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+    }
+
+    /**
+     * Empty opaque buffer ({@link BufferedImage#TYPE_INT_RGB}); the alpha byte of each pixel is ignored.
+     */
+    public static ArgbImageBuffer createOpaque(int width, int height) {
+        return new ArgbImageBuffer(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB));
+    }
+
+    /**
+     * Shares the pixels of an int-packed image, or copies any other image into a new ARGB buffer.
+     * Pixels of a wrapped {@link BufferedImage#TYPE_INT_RGB} image have a zero alpha byte.
+     * Sub-images and other offset or strided rasters are copied, since their array is not row-major from 0.
+     */
+    public static ArgbImageBuffer wrap(BufferedImage image) {
+        if (isDenseIntPacked(image)) {
+            return new ArgbImageBuffer(image);
+        }
+        ArgbImageBuffer copy = create(image.getWidth(), image.getHeight());
+        image.getRGB(0, 0, copy.width, copy.height, copy.pixels, 0, copy.width);
+        return copy;
+    }
+
+    private static boolean isDenseIntPacked(BufferedImage image) {
+        if (image.getType() != BufferedImage.TYPE_INT_ARGB && image.getType() != BufferedImage.TYPE_INT_RGB) {
+            return false;
+        }
+        WritableRaster raster = image.getRaster();
+        if (!(raster.getDataBuffer() instanceof DataBufferInt dataBuffer)
+                || !(raster.getSampleModel() instanceof SinglePixelPackedSampleModel sampleModel)) {
+            return false;
+        }
+        return dataBuffer.getNumBanks() == 1
+                && dataBuffer.getOffset() == 0
+                && raster.getSampleModelTranslateX() == 0
+                && raster.getSampleModelTranslateY() == 0
+                && sampleModel.getScanlineStride() == image.getWidth()
+                && dataBuffer.getSize() == image.getWidth() * image.getHeight();
+    }
+
+    public int[] pixels() {
+        return pixels;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public int get(int x, int y) {
+        return pixels[y * width + x];
+    }
+
+    public void set(int x, int y, int argb) {
+        pixels[y * width + x] = argb;
+    }
+
+    /**
+     * Image view over the same pixels, used for serialization and Java2D operations.
+     */
+    public BufferedImage toBufferedImage() {
+        return image;
+    }
+}
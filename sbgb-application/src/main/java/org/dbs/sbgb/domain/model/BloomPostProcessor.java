@@ -4,21 +4,26 @@ import lombok.Builder;
 import lombok.extern.slf4j.Slf4j;
 
 import java.awt.image.BufferedImage;
-import java.awt.image.ConvolveOp;
-import java.awt.image.Kernel;
+import java.util.stream.IntStream;
 
 /**
  * Post-processor that applies a bloom/glow effect to bright regions of the image.
  * 
  * Algorithm:
- * 1. Extract bright pixels above threshold
- * 2. Apply Gaussian blur to create bloom mask
- * 3. Composite bloom mask additively onto original image
+ * 1. Extract bright pixels above threshold, averaged down to a lower resolution for large radii
+ * 2. Apply a separable Gaussian blur (horizontal then vertical 1D passes) to create the bloom mask
+ * 3. Upsample the bloom mask bilinearly and composite it additively onto the original image
+ *
+ * Every step works on int/float buffers and is parallelized by rows.
  */
 @Slf4j
 @Builder
 public class BloomPostProcessor {
 
+    /** Smallest blur radius kept at the reduced resolution before downsampling stops. */
+    private static final int MIN_DOWNSAMPLED_RADIUS = 4;
+    private static final int MAX_DOWNSAMPLE_FACTOR = 8;
+
     @Builder.Default
     private final int bloomRadius = 10;
     
@@ -39,122 +44,219 @@ public class BloomPostProcessor {
             return source;
         }
 
-        log.info("Applying bloom: radius={}, intensity={}, threshold={}", bloomRadius, bloomIntensity, bloomThreshold);
+        log.debug("Applying bloom: radius={}, intensity={}, threshold={}", bloomRadius, bloomIntensity, bloomThreshold);
 
         int width = source.getWidth();
         int height = source.getHeight();
+        int[] sourcePixels = ArgbImageBuffer.wrap(source).pixels();
 
-        // Step 1: Extract bright pixels above threshold
-        BufferedImage brightMask = extractBrightPixels(source, bloomThreshold);
+        int factor = downsampleFactor(bloomRadius);
+        int lowWidth = (width + factor - 1) / factor;
+        int lowHeight = (height + factor - 1) / factor;
 
-        // Step 2: Apply Gaussian blur to create bloom effect
-        BufferedImage blurred = applyGaussianBlur(brightMask, bloomRadius);
+        // Step 1: Extract bright pixels above threshold, at reduced resolution
+        float[] bloom = extractBrightPixels(sourcePixels, width, height, factor, lowWidth, lowHeight);
 
-        // Step 3: Composite bloom onto original image
-        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                int originalRGB = source.getRGB(x, y);
-                int bloomRGB = blurred.getRGB(x, y);
+        // Step 2: Apply separable Gaussian blur to create bloom effect
+        if (bloomRadius >= 1) {
+            bloom = applyGaussianBlur(bloom, lowWidth, lowHeight, factor);
+        }
 
-                int origR = (originalRGB >> 16) & 0xFF;
-                int origG = (originalRGB >> 8) & 0xFF;
-                int origB = originalRGB & 0xFF;
+        // Step 3: Composite upsampled bloom onto original image
+        return composite(sourcePixels, width, height, bloom, lowWidth, lowHeight, factor);
+    }
 
-                int bloomR = (bloomRGB >> 16) & 0xFF;
-                int bloomG = (bloomRGB >> 8) & 0xFF;
-                int bloomB = bloomRGB & 0xFF;
+    /**
+     * Rows needed on each side of a band for its bloom to match the whole-image bloom: the blur reach at
+     * the reduced resolution plus the bilinear upsampling footprint, in full-resolution rows.
+     * The band must also start on a multiple of {@link #bandAlignment()} rows so its reduced blocks are the
+     * whole image's blocks.
+     */
+    public int bandOverlap() {
+        int factor = downsampleFactor(bloomRadius);
+        return (kernelRadius(factor) + 3) * factor;
+    }
 
-                // Additive blending with intensity control
-                int finalR = clamp((int) (origR + bloomR * bloomIntensity));
-                int finalG = clamp((int) (origG + bloomG * bloomIntensity));
-                int finalB = clamp((int) (origB + bloomB * bloomIntensity));
+    /** Row alignment of bands, the side of a reduced-resolution block. */
+    public int bandAlignment() {
+        return downsampleFactor(bloomRadius);
+    }
 
-                int finalRGB = (finalR << 16) | (finalG << 8) | finalB;
-                result.setRGB(x, y, finalRGB);
-            }
+    /**
+     * Downsampling factor (power of two) keeping at least {@link #MIN_DOWNSAMPLED_RADIUS} pixels of blur radius.
+     */
+    static int downsampleFactor(int radius) {
+        int factor = 1;
+        while (factor < MAX_DOWNSAMPLE_FACTOR && radius / (factor * 2) >= MIN_DOWNSAMPLED_RADIUS) {
+            factor *= 2;
         }
-
-        return result;
+        return factor;
     }
 
     /**
-     * Extract pixels that are brighter than the threshold.
+     * Extract pixels that are brighter than the threshold, averaging each factor x factor block.
+     * Returns interleaved RGB channels at the reduced resolution.
      */
-    private BufferedImage extractBrightPixels(BufferedImage source, double threshold) {
-        int width = source.getWidth();
-        int height = source.getHeight();
-        BufferedImage mask = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    private float[] extractBrightPixels(int[] source, int width, int height, int factor, int lowWidth, int lowHeight) {
+        float[] mask = new float[lowWidth * lowHeight * 3];
+        int thresholdValue = (int) (bloomThreshold * 255);
 
-        int thresholdValue = (int) (threshold * 255);
+        IntStream.range(0, lowHeight).parallel().forEach(ly -> {
+            int yStart = ly * factor;
+            int yEnd = Math.min(yStart + factor, height);
+            for (int lx = 0; lx < lowWidth; lx++) {
+                int xStart = lx * factor;
+                int xEnd = Math.min(xStart + factor, width);
+                int sumR = 0;
+                int sumG = 0;
+                int sumB = 0;
+                for (int y = yStart; y < yEnd; y++) {
+                    int offset = y * width;
+                    for (int x = xStart; x < xEnd; x++) {
+                        int rgb = source[offset + x];
+                        int r = (rgb >> 16) & 0xFF;
+                        int g = (rgb >> 8) & 0xFF;
+                        int b = rgb & 0xFF;
 
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                int rgb = source.getRGB(x, y);
-                int r = (rgb >> 16) & 0xFF;
-                int g = (rgb >> 8) & 0xFF;
-                int b = rgb & 0xFF;
-
-                // Check if pixel intensity is above threshold
-                int intensity = (r + g + b) / 3;
-                if (intensity > thresholdValue) {
-                    mask.setRGB(x, y, rgb);
-                } else {
-                    mask.setRGB(x, y, 0);  // Black
+                        // Check if pixel intensity is above threshold
+                        if ((r + g + b) / 3 > thresholdValue) {
+                            sumR += r;
+                            sumG += g;
+                            sumB += b;
+                        }
+                    }
                 }
+                float count = (float) ((yEnd - yStart) * (xEnd - xStart));
+                int index = (ly * lowWidth + lx) * 3;
+                mask[index] = sumR / count;
+                mask[index + 1] = sumG / count;
+                mask[index + 2] = sumB / count;
             }
-        }
+        });
 
         return mask;
     }
 
     /**
-     * Apply Gaussian blur using ConvolveOp.
+     * Separable Gaussian blur: one horizontal and one vertical 1D pass, edges clamped.
      */
-    private BufferedImage applyGaussianBlur(BufferedImage source, int radius) {
-        if (radius < 1) {
-            return source;
+    private float[] applyGaussianBlur(float[] source, int width, int height, int factor) {
+        int kernelRadius = kernelRadius(factor);
+        // Same standard deviation as the full resolution (2r+1)^2 kernel, scaled to the reduced resolution
+        double sigma = (bloomRadius * 2 + 1) / 3.0 / factor;
+        float[] kernel = createGaussianKernel(kernelRadius, sigma);
+
+        float[] horizontal = new float[source.length];
+        IntStream.range(0, height).parallel().forEach(y -> {
+            int row = y * width;
+            for (int x = 0; x < width; x++) {
+                float r = 0f;
+                float g = 0f;
+                float b = 0f;
+                for (int k = -kernelRadius; k <= kernelRadius; k++) {
+                    int index = (row + Math.clamp(x + k, 0, width - 1)) * 3;
+                    float weight = kernel[k + kernelRadius];
+                    r += source[index] * weight;
+                    g += source[index + 1] * weight;
+                    b += source[index + 2] * weight;
+                }
+                int index = (row + x) * 3;
+                horizontal[index] = r;
+                horizontal[index + 1] = g;
+                horizontal[index + 2] = b;
+            }
+        });
+
+        float[] blurred = new float[source.length];
+        int rowLength = width * 3;
+        IntStream.range(0, height).parallel().forEach(y -> {
+            int target = y * rowLength;
+            for (int k = -kernelRadius; k <= kernelRadius; k++) {
+                int sourceRow = Math.clamp(y + k, 0, height - 1) * rowLength;
+                float weight = kernel[k + kernelRadius];
+                for (int i = 0; i < rowLength; i++) {
+                    blurred[target + i] += horizontal[sourceRow + i] * weight;
+                }
+            }
+        });
+
+        return blurred;
+    }
+
+    /**
+     * Additive blending of the bilinearly upsampled bloom with intensity control.
+     */
+    private BufferedImage composite(int[] source, int width, int height,
+                                    float[] bloom, int lowWidth, int lowHeight, int factor) {
+        ArgbImageBuffer result = ArgbImageBuffer.createOpaque(width, height);
+        int[] resultPixels = result.pixels();
+
+        // Horizontal sampling positions are shared by every row
+        int[] x0 = new int[width];
+        int[] x1 = new int[width];
+        float[] fx = new float[width];
+        for (int x = 0; x < width; x++) {
+            float lx = Math.clamp((x + 0.5f) / factor - 0.5f, 0f, lowWidth - 1f);
+            x0[x] = (int) lx;
+            x1[x] = Math.min(x0[x] + 1, lowWidth - 1);
+            fx[x] = lx - x0[x];
         }
 
-        // Create Gaussian kernel
-        int kernelSize = radius * 2 + 1;
-        float[] kernelData = createGaussianKernel(kernelSize);
-        Kernel kernel = new Kernel(kernelSize, kernelSize, kernelData);
-
-        ConvolveOp convolve = new ConvolveOp(kernel, ConvolveOp.EDGE_NO_OP, null);
-        
-        // ConvolveOp requires a destination image
-        BufferedImage dest = new BufferedImage(source.getWidth(), source.getHeight(), source.getType());
-        convolve.filter(source, dest);
-        
-        return dest;
+        float intensity = (float) bloomIntensity;
+        IntStream.range(0, height).parallel().forEach(y -> {
+            float ly = Math.clamp((y + 0.5f) / factor - 0.5f, 0f, lowHeight - 1f);
+            int top = (int) ly * lowWidth;
+            int bottom = Math.min((int) ly + 1, lowHeight - 1) * lowWidth;
+            float fy = ly - (int) ly;
+            int offset = y * width;
+
+            for (int x = 0; x < width; x++) {
+                int originalRGB = source[offset + x];
+                int i00 = (top + x0[x]) * 3;
+                int i01 = (top + x1[x]) * 3;
+                int i10 = (bottom + x0[x]) * 3;
+                int i11 = (bottom + x1[x]) * 3;
+                float w00 = (1 - fx[x]) * (1 - fy);
+                float w01 = fx[x] * (1 - fy);
+                float w10 = (1 - fx[x]) * fy;
+                float w11 = fx[x] * fy;
+
+                float bloomR = bloom[i00] * w00 + bloom[i01] * w01 + bloom[i10] * w10 + bloom[i11] * w11;
+                float bloomG = bloom[i00 + 1] * w00 + bloom[i01 + 1] * w01 + bloom[i10 + 1] * w10 + bloom[i11 + 1] * w11;
+                float bloomB = bloom[i00 + 2] * w00 + bloom[i01 + 2] * w01 + bloom[i10 + 2] * w10 + bloom[i11 + 2] * w11;
+
+                int finalR = clamp((int) (((originalRGB >> 16) & 0xFF) + bloomR * intensity));
+                int finalG = clamp((int) (((originalRGB >> 8) & 0xFF) + bloomG * intensity));
+                int finalB = clamp((int) ((originalRGB & 0xFF) + bloomB * intensity));
+
+                resultPixels[offset + x] = (finalR << 16) | (finalG << 8) | finalB;
+            }
+        });
+
+        return result.toBufferedImage();
+    }
+
+    private int kernelRadius(int factor) {
+        return Math.max(1, Math.round((float) bloomRadius / factor));
     }
 
     /**
-     * Create 2D Gaussian kernel for blur.
+     * Create normalized 1D Gaussian kernel for blur.
      */
-    private float[] createGaussianKernel(int size) {
-        float[] kernel = new float[size * size];
-        double sigma = size / 3.0;  // Standard deviation
+    private float[] createGaussianKernel(int radius, double sigma) {
+        float[] kernel = new float[radius * 2 + 1];
         double twoSigmaSquare = 2.0 * sigma * sigma;
-        double sigmaRoot = Math.sqrt(twoSigmaSquare * Math.PI);
         double total = 0.0;
-        int center = size / 2;
-
-        for (int y = 0; y < size; y++) {
-            for (int x = 0; x < size; x++) {
-                int dx = x - center;
-                int dy = y - center;
-                double distance = dx * dx + dy * dy;
-                double value = Math.exp(-distance / twoSigmaSquare) / sigmaRoot;
-                kernel[y * size + x] = (float) value;
-                total += value;
-            }
+
+        for (int i = -radius; i <= radius; i++) {
+            double value = Math.exp(-(i * i) / twoSigmaSquare);
+            kernel[i + radius] = (float) value;
+            total += value;
         }
 
         // Normalize kernel
         for (int i = 0; i < kernel.length; i++) {
-            kernel[i] /= total;
+            kernel[i] /= (float) total;
         }
 
         return kernel;
@@ -0,0 +1,54 @@
+package org.dbs.sbgb.domain.model;
+
+import java.util.function.DoubleToIntFunction;
+
+/**
+ * Quantized color table for calculators that depend on a single scalar in [0, 1].
+ * The analytic color function is sampled once at construction time; a lookup then
+ * costs a clamp, a multiplication and an array read.
+ */
+public final class ColorLookupTable {
+
+    /** Number of intervals between 0 and 1; stops at multiples of 1/4096 are sampled exactly. */
+    public static final int DEFAULT_RESOLUTION = 4096;
+
+    private final int[] entries;
+    private final int resolution;
+
+    private ColorLookupTable(int[] entries, int resolution) {
+        this.entries = entries;
+        this.resolution = resolution;
+    }
+
+    /**
+     * Sample the given function on {@code resolution + 1} evenly spaced points of [0, 1].
+     * @param resolution number of intervals, must be strictly positive
+     * @param colorAt analytic packed ARGB color for a value in [0, 1]
+     */
+    public static ColorLookupTable bake(int resolution, DoubleToIntFunction colorAt) {
+        if (resolution < 1) {
+            throw new IllegalArgumentException("Resolution must be strictly positive, got: " + resolution);
+        }
+        int[] entries = new int[resolution + 1];
+        for (int i = 0; i <= resolution; i++) {
+            entries[i] = colorAt.applyAsInt((double) i / resolution);
+        }
+        return new ColorLookupTable(entries, resolution);
+    }
+
+    public static ColorLookupTable bake(DoubleToIntFunction colorAt) {
+        return bake(DEFAULT_RESOLUTION, colorAt);
+    }
+
+    /**
+     * Packed ARGB color of the nearest sample; values outside [0, 1] are clamped.
+     */
+    public int lookup(double value) {
+        int index = (int) (Math.clamp(value, 0.0, 1.0) * resolution + 0.5);
+        return entries[index];
+    }
+
+    public int getResolution() {
+        return resolution;
+    }
+}
@@ -0,0 +1,125 @@
+package org.dbs.sbgb.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Clé de contenu sur 128 bits : SHA-256 tronqué d'un encodage binaire canonique des paramètres.
+ * Identifie une base structurelle ou un rendu cosmétique, en base (colonne indexée) comme dans les caches.
+ * L'encodage est typé (taille fixe pour les nombres, longueur préfixée pour les chaînes, marqueur de null)
+ * et préfixé par un espace de noms : deux jeux de paramètres différents ne produisent pas la même suite d'octets.
+ * Sa représentation textuelle est l'hexadécimal sur 32 caractères.
+ */
+public record ContentKey(long high, long low) {
+
+    public static final int HEX_LENGTH = 32;
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    /** Démarre l'encodage d'une clé dans l'espace de noms donné (ex. {@code "galaxy-base/v1"}). */
+    public static Encoder encoder(String namespace) {
+        return new Encoder().putString(namespace);
+    }
+
+    public static ContentKey fromHex(String hex) {
+        if (hex == null || hex.length() != HEX_LENGTH) {
+            throw new IllegalArgumentException("Content key must be " + HEX_LENGTH + " hex characters, got: " + hex);
+        }
+        return new ContentKey(HexFormat.fromHexDigitsToLong(hex, 0, 16), HexFormat.fromHexDigitsToLong(hex, 16, 32));
+    }
+
+    public String toHex() {
+        return HEX.toHexDigits(high) + HEX.toHexDigits(low);
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+
+    /**
+     * Encodeur canonique : chaque appel ajoute la valeur au condensé, dans l'ordre des appels.
+     * Les doubles sont encodés par {@link Double#doubleToLongBits(double)} (NaN canonique, -0.0 ramené à 0.0).
+     */
+    public static final class Encoder {
+
+        private static final byte NULL = 0;
+        private static final byte PRESENT = 1;
+
+        private final MessageDigest digest;
+        private final byte[] buffer = new byte[Long.BYTES];
+
+        private Encoder() {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        public Encoder putInt(int value) {
+            for (int i = 0; i < Integer.BYTES; i++) {
+                buffer[i] = (byte) (value >>> (24 - 8 * i));
+            }
+            digest.update(buffer, 0, Integer.BYTES);
+            return this;
+        }
+
+        public Encoder putLong(long value) {
+            for (int i = 0; i < Long.BYTES; i++) {
+                buffer[i] = (byte) (value >>> (56 - 8 * i));
+            }
+            digest.update(buffer, 0, Long.BYTES);
+            return this;
+        }
+
+        public Encoder putDouble(double value) {
+            return putLong(value == 0.0 ? 0L : Double.doubleToLongBits(value));
+        }
+
+        public Encoder putBoolean(boolean value) {
+            digest.update(value ? PRESENT : NULL);
+            return this;
+        }
+
+        public Encoder putNullableInt(Integer value) {
+            digest.update(value == null ? NULL : PRESENT);
+            return value == null ? this : putInt(value.intValue());
+        }
+
+        public Encoder putNullableDouble(Double value) {
+            digest.update(value == null ? NULL : PRESENT);
+            return value == null ? this : putDouble(value.doubleValue());
+        }
+
+        public Encoder putString(String value) {
+            digest.update(value == null ? NULL : PRESENT);
+            if (value != null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                putInt(bytes.length);
+                digest.update(bytes);
+            }
+            return this;
+        }
+
+        /** Ajoute une clé existante, pour dériver la clé d'un résultat qui dépend de plusieurs clés. */
+        public Encoder putKey(ContentKey key) {
+            return putLong(key.high()).putLong(key.low());
+        }
+
+        public ContentKey build() {
+            byte[] hash = digest.digest();
+            return new ContentKey(readLong(hash, 0), readLong(hash, Long.BYTES));
+        }
+
+        private static long readLong(byte[] bytes, int offset) {
+            long value = 0L;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = (value << 8) | (bytes[offset + i] & 0xFFL);
+            }
+            return value;
+        }
+    }
+}
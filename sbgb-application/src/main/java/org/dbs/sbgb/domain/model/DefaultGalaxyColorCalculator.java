@@ -28,9 +28,9 @@ public class DefaultGalaxyColorCalculator implements GalaxyColorCalculator {
     }
 
     @Override
-    public Color calculateGalaxyColor(double intensity) {
+    public int calculateGalaxyArgb(double intensity) {
         if (intensity < 0.01) {
-            return spaceBackground;
+            return spaceBackground.getRGB();
         }
 
         // Core region: very bright warm colors (intensity > 0.7)
@@ -56,9 +56,9 @@ public class DefaultGalaxyColorCalculator implements GalaxyColorCalculator {
     }
 
     /**
-     * Blend two colors with smooth interpolation
+     * Blend two colors with smooth interpolation, result is packed and opaque
      */
-    private Color blendColors(Color color1, Color color2, double blend) {
+    private int blendColors(Color color1, Color color2, double blend) {
         // Apply smoothstep for more natural color transitions
         blend = smoothstep(Math.clamp(blend, 0.0, 1.0));
 
@@ -66,7 +66,7 @@ public class DefaultGalaxyColorCalculator implements GalaxyColorCalculator {
         int g = (int) (color1.getGreen() * (1 - blend) + color2.getGreen() * blend);
         int b = (int) (color1.getBlue() * (1 - blend) + color2.getBlue() * blend);
 
-        return new Color(
+        return PackedArgb.opaque(
             Math.clamp(r, 0, 255),
             Math.clamp(g, 0, 255),
             Math.clamp(b, 0, 255)
@@ -12,6 +12,12 @@ public class DefaultNoiseColorCalculator implements NoiseColorCalculator {
     private final Color hightColor;
     private final InterpolationType interpolationType;
     private final boolean transparentBackground;
+    private final int backgroundArgb;
+    private final int lowerMidArgb;
+    private final int mediumArgb;
+    private final int hightArgb;
+    private final ColorLookupTable lowerTransitionTable;
+    private final ColorLookupTable upperTransitionTable;
 
     public DefaultNoiseColorCalculator(Color backgroundColor, Color mediumColor, Color hightColor, double seuilBackground, double seuilMidcolor, InterpolationType interpolationType, boolean transparentBackground) {
         this.seuilBackground = seuilBackground;
@@ -21,6 +27,14 @@ public class DefaultNoiseColorCalculator implements NoiseColorCalculator {
         this.hightColor = hightColor;
         this.interpolationType = interpolationType;
         this.transparentBackground = transparentBackground;
+        // Couleurs pré-encodées : le chemin par pixel reste sans allocation
+        this.backgroundArgb = getBackGroundColor().getRGB();
+        this.lowerMidArgb = transparentBackground ? backgroundColor.getRGB() & 0x00FFFFFF : backgroundColor.getRGB();
+        this.mediumArgb = mediumColor.getRGB();
+        this.hightArgb = hightColor.getRGB();
+        // Une table par transition : les seuils restent comparés exactement, seule la courbe est quantifiée
+        this.lowerTransitionTable = ColorLookupTable.bake(t -> calculateIntermediateColor(t, lowerMidArgb, mediumArgb));
+        this.upperTransitionTable = ColorLookupTable.bake(t -> calculateIntermediateColor(t, mediumArgb, hightArgb));
     }
 
     public DefaultNoiseColorCalculator(Color backgroundColor, Color mediumColor, Color hightColor, double seuilBackground, double seuilMidcolor, InterpolationType interpolationType) {
@@ -28,16 +42,28 @@ public class DefaultNoiseColorCalculator implements NoiseColorCalculator {
     }
 
     @Override
-    public Color calculateNoiseColor(double noiseVal) {
+    public int calculateNoiseArgb(double noiseVal) {
         if (noiseVal < seuilBackground) {
-            return transparentBackground ? TRANSPARENT : backgroundColor;
+            return backgroundArgb;
+        } else if (noiseVal < 0.0 || noiseVal > 1.0) {
+            return calculateAnalyticArgb(noiseVal);
         } else if (noiseVal < seuilMidcolor) {
-            Color effectiveBg = transparentBackground
-                    ? new Color(backgroundColor.getRed(), backgroundColor.getGreen(), backgroundColor.getBlue(), 0)
-                    : backgroundColor;
-            return calculateIntermediateColor(noiseVal, effectiveBg, mediumColor);
+            return lowerTransitionTable.lookup(noiseVal);
         } else {
-            return calculateIntermediateColor(noiseVal, mediumColor, hightColor);
+            return upperTransitionTable.lookup(noiseVal);
+        }
+    }
+
+    /**
+     * Calcul exact de la couleur, échantillonné une fois dans les tables de transition.
+     */
+    int calculateAnalyticArgb(double noiseVal) {
+        if (noiseVal < seuilBackground) {
+            return backgroundArgb;
+        } else if (noiseVal < seuilMidcolor) {
+            return calculateIntermediateColor(noiseVal, lowerMidArgb, mediumArgb);
+        } else {
+            return calculateIntermediateColor(noiseVal, mediumArgb, hightArgb);
         }
 
     }
@@ -47,17 +73,17 @@ public class DefaultNoiseColorCalculator implements NoiseColorCalculator {
         return transparentBackground ? TRANSPARENT : backgroundColor;
     }
 
-    private Color calculateIntermediateColor(double noiseVal, Color lowerBound, Color upperBound) {
-        int newRed = calculateIntermediateColorComponent(noiseVal, lowerBound.getRed(), upperBound.getRed());
-        int newGreen = calculateIntermediateColorComponent(noiseVal, lowerBound.getGreen(), upperBound.getGreen());
-        int newBlue = calculateIntermediateColorComponent(noiseVal, lowerBound.getBlue(), upperBound.getBlue());
-        int newAlpha = calculateIntermediateColorComponent(noiseVal, lowerBound.getAlpha(), upperBound.getAlpha());
+    private int calculateIntermediateColor(double noiseVal, int lowerBound, int upperBound) {
+        double interpolatedValue = applyInterpolation(noiseVal);
+        int newRed = calculateIntermediateColorComponent(interpolatedValue, PackedArgb.red(lowerBound), PackedArgb.red(upperBound));
+        int newGreen = calculateIntermediateColorComponent(interpolatedValue, PackedArgb.green(lowerBound), PackedArgb.green(upperBound));
+        int newBlue = calculateIntermediateColorComponent(interpolatedValue, PackedArgb.blue(lowerBound), PackedArgb.blue(upperBound));
+        int newAlpha = calculateIntermediateColorComponent(interpolatedValue, PackedArgb.alpha(lowerBound), PackedArgb.alpha(upperBound));
 
-        return new Color(newRed, newGreen, newBlue, newAlpha);
+        return PackedArgb.pack(newAlpha, newRed, newGreen, newBlue);
     }
 
-    private int calculateIntermediateColorComponent(double noiseVal, int lowerBoundComponent, int upperBoundComponent) {
-        double interpolatedValue = applyInterpolation(noiseVal);
+    private int calculateIntermediateColorComponent(double interpolatedValue, int lowerBoundComponent, int upperBoundComponent) {
         double newValue = ((1 - interpolatedValue) * lowerBoundComponent + interpolatedValue * upperBoundComponent);
         return Math.clamp((int) newValue, 0, 255);
     }
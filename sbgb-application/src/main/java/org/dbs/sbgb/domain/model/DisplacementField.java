@@ -0,0 +1,184 @@
+package org.dbs.sbgb.domain.model;
+
+import de.articdive.jnoise.core.api.functions.Interpolation;
+import de.articdive.jnoise.generators.noise_parameters.fade_functions.FadeFunction;
+
+/**
+ * Cartes de déplacement X/Y du domain warp : deux grilles de bruit normalisées dans [0, 1], centrées à 0.5.
+ * Elles ne dépendent que de la graine et de la taille, pas de la force du warp : une même paire sert
+ * toutes les forces et peut être mise en cache. Le déplacement d'un pixel vaut
+ * {@code (valeur - 0.5) * force} sur chaque axe.
+ */
+public record DisplacementField(NormalizedNoiseGrid dx, NormalizedNoiseGrid dy) {
+
+    static final long X_SEED_OFFSET = 12345;
+    static final long Y_SEED_OFFSET = 67890;
+
+    private static final int MAP_OCTAVES = 4;
+    private static final double MAP_PERSISTENCE = 0.5;
+    private static final double MAP_LACUNARITY = 2.0;
+    private static final double MAP_SCALE = 100.0;
+
+    public DisplacementField {
+        if (dx.width() != dy.width() || dx.height() != dy.height()) {
+            throw new IllegalArgumentException("Displacement maps size mismatch: "
+                    + dx.width() + "x" + dx.height() + " vs " + dy.width() + "x" + dy.height());
+        }
+    }
+
+    /**
+     * Calcule les deux cartes une seule fois, chacune évaluée ligne par ligne en parallèle
+     * (fBm 4 octaves, grandes structures, graines décalées pour X et Y).
+     */
+    public static DisplacementField compute(long seed, int width, int height,
+                                            Interpolation interpolation, FadeFunction fadeFunction) {
+        return compute(seed, width, height, interpolation, fadeFunction, NoiseNormalization.FULL_SCAN);
+    }
+
+    /** {@link #compute} dont les cartes sont normalisées selon la stratégie donnée. */
+    public static DisplacementField compute(long seed, int width, int height, Interpolation interpolation,
+                                            FadeFunction fadeFunction, NoiseNormalization normalization) {
+        return new DisplacementField(
+                map(seed + X_SEED_OFFSET, width, height, interpolation, fadeFunction, normalization),
+                map(seed + Y_SEED_OFFSET, width, height, interpolation, fadeFunction, normalization));
+    }
+
+    public int width() {
+        return dx.width();
+    }
+
+    public int height() {
+        return dx.height();
+    }
+
+    /**
+     * Champ déformé : chaque pixel lit le champ source à sa position déplacée, par interpolation bilinéaire
+     * sous-pixel, sans allocation par pixel. Les positions hors image sont ramenées au bord.
+     */
+    public GalaxyIntensityField warp(GalaxyIntensityField source, double strength, TileRenderEngine tileRenderEngine) {
+        int width = source.width();
+        int height = source.height();
+        if (width != width() || height != height()) {
+            throw new IllegalArgumentException("Displacement field " + width() + "x" + height()
+                    + " does not match intensity field " + width + "x" + height);
+        }
+        float[] values = source.values();
+        float[] offsetsX = dx.values();
+        float[] offsetsY = dy.values();
+        float[] target = new float[width * height];
+
+        tileRenderEngine.forEachTile(width, height, (x0, y0, x1, y1) -> {
+            for (int y = y0; y < y1; y++) {
+                int offset = y * width;
+                for (int x = x0; x < x1; x++) {
+                    double sourceX = clamp(x + (offsetsX[offset + x] - 0.5) * strength, width - 1);
+                    double sourceY = clamp(y + (offsetsY[offset + x] - 0.5) * strength, height - 1);
+                    target[offset + x] = (float) bilinear(values, 0, width, height, sourceX, sourceY);
+                }
+            }
+        });
+        return new GalaxyIntensityField(target, width, height);
+    }
+
+    /**
+     * Cartes non matérialisées pour le rendu par bandes d'images trop grandes pour la mémoire : chaque générateur
+     * ne garde que sa plage de normalisation, les lignes sont réévaluées à la demande avec les mêmes valeurs
+     * que les grilles de {@link #compute}.
+     */
+    public static Streamed streamed(long seed, int width, int height,
+                                    Interpolation interpolation, FadeFunction fadeFunction) {
+        return streamed(seed, width, height, interpolation, fadeFunction, NoiseNormalization.FULL_SCAN);
+    }
+
+    /**
+     * {@link #streamed} dont les plages sont obtenues selon la stratégie donnée : hors
+     * {@link NoiseNormalization#FULL_SCAN}, aucune passe complète sur les cartes avant la première bande.
+     */
+    public static Streamed streamed(long seed, int width, int height, Interpolation interpolation,
+                                    FadeFunction fadeFunction, NoiseNormalization normalization) {
+        PerlinGenerator mapX = mapGenerator(seed + X_SEED_OFFSET, width, height, interpolation, fadeFunction,
+                normalization);
+        PerlinGenerator mapY = mapGenerator(seed + Y_SEED_OFFSET, width, height, interpolation, fadeFunction,
+                normalization);
+        mapX.computeNormalizationRange();
+        mapY.computeNormalizationRange();
+        return new Streamed(mapX, mapY, width, height);
+    }
+
+    /** Cartes de déplacement évaluées ligne à ligne, voir {@link #streamed}. */
+    public record Streamed(PerlinGenerator dx, PerlinGenerator dy, int width, int height) {
+
+        /**
+         * Lignes de champ source à ajouter de part et d'autre d'une bande : déplacement d'au plus
+         * {@code force / 2} pixels, plus la ligne voisine de l'interpolation bilinéaire.
+         */
+        public static int margin(double strength) {
+            return (int) Math.ceil(strength / 2.0) + 1;
+        }
+
+        /**
+         * Déforme les lignes {@code [y0, y1[} dans {@code target[(y - y0) * width + x]}, comme {@link #warp} :
+         * {@code source} contient les lignes du champ à partir de {@code sourceTop} et doit couvrir la bande
+         * élargie de {@link #margin} lignes (bornée à l'image).
+         */
+        public void warpRows(float[] source, int sourceTop, float[] target, int y0, int y1,
+                             double strength, TileRenderEngine tileRenderEngine) {
+            int rows = y1 - y0;
+            float[] offsetsX = new float[rows * width];
+            float[] offsetsY = new float[rows * width];
+            dx.fillNormalizedRows(offsetsX, y0, y1);
+            dy.fillNormalizedRows(offsetsY, y0, y1);
+
+            tileRenderEngine.forEachTile(width, rows, (x0, r0, x1, r1) -> {
+                for (int row = r0; row < r1; row++) {
+                    int y = y0 + row;
+                    int offset = row * width;
+                    for (int x = x0; x < x1; x++) {
+                        double sourceX = clamp(x + (offsetsX[offset + x] - 0.5) * strength, width - 1);
+                        double sourceY = clamp(y + (offsetsY[offset + x] - 0.5) * strength, height - 1);
+                        target[offset + x] = (float) bilinear(source, sourceTop, width, height, sourceX, sourceY);
+                    }
+                }
+            });
+        }
+    }
+
+    private static NormalizedNoiseGrid map(long seed, int width, int height, Interpolation interpolation,
+                                           FadeFunction fadeFunction, NoiseNormalization normalization) {
+        PerlinGenerator generator = new PerlinGenerator(interpolation, fadeFunction, NoiseEngine.JNOISE,
+                normalization);
+        return generator.computeAndNormalize(seed, width, height, MAP_OCTAVES, MAP_PERSISTENCE, MAP_LACUNARITY,
+                MAP_SCALE, NoiseType.FBM);
+    }
+
+    private static PerlinGenerator mapGenerator(long seed, int width, int height, Interpolation interpolation,
+                                                FadeFunction fadeFunction, NoiseNormalization normalization) {
+        PerlinGenerator generator = new PerlinGenerator(interpolation, fadeFunction, NoiseEngine.JNOISE,
+                normalization);
+        generator.createNoisePipeline(seed, width, height, MAP_OCTAVES, MAP_PERSISTENCE, MAP_LACUNARITY,
+                MAP_SCALE, NoiseType.FBM);
+        return generator;
+    }
+
+    private static double clamp(double value, int max) {
+        return Math.max(0.0, Math.min(max, value));
+    }
+
+    /**
+     * Interpolation bilinéaire en (x, y), coordonnées déjà bornées à l'image ; {@code values} contient les lignes
+     * de l'image à partir de {@code firstRow}.
+     */
+    private static double bilinear(float[] values, int firstRow, int width, int height, double x, double y) {
+        int left = (int) x;
+        int top = (int) y;
+        int right = Math.min(left + 1, width - 1);
+        int bottom = Math.min(top + 1, height - 1);
+        double fx = x - left;
+        double fy = y - top;
+        int topRow = (top - firstRow) * width;
+        int bottomRow = (bottom - firstRow) * width;
+        double upper = values[topRow + left] + (values[topRow + right] - values[topRow + left]) * fx;
+        double lower = values[bottomRow + left] + (values[bottomRow + right] - values[bottomRow + left]) * fx;
+        return upper + (lower - upper) * fy;
+    }
+}
@@ -6,50 +6,37 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * Calculator for domain warping effect
- * Deforms space using noise before sampling galaxy intensity, creating organic filamentary structures
+ * Deforms space using noise before sampling galaxy intensity, creating organic filamentary structures.
+ * The X/Y displacement maps ({@link DisplacementField}) do not depend on the strength, so they can be
+ * computed once and shared between calculators of different strengths.
  */
 @Slf4j
 public class DomainWarpCalculator {
 
-    private final PerlinGenerator warpXGenerator;
-    private final PerlinGenerator warpYGenerator;
+    private final DisplacementField displacementField;
     private final double warpStrength;
-    private final int width;
-    private final int height;
 
     public DomainWarpCalculator(int width, int height, double warpStrength, long seed,
                                 Interpolation interpolation, FadeFunction fadeFunction) {
-        this.width = width;
-        this.height = height;
-        this.warpStrength = warpStrength;
-
-        // Create two independent noise generators for X and Y warping with different seeds
-        this.warpXGenerator = new PerlinGenerator(interpolation, fadeFunction);
-        this.warpXGenerator.createNoisePipeline(
-            seed + 12345, // Offset seed for X
-            width,
-            height,
-            4,         // octaves
-            0.5,       // persistence
-            2.0,       // lacunarity
-            100.0,     // scale (large features)
-            NoiseType.FBM
-        );
-        this.warpXGenerator.performNormalization();
+        this(width, height, warpStrength, seed, interpolation, fadeFunction, NoiseNormalization.FULL_SCAN);
+    }
 
-        this.warpYGenerator = new PerlinGenerator(interpolation, fadeFunction);
-        this.warpYGenerator.createNoisePipeline(
-            seed + 67890, // Different seed for Y
-            width,
-            height,
-            4,
-            0.5,
-            2.0,
-            100.0,
-            NoiseType.FBM
-        );
-        this.warpYGenerator.performNormalization();
+    /**
+     * Computes its own displacement maps, normalized with the given strategy: an estimated range
+     * skips the full pre-scan of both maps.
+     */
+    public DomainWarpCalculator(int width, int height, double warpStrength, long seed,
+                                Interpolation interpolation, FadeFunction fadeFunction,
+                                NoiseNormalization normalization) {
+        this(warpStrength > 0.0
+                        ? DisplacementField.compute(seed, width, height, interpolation, fadeFunction, normalization)
+                        : null,
+                warpStrength);
+    }
 
+    public DomainWarpCalculator(DisplacementField displacementField, double warpStrength) {
+        this.displacementField = displacementField;
+        this.warpStrength = warpStrength;
         log.info("Domain warp calculator initialized with strength {}", warpStrength);
     }
 
@@ -58,19 +45,25 @@ public class DomainWarpCalculator {
      * Returns warped coordinates as [warpedX, warpedY]
      */
     public double[] warpCoordinates(int x, int y) {
-        if (warpStrength == 0.0) {
+        if (!isEnabled()) {
             return new double[]{x, y};
         }
 
-        // Get noise values in range [0, 1] and center them to [-0.5, 0.5]
-        double noiseX = warpXGenerator.scaleNoiseNormalizedValue(x, y) - 0.5;
-        double noiseY = warpYGenerator.scaleNoiseNormalizedValue(x, y) - 0.5;
+        // Noise values in range [0, 1] centered to [-0.5, 0.5], scaled by the strength
+        double noiseX = displacementField.dx().normalizedValueAt(x, y) - 0.5;
+        double noiseY = displacementField.dy().normalizedValueAt(x, y) - 0.5;
 
-        // Apply warp displacement
-        double warpedX = x + noiseX * warpStrength;
-        double warpedY = y + noiseY * warpStrength;
+        return new double[]{x + noiseX * warpStrength, y + noiseY * warpStrength};
+    }
 
-        return new double[]{warpedX, warpedY};
+    /**
+     * Warp a whole intensity field: bilinear sub-pixel sampling at the displaced positions.
+     */
+    public GalaxyIntensityField apply(GalaxyIntensityField field, TileRenderEngine tileRenderEngine) {
+        if (!isEnabled()) {
+            return field;
+        }
+        return displacementField.warp(field, warpStrength, tileRenderEngine);
     }
 
     /**
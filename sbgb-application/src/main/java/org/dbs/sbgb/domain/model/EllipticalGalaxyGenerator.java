@@ -7,11 +7,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.dbs.sbgb.domain.model.parameters.CoreParameters;
 import org.dbs.sbgb.domain.model.parameters.EllipticalShapeParameters;
 
-import java.util.concurrent.Executors;
-
 /**
- * Implementation of Elliptical Galaxy Generator using JNoise 4.1.0 and Virtual
- * Threads.
+ * Implementation of Elliptical Galaxy Generator using JNoise 4.1.0 and the
+ * tile render engine.
  * Uses Sérsic profile with Ciotti approximation.
  */
 @Slf4j
@@ -19,7 +17,9 @@ public class EllipticalGalaxyGenerator extends AbstractGalaxyGenerator {
 
     private final EllipticalShapeParameters ellipticalParameters;
     private final JNoise jNoise;
-    private final double orientationAngleRad;
+    private final double cosA;
+    private final double sinA;
+    private final double inverseAxisRatioSq;
     private final SersicProfile sersicProfile;
 
     public EllipticalGalaxyGenerator(int width, int height,
@@ -28,7 +28,10 @@ public class EllipticalGalaxyGenerator extends AbstractGalaxyGenerator {
             EllipticalShapeParameters ellipticalParameters) {
         super(width, height, null, coreParameters);
         this.ellipticalParameters = ellipticalParameters;
-        this.orientationAngleRad = Math.toRadians(ellipticalParameters.getOrientationAngle());
+        double orientationAngleRad = Math.toRadians(ellipticalParameters.getOrientationAngle());
+        this.cosA = Math.cos(orientationAngleRad);
+        this.sinA = Math.sin(orientationAngleRad);
+        this.inverseAxisRatioSq = 1.0 / (ellipticalParameters.getAxisRatio() * ellipticalParameters.getAxisRatio());
         this.sersicProfile = new SersicProfile(
                 ellipticalParameters.getSersicIndex(),
                 coreParameters.getGalaxyRadius() * 0.5);
@@ -41,19 +44,17 @@ public class EllipticalGalaxyGenerator extends AbstractGalaxyGenerator {
 
     @Override
     public double calculateGalaxyIntensity(int x, int y) {
-        PixelGeometry geo = calculateGeometry(x, y);
-        if (geo == null)
+        if (normalizedDistance(distance(x, y)) > 1.0)
             return 0.0;
 
         // Rotation for ellipse orientation
-        double cosA = Math.cos(orientationAngleRad);
-        double sinA = Math.sin(orientationAngleRad);
-        double rotX = geo.dx * cosA + geo.dy * sinA;
-        double rotY = -geo.dx * sinA + geo.dy * cosA;
+        double dx = x - centerX;
+        double dy = y - centerY;
+        double rotX = dx * cosA + dy * sinA;
+        double rotY = -dx * sinA + dy * cosA;
 
         // Elliptical distance
-        double ellipticalDistance = Math.sqrt(rotX * rotX
-                + (rotY * rotY) / (ellipticalParameters.getAxisRatio() * ellipticalParameters.getAxisRatio()));
+        double ellipticalDistance = Math.sqrt(rotX * rotX + rotY * rotY * inverseAxisRatioSq);
 
         double sersicIntensity = sersicProfile.computeIntensity(ellipticalDistance);
 
@@ -65,20 +66,11 @@ public class EllipticalGalaxyGenerator extends AbstractGalaxyGenerator {
     }
 
     /**
-     * Parallel batch rendering using Java 21 Virtual Threads.
+     * Parallel batch rendering on the given tile engine.
      */
-    public float[] generateBuffer() {
-        float[] buffer = new float[width * height];
-        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
-            for (int y = 0; y < height; y++) {
-                final int currentY = y;
-                executor.submit(() -> {
-                    for (int x = 0; x < width; x++) {
-                        buffer[currentY * width + x] = (float) calculateGalaxyIntensity(x, currentY);
-                    }
-                });
-            }
-        }
+    public float[] generateBuffer(TileRenderEngine tileRenderEngine) {
+        prepare(tileRenderEngine);
+        float[] buffer = tileRenderEngine.renderIntensity(width, height, this);
         log.info("Elliptical Galaxy buffer generation completed ({}x{})", width, height);
         return buffer;
     }
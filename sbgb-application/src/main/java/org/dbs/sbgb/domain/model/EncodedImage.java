@@ -0,0 +1,72 @@
+package org.dbs.sbgb.domain.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.OptionalLong;
+
+/**
+ * Image encodée prête à être envoyée : soit des octets déjà disponibles (cache), dont la taille est connue,
+ * soit un encodage différé écrit directement dans le flux de sortie, sans tampon intermédiaire.
+ * Le rendu est déjà calculé dans les deux cas : seul l'encodage est reporté à l'écriture.
+ */
+public sealed interface EncodedImage {
+
+    /** Octets déjà encodés, servis tels quels. */
+    static EncodedImage ofBytes(byte[] bytes) {
+        return new Buffered(bytes);
+    }
+
+    /** Encodage exécuté à l'écriture, directement dans le flux cible. */
+    static EncodedImage streamed(Encoder encoder) {
+        return new Streamed(OptionalLong.empty(), encoder);
+    }
+
+    /** Encodage différé dont la taille est connue d'avance (raster brut à taille fixe). */
+    static EncodedImage streamed(long contentLength, Encoder encoder) {
+        return new Streamed(OptionalLong.of(contentLength), encoder);
+    }
+
+    /** Taille en octets si elle est connue avant l'écriture (octets issus du cache, raster brut). */
+    OptionalLong contentLength();
+
+    void writeTo(OutputStream out) throws IOException;
+
+    /** Matérialise l'image encodée, pour les usages qui ont besoin d'un tableau (vignettes, tests). */
+    default byte[] toByteArray() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeTo(out);
+        return out.toByteArray();
+    }
+
+    @FunctionalInterface
+    interface Encoder {
+        void encode(OutputStream out) throws IOException;
+    }
+
+    record Buffered(byte[] bytes) implements EncodedImage {
+
+        @Override
+        public OptionalLong contentLength() {
+            return OptionalLong.of(bytes.length);
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            out.write(bytes);
+        }
+
+        @Override
+        public byte[] toByteArray() {
+            return bytes;
+        }
+    }
+
+    record Streamed(OptionalLong contentLength, Encoder encoder) implements EncodedImage {
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            encoder.encode(out);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.dbs.sbgb.domain.model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * Raw 32-bit float raster for clients that colour or light the field themselves (HDR, shaders).
+ * <p>
+ * Layout, little-endian throughout: magic {@code "SBGF"}, then int version, width, height and plane count,
+ * then each plane as {@code width * height} IEEE-754 floats in row-major order. A galaxy is one intensity
+ * plane, a noise image one normalized plane per layer.
+ */
+public final class Float32RasterEncoder {
+
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 20;
+
+    private static final byte[] MAGIC = {'S', 'B', 'G', 'F'};
+    private static final int BUFFER_FLOATS = 16 * 1024;
+
+    private Float32RasterEncoder() {
+    }
+
+    /** Exact size of the encoded raster, known before writing. */
+    public static long length(int width, int height, int planes) {
+        return HEADER_BYTES + (long) width * height * planes * Float.BYTES;
+    }
+
+    public static void write(int width, int height, List<float[]> planes, OutputStream out) throws IOException {
+        for (float[] plane : planes) {
+            if (plane.length != width * height) {
+                throw new IllegalArgumentException(
+                        "Plane size mismatch: " + plane.length + " values for " + width + "x" + height);
+            }
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC).putInt(VERSION).putInt(width).putInt(height).putInt(planes.size());
+        out.write(header.array());
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_FLOATS * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (float[] plane : planes) {
+            for (int offset = 0; offset < plane.length; offset += BUFFER_FLOATS) {
+                int count = Math.min(BUFFER_FLOATS, plane.length - offset);
+                buffer.clear();
+                buffer.asFloatBuffer().put(plane, offset, count);
+                out.write(buffer.array(), 0, count * Float.BYTES);
+            }
+        }
+    }
+}
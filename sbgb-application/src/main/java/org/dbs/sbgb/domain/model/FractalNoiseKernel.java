@@ -0,0 +1,169 @@
+package org.dbs.sbgb.domain.model;
+
+import de.articdive.jnoise.core.api.functions.Interpolation;
+import de.articdive.jnoise.generators.noise_parameters.fade_functions.FadeFunction;
+
+/**
+ * Noyau interne de bruit Perlin fractal (fBm / ridged multifractal) avec une API par blocs.
+ * Reproduit le pipeline {@link PerlinGenerator} de JNoise 4.1 : coordonnées {@code (x / width, y / height)}
+ * mises à l'échelle, octaves aux graines {@code seed + i}, amplitude initiale {@code persistence},
+ * normalisation par la somme des amplitudes puis borne {@code [0, 3]}. Le calcul suit les mêmes opérations
+ * flottantes dans le même ordre : les valeurs sont identiques au bit près, sans allocation par point.
+ * {@link #create} choisit l'implémentation vectorisée quand le moteur {@link NoiseEngine#SIMD} est demandé
+ * et que le module {@code jdk.incubator.vector} est chargé.
+ */
+public class FractalNoiseKernel {
+
+    /** Gradients 2D de JNoise, indexés par les 3 bits de poids faible du hash. */
+    static final double[] GRADIENT_X = {1, -1, 1, -1, 0, 0, 1, -1};
+    static final double[] GRADIENT_Y = {1, 1, -1, -1, 1, -1, 0, 0};
+    static final long X_PRIME = 1619;
+    static final long Y_PRIME = 31337;
+    static final double MIN_VALUE = 0.0;
+    static final double MAX_VALUE = 3.0;
+
+    private static final boolean VECTOR_API_AVAILABLE =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    final Interpolation interpolation;
+    final FadeFunction fadeFunction;
+    final long seed;
+    final int width;
+    final int height;
+    final int octaves;
+    final double persistence;
+    final double lacunarity;
+    final double scale;
+    final boolean ridged;
+    final double fractalBounding;
+
+    FractalNoiseKernel(Interpolation interpolation, FadeFunction fadeFunction, long seed, int width, int height,
+                       int octaves, double persistence, double lacunarity, double scale, NoiseType noiseType) {
+        this.interpolation = interpolation;
+        this.fadeFunction = fadeFunction;
+        this.seed = seed;
+        this.width = width;
+        this.height = height;
+        this.octaves = octaves;
+        this.persistence = persistence;
+        this.lacunarity = lacunarity;
+        this.scale = scale;
+        this.ridged = noiseType == NoiseType.RIDGED;
+        this.fractalBounding = fractalBounding(octaves, persistence);
+    }
+
+    /**
+     * Noyau pour le moteur demandé. {@link NoiseEngine#SIMD} n'est vectorisé que pour l'interpolation COSINE
+     * et le fondu CUBIC_POLY (ceux des rendus de bruit) et si l'API Vector est disponible ; sinon le noyau
+     * scalaire est retourné.
+     */
+    public static FractalNoiseKernel create(NoiseEngine engine, Interpolation interpolation, FadeFunction fadeFunction,
+                                            long seed, int width, int height, int octaves, double persistence,
+                                            double lacunarity, double scale, NoiseType noiseType) {
+        if (engine == NoiseEngine.SIMD && isVectorApiAvailable()
+                && interpolation == Interpolation.COSINE && fadeFunction == FadeFunction.CUBIC_POLY) {
+            return VectorFractalNoiseKernel.create(interpolation, fadeFunction, seed, width, height,
+                    octaves, persistence, lacunarity, scale, noiseType);
+        }
+        return new FractalNoiseKernel(interpolation, fadeFunction, seed, width, height,
+                octaves, persistence, lacunarity, scale, noiseType);
+    }
+
+    /** Vrai si la JVM a été lancée avec {@code --add-modules jdk.incubator.vector}. */
+    public static boolean isVectorApiAvailable() {
+        return VECTOR_API_AVAILABLE;
+    }
+
+    public boolean isVectorized() {
+        return false;
+    }
+
+    /** Valeur brute, bornée à [0, 3], du pixel (x, y). */
+    public double sample(int x, int y) {
+        double noiseX = x * 1.0 / width * scale;
+        double noiseY = y * 1.0 / height * scale;
+        double amplitude = persistence;
+        double frequency = 1.0;
+        double sum = 0.0;
+        long octaveSeed = seed;
+        for (int octave = 0; octave < octaves; octave++) {
+            sum = sum + amplitude * fractalize(perlin(frequency * noiseX, frequency * noiseY, octaveSeed++));
+            frequency *= lacunarity;
+            amplitude *= persistence;
+        }
+        return Math.max(MIN_VALUE, Math.min(MAX_VALUE, sum / fractalBounding));
+    }
+
+    /** Remplit {@code row[0 .. x1 - x0[} avec les valeurs brutes des pixels {@code [x0, x1[} de la ligne y. */
+    public void fillRow(int y, int x0, int x1, double[] row) {
+        for (int x = x0; x < x1; x++) {
+            row[x - x0] = sample(x, y);
+        }
+    }
+
+    /**
+     * Remplit la tuile {@code [x0, x1[ x [y0, y1[} d'un buffer pleine largeur ({@code buffer[y * width + x]})
+     * avec les valeurs brutes, ligne par ligne.
+     */
+    public void fillTile(float[] buffer, int x0, int y0, int x1, int y1) {
+        double[] row = new double[x1 - x0];
+        for (int y = y0; y < y1; y++) {
+            fillRow(y, x0, x1, row);
+            int offset = y * width + x0;
+            for (int i = 0; i < row.length; i++) {
+                buffer[offset + i] = (float) row[i];
+            }
+        }
+    }
+
+    double fractalize(double value) {
+        if (!ridged) {
+            return value;
+        }
+        double ridge = 1 - Math.abs(value);
+        return ridge * ridge;
+    }
+
+    /** Bruit de Perlin 2D d'une octave, hash et gradients de JNoise. */
+    double perlin(double x, double y, long octaveSeed) {
+        long cellX = (long) Math.floor(x);
+        long cellY = (long) Math.floor(y);
+        double dx = x - cellX;
+        double dy = y - cellY;
+        double fadeX = fadeFunction.fade(dx);
+        double fadeY = fadeFunction.fade(dy);
+        double g00 = gradient(hash(octaveSeed, cellX, cellY), dx, dy);
+        double g10 = gradient(hash(octaveSeed, cellX + 1, cellY), dx - 1, dy);
+        double g01 = gradient(hash(octaveSeed, cellX, cellY + 1), dx, dy - 1);
+        double g11 = gradient(hash(octaveSeed, cellX + 1, cellY + 1), dx - 1, dy - 1);
+        return interpolation.lerp(fadeY,
+                interpolation.lerp(fadeX, g00, g10),
+                interpolation.lerp(fadeX, g01, g11));
+    }
+
+    static int hash(long seed, long x, long y) {
+        long hash = seed ^ X_PRIME * x;
+        hash ^= Y_PRIME * y;
+        return (int) finalizeHash(hash);
+    }
+
+    static long finalizeHash(long hash) {
+        hash = hash * hash * hash * 60493;
+        return (hash >> 13) ^ hash;
+    }
+
+    private static double gradient(int hash, double dx, double dy) {
+        int index = hash & 7;
+        return dx * GRADIENT_X[index] + dy * GRADIENT_Y[index];
+    }
+
+    private static double fractalBounding(int octaves, double persistence) {
+        double bounding = 0.0;
+        double amplitude = persistence;
+        for (int octave = 0; octave < octaves; octave++) {
+            bounding += amplitude;
+            amplitude *= persistence;
+        }
+        return bounding;
+    }
+}
@@ -0,0 +1,164 @@
+package org.dbs.sbgb.domain.model;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.function.IntConsumer;
+
+/**
+ * Out-of-core galaxy rendering: the image is produced in full-width bands of rows written to an
+ * {@link ImageRowSink} as soon as they are ready, so memory depends on the width and the band height,
+ * never on the image height.
+ * <p>
+ * Each band is widened with the overlap its stages need: the bloom reach ({@link BloomPostProcessor#bandOverlap()},
+ * aligned on the bloom blocks) around the coloured band, and the warp reach ({@link DisplacementField.Streamed#margin})
+ * around the intensity rows it samples. Intensity rows are kept from one band to the next, so each generator row is
+ * evaluated once. Apart from the star layout ({@link StarFieldGenerator#stampBand}), the pixels are those of the
+ * whole-image render.
+ */
+@Slf4j
+final class GalaxyBandRenderer {
+
+    /** Pixels per band when the band height is automatic: 4 Mpx, 16 MiB per int or float buffer. */
+    static final int DEFAULT_BAND_PIXELS = 1 << 22;
+    static final int MIN_BAND_ROWS = 16;
+
+    private final int width;
+    private final int height;
+    private final GalaxyIntensityCalculator intensityCalculator;
+    private final DisplacementField.Streamed displacement;
+    private final double warpStrength;
+    private final GalaxyColorCalculator colorCalculator;
+    private final StarFieldGenerator starField;
+    private final BloomPostProcessor bloom;
+    private final TileRenderEngine tileRenderEngine;
+    private final int bandRows;
+
+    private float[] intensityRows = new float[0];
+    private int intensityTop;
+    private int intensityBottom;
+
+    /**
+     * @param displacement null without domain warp
+     * @param starField    null without stars
+     * @param bloom        null without bloom
+     * @param bandRows     rows per band, 0 for {@link #DEFAULT_BAND_PIXELS} pixels per band
+     */
+    GalaxyBandRenderer(int width, int height, GalaxyIntensityCalculator intensityCalculator,
+                       DisplacementField.Streamed displacement, double warpStrength,
+                       GalaxyColorCalculator colorCalculator, StarFieldGenerator starField, BloomPostProcessor bloom,
+                       TileRenderEngine tileRenderEngine, int bandRows) {
+        this.width = width;
+        this.height = height;
+        this.intensityCalculator = intensityCalculator;
+        this.displacement = displacement;
+        this.warpStrength = warpStrength;
+        this.colorCalculator = colorCalculator;
+        this.starField = starField;
+        this.bloom = bloom;
+        this.tileRenderEngine = tileRenderEngine;
+        this.bandRows = bandRows(width, height, bandRows, bloom);
+    }
+
+    /**
+     * Band height: the requested one, or {@link #DEFAULT_BAND_PIXELS} pixels, and at least four bloom overlaps
+     * so the recomputed overlap stays a small part of each band.
+     */
+    static int bandRows(int width, int height, int requested, BloomPostProcessor bloom) {
+        int rows = requested > 0 ? requested : Math.max(MIN_BAND_ROWS, DEFAULT_BAND_PIXELS / width);
+        if (bloom != null && requested <= 0) {
+            rows = Math.max(rows, 4 * bloom.bandOverlap());
+        }
+        return Math.min(height, rows);
+    }
+
+    /** Renders every band in order into the sink; {@code progress} receives the number of rows written. */
+    void render(ImageRowSink sink, IntConsumer progress) throws IOException {
+        int overlap = bloom != null ? bloom.bandOverlap() : 0;
+        int alignment = bloom != null ? bloom.bandAlignment() : 1;
+        log.info("Rendering galaxy {}x{} by bands of {} rows (bloom overlap {})", width, height, bandRows, overlap);
+        intensityCalculator.prepare(tileRenderEngine);
+
+        for (int y0 = 0; y0 < height; y0 += bandRows) {
+            int y1 = Math.min(height, y0 + bandRows);
+            int top = Math.max(0, y0 - overlap) / alignment * alignment;
+            int bottom = Math.min(height, ceilTo(y1 + overlap, alignment));
+
+            ArgbImageBuffer band = colorRows(intensity(top, bottom), bottom - top);
+            if (starField != null) {
+                starField.stampBand(band, top);
+            }
+            int[] pixels = band.pixels();
+            if (bloom != null) {
+                BufferedImage bloomed = bloom.apply(band.toBufferedImage());
+                pixels = ArgbImageBuffer.wrap(bloomed).pixels();
+            }
+            sink.writeRows(pixels, (y0 - top) * width, y1 - y0);
+            progress.accept(y1);
+        }
+    }
+
+    /** Warped intensity of the rows {@code [top, bottom[}. */
+    private float[] intensity(int top, int bottom) {
+        if (displacement == null) {
+            return rawIntensity(top, bottom);
+        }
+        int margin = DisplacementField.Streamed.margin(warpStrength);
+        int sourceTop = Math.max(0, top - margin);
+        float[] source = rawIntensity(sourceTop, Math.min(height, bottom + margin));
+        float[] warped = new float[(bottom - top) * width];
+        displacement.warpRows(source, sourceTop, warped, top, bottom, warpStrength, tileRenderEngine);
+        return warped;
+    }
+
+    /**
+     * Generator intensity of the rows {@code [from, to[}. Rows shared with the previous call are copied,
+     * only the new ones are evaluated: bands move down, so each row is computed once.
+     */
+    private float[] rawIntensity(int from, int to) {
+        float[] rows = new float[(to - from) * width];
+        int keptFrom = Math.max(from, intensityTop);
+        int keptTo = Math.min(to, intensityBottom);
+        if (keptFrom < keptTo) {
+            System.arraycopy(intensityRows, (keptFrom - intensityTop) * width, rows, (keptFrom - from) * width,
+                    (keptTo - keptFrom) * width);
+        } else {
+            keptFrom = from;
+            keptTo = from;
+        }
+        evaluate(rows, from, from, keptFrom);
+        evaluate(rows, from, keptTo, to);
+
+        intensityRows = rows;
+        intensityTop = from;
+        intensityBottom = to;
+        return rows;
+    }
+
+    private void evaluate(float[] rows, int firstRow, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        tileRenderEngine.forEachTile(width, to - from, (x0, r0, x1, r1) -> {
+            for (int row = r0; row < r1; row++) {
+                int y = from + row;
+                int offset = (y - firstRow) * width;
+                for (int x = x0; x < x1; x++) {
+                    rows[offset + x] = (float) intensityCalculator.calculateGalaxyIntensity(x, y);
+                }
+            }
+        });
+    }
+
+    private ArgbImageBuffer colorRows(float[] values, int rows) {
+        ArgbImageBuffer buffer = ArgbImageBuffer.create(width, rows);
+        tileRenderEngine.renderArgb(buffer.pixels(), width, rows,
+                (x, y) -> colorCalculator.calculateGalaxyArgb(values[y * width + x]));
+        return buffer;
+    }
+
+    private static int ceilTo(int value, int multiple) {
+        return (value + multiple - 1) / multiple * multiple;
+    }
+}
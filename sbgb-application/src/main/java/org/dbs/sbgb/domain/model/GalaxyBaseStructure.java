@@ -1,6 +1,5 @@
 package org.dbs.sbgb.domain.model;
 
-import java.util.Objects;
 import java.util.UUID;
 
 public record GalaxyBaseStructure(
@@ -49,12 +48,35 @@ public record GalaxyBaseStructure(
         Integer irregularClumpCount,
         Double irregularClumpSize
 ) {
-    public int configHash() {
-        return Objects.hash(width, height, seed, galaxyType, coreSize, galaxyRadius, warpStrength,
-                noiseOctaves, noisePersistence, noiseLacunarity, noiseScale,
-                multiLayerEnabled, macroLayerScale, macroLayerWeight,
-                mesoLayerScale, mesoLayerWeight, microLayerScale, microLayerWeight,
-                structureParams);
+    /**
+     * Content key of the structural parameters: deduplication key of base structures and cache key of
+     * intensity fields. Only the typed parameters of the galaxy type are encoded, like {@code structureParams}.
+     */
+    public ContentKey configKey() {
+        ContentKey.Encoder encoder = ContentKey.encoder("galaxy-base/v1")
+                .putInt(width).putInt(height).putLong(seed).putString(galaxyType)
+                .putDouble(coreSize).putDouble(galaxyRadius).putDouble(warpStrength)
+                .putInt(noiseOctaves).putDouble(noisePersistence).putDouble(noiseLacunarity).putDouble(noiseScale)
+                .putBoolean(multiLayerEnabled)
+                .putDouble(macroLayerScale).putDouble(macroLayerWeight)
+                .putDouble(mesoLayerScale).putDouble(mesoLayerWeight)
+                .putDouble(microLayerScale).putDouble(microLayerWeight);
+        ContentKey.Encoder typed = switch (galaxyType != null ? galaxyType : "SPIRAL") {
+            case "VORONOI_CLUSTER" -> encoder
+                    .putNullableInt(clusterCount).putNullableDouble(clusterSize).putNullableDouble(clusterConcentration);
+            case "ELLIPTICAL", "LENTICULAR" -> encoder
+                    .putNullableDouble(sersicIndex).putNullableDouble(axisRatio).putNullableDouble(orientationAngle);
+            case "RING" -> encoder
+                    .putNullableDouble(ringRadius).putNullableDouble(ringWidth)
+                    .putNullableDouble(ringIntensity).putNullableDouble(coreToRingRatio);
+            case "IRREGULAR" -> encoder
+                    .putNullableDouble(irregularity).putNullableInt(irregularClumpCount)
+                    .putNullableDouble(irregularClumpSize);
+            default -> encoder
+                    .putNullableInt(numberOfArms).putNullableDouble(armWidth)
+                    .putNullableDouble(armRotation).putNullableDouble(darkLaneOpacity);
+        };
+        return typed.build();
     }
 
     public String generateDescription() {
@@ -7,12 +7,22 @@ import java.awt.*;
  */
 public interface GalaxyColorCalculator {
 
+    /**
+     * Calculate the packed ARGB color for a given galaxy intensity (0.0 to 1.0).
+     * Allocation-free path used by the renderers.
+     * @param intensity Galaxy intensity at this point
+     * @return Color for this pixel, packed as 0xAARRGGBB
+     */
+    int calculateGalaxyArgb(double intensity);
+
     /**
      * Calculate color for a given galaxy intensity (0.0 to 1.0)
      * @param intensity Galaxy intensity at this point
      * @return Color for this pixel
      */
-    Color calculateGalaxyColor(double intensity);
+    default Color calculateGalaxyColor(double intensity) {
+        return new Color(calculateGalaxyArgb(intensity), true);
+    }
 
     /**
      * Get the background color for empty space
@@ -1,6 +1,5 @@
 package org.dbs.sbgb.domain.model;
 
-import java.util.Objects;
 import java.util.UUID;
 
 public record GalaxyCosmeticRender(
@@ -24,10 +23,15 @@ public record GalaxyCosmeticRender(
         boolean diffractionSpikes,
         int spikeCount
 ) {
-    public int cosmeticHash() {
-        return Objects.hash(colorPalette, spaceBackgroundColor, coreColor, armColor, outerColor,
-                bloomEnabled, bloomRadius, bloomIntensity, bloomThreshold,
-                starFieldEnabled, starDensity, maxStarSize, diffractionSpikes, spikeCount);
+    /** Content key of the cosmetic parameters, unique for a given base structure. */
+    public ContentKey cosmeticKey() {
+        return ContentKey.encoder("galaxy-cosmetic/v1")
+                .putString(colorPalette).putString(spaceBackgroundColor)
+                .putString(coreColor).putString(armColor).putString(outerColor)
+                .putBoolean(bloomEnabled).putDouble(bloomRadius).putDouble(bloomIntensity).putDouble(bloomThreshold)
+                .putBoolean(starFieldEnabled).putDouble(starDensity).putDouble(maxStarSize)
+                .putBoolean(diffractionSpikes).putInt(spikeCount)
+                .build();
     }
 
     public String generateDescription() {
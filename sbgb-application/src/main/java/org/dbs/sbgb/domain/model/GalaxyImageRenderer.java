@@ -8,13 +8,21 @@ import org.dbs.sbgb.domain.service.StarFieldApplicator;
 import org.dbs.sbgb.domain.strategy.GalaxyGenerationContext;
 import org.dbs.sbgb.domain.strategy.GalaxyGeneratorFactory;
 
-import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.util.stream.IntStream;
+import java.io.IOException;
+import java.util.function.IntConsumer;
 
 /**
  * Renderer for generating realistic galaxy images
- * Uses SpiralGalaxyGenerator for spiral structure and color mapping for appearance
+ * Uses SpiralGalaxyGenerator for spiral structure and color mapping for appearance.
+ * Rendering runs in two stages: {@link #computeIntensityField} (generator and domain warp)
+ * and {@link #applyCosmetics} (colours, stars, bloom). Dependencies of a stage are checked
+ * when that stage runs, so a renderer can be built for one stage only.
+ * {@link #renderBands} runs both stages band by band into an {@link ImageRowSink}, for images too large
+ * to be held in memory. The {@link NoiseNormalization} applies to the noise and to the displacement maps
+ * computed by the renderer; maps supplied by the caller keep their own. The Gaussian tolerance truncates the
+ * cluster and clump profiles of the Voronoi and irregular generators, see
+ * {@link GaussianSpatialIndex#DEFAULT_TOLERANCE}.
  */
 @Slf4j
 public class GalaxyImageRenderer {
@@ -34,6 +42,9 @@ public class GalaxyImageRenderer {
     private final NoiseGeneratorFactory noiseGeneratorFactory;
     private final StarFieldApplicator starFieldApplicator;
     private final org.dbs.sbgb.domain.service.BloomApplicator bloomApplicator;
+    private final TileRenderEngine tileRenderEngine;
+    private final NoiseNormalization normalization;
+    private final double gaussianTolerance;
 
     private GalaxyImageRenderer(int width,
             int height,
@@ -44,7 +55,10 @@ public class GalaxyImageRenderer {
             GalaxyGeneratorFactory generatorFactory,
             NoiseGeneratorFactory noiseGeneratorFactory,
             StarFieldApplicator starFieldApplicator,
-            org.dbs.sbgb.domain.service.BloomApplicator bloomApplicator) {
+            org.dbs.sbgb.domain.service.BloomApplicator bloomApplicator,
+            TileRenderEngine tileRenderEngine,
+            NoiseNormalization normalization,
+            double gaussianTolerance) {
         this.width = width;
         this.height = height;
         this.parameters = parameters;
@@ -55,37 +69,115 @@ public class GalaxyImageRenderer {
         this.noiseGeneratorFactory = noiseGeneratorFactory;
         this.starFieldApplicator = starFieldApplicator;
         this.bloomApplicator = bloomApplicator;
+        this.tileRenderEngine = tileRenderEngine;
+        this.normalization = normalization;
+        this.gaussianTolerance = gaussianTolerance;
     }
 
     public BufferedImage create(long seed) {
-        log.info("Creating galaxy image {}x{} with seed {} type {} multiLayer={}",
+        return applyCosmetics(computeIntensityField(seed), seed);
+    }
+
+    /**
+     * Structural stage: generator intensity with domain warp. Depends only on the structural
+     * parameters, so the result can be cached and reused across cosmetic changes.
+     */
+    public GalaxyIntensityField computeIntensityField(long seed) {
+        DisplacementField displacementField = isWarpEnabled()
+                ? DisplacementField.compute(seed, width, height, interpolation, fadeFunction, normalization)
+                : null;
+        return computeIntensityField(seed, displacementField);
+    }
+
+    /**
+     * Structural stage with displacement maps supplied by the caller, typically from a cache keyed by
+     * seed and size: only the strength is taken from the parameters. Ignored when the warp is disabled.
+     * The generator is evaluated once on the pixel grid, then the warp resamples that field bilinearly.
+     */
+    public GalaxyIntensityField computeIntensityField(long seed, DisplacementField displacementField) {
+        requireSet(generatorFactory, "generatorFactory");
+        requireSet(noiseGeneratorFactory, "noiseGeneratorFactory");
+        log.info("Computing galaxy intensity field {}x{} with seed {} type {} multiLayer={}",
                 width, height, seed, parameters.getGalaxyType(), parameters.getMultiLayerNoiseParameters().isEnabled());
 
-        PerlinGenerator noiseGenerator = noiseGeneratorFactory.createNoiseGenerator(
-                parameters, seed, width, height, interpolation, fadeFunction);
+        PerlinGenerator noiseGenerator = createNoiseGeneratorIfUsed(seed, true);
 
         GalaxyIntensityCalculator intensityCalculator = selectGeneratorForType(noiseGenerator, seed);
 
-        DomainWarpCalculator warpCalculator = createWarpCalculatorIfEnabled(seed);
+        GalaxyIntensityField field = renderIntensity(intensityCalculator);
+        if (!isWarpEnabled()) {
+            return field;
+        }
+        requireSet(displacementField, "displacementField");
+        return new DomainWarpCalculator(displacementField, parameters.getDomainWarpParameters().getWarpStrength())
+                .apply(field, tileRenderEngine);
+    }
+
+    /** True when the parameters ask for a domain warp, i.e. displacement maps are needed. */
+    public boolean isWarpEnabled() {
+        return parameters.getDomainWarpParameters().getWarpStrength() > 0.0;
+    }
+
+    /**
+     * Cosmetic stage: colour mapping, star overlay and bloom on top of a structural field.
+     */
+    public BufferedImage applyCosmetics(GalaxyIntensityField field, long seed) {
+        requireSet(colorCalculator, "colorCalculator");
+        requireSet(starFieldApplicator, "starFieldApplicator");
+        requireSet(bloomApplicator, "bloomApplicator");
 
-        BufferedImage galaxyImage = renderPixels(intensityCalculator, warpCalculator);
+        BufferedImage galaxyImage = renderColors(field);
         BufferedImage withStars = starFieldApplicator.applyIfEnabled(galaxyImage, parameters, seed);
 
         return bloomApplicator.applyIfEnabled(withStars, parameters);
     }
 
-    private DomainWarpCalculator createWarpCalculatorIfEnabled(long seed) {
-        if (parameters.getDomainWarpParameters().getWarpStrength() <= 0.0) {
+    /**
+     * Out-of-core render: same pipeline as {@link #create}, computed in full-width bands of {@code bandRows}
+     * rows (0 for an automatic height) and written to the sink in order. Memory is bounded by the width and
+     * the band height, whatever the image height. Stars use the per-cell layout of
+     * {@link StarFieldGenerator#stampBand}; everything else matches {@link #create} pixel for pixel.
+     *
+     * @param progress receives the number of rows written after each band
+     */
+    public void renderBands(long seed, int bandRows, ImageRowSink sink, IntConsumer progress) throws IOException {
+        requireSet(generatorFactory, "generatorFactory");
+        requireSet(noiseGeneratorFactory, "noiseGeneratorFactory");
+        requireSet(colorCalculator, "colorCalculator");
+        requireSet(starFieldApplicator, "starFieldApplicator");
+        requireSet(bloomApplicator, "bloomApplicator");
+        log.info("Rendering galaxy {}x{} with seed {} type {} by bands",
+                width, height, seed, parameters.getGalaxyType());
+
+        PerlinGenerator noiseGenerator = createNoiseGeneratorIfUsed(seed, false);
+        DisplacementField.Streamed displacement = isWarpEnabled()
+                ? DisplacementField.streamed(seed, width, height, interpolation, fadeFunction, normalization)
+                : null;
+
+        new GalaxyBandRenderer(width, height, selectGeneratorForType(noiseGenerator, seed),
+                displacement, parameters.getDomainWarpParameters().getWarpStrength(), colorCalculator,
+                starFieldApplicator.generatorIfEnabled(parameters, width, height, seed).orElse(null),
+                bloomApplicator.processorIfEnabled(parameters).orElse(null),
+                tileRenderEngine, bandRows)
+                .render(sink, progress);
+    }
+
+    /** True when the output has no alpha channel: the bloom composite produces opaque pixels. */
+    public boolean isOpaqueOutput() {
+        return bloomApplicator != null && bloomApplicator.processorIfEnabled(parameters).isPresent();
+    }
+
+    /**
+     * Noise of the galaxy, or null when the generator of this type does not read it: neither the normalization
+     * scan nor the width x height field is paid for a noise that is never sampled. The materialized field only
+     * lives for the intensity pass that reads it.
+     */
+    private PerlinGenerator createNoiseGeneratorIfUsed(long seed, boolean materialized) {
+        if (!generatorFactory.usesNoise(parameters.getGalaxyType())) {
             return null;
         }
-
-        return new DomainWarpCalculator(
-                width,
-                height,
-                parameters.getDomainWarpParameters().getWarpStrength(),
-                seed,
-                interpolation,
-                fadeFunction);
+        return noiseGeneratorFactory.createNoiseGenerator(
+                parameters, seed, width, height, interpolation, fadeFunction, materialized, normalization);
     }
 
     private GalaxyIntensityCalculator selectGeneratorForType(PerlinGenerator noiseGenerator, long seed) {
@@ -95,45 +187,45 @@ public class GalaxyImageRenderer {
                 .noiseGenerator(noiseGenerator)
                 .seed(seed)
                 .parameters(parameters)
+                .gaussianTolerance(gaussianTolerance)
                 .build();
 
         return generatorFactory.create(parameters.getGalaxyType(), context);
     }
 
-    private BufferedImage renderPixels(GalaxyIntensityCalculator intensityCalculator,
-            DomainWarpCalculator warpCalculator) {
-        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2d = img.createGraphics();
-        g2d.setBackground(colorCalculator.getSpaceBackgroundColor());
-        g2d.clearRect(0, 0, width, height);
-        g2d.dispose();
-
-        IntStream.range(0, width).parallel().forEach(x -> {
-            for (int y = 0; y < height; y++) {
-                double galaxyIntensity;
-
-                // Apply domain warping if enabled
-                if (warpCalculator != null && warpCalculator.isEnabled()) {
-                    double[] warpedCoords = warpCalculator.warpCoordinates(x, y);
-                    int warpedX = (int) Math.round(warpedCoords[0]);
-                    int warpedY = (int) Math.round(warpedCoords[1]);
-
-                    // Clamp to image bounds
-                    warpedX = Math.max(0, Math.min(width - 1, warpedX));
-                    warpedY = Math.max(0, Math.min(height - 1, warpedY));
-
-                    galaxyIntensity = intensityCalculator.calculateGalaxyIntensity(warpedX, warpedY);
-                } else {
-                    galaxyIntensity = intensityCalculator.calculateGalaxyIntensity(x, y);
-                }
+    private GalaxyIntensityField renderIntensity(GalaxyIntensityCalculator intensityCalculator) {
+        float[] values = new float[width * height];
 
-                Color pixelColor = colorCalculator.calculateGalaxyColor(galaxyIntensity);
-                img.setRGB(x, y, pixelColor.getRGB());
+        intensityCalculator.prepare(tileRenderEngine);
+        tileRenderEngine.forEachTile(width, height, (x0, y0, x1, y1) -> {
+            for (int y = y0; y < y1; y++) {
+                int offset = y * width;
+                for (int x = x0; x < x1; x++) {
+                    values[offset + x] = (float) intensityCalculator.calculateGalaxyIntensity(x, y);
+                }
             }
         });
 
-        log.info("Galaxy image generation completed");
-        return img;
+        log.info("Galaxy intensity field completed");
+        return new GalaxyIntensityField(values, width, height);
+    }
+
+    private BufferedImage renderColors(GalaxyIntensityField field) {
+        int fieldWidth = field.width();
+        float[] values = field.values();
+        ArgbImageBuffer buffer = ArgbImageBuffer.create(fieldWidth, field.height());
+
+        // Every pixel is written by the shader, so no background clear is needed
+        tileRenderEngine.renderArgb(buffer.pixels(), fieldWidth, field.height(),
+                (x, y) -> colorCalculator.calculateGalaxyArgb(values[y * fieldWidth + x]));
+
+        return buffer.toBufferedImage();
+    }
+
+    private static void requireSet(Object dependency, String name) {
+        if (dependency == null) {
+            throw new IllegalStateException(name + " must be set");
+        }
     }
 
     public static class Builder {
@@ -147,12 +239,17 @@ public class GalaxyImageRenderer {
         private NoiseGeneratorFactory noiseGeneratorFactory;
         private StarFieldApplicator starFieldApplicator;
         private org.dbs.sbgb.domain.service.BloomApplicator bloomApplicator;
+        private TileRenderEngine tileRenderEngine;
+        private NoiseNormalization normalization;
+        private double gaussianTolerance;
 
         public Builder() {
             this.width = DEFAULT_IMAGE_WIDTH;
             this.height = DEFAULT_IMAGE_HEIGHT;
             this.interpolation = DEFAULT_INTERPOLATION;
             this.fadeFunction = DEFAULT_FADE_FUNCTION;
+            this.normalization = NoiseNormalization.FULL_SCAN;
+            this.gaussianTolerance = GaussianSpatialIndex.DEFAULT_TOLERANCE;
         }
 
         public Builder withWidth(int width) {
@@ -205,27 +302,31 @@ public class GalaxyImageRenderer {
             return this;
         }
 
+        public Builder withTileRenderEngine(TileRenderEngine tileRenderEngine) {
+            this.tileRenderEngine = tileRenderEngine;
+            return this;
+        }
+
+        public Builder withNormalization(NoiseNormalization normalization) {
+            this.normalization = normalization;
+            return this;
+        }
+
+        public Builder withGaussianTolerance(double gaussianTolerance) {
+            this.gaussianTolerance = gaussianTolerance;
+            return this;
+        }
+
         public GalaxyImageRenderer build() {
             if (parameters == null) {
                 throw new IllegalStateException("parameters must be set");
             }
-            if (colorCalculator == null) {
-                throw new IllegalStateException("colorCalculator must be set");
-            }
-            if (generatorFactory == null) {
-                throw new IllegalStateException("generatorFactory must be set");
-            }
-            if (noiseGeneratorFactory == null) {
-                throw new IllegalStateException("noiseGeneratorFactory must be set");
-            }
-            if (starFieldApplicator == null) {
-                throw new IllegalStateException("starFieldApplicator must be set");
-            }
-            if (bloomApplicator == null) {
-                throw new IllegalStateException("bloomApplicator must be set");
+            if (tileRenderEngine == null) {
+                throw new IllegalStateException("tileRenderEngine must be set");
             }
             return new GalaxyImageRenderer(width, height, parameters, interpolation, fadeFunction, colorCalculator,
-                    generatorFactory, noiseGeneratorFactory, starFieldApplicator, bloomApplicator);
+                    generatorFactory, noiseGeneratorFactory, starFieldApplicator, bloomApplicator, tileRenderEngine,
+                    normalization, gaussianTolerance);
         }
     }
 }
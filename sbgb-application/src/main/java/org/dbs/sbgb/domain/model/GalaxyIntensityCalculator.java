@@ -2,4 +2,11 @@ package org.dbs.sbgb.domain.model;
 
 public interface GalaxyIntensityCalculator {
     double calculateGalaxyIntensity(int x, int y);
+
+    /**
+     * Fills the lookup tables read by {@link #calculateGalaxyIntensity} on the given engine. Called once before
+     * a parallel pass, so that workers never wait on a lazy fill.
+     */
+    default void prepare(TileRenderEngine tileRenderEngine) {
+    }
 }
@@ -0,0 +1,22 @@
+package org.dbs.sbgb.domain.model;
+
+/**
+ * Champ d'intensité structurel d'une galaxie : sortie du générateur (après domain warp),
+ * valeurs dans [0, 1] stockées ligne par ligne dans un tableau {@code float} dense.
+ * Ne dépend que des paramètres structurants : il peut être mis en cache et recoloré,
+ * étoilé ou passé au bloom à chaque requête sans relancer le générateur.
+ */
+public record GalaxyIntensityField(float[] values, int width, int height) {
+
+    public GalaxyIntensityField {
+        if (values.length != width * height) {
+            throw new IllegalArgumentException(
+                    "Field size mismatch: " + values.length + " values for " + width + "x" + height);
+        }
+    }
+
+    /** Retourne l'intensité dans [0, 1] pour le pixel (x, y). */
+    public double intensityAt(int x, int y) {
+        return values[y * width + x];
+    }
+}
@@ -0,0 +1,200 @@
+package org.dbs.sbgb.domain.model;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Uniform grid over a fixed set of Gaussian blobs {@code weight * exp(-d² * falloff)}.
+ * Each blob is truncated at the radius where its profile drops below {@code tolerance}
+ * and registered in every cell its truncated disc overlaps, so a pixel only visits the
+ * blobs of its own cell. Built once at construction; {@link #sum} is thread-safe.
+ */
+public final class GaussianSpatialIndex {
+
+    /**
+     * Profile value under which a contribution is ignored, cutoff at about 4.3 sigma. A skipped blob adds less
+     * than {@code tolerance * |weight|} at the pixel, so {@link #sum} differs from {@link #sumBruteForce} by less
+     * than {@code tolerance} times the summed weights of the blobs it skips. Each skipped blob thus loses less
+     * than 1e-4 of its peak, far under one grey level (1/255) of an 8-bit channel.
+     */
+    public static final double DEFAULT_TOLERANCE = 1e-4;
+
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] falloffs;
+    private final double[] weights;
+    private final double[] cutoffsSq;
+
+    private final double originX;
+    private final double originY;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final int[] cellStart;
+    private final int[] cellEntries;
+
+    private GaussianSpatialIndex(Builder builder, double tolerance) {
+        int count = builder.count;
+        this.xs = Arrays.copyOf(builder.xs, count);
+        this.ys = Arrays.copyOf(builder.ys, count);
+        this.falloffs = Arrays.copyOf(builder.falloffs, count);
+        this.weights = Arrays.copyOf(builder.weights, count);
+        this.cutoffsSq = new double[count];
+
+        double logInverseTolerance = -Math.log(tolerance);
+        double maxCutoff = 0.0;
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            cutoffsSq[i] = logInverseTolerance / falloffs[i];
+            double cutoff = Math.sqrt(cutoffsSq[i]);
+            maxCutoff = Math.max(maxCutoff, cutoff);
+            minX = Math.min(minX, xs[i] - cutoff);
+            minY = Math.min(minY, ys[i] - cutoff);
+            maxX = Math.max(maxX, xs[i] + cutoff);
+            maxY = Math.max(maxY, ys[i] + cutoff);
+        }
+
+        if (count == 0) {
+            this.originX = 0.0;
+            this.originY = 0.0;
+            this.cellSize = 1.0;
+            this.columns = 0;
+            this.rows = 0;
+            this.cellStart = new int[1];
+            this.cellEntries = new int[0];
+            return;
+        }
+
+        this.originX = minX;
+        this.originY = minY;
+        this.cellSize = Math.max(1.0, maxCutoff);
+        this.columns = Math.max(1, (int) Math.ceil((maxX - minX) / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil((maxY - minY) / cellSize));
+
+        // Counting pass then fill pass: cells are stored contiguously (CSR layout)
+        int[] counts = new int[columns * rows + 1];
+        for (int i = 0; i < count; i++) {
+            forEachCoveredCell(i, cell -> counts[cell + 1]++);
+        }
+        for (int c = 0; c < columns * rows; c++) {
+            counts[c + 1] += counts[c];
+        }
+        this.cellStart = counts.clone();
+        this.cellEntries = new int[counts[columns * rows]];
+        for (int i = 0; i < count; i++) {
+            int entry = i;
+            forEachCoveredCell(i, cell -> cellEntries[counts[cell]++] = entry);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return xs.length;
+    }
+
+    /**
+     * Sum of all non-negligible contributions at {@code (x, y)}.
+     */
+    public double sum(double x, double y) {
+        int column = (int) Math.floor((x - originX) / cellSize);
+        int row = (int) Math.floor((y - originY) / cellSize);
+        if (column < 0 || row < 0 || column >= columns || row >= rows) {
+            return 0.0;
+        }
+        int cell = row * columns + column;
+        double total = 0.0;
+        for (int k = cellStart[cell], end = cellStart[cell + 1]; k < end; k++) {
+            int i = cellEntries[k];
+            double dx = x - xs[i];
+            double dy = y - ys[i];
+            double distanceSq = dx * dx + dy * dy;
+            if (distanceSq < cutoffsSq[i]) {
+                total += weights[i] * Math.exp(-distanceSq * falloffs[i]);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Reference evaluation over every blob, without grid nor cutoff.
+     */
+    public double sumBruteForce(double x, double y) {
+        double total = 0.0;
+        for (int i = 0; i < xs.length; i++) {
+            double dx = x - xs[i];
+            double dy = y - ys[i];
+            total += weights[i] * Math.exp(-(dx * dx + dy * dy) * falloffs[i]);
+        }
+        return total;
+    }
+
+    private void forEachCoveredCell(int i, IntConsumer action) {
+        double cutoff = Math.sqrt(cutoffsSq[i]);
+        int c0 = cellColumn(xs[i] - cutoff);
+        int c1 = cellColumn(xs[i] + cutoff);
+        int r0 = cellRow(ys[i] - cutoff);
+        int r1 = cellRow(ys[i] + cutoff);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                action.accept(r * columns + c);
+            }
+        }
+    }
+
+    private int cellColumn(double x) {
+        return Math.clamp((long) Math.floor((x - originX) / cellSize), 0, columns - 1);
+    }
+
+    private int cellRow(double y) {
+        return Math.clamp((long) Math.floor((y - originY) / cellSize), 0, rows - 1);
+    }
+
+    public static class Builder {
+        private double[] xs = new double[16];
+        private double[] ys = new double[16];
+        private double[] falloffs = new double[16];
+        private double[] weights = new double[16];
+        private int count;
+        private double tolerance = DEFAULT_TOLERANCE;
+
+        /**
+         * Adds a blob {@code weight * exp(-d² / (denominator * size²))}.
+         */
+        public Builder add(double x, double y, double size, double denominator, double weight) {
+            if (size <= 0.0) {
+                throw new IllegalArgumentException("size must be strictly positive, got: " + size);
+            }
+            if (count == xs.length) {
+                int capacity = count * 2;
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+                falloffs = Arrays.copyOf(falloffs, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            xs[count] = x;
+            ys[count] = y;
+            falloffs[count] = 1.0 / (denominator * size * size);
+            weights[count] = weight;
+            count++;
+            return this;
+        }
+
+        public Builder tolerance(double tolerance) {
+            this.tolerance = tolerance;
+            return this;
+        }
+
+        public GaussianSpatialIndex build() {
+            if (!(tolerance > 0.0 && tolerance < 1.0)) {
+                throw new IllegalArgumentException("tolerance must be in ]0, 1[, got: " + tolerance);
+            }
+            return new GaussianSpatialIndex(this, tolerance);
+        }
+    }
+}
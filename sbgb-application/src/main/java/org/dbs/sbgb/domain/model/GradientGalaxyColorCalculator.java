@@ -14,8 +14,10 @@ import java.util.List;
 @Slf4j
 public class GradientGalaxyColorCalculator implements GalaxyColorCalculator {
 
-    private final List<ColorStop> colorStops;
+    private final double[] stopPositions;
+    private final int[] stopColors;
     private final Color spaceBackground;
+    private final ColorLookupTable colorTable;
 
     /**
      * Create gradient calculator with custom color stops
@@ -27,19 +29,25 @@ public class GradientGalaxyColorCalculator implements GalaxyColorCalculator {
         }
 
         // Sort by position to ensure proper gradient
-        this.colorStops = colorStops.stream()
+        List<ColorStop> sortedStops = colorStops.stream()
             .sorted(Comparator.comparingDouble(ColorStop::getPosition))
             .toList();
 
         // Verify first stop is at 0.0 and last at 1.0
-        if (this.colorStops.get(0).getPosition() != 0.0) {
+        if (sortedStops.get(0).getPosition() != 0.0) {
             log.warn("First color stop is not at 0.0, adding implicit stop");
         }
-        if (this.colorStops.get(this.colorStops.size() - 1).getPosition() != 1.0) {
+        if (sortedStops.get(sortedStops.size() - 1).getPosition() != 1.0) {
             log.warn("Last color stop is not at 1.0, adding implicit stop");
         }
 
-        this.spaceBackground = this.colorStops.get(0).getColor();
+        // Primitive copies of the stops keep the per-pixel lookup allocation-free
+        this.stopPositions = sortedStops.stream().mapToDouble(ColorStop::getPosition).toArray();
+        this.stopColors = sortedStops.stream().mapToInt(stop -> stop.getColor().getRGB()).toArray();
+        this.spaceBackground = sortedStops.get(0).getColor();
+
+        // Intensity is clamped to [0, 1]: the whole gradient fits in one table
+        this.colorTable = ColorLookupTable.bake(this::calculateAnalyticArgb);
     }
 
     /**
@@ -50,39 +58,43 @@ public class GradientGalaxyColorCalculator implements GalaxyColorCalculator {
     }
 
     @Override
-    public Color calculateGalaxyColor(double intensity) {
+    public int calculateGalaxyArgb(double intensity) {
+        return colorTable.lookup(intensity);
+    }
+
+    /**
+     * Exact gradient evaluation, sampled once into the lookup table
+     */
+    int calculateAnalyticArgb(double intensity) {
         // Clamp intensity to [0, 1]
         intensity = Math.clamp(intensity, 0.0, 1.0);
 
         // Find the two color stops surrounding this intensity
-        ColorStop lowerStop = colorStops.get(0);
-        ColorStop upperStop = colorStops.get(colorStops.size() - 1);
-
-        for (int i = 0; i < colorStops.size() - 1; i++) {
-            ColorStop current = colorStops.get(i);
-            ColorStop next = colorStops.get(i + 1);
+        int lower = 0;
+        int upper = stopPositions.length - 1;
 
-            if (intensity >= current.getPosition() && intensity <= next.getPosition()) {
-                lowerStop = current;
-                upperStop = next;
+        for (int i = 0; i < stopPositions.length - 1; i++) {
+            if (intensity >= stopPositions[i] && intensity <= stopPositions[i + 1]) {
+                lower = i;
+                upper = i + 1;
                 break;
             }
         }
 
         // Calculate interpolation factor between the two stops
-        double range = upperStop.getPosition() - lowerStop.getPosition();
+        double range = stopPositions[upper] - stopPositions[lower];
         if (range < 0.0001) {
             // Stops are at the same position, return lower color
-            return lowerStop.getColor();
+            return stopColors[lower];
         }
 
-        double t = (intensity - lowerStop.getPosition()) / range;
+        double t = (intensity - stopPositions[lower]) / range;
 
         // Apply smoothstep for natural transitions
         t = smoothstep(t);
 
         // Interpolate between the two colors
-        return blendColors(lowerStop.getColor(), upperStop.getColor(), t);
+        return blendColors(stopColors[lower], stopColors[upper], t);
     }
 
     @Override
@@ -91,14 +103,14 @@ public class GradientGalaxyColorCalculator implements GalaxyColorCalculator {
     }
 
     /**
-     * Blend two colors with linear interpolation
+     * Blend two packed colors with linear interpolation, result is opaque
      */
-    private Color blendColors(Color color1, Color color2, double blend) {
-        int r = (int) (color1.getRed() * (1 - blend) + color2.getRed() * blend);
-        int g = (int) (color1.getGreen() * (1 - blend) + color2.getGreen() * blend);
-        int b = (int) (color1.getBlue() * (1 - blend) + color2.getBlue() * blend);
+    private int blendColors(int color1, int color2, double blend) {
+        int r = (int) (PackedArgb.red(color1) * (1 - blend) + PackedArgb.red(color2) * blend);
+        int g = (int) (PackedArgb.green(color1) * (1 - blend) + PackedArgb.green(color2) * blend);
+        int b = (int) (PackedArgb.blue(color1) * (1 - blend) + PackedArgb.blue(color2) * blend);
 
-        return new Color(
+        return PackedArgb.opaque(
             Math.clamp(r, 0, 255),
             Math.clamp(g, 0, 255),
             Math.clamp(b, 0, 255)
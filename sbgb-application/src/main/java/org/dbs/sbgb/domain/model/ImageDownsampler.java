@@ -0,0 +1,143 @@
+package org.dbs.sbgb.domain.model;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+
+/**
+ * Area-averaging downscale of ARGB images and float grids.
+ * Every destination pixel is the coverage-weighted mean of the source pixels under its footprint,
+ * so stars and filaments fade into the average instead of aliasing as with nearest-neighbour sampling.
+ * Colours are averaged premultiplied by alpha: transparent pixels do not darken their neighbours.
+ * Destination tiles are computed in parallel on the {@link TileRenderEngine}.
+ */
+public final class ImageDownsampler {
+
+    /** Edge of the square that rating thumbnails fit in. */
+    public static final int THUMBNAIL_SIZE = 200;
+
+    private final TileRenderEngine tileRenderEngine;
+
+    public ImageDownsampler() {
+        this(TileRenderEngine.shared());
+    }
+
+    public ImageDownsampler(TileRenderEngine tileRenderEngine) {
+        this.tileRenderEngine = tileRenderEngine;
+    }
+
+    /**
+     * Largest size with the same aspect ratio that fits in a {@code maxSize} square; never upscales.
+     */
+    public static Dimension fit(int width, int height, int maxSize) {
+        double scale = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        return new Dimension(Math.max(1, (int) Math.round(width * scale)),
+                Math.max(1, (int) Math.round(height * scale)));
+    }
+
+    /**
+     * Downscales the image to fit in a {@code maxSize} square; smaller images are returned as is.
+     */
+    public BufferedImage fitWithin(BufferedImage source, int maxSize) {
+        Dimension size = fit(source.getWidth(), source.getHeight(), maxSize);
+        if (size.width == source.getWidth() && size.height == source.getHeight()) {
+            return source;
+        }
+        return downsample(source, size.width, size.height);
+    }
+
+    /**
+     * Area-averaged copy of the image at the given size. Opaque {@link BufferedImage#TYPE_INT_RGB}
+     * sources give an opaque result, every other source an ARGB one.
+     */
+    public BufferedImage downsample(BufferedImage source, int width, int height) {
+        boolean opaque = source.getType() == BufferedImage.TYPE_INT_RGB;
+        int[] pixels = ArgbImageBuffer.wrap(source).pixels();
+        int sourceWidth = source.getWidth();
+        int alphaMask = opaque ? 0xFF000000 : 0;
+        Footprint columns = Footprint.of(sourceWidth, width);
+        Footprint rows = Footprint.of(source.getHeight(), height);
+        double area = columns.scale() * rows.scale();
+
+        ArgbImageBuffer target = opaque ? ArgbImageBuffer.createOpaque(width, height) : ArgbImageBuffer.create(width, height);
+        tileRenderEngine.renderArgb(target.pixels(), width, height, (x, y) -> {
+            double alpha = 0.0;
+            double red = 0.0;
+            double green = 0.0;
+            double blue = 0.0;
+            for (int sy = rows.first()[y]; sy <= rows.last()[y]; sy++) {
+                double rowWeight = rows.weight(y, sy);
+                int offset = sy * sourceWidth;
+                for (int sx = columns.first()[x]; sx <= columns.last()[x]; sx++) {
+                    int pixel = pixels[offset + sx] | alphaMask;
+                    double weightedAlpha = (pixel >>> 24) * rowWeight * columns.weight(x, sx);
+                    alpha += weightedAlpha;
+                    red += ((pixel >>> 16) & 0xFF) * weightedAlpha;
+                    green += ((pixel >>> 8) & 0xFF) * weightedAlpha;
+                    blue += (pixel & 0xFF) * weightedAlpha;
+                }
+            }
+            if (alpha == 0.0) {
+                return 0;
+            }
+            return channel(alpha / area) << 24 | channel(red / alpha) << 16
+                    | channel(green / alpha) << 8 | channel(blue / alpha);
+        });
+        return target.toBufferedImage();
+    }
+
+    /**
+     * Area-averaged copy of a normalized grid at the given size: a mipmap level that can be coloured
+     * at thumbnail resolution. The normalization range of the source grid is kept.
+     */
+    public NormalizedNoiseGrid downsample(NormalizedNoiseGrid grid, int width, int height) {
+        float[] values = grid.values();
+        int sourceWidth = grid.width();
+        Footprint columns = Footprint.of(sourceWidth, width);
+        Footprint rows = Footprint.of(grid.height(), height);
+        double area = columns.scale() * rows.scale();
+
+        float[] target = new float[width * height];
+        tileRenderEngine.forEachTile(width, height, (x0, y0, x1, y1) -> {
+            for (int y = y0; y < y1; y++) {
+                for (int x = x0; x < x1; x++) {
+                    double sum = 0.0;
+                    for (int sy = rows.first()[y]; sy <= rows.last()[y]; sy++) {
+                        double rowWeight = rows.weight(y, sy);
+                        int offset = sy * sourceWidth;
+                        for (int sx = columns.first()[x]; sx <= columns.last()[x]; sx++) {
+                            sum += values[offset + sx] * rowWeight * columns.weight(x, sx);
+                        }
+                    }
+                    target[y * width + x] = (float) (sum / area);
+                }
+            }
+        });
+        return new NormalizedNoiseGrid(target, grid.minVal(), grid.maxVal(), width, height);
+    }
+
+    private static int channel(double value) {
+        return Math.min(255, (int) Math.round(value));
+    }
+
+    /**
+     * Source span covered by each destination index along one axis: destination {@code d} covers
+     * {@code [d * scale, (d + 1) * scale)}, partially covered source pixels at both ends weigh their overlap.
+     */
+    private record Footprint(double scale, int[] first, int[] last) {
+
+        static Footprint of(int sourceSize, int targetSize) {
+            double scale = (double) sourceSize / targetSize;
+            int[] first = new int[targetSize];
+            int[] last = new int[targetSize];
+            for (int d = 0; d < targetSize; d++) {
+                first[d] = Math.min(sourceSize - 1, (int) Math.floor(d * scale));
+                last[d] = Math.min(sourceSize - 1, (int) Math.ceil((d + 1) * scale) - 1);
+            }
+            return new Footprint(scale, first, last);
+        }
+
+        double weight(int target, int source) {
+            return Math.min((target + 1) * scale, source + 1.0) - Math.max(target * scale, source);
+        }
+    }
+}
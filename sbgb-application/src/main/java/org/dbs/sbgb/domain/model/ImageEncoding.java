@@ -0,0 +1,43 @@
+package org.dbs.sbgb.domain.model;
+
+/**
+ * Output format and its compression settings.
+ * Previews favour encoding speed, downloads favour size (PNG) or fidelity (JPEG).
+ *
+ * @param format      output format
+ * @param pngOptions  deflate level and row filter, used by {@link ImageFormat#PNG}
+ * @param jpegQuality JPEG quality in [0, 1], used by {@link ImageFormat#JPEG}
+ */
+public record ImageEncoding(ImageFormat format, PngEncodingOptions pngOptions, float jpegQuality) {
+
+    public static final float PREVIEW_JPEG_QUALITY = 0.8f;
+    public static final float DOWNLOAD_JPEG_QUALITY = 0.95f;
+
+    public ImageEncoding {
+        if (format == null || pngOptions == null) {
+            throw new IllegalArgumentException("format and pngOptions cannot be null");
+        }
+        if (jpegQuality < 0f || jpegQuality > 1f) {
+            throw new IllegalArgumentException("jpegQuality must be between 0 and 1, got: " + jpegQuality);
+        }
+    }
+
+    public static ImageEncoding preview(ImageFormat format) {
+        return new ImageEncoding(format, PngEncodingOptions.PREVIEW, PREVIEW_JPEG_QUALITY);
+    }
+
+    public static ImageEncoding download(ImageFormat format) {
+        return new ImageEncoding(format, PngEncodingOptions.DOWNLOAD, DOWNLOAD_JPEG_QUALITY);
+    }
+
+    /**
+     * Stable identifier of the settings that affect the encoded bytes, used in cache keys.
+     */
+    public String cacheKey() {
+        return switch (format) {
+            case PNG -> "png/" + pngOptions.compressionLevel() + "/" + pngOptions.filter();
+            case JPEG -> "jpeg/" + Math.round(jpegQuality * 100);
+            case QOI, FLOAT32 -> format.extension();
+        };
+    }
+}
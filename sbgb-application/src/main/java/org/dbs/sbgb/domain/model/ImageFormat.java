@@ -0,0 +1,51 @@
+package org.dbs.sbgb.domain.model;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Output formats of the build endpoints.
+ * {@link #FLOAT32} is not a picture: it carries the raw intensity (galaxy) or normalized noise planes,
+ * see {@link Float32RasterEncoder}.
+ */
+public enum ImageFormat {
+    PNG("image/png", "png"),
+    QOI("image/qoi", "qoi"),
+    JPEG("image/jpeg", "jpg"),
+    FLOAT32("application/vnd.sbgb.float32", "f32");
+
+    private final String mediaType;
+    private final String extension;
+
+    ImageFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /** True for formats encoded from the rendered colour image. */
+    public boolean isRaster() {
+        return this != FLOAT32;
+    }
+
+    /**
+     * Resolves a format from its name, extension or media type, case-insensitively ({@code "jpeg"}, {@code "jpg"},
+     * {@code "image/jpeg"}).
+     */
+    public static ImageFormat fromName(String name) {
+        String normalized = name.trim().toLowerCase(Locale.ROOT);
+        return Arrays.stream(values())
+                .filter(format -> format.name().toLowerCase(Locale.ROOT).equals(normalized)
+                        || format.extension.equals(normalized)
+                        || format.mediaType.equals(normalized))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported image format: " + name));
+    }
+}
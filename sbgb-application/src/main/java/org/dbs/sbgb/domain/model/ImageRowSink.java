@@ -0,0 +1,18 @@
+package org.dbs.sbgb.domain.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Destination of an image rendered by bands of rows: rows arrive in order, top to bottom, and are written
+ * out as they come, so the whole image never has to be held in memory. {@link #close()} completes the output
+ * and fails if fewer rows than the image height were written.
+ */
+public interface ImageRowSink extends Closeable {
+
+    /**
+     * Writes the next {@code rows} rows of packed ARGB pixels, read from {@code pixels[offset]} with a stride
+     * of the image width.
+     */
+    void writeRows(int[] pixels, int offset, int rows) throws IOException;
+}
@@ -14,7 +14,9 @@ import java.util.Random;
 public class IrregularGalaxyGenerator extends AbstractGalaxyGenerator {
 
     private final IrregularStructureParameters irregularParameters;
-    private final List<Clump> clumps;
+    private final GaussianSpatialIndex clumpIndex;
+    private final double coreFalloff;
+    private final double irregularity;
 
     private static class Clump {
         double x, y, size, intensity;
@@ -31,12 +33,18 @@ public class IrregularGalaxyGenerator extends AbstractGalaxyGenerator {
             PerlinGenerator noiseGenerator,
             long seed,
             CoreParameters coreParameters,
-            IrregularStructureParameters irregularParameters) {
+            IrregularStructureParameters irregularParameters,
+            double tolerance) {
         super(width, height, noiseGenerator, coreParameters);
         this.irregularParameters = irregularParameters;
+        double coreRadius = coreParameters.getGalaxyRadius() * coreParameters.getCoreSize();
+        this.coreFalloff = 1.0 / (RadialFalloffConstants.GAUSSIAN_DENOMINATOR * coreRadius * coreRadius);
+        this.irregularity = irregularParameters.getIrregularity();
 
         // Generate random clumps of star formation
-        this.clumps = generateClumps(seed, irregularParameters.getClumpCount(), irregularParameters.getClumpSize());
+        this.clumpIndex = buildClumpIndex(
+                generateClumps(seed, irregularParameters.getClumpCount(), irregularParameters.getClumpSize()),
+                tolerance);
     }
 
     private List<Clump> generateClumps(long seed, int clumpCount, double clumpSize) {
@@ -59,40 +67,37 @@ public class IrregularGalaxyGenerator extends AbstractGalaxyGenerator {
         return clumps;
     }
 
+    private static GaussianSpatialIndex buildClumpIndex(List<Clump> clumps, double tolerance) {
+        GaussianSpatialIndex.Builder index = GaussianSpatialIndex.builder().tolerance(tolerance);
+        for (Clump clump : clumps) {
+            index.add(clump.x, clump.y, clump.size, RadialFalloffConstants.GAUSSIAN_DENOMINATOR, clump.intensity);
+        }
+        return index.build();
+    }
+
     @Override
     public double calculateGalaxyIntensity(int x, int y) {
-        PixelGeometry geo = calculateGeometry(x, y);
-        if (geo == null)
+        double distance = distance(x, y);
+        double normalizedDistance = normalizedDistance(distance);
+        if (normalizedDistance > 1.0)
             return 0.0;
 
         // Core contribution (small for irregular galaxies)
-        double coreRadius = coreParameters.getGalaxyRadius() * coreParameters.getCoreSize();
-        double coreIntensity = Math.exp(-(geo.distance * geo.distance)
-                / (RadialFalloffConstants.GAUSSIAN_DENOMINATOR * coreRadius * coreRadius));
+        double coreIntensity = Math.exp(-(distance * distance) * coreFalloff);
         coreIntensity *= CoreIntensityConstants.IRREGULAR_CORE_MULTIPLIER;
 
-        // Clump contributions (Gaussian profiles)
-        double clumpIntensity = 0.0;
-        for (Clump clump : clumps) {
-            double clumpDx = x - clump.x;
-            double clumpDy = y - clump.y;
-            double clumpDist = Math.sqrt(clumpDx * clumpDx + clumpDy * clumpDy);
-            double clumpProfile = Math.exp(-(clumpDist * clumpDist)
-                    / (RadialFalloffConstants.GAUSSIAN_DENOMINATOR * clump.size * clump.size));
-            clumpIntensity += clumpProfile * clump.intensity;
-        }
-        clumpIntensity = Math.min(clumpIntensity, 1.0);
+        // Clump contributions (Gaussian profiles), only clumps within the cutoff radius are visited
+        double clumpIntensity = Math.min(clumpIndex.sum(x, y), 1.0);
 
         // Strong Perlin noise for irregularity
         double noiseValue = noiseGenerator.scaleNoiseNormalizedValue(x, y);
-        double noiseFactor = (1.0 - irregularParameters.getIrregularity())
-                + (noiseValue * irregularParameters.getIrregularity());
+        double noiseFactor = (1.0 - irregularity) + (noiseValue * irregularity);
 
         // Combine all sources
         double baseIntensity = coreIntensity + clumpIntensity * CoreIntensityConstants.IRREGULAR_CLUMP_WEIGHT;
 
-        // Soft radial falloff
-        double radialFalloff = Math.pow(1.0 - geo.normalizedDistance, 1.5);
+        // Soft radial falloff, (1 - d)^1.5 without pow
+        double radialFalloff = (1.0 - normalizedDistance) * Math.sqrt(1.0 - normalizedDistance);
 
         double combined = baseIntensity * radialFalloff * noiseFactor;
         return Math.clamp(combined, 0.0, 1.0);
@@ -116,6 +121,7 @@ public class IrregularGalaxyGenerator extends AbstractGalaxyGenerator {
                 .clumpCount(15)
                 .clumpSize(80.0)
                 .build();
+        private double tolerance = GaussianSpatialIndex.DEFAULT_TOLERANCE;
 
         public Builder width(int width) {
             this.width = width;
@@ -147,12 +153,17 @@ public class IrregularGalaxyGenerator extends AbstractGalaxyGenerator {
             return this;
         }
 
+        public Builder tolerance(double tolerance) {
+            this.tolerance = tolerance;
+            return this;
+        }
+
         public IrregularGalaxyGenerator build() {
             if (noiseGenerator == null) {
                 throw new IllegalStateException("noiseGenerator must be set");
             }
             return new IrregularGalaxyGenerator(width, height, noiseGenerator, seed, coreParameters,
-                    irregularParameters);
+                    irregularParameters, tolerance);
         }
     }
 }
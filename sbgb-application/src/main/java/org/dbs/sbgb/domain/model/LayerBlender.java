@@ -24,4 +24,15 @@ public class LayerBlender {
 
         return Math.clamp((int) (blended * 255.0), 0, 255);
     }
+
+    /**
+     * Blends two packed ARGB colors channel by channel; the result keeps the most opaque alpha.
+     */
+    public static int blendArgb(int base, int overlay, BlendMode mode, double opacity) {
+        int r = blendColorComponent(PackedArgb.red(base), PackedArgb.red(overlay), mode, opacity);
+        int g = blendColorComponent(PackedArgb.green(base), PackedArgb.green(overlay), mode, opacity);
+        int b = blendColorComponent(PackedArgb.blue(base), PackedArgb.blue(overlay), mode, opacity);
+        int a = Math.max(PackedArgb.alpha(base), PackedArgb.alpha(overlay));
+        return PackedArgb.pack(a, r, g, b);
+    }
 }
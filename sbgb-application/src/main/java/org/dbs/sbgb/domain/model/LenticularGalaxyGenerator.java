@@ -7,8 +7,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.dbs.sbgb.domain.model.parameters.CoreParameters;
 import org.dbs.sbgb.domain.model.parameters.LenticularShapeParameters;
 
-import java.util.concurrent.Executors;
-
 /**
  * Implementation of Lenticular Galaxy Generator.
  * Simulates a central bulge (Sersic) and a flatter disk component.
@@ -18,7 +16,12 @@ public class LenticularGalaxyGenerator extends AbstractGalaxyGenerator {
 
     private final LenticularShapeParameters lenticularParameters;
     private final JNoise jNoise;
-    private final double orientationAngleRad;
+    private final double cosA;
+    private final double sinA;
+    private final double inverseBulgeAxisRatioSq;
+    private final double inverseDiskAxisRatioSq;
+    private final double inverseDiskScale;
+    private final double diskContribution;
     private final SersicProfile sersicProfile;
 
     public LenticularGalaxyGenerator(int width, int height,
@@ -27,7 +30,16 @@ public class LenticularGalaxyGenerator extends AbstractGalaxyGenerator {
                                      LenticularShapeParameters lenticularParameters) {
         super(width, height, null, coreParameters);
         this.lenticularParameters = lenticularParameters;
-        this.orientationAngleRad = Math.toRadians(lenticularParameters.getOrientationAngle());
+        double orientationAngleRad = Math.toRadians(lenticularParameters.getOrientationAngle());
+        this.cosA = Math.cos(orientationAngleRad);
+        this.sinA = Math.sin(orientationAngleRad);
+        double axisRatio = lenticularParameters.getAxisRatio();
+        this.inverseBulgeAxisRatioSq = 1.0 / (axisRatio * axisRatio);
+        // Simulating the disk (flatter than the bulge)
+        double diskAxisRatio = Math.min(1.0, axisRatio * 0.5);
+        this.inverseDiskAxisRatioSq = 1.0 / (diskAxisRatio * diskAxisRatio);
+        this.inverseDiskScale = 1.0 / (coreParameters.getGalaxyRadius() * 0.6);
+        this.diskContribution = lenticularParameters.getDiskContribution();
         this.sersicProfile = new SersicProfile(
                 lenticularParameters.getSersicIndex(),
                 coreParameters.getGalaxyRadius() * 0.4);
@@ -40,34 +52,30 @@ public class LenticularGalaxyGenerator extends AbstractGalaxyGenerator {
 
     @Override
     public double calculateGalaxyIntensity(int x, int y) {
-        PixelGeometry geo = calculateGeometry(x, y);
-        if (geo == null)
+        if (normalizedDistance(distance(x, y)) > 1.0)
             return 0.0;
 
         // Rotation for ellipse orientation
-        double cosA = Math.cos(orientationAngleRad);
-        double sinA = Math.sin(orientationAngleRad);
-        double rotX = geo.dx * cosA + geo.dy * sinA;
-        double rotY = -geo.dx * sinA + geo.dy * cosA;
+        double dx = x - centerX;
+        double dy = y - centerY;
+        double rotX = dx * cosA + dy * sinA;
+        double rotY = -dx * sinA + dy * cosA;
 
         // Elliptical distance for the bulge
-        double bulgeDistance = Math.sqrt(rotX * rotX
-                + (rotY * rotY) / (lenticularParameters.getAxisRatio() * lenticularParameters.getAxisRatio()));
+        double bulgeDistance = Math.sqrt(rotX * rotX + rotY * rotY * inverseBulgeAxisRatioSq);
 
         // Intensity from bulge (Sersic profile)
         double bulgeIntensity = sersicProfile.computeIntensity(bulgeDistance);
 
-        // Simulating the disk (flatter than the bulge)
-        double diskAxisRatio = Math.min(1.0, lenticularParameters.getAxisRatio() * 0.5);
-        double diskDistance = Math.sqrt(rotX * rotX
-                + (rotY * rotY) / (diskAxisRatio * diskAxisRatio));
-        
+        // Disk distance, flatter than the bulge
+        double diskDistance = Math.sqrt(rotX * rotX + rotY * rotY * inverseDiskAxisRatioSq);
+
         // Exponential profile for the disk
-        double diskIntensity = Math.exp(-diskDistance / (coreParameters.getGalaxyRadius() * 0.6));
+        double diskIntensity = Math.exp(-diskDistance * inverseDiskScale);
 
         // Combine components
-        double combinedIntensity = (1.0 - lenticularParameters.getDiskContribution()) * bulgeIntensity 
-                                  + lenticularParameters.getDiskContribution() * diskIntensity;
+        double combinedIntensity = (1.0 - diskContribution) * bulgeIntensity
+                                  + diskContribution * diskIntensity;
 
         // Noise Modulation
         double perlinNoise = jNoise.evaluateNoise(x, y);
@@ -76,18 +84,12 @@ public class LenticularGalaxyGenerator extends AbstractGalaxyGenerator {
         return Math.clamp(finalIntensity, 0.0, 1.0);
     }
 
-    public float[] generateBuffer() {
-        float[] buffer = new float[width * height];
-        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
-            for (int y = 0; y < height; y++) {
-                final int currentY = y;
-                executor.submit(() -> {
-                    for (int x = 0; x < width; x++) {
-                        buffer[currentY * width + x] = (float) calculateGalaxyIntensity(x, currentY);
-                    }
-                });
-            }
-        }
+    /**
+     * Parallel batch rendering on the given tile engine.
+     */
+    public float[] generateBuffer(TileRenderEngine tileRenderEngine) {
+        prepare(tileRenderEngine);
+        float[] buffer = tileRenderEngine.renderIntensity(width, height, this);
         log.info("Lenticular Galaxy buffer generation completed ({}x{})", width, height);
         return buffer;
     }
@@ -12,6 +12,10 @@ import lombok.extern.slf4j.Slf4j;
  * - Micro: fine-scale grain (higher frequency)
  *
  * Each layer is weighted and combined to produce rich, multi-scale noise patterns.
+ * With {@code materialized = false} no field is kept: the normalization ranges come from streaming scans
+ * and every read re-evaluates the layers, with the same values as the materialized field.
+ * {@code normalization} applies to each layer and to the combined value: with an estimated range
+ * ({@link NoiseNormalization}) no full pre-scan is made.
  */
 @Slf4j
 @Builder
@@ -29,6 +33,10 @@ public class MultiLayerNoiseGenerator {
     private final double mesoWeight;
     private final double microScale;
     private final double microWeight;
+    @Builder.Default
+    private final boolean materialized = true;
+    @Builder.Default
+    private final NoiseNormalization normalization = NoiseNormalization.FULL_SCAN;
 
     private PerlinGenerator macroLayer;
     private PerlinGenerator mesoLayer;
@@ -36,26 +44,33 @@ public class MultiLayerNoiseGenerator {
 
     private double minVal;
     private double maxVal;
+    private float[] combinedField;
 
     /**
      * Initialize the three noise layers with independent seeds.
      */
     public void initialize() {
         // Create three PerlinGenerators with offset seeds to ensure independence
-        macroLayer = new PerlinGenerator(interpolation, fadeFunction);
-        mesoLayer = new PerlinGenerator(interpolation, fadeFunction);
-        microLayer = new PerlinGenerator(interpolation, fadeFunction);
+        macroLayer = new PerlinGenerator(interpolation, fadeFunction, NoiseEngine.JNOISE, normalization);
+        mesoLayer = new PerlinGenerator(interpolation, fadeFunction, NoiseEngine.JNOISE, normalization);
+        microLayer = new PerlinGenerator(interpolation, fadeFunction, NoiseEngine.JNOISE, normalization);
 
         // Use seed offsets to ensure each layer is independent
         macroLayer.createNoisePipeline(seed, width, height, 3, 0.5, 2.0, macroScale, noiseType);
         mesoLayer.createNoisePipeline(seed + 1000, width, height, 3, 0.5, 2.0, mesoScale, noiseType);
         microLayer.createNoisePipeline(seed + 2000, width, height, 3, 0.5, 2.0, microScale, noiseType);
 
-        macroLayer.performNormalization();
-        mesoLayer.performNormalization();
-        microLayer.performNormalization();
-
-        normalizeMinMaxValues();
+        if (materialized) {
+            macroLayer.performNormalization();
+            mesoLayer.performNormalization();
+            microLayer.performNormalization();
+            combineLayers();
+        } else {
+            macroLayer.computeNormalizationRange();
+            mesoLayer.computeNormalizationRange();
+            microLayer.computeNormalizationRange();
+            scanCombinedRange();
+        }
 
         log.info("MultiLayerNoiseGenerator initialized: seed={}, macro={}/{}, meso={}/{}, micro={}/{}",
                 seed, macroScale, macroWeight, mesoScale, mesoWeight, microScale, microWeight);
@@ -69,48 +84,89 @@ public class MultiLayerNoiseGenerator {
      * @return combined noise value normalized to [0, 1]
      */
     public double evaluate(int x, int y) {
-        double macroValue = macroLayer.scaleNoiseNormalizedValue(x, y);
-        double mesoValue = mesoLayer.scaleNoiseNormalizedValue(x, y);
-        double microValue = microLayer.scaleNoiseNormalizedValue(x, y);
+        if (x >= 0 && x < width && y >= 0 && y < height) {
+            return combinedField != null
+                    ? combinedField[y * width + x]
+                    : (float) range().normalize((float) combineAt(x, y));
+        }
+        return range().normalize(combineAt(x, y));
+    }
 
-        // Weighted combination
-        double combined = macroValue * macroWeight +
-                mesoValue * mesoWeight +
-                microValue * microWeight;
+    /**
+     * Fused combination pass: the weighted sum of the three materialized layers is written once
+     * into the combined field while its min/max is reduced in parallel, then normalized in place.
+     * With an estimated range the values are normalized as they are written.
+     * The per-layer fields are released afterwards; only their normalization ranges are kept.
+     */
+    private void combineLayers() {
+        float[] field = new float[width * height];
+        NoiseFieldEvaluator.ValueRange range;
+        if (normalization == NoiseNormalization.FULL_SCAN) {
+            range = NoiseFieldEvaluator.evaluateInto(field, width, height, this::combineAt);
+            NoiseFieldEvaluator.normalizeInPlace(field, width, height, range);
+        } else {
+            range = estimatedRange();
+            NoiseFieldEvaluator.evaluateNormalizedRows(field, width, 0, height, this::combineRow, range);
+        }
 
-        // Normalize to [0, 1]
-        return normalize(combined);
-    }
+        this.minVal = range.min();
+        this.maxVal = range.max();
+        this.combinedField = field;
 
-    private void normalizeMinMaxValues() {
-        double currentMax = Double.NEGATIVE_INFINITY;
-        double currentMin = Double.POSITIVE_INFINITY;
+        macroLayer.releaseNormalizedField();
+        mesoLayer.releaseNormalizedField();
+        microLayer.releaseNormalizedField();
 
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                double macroValue = macroLayer.scaleNoiseNormalizedValue(x, y);
-                double mesoValue = mesoLayer.scaleNoiseNormalizedValue(x, y);
-                double microValue = microLayer.scaleNoiseNormalizedValue(x, y);
+        log.info("MultiLayerNoiseGenerator normalized: min={}, max={}", minVal, maxVal);
+    }
 
-                double combined = macroValue * macroWeight +
-                        mesoValue * mesoWeight +
-                        microValue * microWeight;
+    /** Range of the combined value without storing it, as {@link #combineLayers()} would reduce it. */
+    private void scanCombinedRange() {
+        NoiseFieldEvaluator.ValueRange range = normalization == NoiseNormalization.FULL_SCAN
+                ? NoiseFieldEvaluator.scanRange(width, height, this::combineRow)
+                : estimatedRange();
+        this.minVal = range.min();
+        this.maxVal = range.max();
+        log.info("MultiLayerNoiseGenerator normalized without materialized field: min={}, max={}", minVal, maxVal);
+    }
 
-                if (combined > currentMax) currentMax = combined;
-                if (combined < currentMin) currentMin = combined;
+    /**
+     * Range of the combined value without a full scan: sampled on the lattice of the finest layer,
+     * or bounded by the weighted sum of the per-layer [0, 1] values.
+     */
+    private NoiseFieldEvaluator.ValueRange estimatedRange() {
+        if (normalization == NoiseNormalization.ANALYTIC_BOUNDS) {
+            double[] weights = {macroWeight, mesoWeight, microWeight};
+            double min = 0.0;
+            double max = 0.0;
+            for (double weight : weights) {
+                min += Math.min(0.0, weight);
+                max += Math.max(0.0, weight);
             }
+            return new NoiseFieldEvaluator.ValueRange(min, max);
         }
+        int stride = Math.min(macroLayer.sampleStride(), Math.min(mesoLayer.sampleStride(), microLayer.sampleStride()));
+        return NoiseFieldEvaluator.sampleRange(width, height, stride, this::combineAt);
+    }
 
-        this.maxVal = currentMax;
-        this.minVal = currentMin;
+    private void combineRow(int y, double[] row) {
+        for (int x = 0; x < width; x++) {
+            row[x] = combineAt(x, y);
+        }
+    }
 
-        log.info("MultiLayerNoiseGenerator normalized: min={}, max={}", minVal, maxVal);
+    private double combineAt(int x, int y) {
+        double macroValue = macroLayer.scaleNoiseNormalizedValue(x, y);
+        double mesoValue = mesoLayer.scaleNoiseNormalizedValue(x, y);
+        double microValue = microLayer.scaleNoiseNormalizedValue(x, y);
+
+        // Weighted combination
+        return macroValue * macroWeight +
+                mesoValue * mesoWeight +
+                microValue * microWeight;
     }
 
-    private double normalize(double value) {
-        if (maxVal == minVal) {
-            return 0.5; // Avoid division by zero
-        }
-        return (value - minVal) / (maxVal - minVal);
+    private NoiseFieldEvaluator.ValueRange range() {
+        return new NoiseFieldEvaluator.ValueRange(minVal, maxVal);
     }
 }
@@ -4,11 +4,9 @@ import de.articdive.jnoise.core.api.functions.Interpolation;
 import de.articdive.jnoise.generators.noise_parameters.fade_functions.FadeFunction;
 import lombok.extern.slf4j.Slf4j;
 
-import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.IntStream;
 
 @Slf4j
 public class MultiLayerNoiseImageCalculator {
@@ -23,116 +21,42 @@ public class MultiLayerNoiseImageCalculator {
     private final List<LayerConfig> layers;
     private final Interpolation interpolation;
     private final FadeFunction fadeFunction;
+    private final NoiseNormalization normalization;
     private final NoiseColorCalculator noiseColorCalculator;
-    private final List<PerlinGenerator> layerGenerators;
 
     private MultiLayerNoiseImageCalculator(int width,
                                            int height,
                                            List<LayerConfig> layers,
                                            Interpolation interpolation,
                                            FadeFunction fadeFunction,
+                                           NoiseNormalization normalization,
                                            NoiseColorCalculator noiseColorCalculator) {
         this.width = width;
         this.height = height;
         this.layers = layers;
         this.interpolation = interpolation;
         this.fadeFunction = fadeFunction;
+        this.normalization = normalization;
         this.noiseColorCalculator = noiseColorCalculator;
-        this.layerGenerators = new ArrayList<>();
     }
 
     public BufferedImage create(long seed) {
-        // Initialize generators for each enabled layer
-        layerGenerators.clear();
-        for (LayerConfig layer : layers) {
-            if (layer.isEnabled()) {
-                PerlinGenerator generator = new PerlinGenerator(interpolation, fadeFunction);
-                generator.createNoisePipeline(
-                        seed + layer.getSeedOffset(),
-                        width,
-                        height,
-                        layer.getOctaves(),
-                        layer.getPersistence(),
-                        layer.getLacunarity(),
-                        layer.getScale(),
-                        layer.getNoiseType() != null ? layer.getNoiseType() : NoiseType.FBM
-                );
-                generator.performNormalization();
-                layerGenerators.add(generator);
-            }
-        }
-
-        return buildImage();
-    }
-
-    private BufferedImage buildImage() {
-        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2d = img.createGraphics();
-        g2d.setBackground(noiseColorCalculator.getBackGroundColor());
-        g2d.clearRect(0, 0, width, height);
-        g2d.dispose();
-
-        IntStream.range(0, width).parallel().forEach(x -> {
-            for (int y = 0; y < height; y++) {
-                Color finalColor = calculateLayeredColor(x, y);
-                img.setRGB(x, y, finalColor.getRGB());
-            }
-        });
-
-        return img;
-    }
-
-    private Color calculateLayeredColor(int x, int y) {
-        // Start with base noise value from first layer
-        if (layerGenerators.isEmpty()) {
-            return noiseColorCalculator.getBackGroundColor();
-        }
-
-        double baseNoise = layerGenerators.get(0).scaleNoiseNormalizedValue(x, y);
-        Color baseColor = noiseColorCalculator.calculateNoiseColor(baseNoise);
-
-        // Blend additional layers
-        int enabledLayerIndex = 0;
-        for (int i = 0; i < layers.size(); i++) {
-            LayerConfig layer = layers.get(i);
-            if (!layer.isEnabled()) continue;
-
-            if (enabledLayerIndex == 0) {
-                // First layer is the base
-                enabledLayerIndex++;
-                continue;
-            }
-
-            PerlinGenerator layerGenerator = layerGenerators.get(enabledLayerIndex);
-            double layerNoise = layerGenerator.scaleNoiseNormalizedValue(x, y);
-            Color layerColor = noiseColorCalculator.calculateNoiseColor(layerNoise);
-
-            // Blend layer with base
-            int r = LayerBlender.blendColorComponent(
-                    baseColor.getRed(),
-                    layerColor.getRed(),
-                    layer.getBlendMode(),
-                    layer.getOpacity()
-            );
-            int g = LayerBlender.blendColorComponent(
-                    baseColor.getGreen(),
-                    layerColor.getGreen(),
-                    layer.getBlendMode(),
-                    layer.getOpacity()
-            );
-            int b = LayerBlender.blendColorComponent(
-                    baseColor.getBlue(),
-                    layerColor.getBlue(),
-                    layer.getBlendMode(),
-                    layer.getOpacity()
-            );
-
-            int a = Math.max(baseColor.getAlpha(), layerColor.getAlpha());
-            baseColor = new Color(r, g, b, a);
-            enabledLayerIndex++;
-        }
-
-        return baseColor;
+        // Each enabled layer is evaluated and normalized once into a materialized grid
+        List<NormalizedNoiseGrid> grids = layers.stream()
+                .filter(LayerConfig::isEnabled)
+                .map(layer -> new PerlinGenerator(interpolation, fadeFunction, NoiseEngine.JNOISE, normalization)
+                        .computeAndNormalize(
+                                seed + layer.getSeedOffset(),
+                                width,
+                                height,
+                                layer.getOctaves(),
+                                layer.getPersistence(),
+                                layer.getLacunarity(),
+                                layer.getScale(),
+                                layer.getNoiseType() != null ? layer.getNoiseType() : NoiseType.FBM))
+                .toList();
+
+        return new MultiLayerRenderer(width, height, noiseColorCalculator).renderLayers(grids, layers);
     }
 
     public static class Builder {
@@ -141,6 +65,7 @@ public class MultiLayerNoiseImageCalculator {
         private List<LayerConfig> layers;
         private Interpolation interpolation;
         private FadeFunction fadeFunction;
+        private NoiseNormalization normalization;
         private NoiseColorCalculator noiseColorCalculator;
 
         public Builder() {
@@ -149,6 +74,7 @@ public class MultiLayerNoiseImageCalculator {
             this.layers = new ArrayList<>();
             this.interpolation = DEFAULT_INTERPOLATION;
             this.fadeFunction = DEFAULT_FADE_FUNCTION;
+            this.normalization = NoiseNormalization.FULL_SCAN;
         }
 
         public Builder withWidth(int width) {
@@ -186,8 +112,13 @@ public class MultiLayerNoiseImageCalculator {
             return this;
         }
 
+        public Builder withNormalization(NoiseNormalization normalization) {
+            this.normalization = normalization;
+            return this;
+        }
+
         public MultiLayerNoiseImageCalculator build() {
-            return new MultiLayerNoiseImageCalculator(width, height, layers, interpolation, fadeFunction, noiseColorCalculator);
+            return new MultiLayerNoiseImageCalculator(width, height, layers, interpolation, fadeFunction, normalization, noiseColorCalculator);
         }
     }
 }
@@ -1,13 +1,13 @@
 package org.dbs.sbgb.domain.model;
 
-import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.util.List;
 import java.util.stream.IntStream;
 
 /**
  * Applique les grilles de bruit pré-calculées avec leur configuration de blending
- * pour produire une image multi-couches.
+ * pour produire une image multi-couches. Les grilles étant matérialisées, le rendu
+ * ne fait que lire les valeurs normalisées.
  */
 public class MultiLayerRenderer {
 
@@ -25,40 +25,30 @@ public class MultiLayerRenderer {
     public BufferedImage renderLayers(List<NormalizedNoiseGrid> grids, List<LayerConfig> layerConfigs) {
         List<LayerConfig> enabledLayers = layerConfigs.stream().filter(LayerConfig::isEnabled).toList();
 
-        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2d = img.createGraphics();
-        g2d.setBackground(colorCalculator.getBackGroundColor());
-        g2d.clearRect(0, 0, width, height);
-        g2d.dispose();
+        ArgbImageBuffer buffer = ArgbImageBuffer.create(width, height);
+        int[] pixels = buffer.pixels();
 
-        IntStream.range(0, width).parallel().forEach(x -> {
-            for (int y = 0; y < height; y++) {
-                img.setRGB(x, y, blendLayers(x, y, grids, enabledLayers).getRGB());
+        IntStream.range(0, height).parallel().forEach(y -> {
+            int offset = y * width;
+            for (int x = 0; x < width; x++) {
+                pixels[offset + x] = blendLayers(x, y, grids, enabledLayers);
             }
         });
 
-        return img;
+        return buffer.toBufferedImage();
     }
 
-    private Color blendLayers(int x, int y, List<NormalizedNoiseGrid> grids, List<LayerConfig> enabledLayers) {
-        if (grids.isEmpty()) return colorCalculator.getBackGroundColor();
+    private int blendLayers(int x, int y, List<NormalizedNoiseGrid> grids, List<LayerConfig> enabledLayers) {
+        if (grids.isEmpty()) return colorCalculator.getBackGroundColor().getRGB();
 
-        Color baseColor = colorCalculator.calculateNoiseColor(grids.get(0).normalizedValueAt(x, y));
+        int baseColor = colorCalculator.calculateNoiseArgb(grids.get(0).normalizedValueAt(x, y));
 
         for (int i = 1; i < grids.size() && i < enabledLayers.size(); i++) {
             LayerConfig layer = enabledLayers.get(i);
-            Color layerColor = colorCalculator.calculateNoiseColor(grids.get(i).normalizedValueAt(x, y));
-            baseColor = blendColors(baseColor, layerColor, layer);
+            int layerColor = colorCalculator.calculateNoiseArgb(grids.get(i).normalizedValueAt(x, y));
+            baseColor = LayerBlender.blendArgb(baseColor, layerColor, layer.getBlendMode(), layer.getOpacity());
         }
 
         return baseColor;
     }
-
-    private Color blendColors(Color base, Color overlay, LayerConfig layer) {
-        int r = LayerBlender.blendColorComponent(base.getRed(), overlay.getRed(), layer.getBlendMode(), layer.getOpacity());
-        int g = LayerBlender.blendColorComponent(base.getGreen(), overlay.getGreen(), layer.getBlendMode(), layer.getOpacity());
-        int b = LayerBlender.blendColorComponent(base.getBlue(), overlay.getBlue(), layer.getBlendMode(), layer.getOpacity());
-        int a = Math.max(base.getAlpha(), overlay.getAlpha());
-        return new Color(r, g, b, a);
-    }
 }
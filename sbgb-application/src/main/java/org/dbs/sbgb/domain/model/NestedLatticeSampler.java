@@ -0,0 +1,85 @@
+package org.dbs.sbgb.domain.model;
+
+import java.util.stream.IntStream;
+
+/**
+ * Évaluation progressive d'un champ de bruit sur des réseaux emboîtés.
+ * La passe de pas {@code s} évalue les pixels (x, y) multiples de {@code s} de la grille pleine résolution ;
+ * les points déjà évalués par la passe précédente (multiples de son pas) sont relus, jamais recalculés.
+ * Enchaîner les pas 8, 4, 2 puis 1 coûte donc une seule évaluation complète du champ.
+ * <p>
+ * Les passes intermédiaires sont normalisées sur la plage observée jusque-là, une approximation qui se resserre
+ * à chaque passe. La passe de pas 1 normalise sur la plage complète : elle est identique, valeur pour valeur,
+ * à {@link PerlinGenerator#computeAndNormalize}.
+ */
+public final class NestedLatticeSampler {
+
+    private final int width;
+    private final int height;
+    private final NoiseFieldEvaluator.PixelSampler sampler;
+    private final float[] raw;
+    private NoiseFieldEvaluator.ValueRange range = NoiseFieldEvaluator.ValueRange.EMPTY;
+    private int stride;
+
+    public NestedLatticeSampler(int width, int height, NoiseFieldEvaluator.PixelSampler sampler) {
+        this.width = width;
+        this.height = height;
+        this.sampler = sampler;
+        this.raw = new float[width * height];
+    }
+
+    /**
+     * Évalue les points du réseau de pas {@code newStride} encore absents et retourne la grille normalisée
+     * de ce réseau, de taille {@code ceil(width / newStride) x ceil(height / newStride)}.
+     * Chaque pas doit diviser le précédent ; après le pas 1, le champ est complet et le buffer est rendu
+     * dans la grille finale.
+     */
+    public NormalizedNoiseGrid refine(int newStride) {
+        if (stride == 1) {
+            throw new IllegalStateException("Lattice already complete");
+        }
+        if (newStride < 1 || (stride != 0 && (newStride >= stride || stride % newStride != 0))) {
+            throw new IllegalArgumentException("Stride " + newStride + " does not refine stride " + stride);
+        }
+        int columns = Math.ceilDiv(width, newStride);
+        int rows = Math.ceilDiv(height, newStride);
+        int previous = stride;
+        NoiseFieldEvaluator.ValueRange added = IntStream.range(0, rows).parallel()
+                .mapToObj(row -> evaluateRow(row * newStride, newStride, previous))
+                .reduce(NoiseFieldEvaluator.ValueRange.EMPTY, NoiseFieldEvaluator.ValueRange::merge);
+        range = range.merge(added);
+        stride = newStride;
+
+        if (newStride == 1) {
+            NoiseFieldEvaluator.normalizeInPlace(raw, width, height, range);
+            return new NormalizedNoiseGrid(raw, range.min(), range.max(), width, height);
+        }
+        float[] pass = new float[columns * rows];
+        IntStream.range(0, rows).parallel().forEach(row -> {
+            int source = row * newStride * width;
+            int target = row * columns;
+            for (int column = 0; column < columns; column++) {
+                pass[target + column] = (float) range.normalize(raw[source + column * newStride]);
+            }
+        });
+        return new NormalizedNoiseGrid(pass, range.min(), range.max(), columns, rows);
+    }
+
+    /** Évalue les points de la ligne {@code y} au pas {@code step} qui ne sont pas sur le réseau {@code previous}. */
+    private NoiseFieldEvaluator.ValueRange evaluateRow(int y, int step, int previous) {
+        boolean rowEvaluated = previous != 0 && y % previous == 0;
+        double rowMin = Double.POSITIVE_INFINITY;
+        double rowMax = Double.NEGATIVE_INFINITY;
+        int offset = y * width;
+        for (int x = 0; x < width; x += step) {
+            if (rowEvaluated && x % previous == 0) {
+                continue;
+            }
+            float value = (float) sampler.sample(x, y);
+            raw[offset + x] = value;
+            if (value < rowMin) rowMin = value;
+            if (value > rowMax) rowMax = value;
+        }
+        return new NoiseFieldEvaluator.ValueRange(rowMin, rowMax);
+    }
+}
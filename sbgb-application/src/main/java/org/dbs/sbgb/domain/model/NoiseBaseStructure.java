@@ -1,6 +1,5 @@
 package org.dbs.sbgb.domain.model;
 
-import java.util.Objects;
 import java.util.UUID;
 
 public record NoiseBaseStructure(
@@ -18,8 +17,13 @@ public record NoiseBaseStructure(
         boolean useMultiLayer,
         String layersConfig
 ) {
-    public int configHash() {
-        return Objects.hash(width, height, seed, octaves, persistence, lacunarity, scale, noiseType, useMultiLayer, layersConfig);
+    /** Clé de contenu des paramètres structurants : clé de déduplication des bases et des grilles en cache. */
+    public ContentKey configKey() {
+        return ContentKey.encoder("noise-base/v1")
+                .putInt(width).putInt(height).putInt(seed).putInt(octaves)
+                .putDouble(persistence).putDouble(lacunarity).putDouble(scale)
+                .putString(noiseType).putBoolean(useMultiLayer).putString(layersConfig)
+                .build();
     }
 
     public String generateDescription() {
@@ -3,7 +3,13 @@ package org.dbs.sbgb.domain.model;
 import java.awt.*;
 
 public interface NoiseColorCalculator {
-    Color calculateNoiseColor(double noiseVal);
+
+    /** Couleur du pixel pour une valeur de bruit, encodée en 0xAARRGGBB sans allocation. */
+    int calculateNoiseArgb(double noiseVal);
+
+    default Color calculateNoiseColor(double noiseVal) {
+        return new Color(calculateNoiseArgb(noiseVal), true);
+    }
 
     Color getBackGroundColor();
 }
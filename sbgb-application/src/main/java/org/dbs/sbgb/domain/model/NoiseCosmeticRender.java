@@ -1,6 +1,5 @@
 package org.dbs.sbgb.domain.model;
 
-import java.util.Objects;
 import java.util.UUID;
 
 public record NoiseCosmeticRender(
@@ -17,8 +16,13 @@ public record NoiseCosmeticRender(
         byte[] thumbnail,
         String description
 ) {
-    public int cosmeticHash() {
-        return Objects.hash(back, middle, fore, backThreshold, middleThreshold, interpolationType, transparentBackground);
+    /** Clé de contenu des paramètres cosmétiques : unique pour une base donnée. */
+    public ContentKey cosmeticKey() {
+        return ContentKey.encoder("noise-cosmetic/v1")
+                .putString(back).putString(middle).putString(fore)
+                .putDouble(backThreshold).putDouble(middleThreshold)
+                .putString(interpolationType).putBoolean(transparentBackground)
+                .build();
     }
 
     public String generateDescription() {
@@ -0,0 +1,24 @@
+package org.dbs.sbgb.domain.model;
+
+/**
+ * Moteur d'évaluation du bruit Perlin fractal, choisi par requête.
+ * <ul>
+ *     <li>{@code JNOISE} : pipeline de la bibliothèque JNoise, point par point.</li>
+ *     <li>{@code SCALAR} : noyau interne {@link FractalNoiseKernel}, rangée par rangée, sans allocation ;
+ *     résultat identique au bit près à JNoise.</li>
+ *     <li>{@code SIMD} : même noyau vectorisé avec l'API Vector ({@code jdk.incubator.vector}) ;
+ *     écart à JNoise borné par la précision du cosinus vectoriel. Sans le module au démarrage de la JVM,
+ *     le noyau scalaire est utilisé.</li>
+ * </ul>
+ * Les trois moteurs produisent la même grille à la précision float près : le moteur n'entre pas dans le configKey.
+ */
+public enum NoiseEngine {
+    JNOISE,
+    SCALAR,
+    SIMD;
+
+    /** Moteur nommé dans une requête ; {@code null} désigne le pipeline JNoise historique. */
+    public static NoiseEngine resolve(String name) {
+        return name != null ? valueOf(name) : JNOISE;
+    }
+}
@@ -0,0 +1,184 @@
+package org.dbs.sbgb.domain.model;
+
+import java.util.stream.IntStream;
+
+/**
+ * Étape de calcul fusionnée des champs de bruit.
+ * Les valeurs brutes sont évaluées une seule fois dans un buffer ligne par ligne, en parallèle ;
+ * le min/max est réduit au fil du remplissage, puis la normalisation est appliquée en place.
+ */
+public final class NoiseFieldEvaluator {
+
+    /** Lignes traitées par une tâche des passages sans matérialisation, qui réutilise un seul tampon de ligne. */
+    static final int ROWS_PER_TASK = 16;
+
+    private NoiseFieldEvaluator() {
+    }
+
+    /** Source de valeurs brutes pour un pixel (x, y). */
+    @FunctionalInterface
+    public interface PixelSampler {
+        double sample(int x, int y);
+    }
+
+    /** Source de valeurs brutes par blocs : remplit la tuile [x0, x1[ x [y0, y1[ d'un buffer pleine largeur. */
+    @FunctionalInterface
+    public interface TileSampler {
+        void fillTile(float[] buffer, int x0, int y0, int x1, int y1);
+    }
+
+    /** Source de valeurs brutes par ligne : remplit {@code row[0, width[} avec les pixels de la ligne y. */
+    @FunctionalInterface
+    public interface RowSampler {
+        void fillRow(int y, double[] row);
+    }
+
+    /** Plage [min, max] des valeurs d'un champ. */
+    public record ValueRange(double min, double max) {
+
+        static final ValueRange EMPTY = new ValueRange(Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
+
+        ValueRange merge(ValueRange other) {
+            return new ValueRange(Math.min(min, other.min), Math.max(max, other.max));
+        }
+
+        /**
+         * Ramène une valeur dans [0, 1] ; une plage dégénérée donne 0.5. Une valeur hors d'une plage estimée
+         * ({@link NoiseNormalization}) est ramenée aux bornes ; dans la plage, le résultat est inchangé.
+         */
+        public double normalize(double value) {
+            if (max == min) {
+                return 0.5;
+            }
+            return Math.max(0.0, Math.min(1.0, (value - min) / (max - min)));
+        }
+    }
+
+    /**
+     * Évalue le sampler sur toute la grille dans {@code buffer} et retourne la plage des valeurs stockées.
+     * Chaque ligne est remplie par une tâche parallèle qui réduit localement son min/max.
+     */
+    public static ValueRange evaluateInto(float[] buffer, int width, int height, PixelSampler sampler) {
+        return IntStream.range(0, height).parallel()
+                .mapToObj(y -> evaluateRow(buffer, width, y, sampler))
+                .reduce(ValueRange.EMPTY, ValueRange::merge);
+    }
+
+    /**
+     * Variante par blocs de {@link #evaluateInto} : chaque ligne est remplie d'un seul appel au sampler,
+     * puis son min/max est réduit sur les valeurs stockées.
+     */
+    public static ValueRange evaluateTilesInto(float[] buffer, int width, int height, TileSampler sampler) {
+        return IntStream.range(0, height).parallel()
+                .mapToObj(y -> {
+                    sampler.fillTile(buffer, 0, y, width, y + 1);
+                    return rowRange(buffer, width, y);
+                })
+                .reduce(ValueRange.EMPTY, ValueRange::merge);
+    }
+
+    /**
+     * Plage des valeurs du sampler sur toute la grille, sans stocker le champ : même résultat que
+     * {@link #evaluateInto} (min/max des valeurs arrondies en float), en mémoire indépendante de la hauteur.
+     */
+    public static ValueRange scanRange(int width, int height, RowSampler sampler) {
+        return IntStream.range(0, taskCount(0, height)).parallel()
+                .mapToObj(task -> {
+                    double[] row = new double[width];
+                    double min = Double.POSITIVE_INFINITY;
+                    double max = Double.NEGATIVE_INFINITY;
+                    for (int y = task * ROWS_PER_TASK; y < Math.min(height, (task + 1) * ROWS_PER_TASK); y++) {
+                        sampler.fillRow(y, row);
+                        for (double raw : row) {
+                            float value = (float) raw;
+                            if (value < min) min = value;
+                            if (value > max) max = value;
+                        }
+                    }
+                    return new ValueRange(min, max);
+                })
+                .reduce(ValueRange.EMPTY, ValueRange::merge);
+    }
+
+    /**
+     * Plage estimée sur le réseau déterministe des pixels multiples de {@code stride}, plus la dernière ligne et
+     * la dernière colonne : incluse dans la plage de {@link #scanRange}, pour environ {@code 1 / stride²}
+     * des évaluations. Voir {@link NoiseNormalization#STRIDED_SAMPLE} pour l'erreur.
+     */
+    public static ValueRange sampleRange(int width, int height, int stride, PixelSampler sampler) {
+        int rows = Math.ceilDiv(height - 1, stride) + 1;
+        return IntStream.range(0, rows).parallel()
+                .mapToObj(row -> {
+                    int y = Math.min(row * stride, height - 1);
+                    double min = Double.POSITIVE_INFINITY;
+                    double max = Double.NEGATIVE_INFINITY;
+                    for (int x = 0; ; x = Math.min(x + stride, width - 1)) {
+                        float value = (float) sampler.sample(x, y);
+                        if (value < min) min = value;
+                        if (value > max) max = value;
+                        if (x == width - 1) {
+                            break;
+                        }
+                    }
+                    return new ValueRange(min, max);
+                })
+                .reduce(ValueRange.EMPTY, ValueRange::merge);
+    }
+
+    /**
+     * Remplit {@code buffer[(y - y0) * width + x]} avec les valeurs normalisées des lignes {@code [y0, y1[} :
+     * valeurs identiques à {@link #evaluateInto} suivi de {@link #normalizeInPlace} sur toute la grille.
+     */
+    public static void evaluateNormalizedRows(float[] buffer, int width, int y0, int y1,
+                                              RowSampler sampler, ValueRange range) {
+        IntStream.range(0, taskCount(y0, y1)).parallel().forEach(task -> {
+            double[] row = new double[width];
+            for (int y = y0 + task * ROWS_PER_TASK; y < Math.min(y1, y0 + (task + 1) * ROWS_PER_TASK); y++) {
+                sampler.fillRow(y, row);
+                int offset = (y - y0) * width;
+                for (int x = 0; x < width; x++) {
+                    buffer[offset + x] = (float) range.normalize((float) row[x]);
+                }
+            }
+        });
+    }
+
+    /** Normalise en place toutes les valeurs du buffer dans [0, 1] selon la plage donnée. */
+    public static void normalizeInPlace(float[] buffer, int width, int height, ValueRange range) {
+        IntStream.range(0, height).parallel().forEach(y -> {
+            int offset = y * width;
+            for (int x = 0; x < width; x++) {
+                buffer[offset + x] = (float) range.normalize(buffer[offset + x]);
+            }
+        });
+    }
+
+    private static int taskCount(int y0, int y1) {
+        return (y1 - y0 + ROWS_PER_TASK - 1) / ROWS_PER_TASK;
+    }
+
+    private static ValueRange evaluateRow(float[] buffer, int width, int y, PixelSampler sampler) {
+        double rowMin = Double.POSITIVE_INFINITY;
+        double rowMax = Double.NEGATIVE_INFINITY;
+        int offset = y * width;
+        for (int x = 0; x < width; x++) {
+            float value = (float) sampler.sample(x, y);
+            buffer[offset + x] = value;
+            if (value < rowMin) rowMin = value;
+            if (value > rowMax) rowMax = value;
+        }
+        return new ValueRange(rowMin, rowMax);
+    }
+
+    private static ValueRange rowRange(float[] buffer, int width, int y) {
+        double rowMin = Double.POSITIVE_INFINITY;
+        double rowMax = Double.NEGATIVE_INFINITY;
+        int offset = y * width;
+        for (int x = 0; x < width; x++) {
+            float value = buffer[offset + x];
+            if (value < rowMin) rowMin = value;
+            if (value > rowMax) rowMax = value;
+        }
+        return new ValueRange(rowMin, rowMax);
+    }
+}
@@ -4,8 +4,8 @@ import de.articdive.jnoise.core.api.functions.Interpolation;
 import de.articdive.jnoise.generators.noise_parameters.fade_functions.FadeFunction;
 import lombok.extern.slf4j.Slf4j;
 
-import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.IOException;
 import java.util.stream.IntStream;
 
 @Slf4j
@@ -35,6 +35,8 @@ public class NoiseImageCalculator {
                                  Interpolation interpolation,
                                  FadeFunction fadeFunction,
                                  NoiseType noiseType,
+                                 NoiseEngine noiseEngine,
+                                 NoiseNormalization normalization,
                                  NoiseColorCalculator noiseColorCalculator) {
         this.width = width;
         this.height = height;
@@ -44,29 +46,36 @@ public class NoiseImageCalculator {
         this.scale = scale;
         this.noiseType = noiseType;
         this.noiseColorCalculator = noiseColorCalculator;
-        this.perlinGenerator = new PerlinGenerator(interpolation, fadeFunction);
+        this.perlinGenerator = new PerlinGenerator(interpolation, fadeFunction, noiseEngine, normalization);
     }
 
     public BufferedImage create(long seed) {
-        perlinGenerator.createNoisePipeline(seed, this.width, this.height, this.octaves, this.persistence, this.lacunarity, this.scale, this.noiseType);
-        perlinGenerator.performNormalization();
-        return buildImage();
+        NormalizedNoiseGrid grid = perlinGenerator.computeAndNormalize(seed, this.width, this.height,
+                this.octaves, this.persistence, this.lacunarity, this.scale, this.noiseType);
+        return grid.renderWithColors(noiseColorCalculator);
     }
 
-    private BufferedImage buildImage() {
-        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2d = img.createGraphics();
-        g2d.setBackground(noiseColorCalculator.getBackGroundColor());
-        g2d.clearRect(0, 0, width, height);
-        g2d.dispose();
-
-        IntStream.range(0, width).parallel().forEach(x -> {
-            for (int y = 0; y < height; y++) {
-                img.setRGB(x, y, noiseColorCalculator.calculateNoiseColor(perlinGenerator.scaleNoiseNormalizedValue(x, y)).getRGB());
-            }
-        });
-
-        return img;
+    /**
+     * Out-of-core variant of {@link #create}: a first pass reduces the normalization range without keeping the
+     * field, then bands of {@code bandRows} rows are evaluated, coloured and written to the sink in order.
+     * Only one band is held in memory; the pixels are those of {@link #create}. With an estimated
+     * {@link NoiseNormalization} the first pass is skipped and the first band is written right away.
+     */
+    public void renderBands(long seed, int bandRows, ImageRowSink sink) throws IOException {
+        perlinGenerator.createNoisePipeline(seed, this.width, this.height,
+                this.octaves, this.persistence, this.lacunarity, this.scale, this.noiseType);
+        perlinGenerator.computeNormalizationRange();
+
+        int rows = Math.min(height, bandRows);
+        float[] values = new float[rows * width];
+        int[] pixels = new int[rows * width];
+        for (int y0 = 0; y0 < height; y0 += rows) {
+            int y1 = Math.min(height, y0 + rows);
+            perlinGenerator.fillNormalizedRows(values, y0, y1);
+            IntStream.range(0, (y1 - y0) * width).parallel()
+                    .forEach(i -> pixels[i] = noiseColorCalculator.calculateNoiseArgb(values[i]));
+            sink.writeRows(pixels, 0, y1 - y0);
+        }
     }
 
 
@@ -80,6 +89,8 @@ public class NoiseImageCalculator {
         private NoiseType noiseType;
         private Interpolation interpolation;
         private FadeFunction fadeFunction;
+        private NoiseEngine noiseEngine;
+        private NoiseNormalization normalization;
         private NoiseColorCalculator noiseColorCalculator;
         public Builder() {
             this.width = DEFAULT_IMAGE_WIDTH;
@@ -91,6 +102,8 @@ public class NoiseImageCalculator {
             this.noiseType = NoiseType.FBM;
             this.interpolation = DEFAULT_INTERPOLATION;
             this.fadeFunction = DEFAULT_FADE_FUNCTION;
+            this.noiseEngine = NoiseEngine.JNOISE;
+            this.normalization = NoiseNormalization.FULL_SCAN;
         }
 
         public Builder withWidth(int width) {
@@ -143,8 +156,18 @@ public class NoiseImageCalculator {
             return this;
         }
 
+        public Builder withNoiseEngine(NoiseEngine noiseEngine) {
+            this.noiseEngine = noiseEngine;
+            return this;
+        }
+
+        public Builder withNormalization(NoiseNormalization normalization) {
+            this.normalization = normalization;
+            return this;
+        }
+
         public NoiseImageCalculator build() {
-            return new NoiseImageCalculator(width, height, octaves, persistence, lacunarity, scale, interpolation, fadeFunction, noiseType, noiseColorCalculator);
+            return new NoiseImageCalculator(width, height, octaves, persistence, lacunarity, scale, interpolation, fadeFunction, noiseType, noiseEngine, normalization, noiseColorCalculator);
         }
     }
 
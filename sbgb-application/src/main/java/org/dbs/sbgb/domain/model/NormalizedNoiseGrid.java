@@ -1,38 +1,41 @@
 package org.dbs.sbgb.domain.model;
 
-import de.articdive.jnoise.pipeline.JNoise;
-
-import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.util.stream.IntStream;
 
 /**
- * Grille de bruit normalisée : résultat du calcul Perlin après scan de normalisation.
- * Peut être mise en cache pour éviter de recalculer la grille quand seuls les
- * paramètres cosmétiques changent.
+ * Grille de bruit normalisée et matérialisée : résultat du calcul Perlin après scan de normalisation.
+ * Les valeurs normalisées dans [0, 1] sont stockées ligne par ligne dans un tableau {@code float}
+ * dense, rempli une seule fois par {@link PerlinGenerator#computeAndNormalize}.
+ * Peut être mise en cache : un changement purement cosmétique se réduit alors à une lecture
+ * de la grille, sans réévaluer le pipeline JNoise.
  */
-public record NormalizedNoiseGrid(JNoise noisePipeline, double minVal, double maxVal, int width, int height) {
+public record NormalizedNoiseGrid(float[] values, double minVal, double maxVal, int width, int height) {
+
+    public NormalizedNoiseGrid {
+        if (values.length != width * height) {
+            throw new IllegalArgumentException(
+                    "Grid size mismatch: " + values.length + " values for " + width + "x" + height);
+        }
+    }
 
     /** Retourne la valeur normalisée dans [0, 1] pour le pixel (x, y). */
     public double normalizedValueAt(int x, int y) {
-        double raw = noisePipeline.evaluateNoise(x * 1.0 / width, y * 1.0 / height);
-        return (raw - minVal) / (maxVal - minVal);
+        return values[y * width + x];
     }
 
     /** Applique un calculateur de couleurs sur la grille et retourne l'image résultante. */
     public BufferedImage renderWithColors(NoiseColorCalculator colorCalculator) {
-        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2d = img.createGraphics();
-        g2d.setBackground(colorCalculator.getBackGroundColor());
-        g2d.clearRect(0, 0, width, height);
-        g2d.dispose();
+        ArgbImageBuffer buffer = ArgbImageBuffer.create(width, height);
+        int[] pixels = buffer.pixels();
 
-        IntStream.range(0, width).parallel().forEach(x -> {
-            for (int y = 0; y < height; y++) {
-                img.setRGB(x, y, colorCalculator.calculateNoiseColor(normalizedValueAt(x, y)).getRGB());
+        IntStream.range(0, height).parallel().forEach(y -> {
+            int offset = y * width;
+            for (int x = 0; x < width; x++) {
+                pixels[offset + x] = colorCalculator.calculateNoiseArgb(values[offset + x]);
             }
         });
 
-        return img;
+        return buffer.toBufferedImage();
     }
 }
@@ -0,0 +1,35 @@
+package org.dbs.sbgb.domain.model;
+
+/**
+ * Helpers for colors packed as 0xAARRGGBB ints, the layout used by {@link java.awt.image.BufferedImage#TYPE_INT_ARGB}.
+ * Lets the per-pixel path work on primitives without allocating {@link java.awt.Color} instances.
+ */
+public final class PackedArgb {
+
+    private PackedArgb() {
+    }
+
+    public static int pack(int alpha, int red, int green, int blue) {
+        return (alpha << 24) | (red << 16) | (green << 8) | blue;
+    }
+
+    public static int opaque(int red, int green, int blue) {
+        return pack(255, red, green, blue);
+    }
+
+    public static int alpha(int argb) {
+        return argb >>> 24;
+    }
+
+    public static int red(int argb) {
+        return (argb >> 16) & 0xFF;
+    }
+
+    public static int green(int argb) {
+        return (argb >> 8) & 0xFF;
+    }
+
+    public static int blue(int argb) {
+        return argb & 0xFF;
+    }
+}
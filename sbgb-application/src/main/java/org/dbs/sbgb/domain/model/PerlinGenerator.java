@@ -6,22 +6,55 @@ import de.articdive.jnoise.modules.octavation.fractal_functions.FractalFunction;
 import de.articdive.jnoise.pipeline.JNoise;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Générateur de bruit Perlin fractal. Le {@link NoiseEngine} choisit l'évaluation : pipeline JNoise point par point,
+ * ou noyau interne {@link FractalNoiseKernel} (scalaire ou vectorisé) qui remplit la grille ligne par ligne.
+ * La {@link NoiseNormalization} choisit comment la plage de normalisation est obtenue : scan complet, réseau
+ * échantillonné ou bornes théoriques.
+ */
 @Slf4j
 public class PerlinGenerator {
     final Interpolation interpolation;
     final FadeFunction fadeFunction;
+    final NoiseEngine engine;
+    final NoiseNormalization normalization;
     private JNoise noisePipeline;
+    private FractalNoiseKernel kernel;
     private int width;
     private int height;
+    private int sampleStride = 1;
     private double maxVal;
     private double minVal;
+    private float[] normalizedField;
 
     public PerlinGenerator(Interpolation interpolation, FadeFunction fadeFunction) {
+        this(interpolation, fadeFunction, NoiseEngine.JNOISE);
+    }
+
+    public PerlinGenerator(Interpolation interpolation, FadeFunction fadeFunction, NoiseEngine engine) {
+        this(interpolation, fadeFunction, engine, NoiseNormalization.FULL_SCAN);
+    }
+
+    public PerlinGenerator(Interpolation interpolation, FadeFunction fadeFunction, NoiseEngine engine,
+                           NoiseNormalization normalization) {
         this.interpolation = interpolation;
         this.fadeFunction = fadeFunction;
+        this.engine = engine;
+        this.normalization = normalization;
     }
 
     public void createNoisePipeline(long seed, int width, int height, int octaves, double persistence, double lacunarity, double scale, NoiseType noiseType) {
+        this.width = width;
+        this.height = height;
+        this.normalizedField = null;
+        this.sampleStride = NoiseNormalization.sampleStride(width, height, scale);
+        if (engine != NoiseEngine.JNOISE) {
+            kernel = FractalNoiseKernel.create(engine, interpolation, fadeFunction, seed, width, height,
+                    octaves, persistence, lacunarity, scale, noiseType);
+            noisePipeline = null;
+            return;
+        }
+        kernel = null;
         FractalFunction fractalFunction = noiseType == NoiseType.RIDGED
                 ? FractalFunction.RIDGED_MULTI
                 : FractalFunction.FBM;
@@ -32,49 +65,139 @@ public class PerlinGenerator {
                 .octavate(octaves, persistence, lacunarity, fractalFunction, true)
                 .clamp(0.0, 3.0)
                 .build();
-        this.width = width;
-        this.height = height;
     }
 
 
+    /**
+     * Valeur normalisée dans [0, 1] pour le pixel (x, y).
+     * Lecture directe dans le champ matérialisé après {@link #performNormalization()} ; sans champ
+     * (après {@link #computeNormalizationRange()}), le pipeline est réévalué et arrondi comme le champ l'aurait été.
+     * Évaluation du pipeline pour les coordonnées hors grille.
+     */
     public double scaleNoiseNormalizedValue(int x, int y) {
-        return normalizeNoiseValue(scaleNoiseValue(x, y));
+        if (x >= 0 && x < width && y >= 0 && y < height) {
+            if (normalizedField != null) {
+                return normalizedField[y * width + x];
+            }
+            return (float) range().normalize((float) scaleNoiseValue(x, y));
+        }
+        return range().normalize(scaleNoiseValue(x, y));
     }
 
-    /** Calcule le pipeline de bruit, normalise et retourne la grille normalisée cacheable. */
+    /**
+     * Calcule le pipeline de bruit, normalise et retourne la grille normalisée cacheable.
+     * La grille est matérialisée : chaque valeur normalisée est évaluée une seule fois ici.
+     */
     public NormalizedNoiseGrid computeAndNormalize(long seed, int width, int height, int octaves,
                                                    double persistence, double lacunarity, double scale,
                                                    NoiseType noiseType) {
         createNoisePipeline(seed, width, height, octaves, persistence, lacunarity, scale, noiseType);
         performNormalization();
-        return new NormalizedNoiseGrid(noisePipeline, minVal, maxVal, width, height);
+        return new NormalizedNoiseGrid(normalizedField, minVal, maxVal, width, height);
+    }
+
+    /**
+     * Crée le pipeline et retourne un échantillonneur progressif sur ses réseaux emboîtés :
+     * mêmes valeurs que {@link #computeAndNormalize}, livrées du plus grossier au plus fin.
+     */
+    public NestedLatticeSampler nestedLattice(long seed, int width, int height, int octaves,
+                                              double persistence, double lacunarity, double scale,
+                                              NoiseType noiseType) {
+        createNoisePipeline(seed, width, height, octaves, persistence, lacunarity, scale, noiseType);
+        return new NestedLatticeSampler(width, height, this::scaleNoiseValue);
     }
 
+    /**
+     * Évalue le pipeline une seule fois sur toute la grille : les valeurs brutes sont capturées,
+     * le min/max est réduit en parallèle pendant le remplissage puis le champ est normalisé en place.
+     * Avec un noyau interne, chaque ligne est remplie d'un seul bloc.
+     * Avec une plage estimée ({@link NoiseNormalization}), elle est connue avant le remplissage : les valeurs
+     * sont normalisées au fil de l'unique passe.
+     */
     public void performNormalization() {
-        normalizeMinimumAndMaximumValues();
+        float[] field = new float[width * height];
+        if (normalization != NoiseNormalization.FULL_SCAN) {
+            NoiseFieldEvaluator.ValueRange range = estimatedRange();
+            NoiseFieldEvaluator.evaluateNormalizedRows(field, width, 0, height, this::fillRawRow, range);
+            this.minVal = range.min();
+            this.maxVal = range.max();
+            this.normalizedField = field;
+            log.info("Normalized({}, {}) with {}", this.minVal, this.maxVal, normalization);
+            return;
+        }
+        NoiseFieldEvaluator.ValueRange range = kernel != null
+                ? NoiseFieldEvaluator.evaluateTilesInto(field, width, height, kernel::fillTile)
+                : NoiseFieldEvaluator.evaluateInto(field, width, height, this::scaleNoiseValue);
+        NoiseFieldEvaluator.normalizeInPlace(field, width, height, range);
+        this.minVal = range.min();
+        this.maxVal = range.max();
+        this.normalizedField = field;
         log.info("Normalized({}, {})", this.minVal, this.maxVal);
     }
 
-    private double scaleNoiseValue(int x, int y) {
-        return this.noisePipeline.evaluateNoise(x * 1.0 / this.width, y * 1.0 / this.height);
+    /**
+     * Variante sans matérialisation de {@link #performNormalization()} pour les images trop grandes pour la mémoire :
+     * un passage ligne par ligne réduit la même plage sans conserver le champ. Chaque lecture réévalue ensuite
+     * le pipeline et donne exactement la valeur du champ matérialisé.
+     * Hors {@link NoiseNormalization#FULL_SCAN}, la plage est estimée sans passe complète.
+     */
+    public void computeNormalizationRange() {
+        NoiseFieldEvaluator.ValueRange range = normalization == NoiseNormalization.FULL_SCAN
+                ? NoiseFieldEvaluator.scanRange(width, height, this::fillRawRow)
+                : estimatedRange();
+        this.minVal = range.min();
+        this.maxVal = range.max();
+        this.normalizedField = null;
+        log.info("Normalized({}, {}) without materialized field with {}", this.minVal, this.maxVal, normalization);
+    }
+
+    /**
+     * Valeurs normalisées des lignes {@code [y0, y1[} dans {@code buffer[(y - y0) * width + x]}, après
+     * {@link #computeNormalizationRange()} : les mêmes que celles du champ matérialisé.
+     */
+    public void fillNormalizedRows(float[] buffer, int y0, int y1) {
+        NoiseFieldEvaluator.evaluateNormalizedRows(buffer, width, y0, y1, this::fillRawRow, range());
+    }
+
+    /**
+     * Libère le champ matérialisé en conservant la plage de normalisation :
+     * les lectures suivantes réévaluent le pipeline.
+     */
+    void releaseNormalizedField() {
+        this.normalizedField = null;
     }
 
-    private double normalizeNoiseValue(double noiseVal) {
-        return (noiseVal - this.minVal) / (this.maxVal - this.minVal);
+    /** Pas du réseau de {@link NoiseNormalization#STRIDED_SAMPLE} pour l'échelle du pipeline courant. */
+    int sampleStride() {
+        return sampleStride;
     }
 
+    private double scaleNoiseValue(int x, int y) {
+        if (kernel != null) {
+            return kernel.sample(x, y);
+        }
+        return this.noisePipeline.evaluateNoise(x * 1.0 / this.width, y * 1.0 / this.height);
+    }
 
-    private void normalizeMinimumAndMaximumValues() {
-        double currentMax = Double.NEGATIVE_INFINITY;
-        double currentMin = Double.POSITIVE_INFINITY;
+    private void fillRawRow(int y, double[] row) {
+        if (kernel != null) {
+            kernel.fillRow(y, 0, width, row);
+            return;
+        }
         for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                double noiseVal = scaleNoiseValue(x, y);
-                if (noiseVal > currentMax) currentMax = noiseVal;
-                if (noiseVal < currentMin) currentMin = noiseVal;
-            }
+            row[x] = this.noisePipeline.evaluateNoise(x * 1.0 / this.width, y * 1.0 / this.height);
+        }
+    }
+
+    /** Plage des stratégies approchées : réseau échantillonné ou bornes théoriques. */
+    private NoiseFieldEvaluator.ValueRange estimatedRange() {
+        if (normalization == NoiseNormalization.ANALYTIC_BOUNDS) {
+            return NoiseNormalization.ANALYTIC_RANGE;
         }
-        this.maxVal = currentMax;
-        this.minVal = currentMin;
+        return NoiseFieldEvaluator.sampleRange(width, height, sampleStride, this::scaleNoiseValue);
+    }
+
+    private NoiseFieldEvaluator.ValueRange range() {
+        return new NoiseFieldEvaluator.ValueRange(minVal, maxVal);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,220 @@
+package org.dbs.sbgb.domain.model;
+
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Polar coordinates of every pixel of a {@code width x height} image, measured from the
+ * image center {@code (width / 2, height / 2)} used by all galaxy generators.
+ * Radius, angle and log-radius are row-major float arrays, each filled only when a generator needs it:
+ * {@link #prepareRadius} and {@link #prepareAngles} fill them in parallel on the caller's engine before a render
+ * pass; a table read without preparation fills the array on the reading thread. Tables are shared through
+ * {@link #forSize(int, int)} in a small LRU of {@link #MAX_CACHED_SIZES} sizes, so the reduced previews and
+ * thumbnails rendered between two full-size renders do not evict the full-size table; memory pressure may clear
+ * any entry. {@link #cachedFootprintBytes()} reports what they hold.
+ * Pixels outside the image fall back to the analytic formula, and so does every pixel of an image larger
+ * than {@link #MAX_TABULATED_PIXELS}: three tables would then cost more memory than the formulas cost time.
+ */
+public final class PixelGeometryTable {
+
+    /** Largest image, in pixels, whose tables are materialized (4096 x 4096, 64 MiB per table). */
+    static final long MAX_TABULATED_PIXELS = 4096L * 4096L;
+
+    /** Number of image sizes kept; the least recently used is dropped beyond it. */
+    static final int MAX_CACHED_SIZES = 4;
+
+    private static final Map<Long, SoftReference<PixelGeometryTable>> CACHE =
+            new LinkedHashMap<>(MAX_CACHED_SIZES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, SoftReference<PixelGeometryTable>> eldest) {
+                    return size() > MAX_CACHED_SIZES;
+                }
+            };
+
+    private final int width;
+    private final int height;
+    private final double centerX;
+    private final double centerY;
+    private final boolean tabulated;
+
+    private volatile float[] radius;
+    private volatile float[] angle;
+    private volatile float[] logRadius;
+
+    private PixelGeometryTable(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.centerX = width / 2.0;
+        this.centerY = height / 2.0;
+        this.tabulated = (long) width * height <= MAX_TABULATED_PIXELS;
+    }
+
+    /**
+     * Shared table for the given image size.
+     */
+    public static PixelGeometryTable forSize(int width, int height) {
+        long key = ((long) width << 32) | (height & 0xFFFFFFFFL);
+        synchronized (CACHE) {
+            SoftReference<PixelGeometryTable> reference = CACHE.get(key);
+            PixelGeometryTable table = reference == null ? null : reference.get();
+            if (table == null) {
+                table = new PixelGeometryTable(width, height);
+                CACHE.put(key, new SoftReference<>(table));
+            }
+            return table;
+        }
+    }
+
+    /** Bytes held by the shared tables, entries cleared by memory pressure count for 0. */
+    public static long cachedFootprintBytes() {
+        synchronized (CACHE) {
+            long bytes = 0L;
+            for (SoftReference<PixelGeometryTable> reference : CACHE.values()) {
+                PixelGeometryTable table = reference.get();
+                bytes += table == null ? 0L : table.footprintBytes();
+            }
+            return bytes;
+        }
+    }
+
+    /** Bytes of the arrays filled so far. */
+    public long footprintBytes() {
+        return Float.BYTES * (length(radius) + length(angle) + length(logRadius));
+    }
+
+    /** Fills the radius table on the given engine, if not already filled. */
+    public void prepareRadius(TileRenderEngine tileRenderEngine) {
+        if (tabulated) {
+            radiusArray(tileRenderEngine);
+        }
+    }
+
+    /** Fills the angle and log-radius tables on the given engine, if not already filled. */
+    public void prepareAngles(TileRenderEngine tileRenderEngine) {
+        if (tabulated) {
+            angleArray(tileRenderEngine);
+            logRadiusArray(tileRenderEngine);
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Distance to the image center.
+     */
+    public double radius(int x, int y) {
+        if (!isTabulated(x, y)) {
+            return Math.sqrt(squaredRadius(x, y));
+        }
+        return radiusArray(null)[y * width + x];
+    }
+
+    /**
+     * Polar angle in {@code [-PI, PI]}, as returned by {@link Math#atan2(double, double)}.
+     */
+    public double angle(int x, int y) {
+        if (!isTabulated(x, y)) {
+            return Math.atan2(y - centerY, x - centerX);
+        }
+        return angleArray(null)[y * width + x];
+    }
+
+    /**
+     * Natural logarithm of the radius, {@code -Infinity} at the exact center.
+     */
+    public double logRadius(int x, int y) {
+        if (!isTabulated(x, y)) {
+            return 0.5 * Math.log(squaredRadius(x, y));
+        }
+        return logRadiusArray(null)[y * width + x];
+    }
+
+    private boolean isTabulated(int x, int y) {
+        return tabulated && x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    private double squaredRadius(int x, int y) {
+        double dx = x - centerX;
+        double dy = y - centerY;
+        return dx * dx + dy * dy;
+    }
+
+    private float[] radiusArray(TileRenderEngine tileRenderEngine) {
+        float[] values = radius;
+        if (values == null) {
+            synchronized (this) {
+                values = radius;
+                if (values == null) {
+                    values = new float[width * height];
+                    fill(values, tileRenderEngine, (dx, dy) -> Math.sqrt(dx * dx + dy * dy));
+                    radius = values;
+                }
+            }
+        }
+        return values;
+    }
+
+    private float[] angleArray(TileRenderEngine tileRenderEngine) {
+        float[] values = angle;
+        if (values == null) {
+            synchronized (this) {
+                values = angle;
+                if (values == null) {
+                    values = new float[width * height];
+                    fill(values, tileRenderEngine, (dx, dy) -> Math.atan2(dy, dx));
+                    angle = values;
+                }
+            }
+        }
+        return values;
+    }
+
+    private float[] logRadiusArray(TileRenderEngine tileRenderEngine) {
+        float[] values = logRadius;
+        if (values == null) {
+            synchronized (this) {
+                values = logRadius;
+                if (values == null) {
+                    values = new float[width * height];
+                    fill(values, tileRenderEngine, (dx, dy) -> 0.5 * Math.log(dx * dx + dy * dy));
+                    logRadius = values;
+                }
+            }
+        }
+        return values;
+    }
+
+    /** Fills on the engine when one is given, otherwise row by row on the calling thread. */
+    private void fill(float[] values, TileRenderEngine tileRenderEngine, PolarFunction function) {
+        TileRenderEngine.TileTask task = (x0, y0, x1, y1) -> {
+            for (int y = y0; y < y1; y++) {
+                double dy = y - centerY;
+                int offset = y * width;
+                for (int x = x0; x < x1; x++) {
+                    values[offset + x] = (float) function.apply(x - centerX, dy);
+                }
+            }
+        };
+        if (tileRenderEngine != null) {
+            tileRenderEngine.forEachTile(width, height, task);
+        } else {
+            task.render(0, 0, width, height);
+        }
+    }
+
+    private static long length(float[] values) {
+        return values == null ? 0L : values.length;
+    }
+
+    @FunctionalInterface
+    private interface PolarFunction {
+        double apply(double dx, double dy);
+    }
+}
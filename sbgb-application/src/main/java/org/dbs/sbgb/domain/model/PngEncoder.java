@@ -0,0 +1,267 @@
+package org.dbs.sbgb.domain.model;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * PNG encoder that deflates independent bands of scanlines in parallel, pigz-style.
+ * <p>
+ * The filtered scanlines are cut into segments of about {@link #DEFAULT_SEGMENT_BYTES} bytes. Each segment
+ * is compressed on its own raw deflate stream, primed with the last 32 KiB of the previous segment as
+ * dictionary so the ratio stays close to a single stream, and ended with a sync flush so the compressed
+ * segments concatenate into one valid zlib stream. The Adler-32 checksums of the segments are combined
+ * in order for the zlib trailer.
+ * <p>
+ * Segments are submitted to the {@link TileRenderEngine} given at construction, so encoding shares the configured
+ * render threads, and written to the output, one IDAT chunk each, as soon as they are ready and in order; at most
+ * twice the engine parallelism segments are in flight, so memory stays bounded on large images.
+ * <p>
+ * Opaque {@link BufferedImage#TYPE_INT_RGB} images are written as 8-bit RGB, every other image as 8-bit RGBA.
+ */
+public final class PngEncoder {
+
+    public static final int DEFAULT_SEGMENT_BYTES = 256 * 1024;
+
+    static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    static final byte[] IHDR = "IHDR".getBytes(StandardCharsets.US_ASCII);
+    static final byte[] IDAT = "IDAT".getBytes(StandardCharsets.US_ASCII);
+    static final byte[] IEND = "IEND".getBytes(StandardCharsets.US_ASCII);
+    static final byte[] NO_BYTES = new byte[0];
+
+    private static final int COLOR_TYPE_RGB = 2;
+    private static final int COLOR_TYPE_RGBA = 6;
+    private static final int DICTIONARY_BYTES = 32 * 1024;
+    private static final int DEFLATE_BUFFER_BYTES = 64 * 1024;
+    private static final int ADLER_BASE = 65521;
+
+    private final TileRenderEngine tileRenderEngine;
+    private final int segmentBytes;
+
+    public PngEncoder(TileRenderEngine tileRenderEngine) {
+        this(tileRenderEngine, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * @param tileRenderEngine engine whose pool deflates the segments
+     * @param segmentBytes     target size of the filtered data deflated by one task; a segment holds at least one row
+     */
+    public PngEncoder(TileRenderEngine tileRenderEngine, int segmentBytes) {
+        if (tileRenderEngine == null) {
+            throw new IllegalArgumentException("tileRenderEngine must be set");
+        }
+        if (segmentBytes < 1) {
+            throw new IllegalArgumentException("segmentBytes must be strictly positive, got: " + segmentBytes);
+        }
+        this.tileRenderEngine = tileRenderEngine;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Encodes the image as PNG into the stream. The stream is neither flushed nor closed.
+     */
+    public void encode(BufferedImage image, PngEncodingOptions options, OutputStream out) throws IOException {
+        boolean opaque = image.getType() == BufferedImage.TYPE_INT_RGB;
+        Scanlines scanlines = new Scanlines(ArgbImageBuffer.wrap(image), opaque ? 3 : 4, options.filter());
+        int height = image.getHeight();
+        int rowsPerSegment = Math.max(1, segmentBytes / scanlines.filteredRowBytes());
+        int segmentCount = (height + rowsPerSegment - 1) / rowsPerSegment;
+
+        out.write(SIGNATURE);
+        writeChunk(out, IHDR, header(image.getWidth(), height, opaque), NO_BYTES);
+
+        int window = Math.max(2, tileRenderEngine.getParallelism() * 2);
+        Deque<ForkJoinTask<Segment>> inFlight = new ArrayDeque<>(window);
+        int forked = 0;
+        long adler = 1L;
+        try {
+            for (int index = 0; index < segmentCount; index++) {
+                while (forked < segmentCount && inFlight.size() < window) {
+                    int from = forked * rowsPerSegment;
+                    int to = Math.min(height, from + rowsPerSegment);
+                    boolean last = forked == segmentCount - 1;
+                    inFlight.addLast(tileRenderEngine.submit(
+                            () -> compress(scanlines, from, to, last, options.compressionLevel())));
+                    forked++;
+                }
+                Segment segment = inFlight.removeFirst().join();
+                adler = combineAdler32(adler, segment.adler(), segment.length());
+
+                byte[] prefix = index == 0 ? zlibHeader(options.compressionLevel()) : NO_BYTES;
+                writeChunk(out, IDAT, prefix, segment.compressed(),
+                        index == segmentCount - 1 ? intBytes((int) adler) : NO_BYTES);
+            }
+        } finally {
+            inFlight.forEach(task -> task.cancel(true));
+        }
+        writeChunk(out, IEND, NO_BYTES);
+    }
+
+    /**
+     * Encodes the image as PNG into a new array.
+     */
+    public byte[] encode(BufferedImage image, PngEncodingOptions options) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encode(image, options, out);
+        return out.toByteArray();
+    }
+
+    private static Segment compress(Scanlines scanlines, int from, int to, boolean last, int level) {
+        byte[] filtered = scanlines.filter(from, to);
+        Adler32 adler = new Adler32();
+        adler.update(filtered);
+
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (from > 0) {
+                int dictionaryRows = Math.min(from,
+                        (DICTIONARY_BYTES + scanlines.filteredRowBytes() - 1) / scanlines.filteredRowBytes());
+                byte[] previous = scanlines.filter(from - dictionaryRows, from);
+                int length = Math.min(DICTIONARY_BYTES, previous.length);
+                deflater.setDictionary(previous, previous.length - length, length);
+            }
+            deflater.setInput(filtered);
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(filtered.length / 4 + 64);
+            byte[] buffer = new byte[DEFLATE_BUFFER_BYTES];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    compressed.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                int written;
+                do {
+                    written = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    compressed.write(buffer, 0, written);
+                } while (written == buffer.length);
+            }
+            return new Segment(compressed.toByteArray(), adler.getValue(), filtered.length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Adler-32 of the concatenation of two blocks, from the checksums of each block and the length of
+     * the second one (zlib's {@code adler32_combine}).
+     */
+    static long combineAdler32(long adler1, long adler2, long length2) {
+        long remainder = length2 % ADLER_BASE;
+        long sum1 = adler1 & 0xFFFF;
+        long sum2 = (remainder * sum1) % ADLER_BASE;
+        sum1 += (adler2 & 0xFFFF) + ADLER_BASE - 1;
+        sum2 += ((adler1 >>> 16) & 0xFFFF) + ((adler2 >>> 16) & 0xFFFF) + ADLER_BASE - remainder;
+        if (sum1 >= ADLER_BASE) {
+            sum1 -= ADLER_BASE;
+        }
+        if (sum1 >= ADLER_BASE) {
+            sum1 -= ADLER_BASE;
+        }
+        if (sum2 >= (ADLER_BASE << 1)) {
+            sum2 -= (ADLER_BASE << 1);
+        }
+        if (sum2 >= ADLER_BASE) {
+            sum2 -= ADLER_BASE;
+        }
+        return sum1 | (sum2 << 16);
+    }
+
+    static byte[] header(int width, int height, boolean opaque) {
+        byte[] header = new byte[13];
+        System.arraycopy(intBytes(width), 0, header, 0, 4);
+        System.arraycopy(intBytes(height), 0, header, 4, 4);
+        header[8] = 8;
+        header[9] = (byte) (opaque ? COLOR_TYPE_RGB : COLOR_TYPE_RGBA);
+        return header;
+    }
+
+    /** CMF/FLG pair of a 32 KiB window zlib stream, FLEVEL matching the deflate level. */
+    private static byte[] zlibHeader(int level) {
+        int flags;
+        if (level <= 1) {
+            flags = 0x01;
+        } else if (level <= 5) {
+            flags = 0x5E;
+        } else if (level == 6) {
+            flags = 0x9C;
+        } else {
+            flags = 0xDA;
+        }
+        return new byte[]{0x78, (byte) flags};
+    }
+
+    static void writeChunk(OutputStream out, byte[] type, byte[]... parts) throws IOException {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        out.write(intBytes(length));
+        out.write(type);
+        for (byte[] part : parts) {
+            crc.update(part);
+            out.write(part);
+        }
+        out.write(intBytes((int) crc.getValue()));
+    }
+
+    static byte[] intBytes(int value) {
+        return new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+    }
+
+    private record Segment(byte[] compressed, long adler, int length) {
+    }
+
+    /**
+     * Extracts and filters rows of the image. Filtering a row only needs the row above, so any band
+     * of rows can be filtered independently of the others.
+     */
+    private static final class Scanlines {
+
+        private final int[] pixels;
+        private final int width;
+        private final int bytesPerPixel;
+        private final PngFilter filter;
+
+        private Scanlines(ArgbImageBuffer buffer, int bytesPerPixel, PngFilter filter) {
+            this.pixels = buffer.pixels();
+            this.width = buffer.width();
+            this.bytesPerPixel = bytesPerPixel;
+            this.filter = filter;
+        }
+
+        int filteredRowBytes() {
+            return width * bytesPerPixel + 1;
+        }
+
+        /** Filtered rows {@code [from, to)}, each prefixed with its filter type byte. */
+        byte[] filter(int from, int to) {
+            PngRowFilter rows = new PngRowFilter(width, bytesPerPixel, filter);
+            int stride = filteredRowBytes();
+            byte[] filtered = new byte[(to - from) * stride];
+            byte[] previous = new byte[rows.rowBytes()];
+            byte[] current = new byte[rows.rowBytes()];
+            if (from > 0) {
+                rows.extractRow(pixels, (from - 1) * width, previous);
+            }
+            for (int y = from; y < to; y++) {
+                rows.extractRow(pixels, y * width, current);
+                rows.filterRow(current, previous, filtered, (y - from) * stride);
+                byte[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+            return filtered;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.dbs.sbgb.domain.model;
+
+/**
+ * Compression settings of {@link PngEncoder}.
+ *
+ * @param compressionLevel deflate level, from 0 (stored) to 9 (best compression)
+ * @param filter           row filter strategy
+ */
+public record PngEncodingOptions(int compressionLevel, PngFilter filter) {
+
+    /** Interactive previews: fastest deflate level, cheap filter that still helps on gradients. */
+    public static final PngEncodingOptions PREVIEW = new PngEncodingOptions(1, PngFilter.SUB);
+
+    /** Downloads and stored thumbnails: smallest files. */
+    public static final PngEncodingOptions DOWNLOAD = new PngEncodingOptions(9, PngFilter.ADAPTIVE);
+
+    /** Very large images streamed by bands on a single deflate stream: balanced level, smallest-row filter. */
+    public static final PngEncodingOptions STREAMING = new PngEncodingOptions(6, PngFilter.ADAPTIVE);
+
+    public PngEncodingOptions {
+        if (compressionLevel < 0 || compressionLevel > 9) {
+            throw new IllegalArgumentException("compressionLevel must be between 0 and 9, got: " + compressionLevel);
+        }
+        if (filter == null) {
+            throw new IllegalArgumentException("filter cannot be null");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.dbs.sbgb.domain.model;
+
+/**
+ * PNG row filter strategy. {@link #ADAPTIVE} tries the five standard filters on each row and keeps
+ * the one with the smallest sum of absolute filtered bytes, the heuristic recommended by the PNG spec.
+ */
+public enum PngFilter {
+    NONE(0),
+    SUB(1),
+    UP(2),
+    AVERAGE(3),
+    PAETH(4),
+    ADAPTIVE(-1);
+
+    private final int type;
+
+    PngFilter(int type) {
+        this.type = type;
+    }
+
+    /** Filter type byte written before each row, -1 for {@link #ADAPTIVE}. */
+    public int type() {
+        return type;
+    }
+}
@@ -0,0 +1,119 @@
+package org.dbs.sbgb.domain.model;
+
+/**
+ * PNG row filtering shared by {@link PngEncoder} and {@link PngStripWriter}: extracts a row of packed ARGB
+ * pixels as 8-bit RGB or RGBA bytes, then writes it filtered and prefixed with its filter type byte.
+ * An instance keeps scratch rows for {@link PngFilter#ADAPTIVE}, so it must not be shared between threads.
+ */
+final class PngRowFilter {
+
+    private static final int FILTER_TYPES = 5;
+
+    private final int width;
+    private final int bytesPerPixel;
+    private final int rowBytes;
+    private final PngFilter filter;
+    private final byte[][] candidates;
+
+    PngRowFilter(int width, int bytesPerPixel, PngFilter filter) {
+        this.width = width;
+        this.bytesPerPixel = bytesPerPixel;
+        this.rowBytes = width * bytesPerPixel;
+        this.filter = filter;
+        this.candidates = filter == PngFilter.ADAPTIVE ? new byte[FILTER_TYPES][rowBytes] : null;
+    }
+
+    /** Unfiltered bytes of a row, without the filter type byte. */
+    int rowBytes() {
+        return rowBytes;
+    }
+
+    /** Channel bytes of the {@code width} pixels starting at {@code pixels[offset]}. */
+    void extractRow(int[] pixels, int offset, byte[] row) {
+        int i = 0;
+        for (int x = 0; x < width; x++) {
+            int argb = pixels[offset + x];
+            row[i++] = (byte) (argb >>> 16);
+            row[i++] = (byte) (argb >>> 8);
+            row[i++] = (byte) argb;
+            if (bytesPerPixel == 4) {
+                row[i++] = (byte) (argb >>> 24);
+            }
+        }
+    }
+
+    /**
+     * Writes the filter type byte at {@code target[offset]} followed by the filtered row; {@code previous}
+     * is the row above, all zeros for the first row of the image.
+     */
+    void filterRow(byte[] current, byte[] previous, byte[] target, int offset) {
+        if (candidates == null) {
+            target[offset] = (byte) filter.type();
+            applyFilter(filter.type(), current, previous, target, offset + 1);
+        } else {
+            int best = bestFilter(current, previous);
+            target[offset] = (byte) best;
+            System.arraycopy(candidates[best], 0, target, offset + 1, rowBytes);
+        }
+    }
+
+    private int bestFilter(byte[] current, byte[] previous) {
+        int best = 0;
+        long bestScore = Long.MAX_VALUE;
+        for (int type = 0; type < FILTER_TYPES; type++) {
+            applyFilter(type, current, previous, candidates[type], 0);
+            long score = 0;
+            for (byte value : candidates[type]) {
+                score += Math.abs(value);
+            }
+            if (score < bestScore) {
+                best = type;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private void applyFilter(int type, byte[] current, byte[] previous, byte[] target, int offset) {
+        int bpp = bytesPerPixel;
+        switch (type) {
+            case 0 -> System.arraycopy(current, 0, target, offset, rowBytes);
+            case 1 -> {
+                System.arraycopy(current, 0, target, offset, bpp);
+                for (int i = bpp; i < rowBytes; i++) {
+                    target[offset + i] = (byte) (current[i] - current[i - bpp]);
+                }
+            }
+            case 2 -> {
+                for (int i = 0; i < rowBytes; i++) {
+                    target[offset + i] = (byte) (current[i] - previous[i]);
+                }
+            }
+            case 3 -> {
+                for (int i = 0; i < rowBytes; i++) {
+                    int left = i >= bpp ? current[i - bpp] & 0xFF : 0;
+                    target[offset + i] = (byte) (current[i] - ((left + (previous[i] & 0xFF)) >>> 1));
+                }
+            }
+            case 4 -> {
+                for (int i = 0; i < rowBytes; i++) {
+                    int left = i >= bpp ? current[i - bpp] & 0xFF : 0;
+                    int upLeft = i >= bpp ? previous[i - bpp] & 0xFF : 0;
+                    target[offset + i] = (byte) (current[i] - paeth(left, previous[i] & 0xFF, upLeft));
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown PNG filter type: " + type);
+        }
+    }
+
+    private static int paeth(int left, int up, int upLeft) {
+        int estimate = left + up - upLeft;
+        int distanceLeft = Math.abs(estimate - left);
+        int distanceUp = Math.abs(estimate - up);
+        int distanceUpLeft = Math.abs(estimate - upLeft);
+        if (distanceLeft <= distanceUp && distanceLeft <= distanceUpLeft) {
+            return left;
+        }
+        return distanceUp <= distanceUpLeft ? up : upLeft;
+    }
+}
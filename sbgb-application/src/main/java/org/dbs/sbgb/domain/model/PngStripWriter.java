@@ -0,0 +1,105 @@
+package org.dbs.sbgb.domain.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+
+/**
+ * Streaming PNG writer for images rendered by bands ({@link ImageRowSink}).
+ * <p>
+ * The signature and header go out up front; every incoming row is filtered ({@link PngRowFilter}) against the
+ * previous one and fed to a single zlib stream, whose output is written in IDAT chunks of about
+ * {@link #CHUNK_BYTES}. Memory is two rows plus the deflate state, whatever the image size. Unlike
+ * {@link PngEncoder} the deflate runs on the calling thread: rendering the bands dominates anyway.
+ * <p>
+ * Opaque images are written as 8-bit RGB, the others as 8-bit RGBA. Closing the writer closes the stream.
+ */
+public final class PngStripWriter implements ImageRowSink {
+
+    static final int CHUNK_BYTES = 256 * 1024;
+
+    private static final int DEFLATE_BUFFER_BYTES = 64 * 1024;
+
+    private final OutputStream out;
+    private final int width;
+    private final int height;
+    private final PngRowFilter rowFilter;
+    private final Deflater deflater;
+    private final byte[] filtered;
+    private final byte[] deflateBuffer = new byte[DEFLATE_BUFFER_BYTES];
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(CHUNK_BYTES + DEFLATE_BUFFER_BYTES);
+    private byte[] previous;
+    private byte[] current;
+    private int rowsWritten;
+    private boolean closed;
+
+    public PngStripWriter(OutputStream out, int width, int height, boolean opaque, PngEncodingOptions options)
+            throws IOException {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Image size must be strictly positive, got: " + width + "x" + height);
+        }
+        this.out = out;
+        this.width = width;
+        this.height = height;
+        this.rowFilter = new PngRowFilter(width, opaque ? 3 : 4, options.filter());
+        this.deflater = new Deflater(options.compressionLevel());
+        this.filtered = new byte[rowFilter.rowBytes() + 1];
+        this.previous = new byte[rowFilter.rowBytes()];
+        this.current = new byte[rowFilter.rowBytes()];
+
+        out.write(PngEncoder.SIGNATURE);
+        PngEncoder.writeChunk(out, PngEncoder.IHDR, PngEncoder.header(width, height, opaque));
+    }
+
+    @Override
+    public void writeRows(int[] pixels, int offset, int rows) throws IOException {
+        if (rowsWritten + rows > height) {
+            throw new IllegalStateException("Too many rows: " + (rowsWritten + rows) + " for height " + height);
+        }
+        for (int row = 0; row < rows; row++) {
+            rowFilter.extractRow(pixels, offset + row * width, current);
+            rowFilter.filterRow(current, previous, filtered, 0);
+            deflater.setInput(filtered);
+            while (!deflater.needsInput()) {
+                pending.write(deflateBuffer, 0, deflater.deflate(deflateBuffer));
+            }
+            if (pending.size() >= CHUNK_BYTES) {
+                flushChunk();
+            }
+            byte[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        rowsWritten += rows;
+    }
+
+    /** Ends the zlib stream and writes the last IDAT chunk and IEND; the stream is closed in any case. */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (out) {
+            if (rowsWritten != height) {
+                throw new IllegalStateException("Incomplete image: " + rowsWritten + " rows written of " + height);
+            }
+            deflater.finish();
+            while (!deflater.finished()) {
+                pending.write(deflateBuffer, 0, deflater.deflate(deflateBuffer));
+            }
+            flushChunk();
+            PngEncoder.writeChunk(out, PngEncoder.IEND, PngEncoder.NO_BYTES);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void flushChunk() throws IOException {
+        if (pending.size() > 0) {
+            PngEncoder.writeChunk(out, PngEncoder.IDAT, pending.toByteArray());
+            pending.reset();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.dbs.sbgb.domain.model;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Passe d'un rendu progressif : l'image encodée au 1/{@code divisor} de la résolution demandée.
+ * Les passes arrivent de la plus grossière à la plus fine ({@link #DIVISORS}) ; la dernière,
+ * {@code divisor == 1}, est le rendu final.
+ */
+public record PreviewPass(int divisor, int width, int height, ImageFormat format, byte[] image) {
+
+    /** Diviseurs de résolution des passes successives : 1/8, 1/4, 1/2 puis pleine résolution. */
+    public static final List<Integer> DIVISORS = List.of(8, 4, 2, 1);
+
+    public boolean isFinal() {
+        return divisor == 1;
+    }
+
+    /**
+     * Reçoit chaque passe dès qu'elle est prête. Une {@link IOException} (client parti) interrompt le rendu :
+     * les passes restantes ne sont pas calculées.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onPass(PreviewPass pass) throws IOException;
+    }
+}
@@ -0,0 +1,97 @@
+package org.dbs.sbgb.domain.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Raw 8-bit RGBA raster written to disk through memory-mapped regions, for images rendered by bands
+ * ({@link ImageRowSink}): each band is mapped, filled and left to the page cache, so neither the heap nor a
+ * single mapping grows with the image.
+ * <p>
+ * Layout, with a little-endian header like {@link Float32RasterEncoder}: magic {@code "SBGR"}, then int version,
+ * width, height and channel count (4), then {@code width * height} pixels as R, G, B, A bytes in row-major order.
+ * Opaque images are written with an alpha of 255.
+ */
+public final class RawRgbaFileWriter implements ImageRowSink {
+
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 20;
+    public static final int CHANNELS = 4;
+
+    private static final byte[] MAGIC = {'S', 'B', 'G', 'R'};
+    /** Largest region mapped at once; a band is split into several mappings beyond it. */
+    private static final long MAX_MAPPING_BYTES = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final int width;
+    private final int height;
+    private final boolean opaque;
+    private final int[] row;
+    private int rowsWritten;
+    private boolean closed;
+
+    public RawRgbaFileWriter(Path file, int width, int height, boolean opaque) throws IOException {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Image size must be strictly positive, got: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.opaque = opaque;
+        this.row = new int[width];
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC).putInt(VERSION).putInt(width).putInt(height).putInt(CHANNELS).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    /** Exact size of the file, known before writing. */
+    public static long length(int width, int height) {
+        return HEADER_BYTES + (long) width * height * CHANNELS;
+    }
+
+    @Override
+    public void writeRows(int[] pixels, int offset, int rows) throws IOException {
+        if (rowsWritten + rows > height) {
+            throw new IllegalStateException("Too many rows: " + (rowsWritten + rows) + " for height " + height);
+        }
+        long rowBytes = (long) width * CHANNELS;
+        int rowsPerMapping = (int) Math.max(1, MAX_MAPPING_BYTES / rowBytes);
+        for (int first = 0; first < rows; first += rowsPerMapping) {
+            int count = Math.min(rowsPerMapping, rows - first);
+            long position = HEADER_BYTES + (rowsWritten + first) * rowBytes;
+            IntBuffer target = channel.map(FileChannel.MapMode.READ_WRITE, position, count * rowBytes)
+                    .order(ByteOrder.BIG_ENDIAN).asIntBuffer();
+            for (int y = 0; y < count; y++) {
+                int source = offset + (first + y) * width;
+                for (int x = 0; x < width; x++) {
+                    int argb = pixels[source + x];
+                    row[x] = (argb << 8) | (opaque ? 0xFF : argb >>> 24);
+                }
+                target.put(row);
+            }
+        }
+        rowsWritten += rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try (channel) {
+            if (rowsWritten != height) {
+                throw new IllegalStateException("Incomplete image: " + rowsWritten + " rows written of " + height);
+            }
+        }
+    }
+}
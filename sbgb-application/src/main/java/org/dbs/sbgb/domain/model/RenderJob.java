@@ -0,0 +1,36 @@
+package org.dbs.sbgb.domain.model;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Rendu hors mémoire d'une grande image, exécuté en tâche de fond et écrit sur disque bande par bande.
+ * {@code rowsWritten} suit l'avancement ; {@code output} n'est renseigné qu'une fois le fichier complet.
+ */
+public record RenderJob(UUID id, Status status, int width, int height, TiledImageFormat format,
+                        int rowsWritten, Path output, String error) {
+
+    public enum Status {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+
+    public static RenderJob queued(UUID id, int width, int height, TiledImageFormat format) {
+        return new RenderJob(id, Status.QUEUED, width, height, format, 0, null, null);
+    }
+
+    public RenderJob running(int rowsWritten) {
+        return new RenderJob(id, Status.RUNNING, width, height, format, rowsWritten, null, null);
+    }
+
+    public RenderJob done(Path output) {
+        return new RenderJob(id, Status.DONE, width, height, format, height, output, null);
+    }
+
+    public RenderJob failed(String error) {
+        return new RenderJob(id, Status.FAILED, width, height, format, rowsWritten, null, error);
+    }
+
+    public boolean isDone() {
+        return status == Status.DONE;
+    }
+}
@@ -11,30 +11,43 @@ public class RingGalaxyGenerator extends AbstractGalaxyGenerator {
 
     private final RingStructureParameters ringParameters;
 
+    // Per-render constants lifted out of the pixel loop
+    private final double coreFalloff;
+    private final double coreToRingRatio;
+    private final double ringRadius;
+    private final double ringFalloff;
+    private final double ringIntensity;
+
     private RingGalaxyGenerator(int width, int height,
             PerlinGenerator noiseGenerator,
             CoreParameters coreParameters,
             RingStructureParameters ringParameters) {
         super(width, height, noiseGenerator, coreParameters);
         this.ringParameters = ringParameters;
+
+        double coreRadius = coreParameters.getGalaxyRadius() * coreParameters.getCoreSize();
+        this.coreFalloff = 1.0 / (2.0 * coreRadius * coreRadius);
+        this.coreToRingRatio = ringParameters.getCoreToRingRatio();
+        this.ringRadius = ringParameters.getRingRadius();
+        this.ringFalloff = 1.0 / (2.0 * ringParameters.getRingWidth() * ringParameters.getRingWidth());
+        this.ringIntensity = ringParameters.getRingIntensity();
     }
 
     @Override
     public double calculateGalaxyIntensity(int x, int y) {
-        PixelGeometry geo = calculateGeometry(x, y);
-        if (geo == null)
+        double distance = distance(x, y);
+        double normalizedDistance = normalizedDistance(distance);
+        if (normalizedDistance > 1.0)
             return 0.0;
 
         // Core contribution (Gaussian)
-        double coreRadius = coreParameters.getGalaxyRadius() * coreParameters.getCoreSize();
-        double coreIntensity = Math.exp(-(geo.distance * geo.distance) / (2.0 * coreRadius * coreRadius));
-        coreIntensity *= ringParameters.getCoreToRingRatio();
+        double coreIntensity = Math.exp(-(distance * distance) * coreFalloff);
+        coreIntensity *= coreToRingRatio;
 
         // Ring contribution (Gaussian profile centered on ringRadius)
-        double ringDistance = Math.abs(geo.distance - ringParameters.getRingRadius());
-        double ringProfile = Math.exp(
-                -(ringDistance * ringDistance) / (2.0 * ringParameters.getRingWidth() * ringParameters.getRingWidth()));
-        double ringContribution = ringProfile * ringParameters.getRingIntensity();
+        double ringDistance = Math.abs(distance - ringRadius);
+        double ringProfile = Math.exp(-(ringDistance * ringDistance) * ringFalloff);
+        double ringContribution = ringProfile * ringIntensity;
 
         // Combined intensity
         double baseIntensity = coreIntensity + ringContribution;
@@ -45,7 +58,7 @@ public class RingGalaxyGenerator extends AbstractGalaxyGenerator {
                 + (noiseValue * NoiseModulationConstants.RING_NOISE_RANGE);
 
         // Smooth radial falloff to fade at edges
-        double radialFalloff = Math.pow(1.0 - geo.normalizedDistance, RadialFalloffConstants.STANDARD_FALLOFF_EXPONENT);
+        double radialFalloff = Math.pow(1.0 - normalizedDistance, RadialFalloffConstants.STANDARD_FALLOFF_EXPONENT);
 
         double combined = baseIntensity * radialFalloff * noiseFactor;
         return Math.clamp(combined, 0.0, 1.0);
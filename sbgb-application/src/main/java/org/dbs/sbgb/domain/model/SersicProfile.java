@@ -14,6 +14,8 @@ public final class SersicProfile {
     private final double sersicIndex;
     private final double effectiveRadius;
     private final double bn;
+    private final double inverseIndex;
+    private final double inverseEffectiveRadius;
 
     public SersicProfile(double sersicIndex, double effectiveRadius) {
         if (sersicIndex <= 0.0) {
@@ -25,6 +27,8 @@ public final class SersicProfile {
         this.sersicIndex = sersicIndex;
         this.effectiveRadius = effectiveRadius;
         this.bn = computeBn(sersicIndex);
+        this.inverseIndex = 1.0 / sersicIndex;
+        this.inverseEffectiveRadius = 1.0 / effectiveRadius;
     }
 
     /**
@@ -32,8 +36,8 @@ public final class SersicProfile {
      * Returns Ie=1 at r=re, higher inside, lower outside.
      */
     public double computeIntensity(double r) {
-        double rRatio = r / effectiveRadius;
-        return Math.exp(-bn * (Math.pow(rRatio, 1.0 / sersicIndex) - 1.0));
+        double rRatio = r * inverseEffectiveRadius;
+        return Math.exp(-bn * (Math.pow(rRatio, inverseIndex) - 1.0));
     }
 
     public double getBn() {
@@ -7,20 +7,28 @@ import lombok.extern.slf4j.Slf4j;
 import org.dbs.sbgb.domain.model.parameters.CoreParameters;
 import org.dbs.sbgb.domain.model.parameters.SpiralStructureParameters;
 
-import java.util.concurrent.Executors;
-
 /**
- * Implementation of Spiral Galaxy Generator using JNoise 4.1.0 and Virtual
- * Threads.
+ * Implementation of Spiral Galaxy Generator using JNoise 4.1.0 and the
+ * tile render engine.
  * Follows the specific mathematical requirements for logarithmic spiral arms.
  */
 @Slf4j
 public class SpiralGalaxyGenerator extends AbstractGalaxyGenerator {
 
+    private static final double TWO_PI = 2.0 * Math.PI;
+
     private final SpiralStructureParameters spiralParameters;
     private final JNoise jNoise;
     private final JNoise darkLaneNoise;
 
+    // Per-render constants lifted out of the pixel loop
+    private final double inverseCoreRadius;
+    private final double logCoreRadius;
+    private final double armRotation;
+    private final double armFalloff;
+    private final double[] armOffsets;
+    private final double darkLaneOpacity;
+
     public SpiralGalaxyGenerator(int width, int height,
             long seed,
             CoreParameters coreParameters,
@@ -28,6 +36,18 @@ public class SpiralGalaxyGenerator extends AbstractGalaxyGenerator {
         super(width, height, null, coreParameters);
         this.spiralParameters = spiralParameters;
 
+        double coreRadius = coreParameters.getCoreSize() * coreParameters.getGalaxyRadius();
+        this.inverseCoreRadius = 1.0 / coreRadius;
+        this.logCoreRadius = Math.log(coreRadius);
+        this.armRotation = spiralParameters.getArmRotation();
+        this.armFalloff = 1.0 / (2.0 * spiralParameters.getArmWidth() * spiralParameters.getArmWidth());
+        int n = spiralParameters.getNumberOfArms();
+        this.armOffsets = new double[n];
+        for (int i = 0; i < n; i++) {
+            armOffsets[i] = TWO_PI * i / n;
+        }
+        this.darkLaneOpacity = spiralParameters.getDarkLaneOpacity();
+
         // Initialize JNoise 4.1.0 pipeline for dust/grain modulation
         this.jNoise = JNoise.newBuilder()
                 .perlin(seed, Interpolation.COSINE, FadeFunction.CUBIC_POLY)
@@ -43,19 +63,15 @@ public class SpiralGalaxyGenerator extends AbstractGalaxyGenerator {
 
     @Override
     public double calculateGalaxyIntensity(int x, int y) {
-        PixelGeometry geo = calculateGeometry(x, y);
-        if (geo == null)
+        double r = distance(x, y);
+        if (normalizedDistance(r) > 1.0)
             return 0.0;
 
-        double r = geo.distance;
-        double c = coreParameters.getCoreSize() * coreParameters.getGalaxyRadius();
-        double angle = Math.atan2(geo.dy, geo.dx);
-
         // Core Intensity (Exponential)
-        double coreIntensity = Math.exp(-r / c);
+        double coreIntensity = Math.exp(-r * inverseCoreRadius);
 
         // Spiral Arm Intensity
-        double armIntensity = calculateSpiralArmIntensity(angle, r, c);
+        double armIntensity = calculateSpiralArmIntensity(x, y, r);
 
         // Geometric Intensity
         double geometricIntensity = Math.max(coreIntensity, armIntensity);
@@ -69,7 +85,7 @@ public class SpiralGalaxyGenerator extends AbstractGalaxyGenerator {
 
         // Dust blocks light primarily where the arms are, scaled by the opacity
         // parameter
-        double dustBlock = dustNoise * armIntensity * spiralParameters.getDarkLaneOpacity();
+        double dustBlock = dustNoise * armIntensity * darkLaneOpacity;
 
         // 3. Application
         double combined = geometricIntensity * starNoise;
@@ -78,59 +94,45 @@ public class SpiralGalaxyGenerator extends AbstractGalaxyGenerator {
         return Math.clamp(combined, 0.0, 1.0);
     }
 
-    private double calculateSpiralArmIntensity(double angle, double r, double c) {
+    @Override
+    public void prepare(TileRenderEngine tileRenderEngine) {
+        super.prepare(tileRenderEngine);
+        geometry.prepareAngles(tileRenderEngine);
+    }
+
+    private double calculateSpiralArmIntensity(int x, int y, double r) {
         if (r < 1.0)
             return 1.0; // Avoid ln(0)
 
-        double maxArmIntensity = 0.0;
-        int n = spiralParameters.getNumberOfArms();
-        double rotation = spiralParameters.getArmRotation();
-
-        for (int i = 0; i < n; i++) {
-            // Formula: θ = armRotation * ln(r/coreSize) + (2π * armIndex / numberOfArms)
-            double theta = rotation * Math.log(r / c) + (2.0 * Math.PI * i / n);
-
-            double deltaPhi = normalizeAngle(angle - theta);
+        // Formula: θ = armRotation * ln(r/coreSize) + (2π * armIndex / numberOfArms)
+        double spiralPhase = armRotation * (geometry.logRadius(x, y) - logCoreRadius);
+        double angle = geometry.angle(x, y);
 
-            // Distance to arm center (angular distance converted to arc distance)
-            double armDist = Math.abs(deltaPhi) * r;
-
-            // Gaussian falloff based on arm width
-            double intensity = Math.exp(-(armDist * armDist) / (2.0 * Math.pow(spiralParameters.getArmWidth(), 2)));
-            maxArmIntensity = Math.max(maxArmIntensity, intensity);
+        // The Gaussian falloff is monotonic: the brightest arm is the closest one, one exp per pixel
+        double minAngularDistance = Double.MAX_VALUE;
+        for (double armOffset : armOffsets) {
+            double deltaPhi = normalizeAngle(angle - (spiralPhase + armOffset));
+            minAngularDistance = Math.min(minAngularDistance, Math.abs(deltaPhi));
         }
 
-        return maxArmIntensity;
+        // Distance to arm center (angular distance converted to arc distance)
+        double armDist = minAngularDistance * r;
+        return Math.exp(-(armDist * armDist) * armFalloff);
     }
 
     /**
-     * Parallel batch rendering using Java 21 Virtual Threads.
+     * Parallel batch rendering on the given tile engine.
      * Returns a float buffer compatible with PNG or TIFF HDR.
      */
-    public float[] generateBuffer() {
-        float[] buffer = new float[width * height];
-
-        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
-            for (int y = 0; y < height; y++) {
-                final int currentY = y;
-                executor.submit(() -> {
-                    for (int x = 0; x < width; x++) {
-                        buffer[currentY * width + x] = (float) calculateGalaxyIntensity(x, currentY);
-                    }
-                });
-            }
-        } // Executor auto-closes, waiting for all virtual threads to complete
-
+    public float[] generateBuffer(TileRenderEngine tileRenderEngine) {
+        prepare(tileRenderEngine);
+        float[] buffer = tileRenderEngine.renderIntensity(width, height, this);
         log.info("Spiral Galaxy buffer generation completed ({}x{})", width, height);
         return buffer;
     }
 
-    private double normalizeAngle(double angle) {
-        while (angle > Math.PI)
-            angle -= 2.0 * Math.PI;
-        while (angle < -Math.PI)
-            angle += 2.0 * Math.PI;
-        return angle;
+    private static double normalizeAngle(double angle) {
+        return angle - TWO_PI * Math.rint(angle / TWO_PI);
     }
 
     public static Builder builder() {
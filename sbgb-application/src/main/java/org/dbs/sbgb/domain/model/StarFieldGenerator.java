@@ -3,20 +3,31 @@ package org.dbs.sbgb.domain.model;
 import lombok.Builder;
 import lombok.extern.slf4j.Slf4j;
 
-import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.function.IntConsumer;
 
 /**
  * Generator for star field overlay on galaxy images
- * Creates individual stars with varying sizes and optional diffraction spikes
+ * Creates individual stars with varying sizes and optional diffraction spikes.
+ * The star list is drawn from the seed in a single sequential pass, then each star is binned into the
+ * tiles its sprite overlaps. Tiles are rendered in parallel on the {@link TileRenderEngine}: every tile
+ * copies its part of the galaxy and stamps its stars' premultiplied sprites ({@link StarSpriteAtlas})
+ * in list order, so the result does not depend on the tiling or the number of threads.
+ * Band rendering of very large images uses a tiled layout instead ({@link #stampBand}): each cell of
+ * {@link #STAR_CELL_SIZE} pixels draws its own stars from a seed derived from its position, with the same
+ * distribution, so any band can be rendered without the whole star list.
  */
 @Slf4j
 @Builder
 public class StarFieldGenerator {
 
+    /** Side of the cells of the tiled layout used by {@link #stampBand}. */
+    static final int STAR_CELL_SIZE = 256;
+
     private final int width;
     private final int height;
     private final double starDensity;
@@ -24,6 +35,8 @@ public class StarFieldGenerator {
     private final boolean diffractionSpikes;
     private final int spikeCount;
     private final long seed;
+    /** Engine the tiles of {@link #applyStarField} are stamped on; not used by {@link #stampBand}. */
+    private final TileRenderEngine tileRenderEngine;
 
     /**
      * Apply star field overlay to an existing galaxy image
@@ -33,25 +46,31 @@ public class StarFieldGenerator {
             log.debug("Star density is 0, skipping star field generation");
             return galaxyImage;
         }
+        if (tileRenderEngine == null) {
+            throw new IllegalStateException("tileRenderEngine must be set");
+        }
 
         log.info("Applying star field: density={}, maxSize={}, spikes={}",
                  starDensity, maxStarSize, diffractionSpikes);
 
-        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2d = result.createGraphics();
-
-        // Draw original galaxy image
-        g2d.drawImage(galaxyImage, 0, 0, null);
+        ArgbImageBuffer source = ArgbImageBuffer.wrap(galaxyImage);
+        boolean opaqueSource = galaxyImage.getType() == BufferedImage.TYPE_INT_RGB;
+        ArgbImageBuffer result = ArgbImageBuffer.create(width, height);
 
-        // Generate and draw stars
         List<Star> stars = generateStars();
-        for (Star star : stars) {
-            drawStar(g2d, star);
-        }
+        StarBins bins = binStars(stars);
+        int[] pixels = result.pixels();
+        tileRenderEngine.forEachTile(width, height, (x0, y0, x1, y1) -> {
+            copyTile(source, opaqueSource, pixels, x0, y0, x1, y1);
+            int tile = (y0 / bins.tileSize) * bins.tilesX + x0 / bins.tileSize;
+            for (int i = bins.starts[tile]; i < bins.starts[tile + 1]; i++) {
+                Star star = stars.get(bins.starIndices[i]);
+                star.sprite.stamp(pixels, width, star.x, star.y, star.brightness, x0, y0, x1, y1);
+            }
+        });
 
-        g2d.dispose();
         log.info("Star field applied with {} stars", stars.size());
-        return result;
+        return result.toBufferedImage();
     }
 
     private List<Star> generateStars() {
@@ -59,29 +78,84 @@ public class StarFieldGenerator {
         int totalPixels = width * height;
         int starCount = (int) (totalPixels * starDensity);
 
-        List<Star> stars = new ArrayList<>();
+        List<Star> stars = new ArrayList<>(starCount);
 
         // Use Poisson disk sampling approximation for more natural distribution
         // For simplicity, we use random placement with minimum distance check
         for (int i = 0; i < starCount; i++) {
             int x = random.nextInt(width);
             int y = random.nextInt(height);
+            stars.add(drawStar(random, x, y));
+        }
 
-            // Star size: most are small (1-2px), few are large
-            int size = generateStarSize(random);
-
-            // Star brightness: varies from 0.3 to 1.0
-            float brightness = 0.3f + random.nextFloat() * 0.7f;
-
-            // Star color: mostly white, slight variations (white, blue-white, yellow-white)
-            Color color = generateStarColor(random, brightness);
+        return stars;
+    }
 
-            stars.add(new Star(x, y, size, color, brightness));
+    /**
+     * Stamps, in place, the stars of the tiled layout overlapping the band: {@code band} holds the full-width
+     * image rows {@code [top, top + band.height()[}. Stars are stamped in cell then draw order whatever the band,
+     * so the bands of an image join seamlessly. The layout differs from the one of {@link #applyStarField}.
+     */
+    public void stampBand(ArgbImageBuffer band, int top) {
+        if (starDensity <= 0.0) {
+            return;
+        }
+        int reach = 4 * Math.max(5, maxStarSize) + 2;
+        int cellsX = ceilDiv(width, STAR_CELL_SIZE);
+        int firstCellY = Math.max(0, Math.floorDiv(top - reach, STAR_CELL_SIZE));
+        int lastCellY = Math.min(ceilDiv(height, STAR_CELL_SIZE) - 1, (top + band.height() + reach) / STAR_CELL_SIZE);
+        int[] pixels = band.pixels();
+        for (int cellY = firstCellY; cellY <= lastCellY; cellY++) {
+            for (int cellX = 0; cellX < cellsX; cellX++) {
+                for (Star star : cellStars(cellX, cellY)) {
+                    star.sprite.stamp(pixels, width, star.x, star.y - top, star.brightness,
+                            0, 0, width, band.height());
+                }
+            }
         }
+    }
 
+    /** Stars of one layout cell: expected count {@code density x area}, fractional part drawn at random. */
+    private List<Star> cellStars(int cellX, int cellY) {
+        int x0 = cellX * STAR_CELL_SIZE;
+        int y0 = cellY * STAR_CELL_SIZE;
+        int cellWidth = Math.min(STAR_CELL_SIZE, width - x0);
+        int cellHeight = Math.min(STAR_CELL_SIZE, height - y0);
+        Random random = new Random(cellSeed(cellX, cellY));
+        double expected = (double) cellWidth * cellHeight * starDensity;
+        int starCount = (int) expected + (random.nextDouble() < expected - (int) expected ? 1 : 0);
+
+        List<Star> stars = new ArrayList<>(starCount);
+        for (int i = 0; i < starCount; i++) {
+            int x = x0 + random.nextInt(cellWidth);
+            int y = y0 + random.nextInt(cellHeight);
+            stars.add(drawStar(random, x, y));
+        }
         return stars;
     }
 
+    private long cellSeed(int cellX, int cellY) {
+        long hash = seed * 0x9E3779B97F4A7C15L + cellY * 0xC2B2AE3D27D4EB4FL + cellX;
+        hash = (hash ^ (hash >>> 31)) * 0xBF58476D1CE4E5B9L;
+        return hash ^ (hash >>> 29);
+    }
+
+    /** Size, brightness and colour of a star at (x, y), drawn in that order. */
+    private Star drawStar(Random random, int x, int y) {
+        // Star size: most are small (1-2px), few are large
+        int size = generateStarSize(random);
+
+        // Star brightness: varies from 0.3 to 1.0
+        float brightness = 0.3f + random.nextFloat() * 0.7f;
+
+        // Star color: mostly white, slight variations (white, blue-white, yellow-white)
+        StarSpriteAtlas.ColorClass colorClass = generateStarColor(random);
+
+        // Diffraction spikes only on bright stars with a glow
+        boolean spiked = diffractionSpikes && brightness > 0.6f && size >= 3;
+        return new Star(x, y, brightness, StarSpriteAtlas.sprite(size, colorClass, spiked ? spikeCount : 0));
+    }
+
     private int generateStarSize(Random random) {
         // 70% small (1-2px), 25% medium (3-4px), 5% large (5-maxStarSize)
         double roll = random.nextDouble();
@@ -94,96 +168,82 @@ public class StarFieldGenerator {
         }
     }
 
-    private Color generateStarColor(Random random, float brightness) {
+    private StarSpriteAtlas.ColorClass generateStarColor(Random random) {
         double colorType = random.nextDouble();
 
         if (colorType < 0.7) {
             // White stars (most common)
-            int val = (int) (brightness * 255);
-            return new Color(val, val, val);
+            return StarSpriteAtlas.ColorClass.WHITE;
         } else if (colorType < 0.85) {
             // Blue-white stars (hot)
-            int val = (int) (brightness * 255);
-            return new Color(
-                (int) (val * 0.9f),
-                (int) (val * 0.95f),
-                val
-            );
+            return StarSpriteAtlas.ColorClass.BLUE_WHITE;
         } else {
             // Yellow-white stars (cooler)
-            int val = (int) (brightness * 255);
-            return new Color(
-                val,
-                (int) (val * 0.95f),
-                (int) (val * 0.85f)
-            );
+            return StarSpriteAtlas.ColorClass.YELLOW_WHITE;
         }
     }
 
-    private void drawStar(Graphics2D g2d, Star star) {
-        // Enable anti-aliasing for smooth stars
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-        if (star.size <= 2) {
-            // Small stars: simple pixel or 2x2 square
-            g2d.setColor(star.color);
-            g2d.fillRect(star.x, star.y, star.size, star.size);
-        } else {
-            // Larger stars: Gaussian-like glow
-            drawStarGlow(g2d, star);
-
-            // Draw diffraction spikes if enabled and star is bright enough
-            if (diffractionSpikes && star.brightness > 0.6f && star.size >= 3) {
-                drawDiffractionSpikes(g2d, star);
-            }
+    /**
+     * Buckets star indices per tile of the render engine (compressed rows: {@code starts[tile]} to
+     * {@code starts[tile + 1]}), keeping the list order inside each tile.
+     */
+    private StarBins binStars(List<Star> stars) {
+        int tileSize = tileRenderEngine.getTileSize();
+        int tilesX = ceilDiv(width, tileSize);
+        int tilesY = ceilDiv(height, tileSize);
+        int[] starts = new int[tilesX * tilesY + 1];
+        for (Star star : stars) {
+            star.forEachTile(tileSize, tilesX, tilesY, tile -> starts[tile + 1]++);
+        }
+        for (int tile = 0; tile < tilesX * tilesY; tile++) {
+            starts[tile + 1] += starts[tile];
         }
+        int[] starIndices = new int[starts[tilesX * tilesY]];
+        int[] cursors = Arrays.copyOf(starts, tilesX * tilesY);
+        for (int i = 0; i < stars.size(); i++) {
+            int index = i;
+            stars.get(i).forEachTile(tileSize, tilesX, tilesY, tile -> starIndices[cursors[tile]++] = index);
+        }
+        return new StarBins(tileSize, tilesX, starts, starIndices);
     }
 
-    private void drawStarGlow(Graphics2D g2d, Star star) {
-        int glowRadius = star.size * 2;
-
-        for (int r = glowRadius; r >= 0; r--) {
-            float alpha = (float) r / glowRadius * star.brightness;
-            Color glowColor = new Color(
-                star.color.getRed(),
-                star.color.getGreen(),
-                star.color.getBlue(),
-                (int) (alpha * 255)
-            );
-            g2d.setColor(glowColor);
-
-            int size = r * 2;
-            g2d.fillOval(star.x - r, star.y - r, size, size);
+    private void copyTile(ArgbImageBuffer source, boolean opaqueSource, int[] target,
+                          int x0, int y0, int x1, int y1) {
+        int[] sourcePixels = source.pixels();
+        int copyWidth = Math.min(x1, source.width()) - x0;
+        int lastRow = Math.min(y1, source.height());
+        for (int y = y0; y < lastRow && copyWidth > 0; y++) {
+            int sourceOffset = y * source.width() + x0;
+            int targetOffset = y * width + x0;
+            if (opaqueSource) {
+                for (int i = 0; i < copyWidth; i++) {
+                    target[targetOffset + i] = sourcePixels[sourceOffset + i] | 0xFF000000;
+                }
+            } else {
+                System.arraycopy(sourcePixels, sourceOffset, target, targetOffset, copyWidth);
+            }
         }
-
-        // Bright core
-        g2d.setColor(star.color);
-        g2d.fillOval(star.x - star.size / 2, star.y - star.size / 2, star.size, star.size);
     }
 
-    private void drawDiffractionSpikes(Graphics2D g2d, Star star) {
-        int spikeLength = star.size * 4;
-        float alpha = star.brightness * 0.5f;
-
-        Color spikeColor = new Color(
-            star.color.getRed(),
-            star.color.getGreen(),
-            star.color.getBlue(),
-            (int) (alpha * 255)
-        );
+    private static int ceilDiv(int value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
 
-        g2d.setColor(spikeColor);
-        g2d.setStroke(new BasicStroke(1.5f));
+    private record StarBins(int tileSize, int tilesX, int[] starts, int[] starIndices) {}
 
-        // Draw spikes at regular angles
-        for (int i = 0; i < spikeCount; i++) {
-            double angle = (2.0 * Math.PI * i) / spikeCount;
-            int dx = (int) (Math.cos(angle) * spikeLength);
-            int dy = (int) (Math.sin(angle) * spikeLength);
+    private record Star(int x, int y, float brightness, StarSprite sprite) {
 
-            g2d.drawLine(star.x, star.y, star.x + dx, star.y + dy);
+        /** Calls the consumer with every tile index overlapped by the sprite, clipped to the image. */
+        void forEachTile(int tileSize, int tilesX, int tilesY, IntConsumer consumer) {
+            int left = Math.max(0, Math.floorDiv(x + sprite.offset(), tileSize));
+            int top = Math.max(0, Math.floorDiv(y + sprite.offset(), tileSize));
+            int right = Math.min(tilesX - 1, (x + sprite.offset() + sprite.size() - 1) / tileSize);
+            int bottom = Math.min(tilesY - 1, (y + sprite.offset() + sprite.size() - 1) / tileSize);
+            for (int tileY = top; tileY <= bottom; tileY++) {
+                for (int tileX = left; tileX <= right; tileX++) {
+                    consumer.accept(tileY * tilesX + tileX);
+                }
+            }
         }
     }
-
-    private record Star(int x, int y, int size, Color color, float brightness) {}
 }
@@ -0,0 +1,138 @@
+package org.dbs.sbgb.domain.model;
+
+/**
+ * Precomputed premultiplied star stamp for one (size, colour class, spikes) combination.
+ * Channels are stored interleaved as {@code r, g, b, a} floats, colours in [0, 255] already multiplied
+ * by the alpha in [0, 1]. The star brightness scales the whole premultiplied pixel when stamping, so a
+ * single sprite serves every brightness.
+ * Pixel (0, 0) of the sprite sits at {@code (starX + offset, starY + offset)} in the image.
+ */
+record StarSprite(int offset, int size, float[] premultiplied) {
+
+    /** Width of the 1.5px antialiased diffraction spike stroke, as a coverage falloff around the segment. */
+    private static final double SPIKE_HALF_WIDTH = 0.75;
+    private static final double SPIKE_OPACITY = 0.5;
+    /** Ring stacking of the glow is evaluated at the median brightness of the star distribution. */
+    private static final double GLOW_REFERENCE_BRIGHTNESS = 0.65;
+
+    /** Opaque {@code size x size} square anchored at the star position, used for 1-2px stars. */
+    static StarSprite square(int size, StarSpriteAtlas.ColorClass colorClass) {
+        float[] pixels = new float[size * size * 4];
+        for (int i = 0; i < size * size; i++) {
+            put(pixels, i, colorClass, 1.0);
+        }
+        return new StarSprite(0, size, pixels);
+    }
+
+    /**
+     * Glow of radius {@code 2 * size} with an opaque core of diameter {@code size}, and optionally
+     * {@code spikeCount} diffraction spikes of length {@code 4 * size} composited over it.
+     */
+    static StarSprite glow(int size, StarSpriteAtlas.ColorClass colorClass, int spikeCount) {
+        int glowRadius = size * 2;
+        int spikeLength = size * 4;
+        int half = (spikeCount > 0 ? Math.max(glowRadius, spikeLength) : glowRadius) + 1;
+        int extent = half * 2;
+        float[] pixels = new float[extent * extent * 4];
+        for (int j = 0; j < extent; j++) {
+            double dy = j - half + 0.5;
+            for (int i = 0; i < extent; i++) {
+                double dx = i - half + 0.5;
+                double distance = Math.sqrt(dx * dx + dy * dy);
+                double glow = glowAlpha(distance, glowRadius);
+                double core = clamp(size / 2.0 + 0.5 - distance);
+                double alpha = core + glow * (1 - core);
+                if (spikeCount > 0) {
+                    double spike = SPIKE_OPACITY * spikeCoverage(dx, dy, spikeCount, spikeLength);
+                    alpha = spike + alpha * (1 - spike);
+                }
+                put(pixels, j * extent + i, colorClass, alpha);
+            }
+        }
+        return new StarSprite(-half, extent, pixels);
+    }
+
+    /**
+     * Composites the sprite scaled by {@code brightness} over the non-premultiplied ARGB raster,
+     * restricted to the clip rectangle {@code [x0, x1[ x [y0, y1[}.
+     */
+    void stamp(int[] raster, int rasterWidth, int starX, int starY, float brightness,
+               int x0, int y0, int x1, int y1) {
+        int left = starX + offset;
+        int top = starY + offset;
+        int fromX = Math.max(x0, left);
+        int toX = Math.min(x1, left + size);
+        int fromY = Math.max(y0, top);
+        int toY = Math.min(y1, top + size);
+        for (int y = fromY; y < toY; y++) {
+            int spriteRow = (y - top) * size - left;
+            int rasterRow = y * rasterWidth;
+            for (int x = fromX; x < toX; x++) {
+                int source = (spriteRow + x) * 4;
+                float alpha = premultiplied[source + 3] * brightness;
+                if (alpha <= 0f) {
+                    continue;
+                }
+                raster[rasterRow + x] = over(raster[rasterRow + x],
+                        premultiplied[source] * brightness,
+                        premultiplied[source + 1] * brightness,
+                        premultiplied[source + 2] * brightness,
+                        alpha);
+            }
+        }
+    }
+
+    private static int over(int destination, float red, float green, float blue, float alpha) {
+        float destinationAlpha = (destination >>> 24) / 255f;
+        float keep = destinationAlpha * (1 - alpha);
+        float outAlpha = alpha + keep;
+        float outRed = (red + ((destination >> 16) & 0xFF) * keep) / outAlpha;
+        float outGreen = (green + ((destination >> 8) & 0xFF) * keep) / outAlpha;
+        float outBlue = (blue + (destination & 0xFF) * keep) / outAlpha;
+        return (channel(outAlpha * 255f) << 24) | (channel(outRed) << 16) | (channel(outGreen) << 8) | channel(outBlue);
+    }
+
+    private static int channel(float value) {
+        return Math.min(255, Math.round(value));
+    }
+
+    /** Stacked concentric rings of the former Java2D glow: ring r has opacity {@code r / radius}. */
+    private static double glowAlpha(double distance, int radius) {
+        double transparency = 1.0;
+        for (int ring = (int) Math.ceil(distance); ring <= radius; ring++) {
+            transparency *= 1 - (double) ring / radius * GLOW_REFERENCE_BRIGHTNESS;
+        }
+        return distance <= radius ? 1 - transparency : 0.0;
+    }
+
+    private static double spikeCoverage(double dx, double dy, int spikeCount, int spikeLength) {
+        double coverage = 0.0;
+        for (int i = 0; i < spikeCount; i++) {
+            double angle = (2.0 * Math.PI * i) / spikeCount;
+            int endX = (int) (Math.cos(angle) * spikeLength);
+            int endY = (int) (Math.sin(angle) * spikeLength);
+            double distance = distanceToSegment(dx, dy, endX, endY);
+            coverage = Math.max(coverage, clamp(SPIKE_HALF_WIDTH + 0.5 - distance));
+        }
+        return coverage;
+    }
+
+    private static double distanceToSegment(double px, double py, double endX, double endY) {
+        double lengthSquared = endX * endX + endY * endY;
+        double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, (px * endX + py * endY) / lengthSquared));
+        double ox = px - t * endX;
+        double oy = py - t * endY;
+        return Math.sqrt(ox * ox + oy * oy);
+    }
+
+    private static void put(float[] pixels, int index, StarSpriteAtlas.ColorClass colorClass, double alpha) {
+        pixels[index * 4] = (float) (colorClass.red() * 255 * alpha);
+        pixels[index * 4 + 1] = (float) (colorClass.green() * 255 * alpha);
+        pixels[index * 4 + 2] = (float) (colorClass.blue() * 255 * alpha);
+        pixels[index * 4 + 3] = (float) alpha;
+    }
+
+    private static double clamp(double value) {
+        return Math.max(0.0, Math.min(1.0, value));
+    }
+}
@@ -0,0 +1,59 @@
+package org.dbs.sbgb.domain.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of {@link StarSprite}s keyed by (size, colour class, spike count).
+ * Sprites are pure functions of their key, so concurrent renders share them and build each one at most once.
+ */
+final class StarSpriteAtlas {
+
+    /** Star tints at full brightness: white, hot blue-white and cooler yellow-white. */
+    enum ColorClass {
+        WHITE(1.0, 1.0, 1.0),
+        BLUE_WHITE(0.9, 0.95, 1.0),
+        YELLOW_WHITE(1.0, 0.95, 0.85);
+
+        private final double red;
+        private final double green;
+        private final double blue;
+
+        ColorClass(double red, double green, double blue) {
+            this.red = red;
+            this.green = green;
+            this.blue = blue;
+        }
+
+        double red() {
+            return red;
+        }
+
+        double green() {
+            return green;
+        }
+
+        double blue() {
+            return blue;
+        }
+    }
+
+    private record Key(int size, ColorClass colorClass, int spikeCount) {
+    }
+
+    private static final Map<Key, StarSprite> SPRITES = new ConcurrentHashMap<>();
+
+    private StarSpriteAtlas() {
+    }
+
+    /**
+     * Sprite of a star: a plain square up to 2px, a glow with core above, with diffraction spikes
+     * when {@code spikeCount > 0}.
+     */
+    static StarSprite sprite(int size, ColorClass colorClass, int spikeCount) {
+        int spikes = size > 2 ? Math.max(0, spikeCount) : 0;
+        return SPRITES.computeIfAbsent(new Key(size, colorClass, spikes), key -> key.size() <= 2
+                ? StarSprite.square(key.size(), key.colorClass())
+                : StarSprite.glow(key.size(), key.colorClass(), key.spikeCount()));
+    }
+}
@@ -0,0 +1,207 @@
+package org.dbs.sbgb.domain.model;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Shared tile scheduler for CPU-bound per-pixel work.
+ * The image is cut into square tiles that are rendered on a dedicated work-stealing
+ * {@link ForkJoinPool}; each tile is traversed row by row so writes into the row-major
+ * raster stay sequential in memory.
+ */
+@Slf4j
+public class TileRenderEngine implements AutoCloseable {
+
+    public static final int DEFAULT_TILE_SIZE = 64;
+
+    private static final class SharedHolder {
+        private static final TileRenderEngine INSTANCE =
+                new TileRenderEngine(Runtime.getRuntime().availableProcessors(), DEFAULT_TILE_SIZE);
+    }
+
+    private final ForkJoinPool pool;
+    private final int tileSize;
+
+    /**
+     * @param parallelism number of worker threads, defaults to the number of cores when &lt;= 0
+     * @param tileSize    edge of a square tile in pixels
+     */
+    public TileRenderEngine(int parallelism, int tileSize) {
+        if (tileSize < 1) {
+            throw new IllegalArgumentException("tileSize must be strictly positive, got: " + tileSize);
+        }
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads);
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * Engine sized to the available cores, for tests and standalone tools. Application code receives the
+     * configured engine instead, so that {@code sbgb.render.parallelism} and {@code tile-size} apply.
+     */
+    public static TileRenderEngine shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /** Computes the packed ARGB value of one pixel. */
+    @FunctionalInterface
+    public interface PixelShader {
+        int shade(int x, int y);
+    }
+
+    /** Renders one rectangular tile, bounds exclusive on the right and bottom. */
+    @FunctionalInterface
+    public interface TileTask {
+        void render(int x0, int y0, int x1, int y1);
+    }
+
+    /**
+     * Per-tile timings of a render pass.
+     */
+    public record TileRenderReport(int tilesX, int tilesY, long wallNanos, long[] tileNanos) {
+
+        public int tileCount() {
+            return tileNanos.length;
+        }
+
+        public double meanTileMillis() {
+            return Arrays.stream(tileNanos).average().orElse(0.0) / 1_000_000.0;
+        }
+
+        public double maxTileMillis() {
+            return Arrays.stream(tileNanos).max().orElse(0L) / 1_000_000.0;
+        }
+
+        public double minTileMillis() {
+            return Arrays.stream(tileNanos).min().orElse(0L) / 1_000_000.0;
+        }
+
+        public double wallMillis() {
+            return wallNanos / 1_000_000.0;
+        }
+    }
+
+    /**
+     * Fills a row-major ARGB raster of {@code width * height} pixels.
+     */
+    public TileRenderReport renderArgb(int[] raster, int width, int height, PixelShader shader) {
+        return forEachTile(width, height, (x0, y0, x1, y1) -> {
+            for (int y = y0; y < y1; y++) {
+                int offset = y * width;
+                for (int x = x0; x < x1; x++) {
+                    raster[offset + x] = shader.shade(x, y);
+                }
+            }
+        });
+    }
+
+    /**
+     * Evaluates an intensity calculator into a row-major float buffer.
+     */
+    public float[] renderIntensity(int width, int height, GalaxyIntensityCalculator calculator) {
+        float[] buffer = new float[width * height];
+        forEachTile(width, height, (x0, y0, x1, y1) -> {
+            for (int y = y0; y < y1; y++) {
+                int offset = y * width;
+                for (int x = x0; x < x1; x++) {
+                    buffer[offset + x] = (float) calculator.calculateGalaxyIntensity(x, y);
+                }
+            }
+        });
+        return buffer;
+    }
+
+    /**
+     * Runs the task on every tile of the image and waits for completion.
+     */
+    public TileRenderReport forEachTile(int width, int height, TileTask task) {
+        int tilesX = ceilDiv(width, tileSize);
+        int tilesY = ceilDiv(height, tileSize);
+        long[] tileNanos = new long[tilesX * tilesY];
+
+        long start = System.nanoTime();
+        pool.invoke(new TileBatch(0, tileNanos.length, tilesX, width, height, task, tileNanos));
+        TileRenderReport report = new TileRenderReport(tilesX, tilesY, System.nanoTime() - start, tileNanos);
+
+        log.debug("Rendered {}x{} in {} tiles of {}px on {} threads: wall={}ms, tile min/mean/max={}/{}/{}ms",
+                width, height, report.tileCount(), tileSize, pool.getParallelism(),
+                String.format("%.1f", report.wallMillis()), String.format("%.2f", report.minTileMillis()),
+                String.format("%.2f", report.meanTileMillis()), String.format("%.2f", report.maxTileMillis()));
+        return report;
+    }
+
+    /**
+     * Schedules a task that is not tile-shaped on the engine's pool, so it shares the configured threads.
+     */
+    public <T> ForkJoinTask<T> submit(Callable<T> task) {
+        return pool.submit(task);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private static int ceilDiv(int value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+
+    /**
+     * Range of tile indices split in halves until a single tile remains, so idle workers can steal work.
+     * An empty range (image with no row or no column) has nothing to render.
+     */
+    private final class TileBatch extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int tilesX;
+        private final int width;
+        private final int height;
+        private final TileTask task;
+        private final long[] tileNanos;
+
+        private TileBatch(int from, int to, int tilesX, int width, int height, TileTask task, long[] tileNanos) {
+            this.from = from;
+            this.to = to;
+            this.tilesX = tilesX;
+            this.width = width;
+            this.height = height;
+            this.task = task;
+            this.tileNanos = tileNanos;
+        }
+
+        @Override
+        protected void compute() {
+            if (to <= from) {
+                return;
+            }
+            if (to - from == 1) {
+                renderTile(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new TileBatch(from, middle, tilesX, width, height, task, tileNanos),
+                    new TileBatch(middle, to, tilesX, width, height, task, tileNanos));
+        }
+
+        private void renderTile(int index) {
+            int x0 = (index % tilesX) * tileSize;
+            int y0 = (index / tilesX) * tileSize;
+            long start = System.nanoTime();
+            task.render(x0, y0, Math.min(x0 + tileSize, width), Math.min(y0 + tileSize, height));
+            tileNanos[index] = System.nanoTime() - start;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.dbs.sbgb.domain.model;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Output formats of images rendered by bands straight to disk: a streamed PNG ({@link PngStripWriter})
+ * or a memory-mapped raw RGBA raster ({@link RawRgbaFileWriter}).
+ */
+public enum TiledImageFormat {
+    PNG("image/png", "png"),
+    RAW_RGBA("application/vnd.sbgb.rgba8", "rgba");
+
+    private static final int OUTPUT_BUFFER_BYTES = 1 << 16;
+
+    private final String mediaType;
+    private final String extension;
+
+    TiledImageFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /** Opens a sink writing a {@code width x height} image to the file, replacing any existing content. */
+    public ImageRowSink open(Path file, int width, int height, boolean opaque) throws IOException {
+        return switch (this) {
+            case PNG -> new PngStripWriter(new BufferedOutputStream(Files.newOutputStream(file), OUTPUT_BUFFER_BYTES),
+                    width, height, opaque, PngEncodingOptions.STREAMING);
+            case RAW_RGBA -> new RawRgbaFileWriter(file, width, height, opaque);
+        };
+    }
+
+    /** Resolves a format from its name, extension or media type, case-insensitively. */
+    public static TiledImageFormat fromName(String name) {
+        String normalized = name.trim().toLowerCase(Locale.ROOT);
+        return Arrays.stream(values())
+                .filter(format -> format.name().toLowerCase(Locale.ROOT).equals(normalized)
+                        || format.extension.equals(normalized)
+                        || format.mediaType.equals(normalized))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported tiled image format: " + name));
+    }
+}
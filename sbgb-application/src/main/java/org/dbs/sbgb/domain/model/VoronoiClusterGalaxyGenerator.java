@@ -10,12 +10,12 @@ import org.dbs.sbgb.domain.model.parameters.VoronoiClusterParameters;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.Executors;
 
 /**
  * Implementation of Voronoi Cluster Galaxy Generator using JNoise 4.1.0 and
- * Virtual Threads.
- * Uses an exponential distribution for cluster center placement.
+ * the tile render engine.
+ * Uses an exponential distribution for cluster center placement; cluster Gaussians are
+ * looked up through a {@link GaussianSpatialIndex} so each pixel only sums nearby clusters.
  */
 @Slf4j
 public class VoronoiClusterGalaxyGenerator implements GalaxyIntensityCalculator {
@@ -25,22 +25,39 @@ public class VoronoiClusterGalaxyGenerator implements GalaxyIntensityCalculator
     private final double centerX;
     private final double centerY;
     private final CoreParameters coreParameters;
-    private final VoronoiClusterParameters voronoiParameters;
-    private final List<ClusterCenter> clusters;
+    private final GaussianSpatialIndex clusterIndex;
+    private final PixelGeometryTable geometry;
+    private final double inverseGalaxyRadius;
+    private final double coreSize;
+    private final double coreFalloff;
     private final JNoise jNoise;
 
     public VoronoiClusterGalaxyGenerator(int width, int height,
                                          long seed,
                                          CoreParameters coreParameters,
                                          VoronoiClusterParameters voronoiParameters) {
+        this(width, height, seed, coreParameters, voronoiParameters, GaussianSpatialIndex.DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * @param tolerance cluster profile value under which a contribution is skipped
+     */
+    public VoronoiClusterGalaxyGenerator(int width, int height,
+                                         long seed,
+                                         CoreParameters coreParameters,
+                                         VoronoiClusterParameters voronoiParameters,
+                                         double tolerance) {
         this.width = width;
         this.height = height;
         this.centerX = width / 2.0;
         this.centerY = height / 2.0;
         this.coreParameters = coreParameters;
-        this.voronoiParameters = voronoiParameters;
-        this.clusters = generateClusters(seed, voronoiParameters.getClusterCount(),
-                voronoiParameters.getClusterConcentration());
+        this.geometry = PixelGeometryTable.forSize(width, height);
+        this.inverseGalaxyRadius = 1.0 / coreParameters.getGalaxyRadius();
+        this.coreSize = coreParameters.getCoreSize();
+        this.coreFalloff = 4.0 / coreSize;
+        this.clusterIndex = buildClusterIndex(generateClusters(seed, voronoiParameters.getClusterCount(),
+                voronoiParameters.getClusterConcentration()), voronoiParameters.getClusterSize(), tolerance);
 
         // Initialize JNoise 4.1.0 pipeline
         this.jNoise = JNoise.newBuilder()
@@ -71,30 +88,34 @@ public class VoronoiClusterGalaxyGenerator implements GalaxyIntensityCalculator
         return result;
     }
 
+    private static GaussianSpatialIndex buildClusterIndex(List<ClusterCenter> clusters, double clusterSize,
+                                                          double tolerance) {
+        GaussianSpatialIndex.Builder index = GaussianSpatialIndex.builder().tolerance(tolerance);
+        for (ClusterCenter cluster : clusters) {
+            index.add(cluster.x, cluster.y, clusterSize, 2.0, cluster.brightness);
+        }
+        return index.build();
+    }
+
+    @Override
+    public void prepare(TileRenderEngine tileRenderEngine) {
+        geometry.prepareRadius(tileRenderEngine);
+    }
+
     @Override
     public double calculateGalaxyIntensity(int x, int y) {
-        double dx = x - centerX;
-        double dy = y - centerY;
-        double distance = Math.sqrt(dx * dx + dy * dy);
-        double normalizedDistance = distance / coreParameters.getGalaxyRadius();
+        double normalizedDistance = geometry.radius(x, y) * inverseGalaxyRadius;
 
         if (normalizedDistance > 1.0)
             return 0.0;
 
         // Core intensity
-        double coreIntensity = (normalizedDistance < coreParameters.getCoreSize())
-                ? Math.exp(-(normalizedDistance / coreParameters.getCoreSize()) * 4.0)
+        double coreIntensity = (normalizedDistance < coreSize)
+                ? Math.exp(-normalizedDistance * coreFalloff)
                 : 0.0;
 
         // Cluster intensity (Gaussian sum)
-        double clusterIntensity = 0.0;
-        double clusterSize = voronoiParameters.getClusterSize();
-        for (ClusterCenter cluster : clusters) {
-            double cdx = x - cluster.x;
-            double cdy = y - cluster.y;
-            double cdistSq = cdx * cdx + cdy * cdy;
-            clusterIntensity += cluster.brightness * Math.exp(-cdistSq / (2.0 * clusterSize * clusterSize));
-        }
+        double clusterIntensity = clusterIndex.sum(x, y);
 
         // Noise Modulation
         double perlinNoise = jNoise.evaluateNoise(x, y);
@@ -104,20 +125,11 @@ public class VoronoiClusterGalaxyGenerator implements GalaxyIntensityCalculator
     }
 
     /**
-     * Parallel batch rendering using Java 21 Virtual Threads.
+     * Parallel batch rendering on the given tile engine.
      */
-    public float[] generateBuffer() {
-        float[] buffer = new float[width * height];
-        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
-            for (int y = 0; y < height; y++) {
-                final int currentY = y;
-                executor.submit(() -> {
-                    for (int x = 0; x < width; x++) {
-                        buffer[currentY * width + x] = (float) calculateGalaxyIntensity(x, currentY);
-                    }
-                });
-            }
-        }
+    public float[] generateBuffer(TileRenderEngine tileRenderEngine) {
+        prepare(tileRenderEngine);
+        float[] buffer = tileRenderEngine.renderIntensity(width, height, this);
         log.info("Voronoi Cluster Galaxy buffer generation completed ({}x{})", width, height);
         return buffer;
     }
@@ -135,6 +147,7 @@ public class VoronoiClusterGalaxyGenerator implements GalaxyIntensityCalculator
         private long seed = 12345L;
         private CoreParameters coreParameters;
         private VoronoiClusterParameters voronoiParameters;
+        private double tolerance = GaussianSpatialIndex.DEFAULT_TOLERANCE;
 
         public Builder width(int width) {
             this.width = width;
@@ -161,8 +174,14 @@ public class VoronoiClusterGalaxyGenerator implements GalaxyIntensityCalculator
             return this;
         }
 
+        public Builder tolerance(double tolerance) {
+            this.tolerance = tolerance;
+            return this;
+        }
+
         public VoronoiClusterGalaxyGenerator build() {
-            return new VoronoiClusterGalaxyGenerator(width, height, seed, coreParameters, voronoiParameters);
+            return new VoronoiClusterGalaxyGenerator(width, height, seed, coreParameters, voronoiParameters,
+                    tolerance);
         }
     }
 }
@@ -7,6 +7,7 @@ import org.dbs.sbgb.domain.model.parameters.BloomParameters;
 import org.springframework.stereotype.Component;
 
 import java.awt.image.BufferedImage;
+import java.util.Optional;
 
 /**
  * Service responsible for applying bloom/glow post-processing to galaxy images.
@@ -16,20 +17,28 @@ import java.awt.image.BufferedImage;
 public class BloomApplicator {
 
     public BufferedImage applyIfEnabled(BufferedImage image, GalaxyParameters parameters) {
-        BloomParameters bloom = parameters.getBloomParameters();
-        if (!bloom.isEnabled() || bloom.getBloomIntensity() <= 0.0) {
+        Optional<BloomPostProcessor> processor = processorIfEnabled(parameters);
+        if (processor.isEmpty()) {
             log.debug("Bloom disabled");
             return image;
         }
+        return processor.get().apply(image);
+    }
 
-        log.info("Applying bloom: radius={}, intensity={}, threshold={}",
-                bloom.getBloomRadius(), bloom.getBloomIntensity(), bloom.getBloomThreshold());
+    /**
+     * Post-processor configured from the parameters, empty when bloom is disabled.
+     * Band rendering applies it band by band with {@link BloomPostProcessor#bandOverlap()} rows of overlap.
+     */
+    public Optional<BloomPostProcessor> processorIfEnabled(GalaxyParameters parameters) {
+        BloomParameters bloom = parameters.getBloomParameters();
+        if (!bloom.isEnabled() || bloom.getBloomIntensity() <= 0.0) {
+            return Optional.empty();
+        }
 
-        return BloomPostProcessor.builder()
+        return Optional.of(BloomPostProcessor.builder()
                 .bloomRadius(bloom.getBloomRadius())
                 .bloomIntensity(bloom.getBloomIntensity())
                 .bloomThreshold(bloom.getBloomThreshold())
-                .build()
-                .apply(image);
+                .build());
     }
 }
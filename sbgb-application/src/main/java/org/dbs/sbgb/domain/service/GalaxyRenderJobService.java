@@ -0,0 +1,116 @@
+package org.dbs.sbgb.domain.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dbs.sbgb.common.UseCase;
+import org.dbs.sbgb.domain.exception.RenderJobQueueFullException;
+import org.dbs.sbgb.domain.model.RenderJob;
+import org.dbs.sbgb.domain.model.TiledImageFormat;
+import org.dbs.sbgb.port.in.GalaxyRequestCmd;
+import org.dbs.sbgb.port.in.RenderGalaxyJobUseCase;
+import org.dbs.sbgb.port.out.GalaxyTiledRenderPort;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Tâches de rendu par bandes : chaque tâche s'exécute sur l'executor dédié ({@code renderJobExecutor}),
+ * dont la file d'attente est bornée : au-delà, la soumission est refusée ({@link RenderJobQueueFullException}).
+ * L'état des tâches est conservé en mémoire et le fichier produit reste sur disque pendant {@code sbgb.render.jobs.ttl}
+ * après la fin de la tâche ; {@link #purgeExpired()} retire ensuite l'une et l'autre.
+ */
+@Slf4j
+@UseCase
+public class GalaxyRenderJobService implements RenderGalaxyJobUseCase {
+
+    private final GalaxyTiledRenderPort galaxyTiledRenderPort;
+    private final Executor renderJobExecutor;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<UUID, RenderJob> jobs = new ConcurrentHashMap<>();
+    private final Map<UUID, Instant> finishedAt = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GalaxyRenderJobService(GalaxyTiledRenderPort galaxyTiledRenderPort,
+                                  @Qualifier("renderJobExecutor") Executor renderJobExecutor,
+                                  @Value("${sbgb.render.jobs.ttl:1h}") Duration ttl) {
+        this(galaxyTiledRenderPort, renderJobExecutor, ttl, Clock.systemUTC());
+    }
+
+    GalaxyRenderJobService(GalaxyTiledRenderPort galaxyTiledRenderPort, Executor renderJobExecutor,
+                           Duration ttl, Clock clock) {
+        this.galaxyTiledRenderPort = galaxyTiledRenderPort;
+        this.renderJobExecutor = renderJobExecutor;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Override
+    public RenderJob submit(GalaxyRequestCmd cmd, int width, int height, TiledImageFormat format) {
+        validateSize(width, "width");
+        validateSize(height, "height");
+        GalaxyRequestCmd renderCmd = GalaxyRequestScaling.rescaled(cmd, width, height).build();
+        RenderJob job = RenderJob.queued(UUID.randomUUID(), width, height, format);
+        jobs.put(job.id(), job);
+        try {
+            renderJobExecutor.execute(() -> run(job, renderCmd));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id());
+            throw new RenderJobQueueFullException(e);
+        }
+        return job;
+    }
+
+    @Override
+    public Optional<RenderJob> findJob(UUID id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Retire les tâches terminées depuis plus de {@code ttl} puis supprime les fichiers aussi anciens,
+     * y compris ceux d'une exécution précédente dont la tâche n'est plus connue.
+     */
+    @Scheduled(fixedDelayString = "${sbgb.render.jobs.purge-interval:5m}")
+    public void purgeExpired() {
+        Instant cutoff = clock.instant().minus(ttl);
+        finishedAt.forEach((id, finished) -> {
+            if (finished.isBefore(cutoff)) {
+                jobs.remove(id);
+                finishedAt.remove(id);
+            }
+        });
+        galaxyTiledRenderPort.deleteOutputsOlderThan(cutoff);
+    }
+
+    private void run(RenderJob job, GalaxyRequestCmd cmd) {
+        jobs.put(job.id(), job.running(0));
+        try {
+            Path output = galaxyTiledRenderPort.render(job.id(), cmd, job.format(),
+                    rows -> jobs.computeIfPresent(job.id(), (id, current) -> current.running(rows)));
+            jobs.computeIfPresent(job.id(), (id, current) -> current.done(output));
+        } catch (Exception | OutOfMemoryError e) {
+            log.error("Render job {} failed", job.id(), e);
+            jobs.computeIfPresent(job.id(), (id, current) -> current.failed(String.valueOf(e.getMessage())));
+        } finally {
+            finishedAt.put(job.id(), clock.instant());
+        }
+    }
+
+    private static void validateSize(int size, String name) {
+        if (size < MIN_SIZE || size > MAX_SIZE) {
+            throw new IllegalArgumentException(
+                    name + " must be between " + MIN_SIZE + " and " + MAX_SIZE + ", got: " + size);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.dbs.sbgb.domain.service;
+
+import org.dbs.sbgb.domain.constant.GalaxyDefaults;
+import org.dbs.sbgb.port.in.GalaxyRequestCmd;
+import org.dbs.sbgb.port.in.IrregularParameters;
+import org.dbs.sbgb.port.in.RingParameters;
+import org.dbs.sbgb.port.in.SpiralParameters;
+import org.dbs.sbgb.port.in.VoronoiParameters;
+
+/**
+ * Même galaxie à une autre taille : tous les paramètres exprimés en pixels (rayon de la galaxie,
+ * domain warp, largeur des bras, taille des amas, rayon et largeur de l'anneau, taille des grumeaux)
+ * suivent le rapport des largeurs. Les autres paramètres sont recopiés tels quels.
+ */
+final class GalaxyRequestScaling {
+
+    private GalaxyRequestScaling() {
+    }
+
+    /** Builder pré-rempli, l'appelant peut encore remplacer les cosmétiques (étoiles, bloom). */
+    static GalaxyRequestCmd.GalaxyRequestCmdBuilder rescaled(GalaxyRequestCmd cmd, int width, int height) {
+        double scale = (double) width / cmd.getWidth();
+        return GalaxyRequestCmd.builder()
+                .width(width).height(height)
+                .seed(cmd.getSeed())
+                .galaxyType(cmd.getGalaxyType())
+                .coreSize(cmd.getCoreSize())
+                .galaxyRadius(scaled(cmd.getGalaxyRadius(), GalaxyDefaults.DEFAULT_GALAXY_RADIUS, scale))
+                .warpStrength(cmd.getWarpStrength() * scale)
+                .noiseParameters(cmd.getNoiseParameters())
+                .spiralParameters(scaled(cmd.getSpiralParameters(), scale))
+                .voronoiParameters(scaled(cmd.getVoronoiParameters(), scale))
+                .ellipticalParameters(cmd.getEllipticalParameters())
+                .ringParameters(scaled(cmd.getRingParameters(), scale))
+                .irregularParameters(scaled(cmd.getIrregularParameters(), scale))
+                .starFieldParameters(cmd.getStarFieldParameters())
+                .multiLayerNoiseParameters(cmd.getMultiLayerNoiseParameters())
+                .bloomParameters(cmd.getBloomParameters())
+                .colorParameters(cmd.getColorParameters());
+    }
+
+    private static SpiralParameters scaled(SpiralParameters spiral, double scale) {
+        if (spiral == null) {
+            return null;
+        }
+        return new SpiralParameters(spiral.numberOfArms(),
+                scaled(spiral.armWidth(), GalaxyDefaults.DEFAULT_ARM_WIDTH, scale),
+                spiral.armRotation(), spiral.darkLaneOpacity());
+    }
+
+    private static VoronoiParameters scaled(VoronoiParameters voronoi, double scale) {
+        if (voronoi == null) {
+            return null;
+        }
+        return new VoronoiParameters(voronoi.clusterCount(),
+                scaled(voronoi.clusterSize(), GalaxyDefaults.DEFAULT_CLUSTER_SIZE, scale),
+                voronoi.clusterConcentration());
+    }
+
+    private static RingParameters scaled(RingParameters ring, double scale) {
+        if (ring == null) {
+            return null;
+        }
+        return new RingParameters(
+                scaled(ring.ringRadius(), GalaxyDefaults.DEFAULT_RING_RADIUS, scale),
+                scaled(ring.ringWidth(), GalaxyDefaults.DEFAULT_RING_WIDTH, scale),
+                ring.ringIntensity(), ring.coreToRingRatio());
+    }
+
+    private static IrregularParameters scaled(IrregularParameters irregular, double scale) {
+        if (irregular == null) {
+            return null;
+        }
+        return new IrregularParameters(irregular.irregularity(), irregular.irregularClumpCount(),
+                scaled(irregular.irregularClumpSize(), GalaxyDefaults.DEFAULT_CLUMP_SIZE, scale));
+    }
+
+    private static double scaled(Double value, double defaultValue, double scale) {
+        return (value != null ? value : defaultValue) * scale;
+    }
+}
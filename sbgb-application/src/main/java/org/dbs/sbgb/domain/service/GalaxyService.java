@@ -2,14 +2,22 @@ package org.dbs.sbgb.domain.service;
 
 import lombok.RequiredArgsConstructor;
 import org.dbs.sbgb.common.UseCase;
+import org.dbs.sbgb.domain.model.ContentKey;
+import org.dbs.sbgb.domain.model.EncodedImage;
 import org.dbs.sbgb.domain.model.GalaxyBaseStructure;
 import org.dbs.sbgb.domain.model.GalaxyCosmeticRender;
+import org.dbs.sbgb.domain.model.GalaxyIntensityField;
+import org.dbs.sbgb.domain.model.ImageDownsampler;
+import org.dbs.sbgb.domain.model.ImageEncoding;
+import org.dbs.sbgb.domain.model.ImageFormat;
+import org.dbs.sbgb.domain.model.PreviewPass;
 import org.dbs.sbgb.port.in.*;
 import org.dbs.sbgb.port.out.GalaxyBaseStructureRepository;
 import org.dbs.sbgb.port.out.GalaxyCosmeticRenderRepository;
 import org.dbs.sbgb.port.out.GalaxyImageComputationPort;
-import org.springframework.cache.annotation.CacheEvict;
+import org.dbs.sbgb.port.out.GalaxyIntensityFieldComputationPort;
 
+import java.awt.Dimension;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.util.Comparator;
@@ -27,15 +35,52 @@ public class GalaxyService implements BuildGalaxyImageUseCase, RateGalaxyCosmeti
     private final GalaxyCosmeticRenderRepository cosmeticRenderRepository;
     private final ImageSerializer imageSerializer;
     private final GalaxyImageComputationPort galaxyImageComputationPort;
+    private final GalaxyIntensityFieldComputationPort galaxyIntensityFieldComputationPort;
 
     @Override
-    public byte[] buildGalaxyImage(GalaxyRequestCmd cmd) throws IOException {
-        BufferedImage image = generateGalaxyBufferedImage(cmd);
-        return imageSerializer.toByteArray(image);
+    public EncodedImage buildGalaxyImage(GalaxyRequestCmd cmd, ImageEncoding encoding) throws IOException {
+        ContentKey configKey = computeConfigKey(cmd);
+        if (encoding.format() == ImageFormat.FLOAT32) {
+            GalaxyIntensityField field = galaxyIntensityFieldComputationPort.computeIntensityField(configKey, cmd);
+            return imageSerializer.float32(field.width(), field.height(), List.of(field.values()));
+        }
+        return EncodedImage.ofBytes(
+                galaxyImageComputationPort.computeEncoded(configKey, computeCosmeticKey(cmd), cmd, encoding));
+    }
+
+    /**
+     * Rendu progressif : les passes 1/8, 1/4 et 1/2 sont la même galaxie rendue à taille réduite
+     * (voir {@link #scaledCmd}), rendue hors cache pour ne pas évincer les rendus pleine résolution ;
+     * la passe finale est le rendu pleine résolution mis en cache.
+     * Le champ d'intensité dépend de la normalisation pleine grille du bruit et du domain warp : il ne se raffine
+     * pas point par point, chaque passe réduite est un rendu complet à sa taille (un quart du coût de la suivante).
+     * Si ce rendu a déjà été calculé (sa vignette est en cache), seule la passe finale est envoyée.
+     */
+    @Override
+    public void buildGalaxyPreview(GalaxyRequestCmd cmd, ImageEncoding encoding, PreviewPass.Listener listener)
+            throws IOException {
+        if (!encoding.format().isRaster()) {
+            throw new IllegalArgumentException("Progressive rendering needs a raster format, got: " + encoding.format());
+        }
+        ContentKey configKey = computeConfigKey(cmd);
+        ContentKey cosmeticKey = computeCosmeticKey(cmd);
+        if (galaxyImageComputationPort.findThumbnail(configKey, cosmeticKey).isEmpty()) {
+            for (int divisor : PreviewPass.DIVISORS) {
+                if (divisor == 1) {
+                    continue;
+                }
+                GalaxyRequestCmd passCmd = scaledCmd(cmd,
+                        Math.max(1, cmd.getWidth() / divisor), Math.max(1, cmd.getHeight() / divisor));
+                BufferedImage image = galaxyImageComputationPort.renderUncached(passCmd);
+                listener.onPass(new PreviewPass(divisor, passCmd.getWidth(), passCmd.getHeight(), encoding.format(),
+                        imageSerializer.toByteArray(image, encoding)));
+            }
+        }
+        byte[] image = galaxyImageComputationPort.computeEncoded(configKey, cosmeticKey, cmd, encoding);
+        listener.onPass(new PreviewPass(1, cmd.getWidth(), cmd.getHeight(), encoding.format(), image));
     }
 
     @Override
-    @CacheEvict(value = "galaxyImage", allEntries = true)
     public GalaxyCosmeticRender rate(GalaxyRequestCmd cmd) throws IOException {
         validateNote(cmd.getNote());
 
@@ -91,7 +136,7 @@ public class GalaxyService implements BuildGalaxyImageUseCase, RateGalaxyCosmeti
 
         List<GalaxyCosmeticRender> existingRenders = cosmeticRenderRepository.findAllByBaseStructureId(baseId);
 
-        // Supprimer l'ancienne base et ses rendus (ils vont être recréés avec le nouveau configHash)
+        // Supprimer l'ancienne base et ses rendus (ils vont être recréés avec le nouveau configKey)
         deleteRendersByBase(baseId);
 
         // Créer la nouvelle base
@@ -153,42 +198,43 @@ public class GalaxyService implements BuildGalaxyImageUseCase, RateGalaxyCosmeti
         }
     }
 
+    /**
+     * Vignette de notation : la réduction du rendu pleine résolution déjà calculé pour ces clés.
+     * Un rendu basse résolution, hors cache, n'est lancé que si aucune vignette n'est en cache.
+     */
     private byte[] buildThumbnail(GalaxyRequestCmd cmd) throws IOException {
-        GalaxyRequestCmd thumbnailCmd = GalaxyRequestCmd.builder()
-                .width(200).height(200)
-                .seed(cmd.getSeed())
-                .galaxyType(cmd.getGalaxyType())
-                .coreSize(cmd.getCoreSize())
-                .galaxyRadius(cmd.getGalaxyRadius() != null ? Math.min(cmd.getGalaxyRadius(), 100.0) : 100.0)
-                .warpStrength(cmd.getWarpStrength())
-                .noiseParameters(cmd.getNoiseParameters())
-                .spiralParameters(cmd.getSpiralParameters())
-                .voronoiParameters(cmd.getVoronoiParameters())
-                .ellipticalParameters(cmd.getEllipticalParameters())
-                .ringParameters(cmd.getRingParameters())
-                .irregularParameters(cmd.getIrregularParameters())
+        Optional<byte[]> rendered = galaxyImageComputationPort.findThumbnail(computeConfigKey(cmd), computeCosmeticKey(cmd));
+        if (rendered.isPresent()) {
+            return rendered.get();
+        }
+        Dimension size = ImageDownsampler.fit(cmd.getWidth(), cmd.getHeight(), ImageDownsampler.THUMBNAIL_SIZE);
+        return imageSerializer.toByteArray(galaxyImageComputationPort.renderUncached(scaledCmd(cmd, size.width, size.height)));
+    }
+
+    /**
+     * Même galaxie à une taille réduite (voir {@link GalaxyRequestScaling}).
+     * Étoiles et bloom, dont la taille est en pixels, sont omis à cette résolution.
+     */
+    private GalaxyRequestCmd scaledCmd(GalaxyRequestCmd cmd, int width, int height) {
+        return GalaxyRequestScaling.rescaled(cmd, width, height)
                 .starFieldParameters(StarFieldParameters.noStars())
-                .multiLayerNoiseParameters(cmd.getMultiLayerNoiseParameters())
                 .bloomParameters(BloomParameters.disabled())
-                .colorParameters(cmd.getColorParameters())
                 .build();
-        BufferedImage image = generateGalaxyBufferedImage(thumbnailCmd);
-        return imageSerializer.toByteArray(image);
     }
 
     private GalaxyBaseStructure findOrCreateBase(GalaxyRequestCmd cmd) {
-        int configHash = computeConfigHash(cmd);
-        return baseStructureRepository.findByConfigHash(configHash)
+        ContentKey configKey = computeConfigKey(cmd);
+        return baseStructureRepository.findByConfigKey(configKey)
                 .orElseGet(() -> {
-                    GalaxyBaseStructure newBase = buildBaseStructure(cmd, configHash);
+                    GalaxyBaseStructure newBase = buildBaseStructure(cmd, configKey);
                     return baseStructureRepository.save(newBase);
                 });
     }
 
     private GalaxyCosmeticRender findOrCreateRender(GalaxyRequestCmd cmd, GalaxyBaseStructure base, byte[] thumbnail) {
-        int cosmeticHash = computeCosmeticHash(cmd);
+        ContentKey cosmeticKey = computeCosmeticKey(cmd);
         Optional<GalaxyCosmeticRender> existing = cosmeticRenderRepository
-                .findByBaseStructureIdAndCosmeticHash(base.id(), cosmeticHash);
+                .findByBaseStructureIdAndCosmeticKey(base.id(), cosmeticKey);
 
         return existing.isPresent()
                 ? updateWithNewNote(existing.get(), cmd.getNote(), thumbnail)
@@ -228,15 +274,15 @@ public class GalaxyService implements BuildGalaxyImageUseCase, RateGalaxyCosmeti
 
     @Override
     public Optional<GalaxyBaseStructure> resolveBase(GalaxyRequestCmd cmd) {
-        int configHash = computeConfigHash(cmd);
-        return baseStructureRepository.findByConfigHash(configHash);
+        ContentKey configKey = computeConfigKey(cmd);
+        return baseStructureRepository.findByConfigKey(configKey);
     }
 
-    private int computeConfigHash(GalaxyRequestCmd cmd) {
-        return buildBaseStructure(cmd, 0).configHash();
+    private ContentKey computeConfigKey(GalaxyRequestCmd cmd) {
+        return buildBaseStructure(cmd, null).configKey();
     }
 
-    private int computeCosmeticHash(GalaxyRequestCmd cmd) {
+    private ContentKey computeCosmeticKey(GalaxyRequestCmd cmd) {
         ColorParameters color = cmd.getColorParameters();
         BloomParameters bloom = cmd.getBloomParameters();
         StarFieldParameters stars = cmd.getStarFieldParameters();
@@ -244,10 +290,10 @@ public class GalaxyService implements BuildGalaxyImageUseCase, RateGalaxyCosmeti
                 color.colorPalette(), color.spaceBackgroundColor(), color.coreColor(), color.armColor(), color.outerColor(),
                 bloom.enabled(), bloom.bloomRadius(), bloom.bloomIntensity(), bloom.bloomThreshold(),
                 stars.enabled(), stars.density(), stars.maxStarSize(), stars.diffractionSpikes(), stars.spikeCount())
-                .cosmeticHash();
+                .cosmeticKey();
     }
 
-    private GalaxyBaseStructure buildBaseStructure(GalaxyRequestCmd cmd, int ignoredHash) {
+    private GalaxyBaseStructure buildBaseStructure(GalaxyRequestCmd cmd, ContentKey ignoredKey) {
         MultiLayerNoiseParameters ml = cmd.getMultiLayerNoiseParameters();
         NoiseParameters noise = cmd.getNoiseParameters();
         String structureParams = serializeStructureParams(cmd);
@@ -324,9 +370,4 @@ public class GalaxyService implements BuildGalaxyImageUseCase, RateGalaxyCosmeti
         };
         return typeParams != null ? typeParams.toString() : null;
     }
-
-    private BufferedImage generateGalaxyBufferedImage(GalaxyRequestCmd cmd) {
-        int configHash = computeConfigHash(cmd);
-        return galaxyImageComputationPort.computeImage(configHash, cmd);
-    }
 }
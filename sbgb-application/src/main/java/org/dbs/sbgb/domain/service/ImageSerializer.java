@@ -1,39 +1,62 @@
 package org.dbs.sbgb.domain.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.dbs.sbgb.domain.model.EncodedImage;
+import org.dbs.sbgb.domain.model.Float32RasterEncoder;
+import org.dbs.sbgb.domain.model.ImageEncoding;
+import org.dbs.sbgb.domain.model.ImageFormat;
+import org.dbs.sbgb.domain.model.PngEncoder;
+import org.dbs.sbgb.domain.model.QoiEncoder;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
 import org.springframework.stereotype.Component;
 
+import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
 
 /**
- * Service for serializing BufferedImage to byte arrays.
- * Encapsulates image format conversion logic.
+ * Service for serializing BufferedImage to byte arrays or streams.
+ * Encapsulates image format conversion logic: PNG goes through the {@link PngEncoder}, parallel on the configured
+ * {@link TileRenderEngine}, QOI through the pure-Java {@link QoiEncoder}, JPEG and any other ImageIO format
+ * through ImageIO.
+ * Raw float planes are written by {@link Float32RasterEncoder}.
  */
 @Slf4j
 @Component
 public class ImageSerializer {
 
-    private static final String DEFAULT_FORMAT = "png";
+    private final PngEncoder pngEncoder;
+    private final QoiEncoder qoiEncoder = new QoiEncoder();
+
+    public ImageSerializer(TileRenderEngine tileRenderEngine) {
+        this.pngEncoder = new PngEncoder(tileRenderEngine);
+    }
 
     /**
-     * Serialize a BufferedImage to byte array in PNG format.
+     * Serialize a BufferedImage to byte array in PNG format, with maximum compression.
      *
      * @param image the image to serialize
      * @return byte array representation of the image
      * @throws IOException if serialization fails
      */
     public byte[] toByteArray(BufferedImage image) throws IOException {
-        return toByteArray(image, DEFAULT_FORMAT);
+        return toByteArray(image, ImageEncoding.download(ImageFormat.PNG));
     }
 
     /**
      * Serialize a BufferedImage to byte array in specified format.
+     * PNG, QOI and JPEG use the download settings of {@link ImageEncoding}; other names go to ImageIO.
      *
      * @param image the image to serialize
-     * @param format the image format (e.g., "png", "jpg")
+     * @param format the image format (e.g., "png", "qoi", "jpg", "bmp")
      * @return byte array representation of the image
      * @throws IOException if serialization fails
      */
@@ -44,6 +67,10 @@ public class ImageSerializer {
         if (format == null || format.isBlank()) {
             throw new IllegalArgumentException("Format cannot be null or blank");
         }
+        ImageFormat known = knownRasterFormat(format);
+        if (known != null) {
+            return toByteArray(image, ImageEncoding.download(known));
+        }
 
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         boolean written = ImageIO.write(image, format, baos);
@@ -55,4 +82,85 @@ public class ImageSerializer {
         log.debug("Serialized image to {} format: {} bytes", format, baos.size());
         return baos.toByteArray();
     }
+
+    /**
+     * Serialize a BufferedImage to byte array with the given encoding.
+     *
+     * @param image    the image to serialize
+     * @param encoding raster format and its compression settings
+     * @return byte array representation of the image
+     * @throws IOException if serialization fails
+     */
+    public byte[] toByteArray(BufferedImage image, ImageEncoding encoding) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        write(image, encoding, baos);
+        log.debug("Serialized image to {}: {} bytes", encoding.cacheKey(), baos.size());
+        return baos.toByteArray();
+    }
+
+    /**
+     * Encode a BufferedImage directly into the given stream, which is left open.
+     *
+     * @param image    the image to serialize
+     * @param encoding raster format and its compression settings
+     * @param out      target stream
+     * @throws IOException if serialization fails
+     */
+    public void write(BufferedImage image, ImageEncoding encoding, OutputStream out) throws IOException {
+        if (image == null) {
+            throw new IllegalArgumentException("Image cannot be null");
+        }
+        switch (encoding.format()) {
+            case PNG -> pngEncoder.encode(image, encoding.pngOptions(), out);
+            case QOI -> qoiEncoder.encode(image, out);
+            case JPEG -> writeJpeg(image, encoding.jpegQuality(), out);
+            case FLOAT32 -> throw new IllegalArgumentException("FLOAT32 is not a raster format, use float32()");
+        }
+    }
+
+    /**
+     * Raw float planes of the given size, streamed on write with a known length.
+     *
+     * @param width  plane width
+     * @param height plane height
+     * @param planes row-major planes of {@code width * height} values
+     * @return encoded raster
+     */
+    public EncodedImage float32(int width, int height, List<float[]> planes) {
+        return EncodedImage.streamed(Float32RasterEncoder.length(width, height, planes.size()),
+                out -> Float32RasterEncoder.write(width, height, planes, out));
+    }
+
+    /**
+     * JPEG has no alpha channel: translucent pixels are composited over black, the background of space.
+     */
+    private void writeJpeg(BufferedImage image, float quality, OutputStream out) throws IOException {
+        BufferedImage opaque = image;
+        if (image.getColorModel().hasAlpha()) {
+            opaque = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = opaque.createGraphics();
+            graphics.drawImage(image, 0, 0, null);
+            graphics.dispose();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(opaque, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static ImageFormat knownRasterFormat(String format) {
+        try {
+            ImageFormat known = ImageFormat.fromName(format);
+            return known.isRaster() ? known : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
@@ -9,10 +9,8 @@ import org.dbs.sbgb.port.out.NoiseBaseStructureRepository;
 import org.dbs.sbgb.port.out.NoiseCosmeticRenderRepository;
 import org.dbs.sbgb.port.out.NoiseGridComputationPort;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Comparator;
 import java.util.List;
@@ -27,11 +25,44 @@ public class ImagesService implements BuildNoiseImageUseCase, RateNoiseCosmeticR
     private final NoiseBaseStructureRepository baseStructureRepository;
     private final NoiseCosmeticRenderRepository cosmeticRenderRepository;
     private final NoiseGridComputationPort noiseGridComputationPort;
+    private final ImageSerializer imageSerializer;
+    private final ImageDownsampler imageDownsampler = new ImageDownsampler();
 
     @Override
-    public byte[] buildNoiseImage(ImageRequestCmd cmd) throws IOException {
+    public EncodedImage buildNoiseImage(ImageRequestCmd cmd, ImageEncoding encoding) throws IOException {
+        if (encoding.format() == ImageFormat.FLOAT32) {
+            return buildNoisePlanes(cmd.getSizeCmd());
+        }
         BufferedImage image = generateImage(cmd);
-        return toByteArray(image);
+        return EncodedImage.streamed(out -> imageSerializer.write(image, encoding, out));
+    }
+
+    /**
+     * Rendu progressif : les grilles sont évaluées par réseaux emboîtés, chaque passe est colorisée à sa taille.
+     * Des grilles déjà en cache donnent directement la passe finale.
+     */
+    @Override
+    public void buildNoisePreview(ImageRequestCmd cmd, ImageEncoding encoding, PreviewPass.Listener listener)
+            throws IOException {
+        if (!encoding.format().isRaster()) {
+            throw new IllegalArgumentException("Progressive rendering needs a raster format, got: " + encoding.format());
+        }
+        ImageRequestCmd.SizeCmd sizeCmd = cmd.getSizeCmd();
+        ContentKey configKey = computeConfigKey(sizeCmd);
+        DefaultNoiseColorCalculator colorCalculator = createColorCalculator(cmd.getColorCmd());
+        NoiseGridComputationPort.GridPassListener passListener = (stride, grids) -> {
+            NormalizedNoiseGrid first = grids.getFirst();
+            BufferedImage image = renderGrids(grids, sizeCmd, first.width(), first.height(), colorCalculator);
+            listener.onPass(new PreviewPass(stride, first.width(), first.height(), encoding.format(),
+                    imageSerializer.toByteArray(image, encoding)));
+        };
+
+        Optional<List<NormalizedNoiseGrid>> cached = noiseGridComputationPort.findCachedGrids(configKey, sizeCmd);
+        if (cached.isPresent()) {
+            passListener.onPass(1, cached.get());
+        } else {
+            noiseGridComputationPort.computeGridsProgressively(configKey, sizeCmd, PreviewPass.DIVISORS, passListener);
+        }
     }
 
     @Override
@@ -82,11 +113,28 @@ public class ImagesService implements BuildNoiseImageUseCase, RateNoiseCosmeticR
         }
     }
 
+    /**
+     * Vignette de notation : les grilles pleine résolution déjà en cache sont réduites par moyenne
+     * de surface (mipmap) puis colorisées à la taille de la vignette. Sans grille en cache, le bruit est
+     * calculé directement à cette taille : ses coordonnées étant normalisées, le motif est le même.
+     */
     private byte[] buildThumbnail(ImageRequestCmd cmd) throws IOException {
         ImageRequestCmd.SizeCmd originalSize = cmd.getSizeCmd();
+        Dimension size = ImageDownsampler.fit(originalSize.getWidth(), originalSize.getHeight(),
+                ImageDownsampler.THUMBNAIL_SIZE);
+        Optional<List<NormalizedNoiseGrid>> cached =
+                noiseGridComputationPort.findCachedGrids(computeConfigKey(originalSize), originalSize);
+        if (cached.isPresent()) {
+            List<NormalizedNoiseGrid> mipmaps = cached.get().stream()
+                    .map(grid -> imageDownsampler.downsample(grid, size.width, size.height))
+                    .toList();
+            return imageSerializer.toByteArray(renderGrids(mipmaps, originalSize, size.width, size.height,
+                    createColorCalculator(cmd.getColorCmd())));
+        }
+
         ImageRequestCmd thumbnailCmd = ImageRequestCmd.builder()
                 .sizeCmd(ImageRequestCmd.SizeCmd.builder()
-                        .width(200).height(200)
+                        .width(size.width).height(size.height)
                         .seed(originalSize.getSeed())
                         .octaves(originalSize.getOctaves())
                         .persistence(originalSize.getPersistence())
@@ -99,22 +147,22 @@ public class ImagesService implements BuildNoiseImageUseCase, RateNoiseCosmeticR
                         .build())
                 .colorCmd(cmd.getColorCmd())
                 .build();
-        return buildNoiseImage(thumbnailCmd);
+        return imageSerializer.toByteArray(generateImage(thumbnailCmd));
     }
 
     private NoiseBaseStructure findOrCreateBase(ImageRequestCmd.SizeCmd sizeCmd) {
-        int configHash = computeConfigHash(sizeCmd);
-        return baseStructureRepository.findByConfigHash(configHash)
+        ContentKey configKey = computeConfigKey(sizeCmd);
+        return baseStructureRepository.findByConfigKey(configKey)
                 .orElseGet(() -> {
-                    NoiseBaseStructure newBase = buildBaseStructure(sizeCmd, configHash);
+                    NoiseBaseStructure newBase = buildBaseStructure(sizeCmd, configKey);
                     return baseStructureRepository.save(newBase);
                 });
     }
 
     private NoiseCosmeticRender findOrCreateRender(ImageRequestCmd cmd, NoiseBaseStructure base, byte[] thumbnail) {
-        int cosmeticHash = computeCosmeticHash(cmd.getColorCmd());
+        ContentKey cosmeticKey = computeCosmeticKey(cmd.getColorCmd());
         Optional<NoiseCosmeticRender> existing = cosmeticRenderRepository
-                .findByBaseStructureIdAndCosmeticHash(base.id(), cosmeticHash);
+                .findByBaseStructureIdAndCosmeticKey(base.id(), cosmeticKey);
 
         return existing.isPresent()
                 ? updateWithNewNote(existing.get(), cmd.getNote(), thumbnail)
@@ -143,20 +191,20 @@ public class ImagesService implements BuildNoiseImageUseCase, RateNoiseCosmeticR
         baseStructureRepository.updateMaxNote(baseId, maxNote);
     }
 
-    private int computeConfigHash(ImageRequestCmd.SizeCmd sizeCmd) {
+    private ContentKey computeConfigKey(ImageRequestCmd.SizeCmd sizeCmd) {
         String layersConfig = layersToString(sizeCmd);
         return new NoiseBaseStructure(null, null, 0, sizeCmd.getWidth(), sizeCmd.getHeight(), sizeCmd.getSeed(),
                 sizeCmd.getOctaves(), sizeCmd.getPersistence(), sizeCmd.getLacunarity(), sizeCmd.getScale(),
-                sizeCmd.getNoiseType(), sizeCmd.isUseMultiLayer(), layersConfig).configHash();
+                sizeCmd.getNoiseType(), sizeCmd.isUseMultiLayer(), layersConfig).configKey();
     }
 
-    private int computeCosmeticHash(ImageRequestCmd.ColorCmd colorCmd) {
+    private ContentKey computeCosmeticKey(ImageRequestCmd.ColorCmd colorCmd) {
         return new NoiseCosmeticRender(null, null, colorCmd.getBack(), colorCmd.getMiddle(), colorCmd.getFore(),
                 colorCmd.getBackThreshold(), colorCmd.getMiddleThreshold(), colorCmd.getInterpolationType(),
-                colorCmd.isTransparentBackground(), 0, null, null).cosmeticHash();
+                colorCmd.isTransparentBackground(), 0, null, null).cosmeticKey();
     }
 
-    private NoiseBaseStructure buildBaseStructure(ImageRequestCmd.SizeCmd sizeCmd, int configHash) {
+    private NoiseBaseStructure buildBaseStructure(ImageRequestCmd.SizeCmd sizeCmd, ContentKey configKey) {
         String layersConfig = layersToString(sizeCmd);
         NoiseBaseStructure template = new NoiseBaseStructure(null, null, 0, sizeCmd.getWidth(), sizeCmd.getHeight(),
                 sizeCmd.getSeed(), sizeCmd.getOctaves(), sizeCmd.getPersistence(), sizeCmd.getLacunarity(),
@@ -183,27 +231,31 @@ public class ImagesService implements BuildNoiseImageUseCase, RateNoiseCosmeticR
     }
 
     private BufferedImage generateImage(ImageRequestCmd cmd) {
-        DefaultNoiseColorCalculator colorCalculator = createColorCalculator(cmd.getColorCmd());
-        int configHash = computeConfigHash(cmd.getSizeCmd());
+        ImageRequestCmd.SizeCmd sizeCmd = cmd.getSizeCmd();
+        return renderGrids(computeGrids(sizeCmd), sizeCmd, sizeCmd.getWidth(), sizeCmd.getHeight(),
+                createColorCalculator(cmd.getColorCmd()));
+    }
 
-        if (cmd.getSizeCmd().isUseMultiLayer()) {
-            return buildMultiLayerImageFromCache(configHash, cmd.getSizeCmd(), colorCalculator);
-        }
-        return buildSingleLayerImageFromCache(configHash, cmd.getSizeCmd(), colorCalculator);
+    /** Grilles normalisées via le cache : une seule en mono-couche, une par layer actif sinon. */
+    private List<NormalizedNoiseGrid> computeGrids(ImageRequestCmd.SizeCmd sizeCmd) {
+        ContentKey configKey = computeConfigKey(sizeCmd);
+        return sizeCmd.isUseMultiLayer()
+                ? noiseGridComputationPort.computeMultiLayerGrids(configKey, sizeCmd)
+                : List.of(noiseGridComputationPort.computeSingleLayerGrid(configKey, sizeCmd));
     }
 
-    private BufferedImage buildSingleLayerImageFromCache(int configHash, ImageRequestCmd.SizeCmd sizeCmd,
-                                                         DefaultNoiseColorCalculator colorCalculator) {
-        NormalizedNoiseGrid grid = noiseGridComputationPort.computeSingleLayerGrid(configHash, sizeCmd);
-        return grid.renderWithColors(colorCalculator);
+    private BufferedImage renderGrids(List<NormalizedNoiseGrid> grids, ImageRequestCmd.SizeCmd sizeCmd,
+                                      int width, int height, DefaultNoiseColorCalculator colorCalculator) {
+        if (sizeCmd.isUseMultiLayer()) {
+            return new MultiLayerRenderer(width, height, colorCalculator).renderLayers(grids, resolveLayerConfigs(sizeCmd));
+        }
+        return grids.getFirst().renderWithColors(colorCalculator);
     }
 
-    private BufferedImage buildMultiLayerImageFromCache(int configHash, ImageRequestCmd.SizeCmd sizeCmd,
-                                                        DefaultNoiseColorCalculator colorCalculator) {
-        List<NormalizedNoiseGrid> grids = noiseGridComputationPort.computeMultiLayerGrids(configHash, sizeCmd);
-        List<LayerConfig> layerConfigs = resolveLayerConfigs(sizeCmd);
-        return new MultiLayerRenderer(sizeCmd.getWidth(), sizeCmd.getHeight(), colorCalculator)
-                .renderLayers(grids, layerConfigs);
+    /** Grilles normalisées brutes : une couche par plan, sans colorisation. */
+    private EncodedImage buildNoisePlanes(ImageRequestCmd.SizeCmd sizeCmd) {
+        return imageSerializer.float32(sizeCmd.getWidth(), sizeCmd.getHeight(),
+                computeGrids(sizeCmd).stream().map(NormalizedNoiseGrid::values).toList());
     }
 
     private List<LayerConfig> resolveLayerConfigs(ImageRequestCmd.SizeCmd sizeCmd) {
@@ -239,9 +291,4 @@ public class ImagesService implements BuildNoiseImageUseCase, RateNoiseCosmeticR
                 .build();
     }
 
-    private byte[] toByteArray(BufferedImage image) throws IOException {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        ImageIO.write(image, "png", outputStream);
-        return outputStream.toByteArray();
-    }
 }
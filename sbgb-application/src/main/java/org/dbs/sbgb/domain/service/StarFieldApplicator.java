@@ -1,20 +1,27 @@
 package org.dbs.sbgb.domain.service;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.dbs.sbgb.domain.model.GalaxyParameters;
 import org.dbs.sbgb.domain.model.StarFieldGenerator;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
 import org.springframework.stereotype.Component;
 
 import java.awt.image.BufferedImage;
+import java.util.Optional;
 
 /**
  * Service responsible for applying star field overlay to galaxy images.
  * Encapsulates the logic of star field generation and application.
+ * Stars are stamped tile by tile on the configured {@link TileRenderEngine}.
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class StarFieldApplicator {
 
+    private final TileRenderEngine tileRenderEngine;
+
     /**
      * Apply star field to the given image if enabled in parameters.
      *
@@ -37,22 +44,36 @@ public class StarFieldApplicator {
         return parameters.getStarFieldParameters().isEnabled();
     }
 
+    /**
+     * Generator configured from the parameters for an image of the given size, empty when the star field is
+     * disabled. Band rendering stamps its tiled layout band by band ({@link StarFieldGenerator#stampBand}).
+     */
+    public Optional<StarFieldGenerator> generatorIfEnabled(GalaxyParameters parameters, int width, int height, long seed) {
+        if (!isStarFieldEnabled(parameters)) {
+            return Optional.empty();
+        }
+        return Optional.of(generator(parameters, width, height, seed));
+    }
+
     private BufferedImage applyStarField(BufferedImage image, GalaxyParameters parameters, long seed) {
+        return generator(parameters, image.getWidth(), image.getHeight(), seed).applyStarField(image);
+    }
+
+    private StarFieldGenerator generator(GalaxyParameters parameters, int width, int height, long seed) {
         log.info("Applying star field: density={}, maxSize={}, spikes={}",
                 parameters.getStarFieldParameters().getStarDensity(),
                 parameters.getStarFieldParameters().getMaxStarSize(),
                 parameters.getStarFieldParameters().isDiffractionSpikes());
 
-        StarFieldGenerator generator = StarFieldGenerator.builder()
-                .width(image.getWidth())
-                .height(image.getHeight())
+        return StarFieldGenerator.builder()
+                .width(width)
+                .height(height)
                 .starDensity(parameters.getStarFieldParameters().getStarDensity())
                 .maxStarSize(parameters.getStarFieldParameters().getMaxStarSize())
                 .diffractionSpikes(parameters.getStarFieldParameters().isDiffractionSpikes())
                 .spikeCount(parameters.getStarFieldParameters().getSpikeCount())
                 .seed(seed + 999999) // Different seed offset for stars
+                .tileRenderEngine(tileRenderEngine)
                 .build();
-
-        return generator.applyStarField(image);
     }
 }
@@ -6,6 +6,7 @@ import org.dbs.sbgb.domain.model.PerlinGenerator;
 import lombok.Builder;
 import lombok.Getter;
 import org.dbs.sbgb.domain.model.GalaxyParameters;
+import org.dbs.sbgb.domain.model.GaussianSpatialIndex;
 
 @Getter
 @Builder
@@ -15,4 +16,6 @@ public class GalaxyGenerationContext {
     private final PerlinGenerator noiseGenerator;
     private final long seed;
     private final GalaxyParameters parameters;
+    @Builder.Default
+    private final double gaussianTolerance = GaussianSpatialIndex.DEFAULT_TOLERANCE;
 }
@@ -25,4 +25,10 @@ public class GalaxyGeneratorFactory {
                 .map(strategy -> strategy.create(context))
                 .orElseThrow(() -> new IllegalArgumentException("Unsupported galaxy type: " + type));
     }
+
+    /** True when the generator of this type reads the noise field, see {@link GalaxyGeneratorStrategy#usesNoise()}. */
+    public boolean usesNoise(GalaxyType type) {
+        GalaxyGeneratorStrategy strategy = strategies.get(type);
+        return strategy != null && strategy.usesNoise();
+    }
 }
@@ -7,4 +7,12 @@ public interface GalaxyGeneratorStrategy {
     GalaxyIntensityCalculator create(GalaxyGenerationContext context);
 
     GalaxyType getSupportedType();
+
+    /**
+     * True when the generator reads {@link GalaxyGenerationContext#getNoiseGenerator()}. Otherwise no noise
+     * field is computed for it and the context carries none.
+     */
+    default boolean usesNoise() {
+        return false;
+    }
 }
@@ -20,6 +20,7 @@ public class IrregularGeneratorStrategy implements GalaxyGeneratorStrategy {
                 .seed(context.getSeed())
                 .coreParameters(parameters.getCoreParameters())
                 .irregularParameters(parameters.getIrregularParameters())
+                .tolerance(context.getGaussianTolerance())
                 .build();
     }
 
@@ -27,4 +28,9 @@ public class IrregularGeneratorStrategy implements GalaxyGeneratorStrategy {
     public GalaxyType getSupportedType() {
         return GalaxyType.IRREGULAR;
     }
+
+    @Override
+    public boolean usesNoise() {
+        return true;
+    }
 }
@@ -26,4 +26,9 @@ public class RingGeneratorStrategy implements GalaxyGeneratorStrategy {
     public GalaxyType getSupportedType() {
         return GalaxyType.RING;
     }
+
+    @Override
+    public boolean usesNoise() {
+        return true;
+    }
 }
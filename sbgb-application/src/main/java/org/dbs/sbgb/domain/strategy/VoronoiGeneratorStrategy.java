@@ -19,6 +19,7 @@ public class VoronoiGeneratorStrategy implements GalaxyGeneratorStrategy {
                 .seed(context.getSeed())
                 .coreParameters(parameters.getCoreParameters())
                 .voronoiParameters(parameters.getVoronoiParameters())
+                .tolerance(context.getGaussianTolerance())
                 .build();
     }
 
@@ -1,7 +1,15 @@
 package org.dbs.sbgb.port.in;
 
+import org.dbs.sbgb.domain.model.EncodedImage;
+import org.dbs.sbgb.domain.model.ImageEncoding;
+import org.dbs.sbgb.domain.model.PreviewPass;
+
 import java.io.IOException;
 
 public interface BuildGalaxyImageUseCase {
-    byte[] buildGalaxyImage(GalaxyRequestCmd galaxyRequestCmd) throws IOException;
+    EncodedImage buildGalaxyImage(GalaxyRequestCmd galaxyRequestCmd, ImageEncoding encoding) throws IOException;
+
+    /** Rendu progressif : passes 1/8, 1/4, 1/2 puis pleine résolution, remises au listener dès qu'elles sont prêtes. */
+    void buildGalaxyPreview(GalaxyRequestCmd galaxyRequestCmd, ImageEncoding encoding, PreviewPass.Listener listener)
+            throws IOException;
 }
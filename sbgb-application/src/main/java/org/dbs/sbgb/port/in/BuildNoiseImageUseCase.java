@@ -1,7 +1,15 @@
 package org.dbs.sbgb.port.in;
 
+import org.dbs.sbgb.domain.model.EncodedImage;
+import org.dbs.sbgb.domain.model.ImageEncoding;
+import org.dbs.sbgb.domain.model.PreviewPass;
+
 import java.io.IOException;
 
 public interface BuildNoiseImageUseCase {
-    byte[] buildNoiseImage(ImageRequestCmd imageRequestCmd) throws IOException;
-}
\ No newline at end of file
+    EncodedImage buildNoiseImage(ImageRequestCmd imageRequestCmd, ImageEncoding encoding) throws IOException;
+
+    /** Rendu progressif : passes 1/8, 1/4, 1/2 puis pleine résolution, remises au listener dès qu'elles sont prêtes. */
+    void buildNoisePreview(ImageRequestCmd imageRequestCmd, ImageEncoding encoding, PreviewPass.Listener listener)
+            throws IOException;
+}
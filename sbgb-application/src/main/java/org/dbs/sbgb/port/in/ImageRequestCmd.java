@@ -61,6 +61,9 @@ public class ImageRequestCmd {
         private boolean useMultiLayer = false;
         @Builder.Default
         private String noiseType = "FBM";
+        @Pattern(regexp = "JNOISE|SCALAR|SIMD")
+        @Builder.Default
+        private String noiseEngine = "JNOISE";
         private List<LayerCmd> layers;
     }
 
@@ -0,0 +1,27 @@
+package org.dbs.sbgb.port.in;
+
+import org.dbs.sbgb.domain.model.RenderJob;
+import org.dbs.sbgb.domain.model.TiledImageFormat;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Rendu de très grandes galaxies (jusqu'à {@value #MAX_SIZE} px de côté) en tâche de fond, écrit sur disque par bandes.
+ */
+public interface RenderGalaxyJobUseCase {
+
+    int MIN_SIZE = 100;
+    int MAX_SIZE = 65536;
+
+    /**
+     * Planifie le rendu de la galaxie décrite par {@code cmd} à la taille {@code width x height} : les paramètres
+     * exprimés en pixels suivent l'échelle, étoiles et bloom sont conservés. Retourne la tâche à l'état QUEUED.
+     *
+     * @throws org.dbs.sbgb.domain.exception.RenderJobQueueFullException si la file d'attente des tâches est pleine
+     */
+    RenderJob submit(GalaxyRequestCmd cmd, int width, int height, TiledImageFormat format);
+
+    /** Vide une fois la tâche terminée depuis plus que la durée de conservation ({@code sbgb.render.jobs.ttl}). */
+    Optional<RenderJob> findJob(UUID id);
+}
@@ -0,0 +1,13 @@
+package org.dbs.sbgb.port.out;
+
+import org.dbs.sbgb.domain.model.DisplacementField;
+
+/**
+ * Port de sortie pour le calcul (et la mise en cache) des cartes de déplacement du domain warp.
+ * Les cartes ne dépendent que de la graine et de la taille : changer la seule force du warp les réutilise.
+ */
+public interface DisplacementFieldComputationPort {
+
+    /** Retourne les cartes X/Y pour cette graine et cette taille. */
+    DisplacementField computeDisplacementField(long seed, int width, int height);
+}
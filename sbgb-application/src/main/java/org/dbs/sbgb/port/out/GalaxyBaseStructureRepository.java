@@ -1,5 +1,6 @@
 package org.dbs.sbgb.port.out;
 
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.domain.model.GalaxyBaseStructure;
 
 import java.util.List;
@@ -11,7 +12,7 @@ public interface GalaxyBaseStructureRepository {
 
     List<GalaxyBaseStructure> findAll();
 
-    Optional<GalaxyBaseStructure> findByConfigHash(int hash);
+    Optional<GalaxyBaseStructure> findByConfigKey(ContentKey configKey);
 
     Optional<GalaxyBaseStructure> findById(UUID id);
 
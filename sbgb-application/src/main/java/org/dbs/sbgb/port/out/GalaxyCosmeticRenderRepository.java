@@ -1,5 +1,6 @@
 package org.dbs.sbgb.port.out;
 
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.domain.model.GalaxyCosmeticRender;
 
 import java.util.List;
@@ -13,7 +14,7 @@ public interface GalaxyCosmeticRenderRepository {
 
     Optional<GalaxyCosmeticRender> findById(UUID id);
 
-    Optional<GalaxyCosmeticRender> findByBaseStructureIdAndCosmeticHash(UUID baseId, int cosmeticHash);
+    Optional<GalaxyCosmeticRender> findByBaseStructureIdAndCosmeticKey(UUID baseId, ContentKey cosmeticKey);
 
     List<GalaxyCosmeticRender> findAllByBaseStructureId(UUID baseId);
 }
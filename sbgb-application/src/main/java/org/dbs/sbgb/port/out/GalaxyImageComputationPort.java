@@ -1,8 +1,33 @@
 package org.dbs.sbgb.port.out;
 
+import org.dbs.sbgb.domain.model.ContentKey;
+import org.dbs.sbgb.domain.model.ImageEncoding;
 import org.dbs.sbgb.port.in.GalaxyRequestCmd;
 import java.awt.image.BufferedImage;
+import java.util.Optional;
 
+/**
+ * Port de sortie pour le rendu final d'une galaxie : les cosmétiques (couleurs, étoiles, bloom)
+ * sont appliquées à chaque requête sur le champ d'intensité structurel identifié par le configKey.
+ */
 public interface GalaxyImageComputationPort {
-    BufferedImage computeImage(int configHash, GalaxyRequestCmd cmd);
+    BufferedImage computeImage(ContentKey configKey, GalaxyRequestCmd cmd);
+
+    /**
+     * Rendu direct sans aucun cache (ni champ d'intensité, ni cartes du warp, ni disque) :
+     * pour les rendus réduits et éphémères qui ne doivent pas évincer les rendus pleine résolution.
+     */
+    BufferedImage renderUncached(GalaxyRequestCmd cmd);
+
+    /**
+     * Retourne l'image encodée dans un format raster (PNG, QOI, JPEG).
+     * La clé de cache est le triplet (configKey, cosmeticKey, encodage).
+     */
+    byte[] computeEncoded(ContentKey configKey, ContentKey cosmeticKey, GalaxyRequestCmd cmd, ImageEncoding encoding);
+
+    /**
+     * Vignette PNG réduite du rendu pleine résolution, conservée lors d'un rendu antérieur
+     * avec les mêmes clés ; vide si ce rendu n'a pas encore été calculé ou a été évincé.
+     */
+    Optional<byte[]> findThumbnail(ContentKey configKey, ContentKey cosmeticKey);
 }
@@ -0,0 +1,15 @@
+package org.dbs.sbgb.port.out;
+
+import org.dbs.sbgb.domain.model.ContentKey;
+import org.dbs.sbgb.domain.model.GalaxyIntensityField;
+import org.dbs.sbgb.port.in.GalaxyRequestCmd;
+
+/**
+ * Port de sortie pour le calcul (et la mise en cache) du champ d'intensité structurel d'une galaxie.
+ * L'implémentation décide si le résultat est recalculé ou récupéré depuis le cache.
+ */
+public interface GalaxyIntensityFieldComputationPort {
+
+    /** Retourne le champ d'intensité (générateur + domain warp). La clé de cache est le configKey. */
+    GalaxyIntensityField computeIntensityField(ContentKey configKey, GalaxyRequestCmd cmd);
+}
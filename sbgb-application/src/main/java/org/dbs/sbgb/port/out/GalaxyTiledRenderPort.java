@@ -0,0 +1,29 @@
+package org.dbs.sbgb.port.out;
+
+import org.dbs.sbgb.domain.model.TiledImageFormat;
+import org.dbs.sbgb.port.in.GalaxyRequestCmd;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+/**
+ * Port de sortie pour le rendu par bandes d'une galaxie directement dans un fichier, sans cache :
+ * la mémoire utilisée dépend de la largeur, pas de la hauteur de l'image.
+ */
+public interface GalaxyTiledRenderPort {
+
+    /**
+     * Rend la galaxie dans le fichier de la tâche et retourne son chemin ; {@code rowsWritten} reçoit l'avancement.
+     * En cas d'échec, le fichier partiel est supprimé.
+     */
+    Path render(UUID jobId, GalaxyRequestCmd cmd, TiledImageFormat format, IntConsumer rowsWritten) throws IOException;
+
+    /**
+     * Supprime les fichiers de rendu écrits pour la dernière fois avant {@code cutoff},
+     * y compris ceux laissés par une exécution précédente de l'application.
+     */
+    void deleteOutputsOlderThan(Instant cutoff);
+}
@@ -1,5 +1,6 @@
 package org.dbs.sbgb.port.out;
 
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.domain.model.NoiseBaseStructure;
 
 import java.util.List;
@@ -11,7 +12,7 @@ public interface NoiseBaseStructureRepository {
 
     List<NoiseBaseStructure> findAll();
 
-    Optional<NoiseBaseStructure> findByConfigHash(int hash);
+    Optional<NoiseBaseStructure> findByConfigKey(ContentKey configKey);
 
     void deleteById(UUID id);
 
@@ -1,5 +1,6 @@
 package org.dbs.sbgb.port.out;
 
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.domain.model.NoiseCosmeticRender;
 
 import java.util.List;
@@ -13,7 +14,7 @@ public interface NoiseCosmeticRenderRepository {
 
     Optional<NoiseCosmeticRender> findById(UUID id);
 
-    Optional<NoiseCosmeticRender> findByBaseStructureIdAndCosmeticHash(UUID baseStructureId, int cosmeticHash);
+    Optional<NoiseCosmeticRender> findByBaseStructureIdAndCosmeticKey(UUID baseStructureId, ContentKey cosmeticKey);
 
     List<NoiseCosmeticRender> findAllByBaseStructureId(UUID baseStructureId);
 }
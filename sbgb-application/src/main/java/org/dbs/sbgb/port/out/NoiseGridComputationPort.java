@@ -1,9 +1,12 @@
 package org.dbs.sbgb.port.out;
 
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.domain.model.NormalizedNoiseGrid;
 import org.dbs.sbgb.port.in.ImageRequestCmd;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Port de sortie pour le calcul (et la mise en cache) des grilles de bruit normalisées.
@@ -11,9 +14,30 @@ import java.util.List;
  */
 public interface NoiseGridComputationPort {
 
-    /** Retourne la grille normalisée pour un calcul mono-couche. La clé de cache est le configHash. */
-    NormalizedNoiseGrid computeSingleLayerGrid(int configHash, ImageRequestCmd.SizeCmd sizeCmd);
+    /** Retourne la grille normalisée pour un calcul mono-couche. La clé de cache est le configKey. */
+    NormalizedNoiseGrid computeSingleLayerGrid(ContentKey configKey, ImageRequestCmd.SizeCmd sizeCmd);
 
     /** Retourne les grilles normalisées pour chaque layer actif d'un calcul multi-couches. */
-    List<NormalizedNoiseGrid> computeMultiLayerGrids(int configHash, ImageRequestCmd.SizeCmd sizeCmd);
+    List<NormalizedNoiseGrid> computeMultiLayerGrids(ContentKey configKey, ImageRequestCmd.SizeCmd sizeCmd);
+
+    /**
+     * Grilles déjà en cache pour ce configKey (une seule en mono-couche), sans jamais lancer de calcul.
+     */
+    Optional<List<NormalizedNoiseGrid>> findCachedGrids(ContentKey configKey, ImageRequestCmd.SizeCmd sizeCmd);
+
+    /**
+     * Calcul progressif des grilles sur des réseaux emboîtés de pas décroissants ({@code strides}, chacun
+     * divisant le précédent) : chaque passe réutilise les échantillons des passes précédentes et est remise
+     * au listener dès qu'elle est prête. Au pas 1, les grilles complètes sont mises en cache comme par
+     * {@link #computeSingleLayerGrid} / {@link #computeMultiLayerGrids}.
+     * Une exception du listener interrompt le calcul : les passes restantes ne sont pas évaluées.
+     */
+    void computeGridsProgressively(ContentKey configKey, ImageRequestCmd.SizeCmd sizeCmd, List<Integer> strides,
+                                   GridPassListener listener) throws IOException;
+
+    /** Reçoit les grilles d'une passe, une par layer actif (une seule en mono-couche). */
+    @FunctionalInterface
+    interface GridPassListener {
+        void onPass(int stride, List<NormalizedNoiseGrid> grids) throws IOException;
+    }
 }
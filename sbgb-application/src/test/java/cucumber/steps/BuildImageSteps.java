@@ -2,7 +2,11 @@ package cucumber.steps;
 
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
+import org.dbs.sbgb.domain.model.ImageEncoding;
+import org.dbs.sbgb.domain.model.ImageFormat;
 import org.dbs.sbgb.domain.model.NoiseCosmeticRender;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
+import org.dbs.sbgb.domain.service.ImageSerializer;
 import org.dbs.sbgb.domain.service.ImagesService;
 import org.dbs.sbgb.port.in.BuildNoiseImageUseCase;
 import org.dbs.sbgb.port.in.ImageRequestCmd;
@@ -19,7 +23,7 @@ public class BuildImageSteps {
     private final NoiseBaseStructureRepositoryStub baseRepo = new NoiseBaseStructureRepositoryStub();
     private final NoiseCosmeticRenderRepositoryStub renderRepo = new NoiseCosmeticRenderRepositoryStub();
     private final NoiseGridComputationPortStub noiseGridPort = new NoiseGridComputationPortStub();
-    private final ImagesService imagesService = new ImagesService(baseRepo, renderRepo, noiseGridPort);
+    private final ImagesService imagesService = new ImagesService(baseRepo, renderRepo, noiseGridPort, new ImageSerializer(TileRenderEngine.shared()));
 
     private byte[] builtImage;
     private NoiseCosmeticRender savedRender;
@@ -27,7 +31,7 @@ public class BuildImageSteps {
     @When("je construis une image de bruit avec les caractéristiques suivantes :")
     public void je_construis_une_image_de_bruit(Map<String, String> data) throws IOException {
         ImageRequestCmd cmd = buildCmd(data, 0);
-        builtImage = imagesService.buildNoiseImage(cmd);
+        builtImage = imagesService.buildNoiseImage(cmd, ImageEncoding.preview(ImageFormat.PNG)).toByteArray();
     }
 
     @When("je note un rendu cosmétique avec les caractéristiques suivantes :")
@@ -1,6 +1,7 @@
 package cucumber.steps;
 
 import lombok.Getter;
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.domain.model.NoiseBaseStructure;
 import org.dbs.sbgb.port.out.NoiseBaseStructureRepository;
 
@@ -28,8 +29,8 @@ public class NoiseBaseStructureRepositoryStub implements NoiseBaseStructureRepos
     }
 
     @Override
-    public Optional<NoiseBaseStructure> findByConfigHash(int hash) {
-        return saved.stream().filter(b -> b.configHash() == hash).findFirst();
+    public Optional<NoiseBaseStructure> findByConfigKey(ContentKey configKey) {
+        return saved.stream().filter(b -> b.configKey().equals(configKey)).findFirst();
     }
 
     @Override
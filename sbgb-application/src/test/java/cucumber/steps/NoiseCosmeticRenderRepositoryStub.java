@@ -1,5 +1,6 @@
 package cucumber.steps;
 
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.domain.model.NoiseCosmeticRender;
 import org.dbs.sbgb.port.out.NoiseCosmeticRenderRepository;
 
@@ -27,9 +28,9 @@ public class NoiseCosmeticRenderRepositoryStub implements NoiseCosmeticRenderRep
     }
 
     @Override
-    public Optional<NoiseCosmeticRender> findByBaseStructureIdAndCosmeticHash(UUID baseStructureId, int cosmeticHash) {
+    public Optional<NoiseCosmeticRender> findByBaseStructureIdAndCosmeticKey(UUID baseStructureId, ContentKey cosmeticKey) {
         return saved.stream()
-                .filter(r -> r.baseStructureId().equals(baseStructureId) && r.cosmeticHash() == cosmeticHash)
+                .filter(r -> r.baseStructureId().equals(baseStructureId) && r.cosmeticKey().equals(cosmeticKey))
                 .findFirst();
     }
 
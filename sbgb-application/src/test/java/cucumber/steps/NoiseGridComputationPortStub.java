@@ -2,6 +2,8 @@ package cucumber.steps;
 
 import de.articdive.jnoise.core.api.functions.Interpolation;
 import de.articdive.jnoise.generators.noise_parameters.fade_functions.FadeFunction;
+import org.dbs.sbgb.domain.model.ContentKey;
+import org.dbs.sbgb.domain.model.NestedLatticeSampler;
 import org.dbs.sbgb.domain.model.NormalizedNoiseGrid;
 import org.dbs.sbgb.domain.model.NoiseImageCalculator;
 import org.dbs.sbgb.domain.model.NoiseType;
@@ -9,14 +11,16 @@ import org.dbs.sbgb.domain.model.PerlinGenerator;
 import org.dbs.sbgb.port.in.ImageRequestCmd;
 import org.dbs.sbgb.port.out.NoiseGridComputationPort;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.IntStream;
 
 /** Stub de NoiseGridComputationPort pour les tests : calcul direct sans cache. */
 public class NoiseGridComputationPortStub implements NoiseGridComputationPort {
 
     @Override
-    public NormalizedNoiseGrid computeSingleLayerGrid(int configHash, ImageRequestCmd.SizeCmd sizeCmd) {
+    public NormalizedNoiseGrid computeSingleLayerGrid(ContentKey configKey, ImageRequestCmd.SizeCmd sizeCmd) {
         PerlinGenerator generator = new PerlinGenerator(
                 NoiseImageCalculator.DEFAULT_INTERPOLATION,
                 NoiseImageCalculator.DEFAULT_FADE_FUNCTION);
@@ -27,9 +31,9 @@ public class NoiseGridComputationPortStub implements NoiseGridComputationPort {
     }
 
     @Override
-    public List<NormalizedNoiseGrid> computeMultiLayerGrids(int configHash, ImageRequestCmd.SizeCmd sizeCmd) {
+    public List<NormalizedNoiseGrid> computeMultiLayerGrids(ContentKey configKey, ImageRequestCmd.SizeCmd sizeCmd) {
         if (sizeCmd.getLayers() == null || sizeCmd.getLayers().isEmpty()) {
-            return List.of(computeSingleLayerGrid(configHash, sizeCmd));
+            return List.of(computeSingleLayerGrid(configKey, sizeCmd));
         }
         return sizeCmd.getLayers().stream()
                 .filter(ImageRequestCmd.LayerCmd::isEnabled)
@@ -43,4 +47,23 @@ public class NoiseGridComputationPortStub implements NoiseGridComputationPort {
                 })
                 .toList();
     }
+
+    @Override
+    public Optional<List<NormalizedNoiseGrid>> findCachedGrids(ContentKey configKey, ImageRequestCmd.SizeCmd sizeCmd) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void computeGridsProgressively(ContentKey configKey, ImageRequestCmd.SizeCmd sizeCmd, List<Integer> strides,
+                                          GridPassListener listener) throws IOException {
+        NestedLatticeSampler sampler = new PerlinGenerator(
+                NoiseImageCalculator.DEFAULT_INTERPOLATION,
+                NoiseImageCalculator.DEFAULT_FADE_FUNCTION)
+                .nestedLattice(sizeCmd.getSeed(), sizeCmd.getWidth(), sizeCmd.getHeight(),
+                        sizeCmd.getOctaves(), sizeCmd.getPersistence(), sizeCmd.getLacunarity(),
+                        sizeCmd.getScale(), NoiseType.valueOf(sizeCmd.getNoiseType() != null ? sizeCmd.getNoiseType() : "FBM"));
+        for (int stride : strides) {
+            listener.onPass(stride, List.of(sampler.refine(stride)));
+        }
+    }
 }
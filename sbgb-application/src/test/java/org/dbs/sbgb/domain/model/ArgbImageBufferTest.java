@@ -0,0 +1,55 @@
+package org.dbs.sbgb.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArgbImageBufferTest {
+
+    @Test
+    void shouldExposePixelsThroughBufferedImageWithoutCopy() {
+        ArgbImageBuffer buffer = ArgbImageBuffer.create(8, 4);
+
+        buffer.set(3, 2, 0x80FF2010);
+
+        BufferedImage image = buffer.toBufferedImage();
+        assertThat(image.getType()).isEqualTo(BufferedImage.TYPE_INT_ARGB);
+        assertThat(image.getRGB(3, 2)).isEqualTo(0x80FF2010);
+        assertThat(buffer.pixels()[2 * 8 + 3]).isEqualTo(0x80FF2010);
+    }
+
+    @Test
+    void shouldShareArrayOfIntPackedImage() {
+        BufferedImage image = new BufferedImage(5, 5, BufferedImage.TYPE_INT_RGB);
+
+        ArgbImageBuffer.wrap(image).set(1, 4, 0x123456);
+
+        assertThat(image.getRGB(1, 4)).isEqualTo(0xFF123456);
+    }
+
+    @Test
+    void shouldCopyOtherImageTypesAsArgb() {
+        BufferedImage image = new BufferedImage(5, 5, BufferedImage.TYPE_3BYTE_BGR);
+        image.setRGB(2, 3, 0xFFA0B0C0);
+
+        ArgbImageBuffer buffer = ArgbImageBuffer.wrap(image);
+
+        assertThat(buffer.get(2, 3)).isEqualTo(0xFFA0B0C0);
+        assertThat(buffer.toBufferedImage()).isNotSameAs(image);
+    }
+
+    @Test
+    void shouldCopySubImageInsteadOfSharingParentArray() {
+        BufferedImage parent = new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB);
+        parent.setRGB(3, 2, 0xFF112233);
+        BufferedImage sub = parent.getSubimage(2, 1, 4, 4);
+
+        ArgbImageBuffer buffer = ArgbImageBuffer.wrap(sub);
+
+        assertThat(buffer.get(1, 1)).isEqualTo(0xFF112233);
+        assertThat(buffer.pixels()).hasSize(16);
+        assertThat(buffer.toBufferedImage()).isNotSameAs(sub);
+    }
+}
@@ -1,8 +1,13 @@
 package org.dbs.sbgb.domain.model;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.awt.image.BufferedImage;
+import java.awt.image.ConvolveOp;
+import java.awt.image.Kernel;
+import java.util.Random;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -127,8 +132,115 @@ class BloomPostProcessorTest {
         }
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {5, 10, 30})
+    void shouldStayVisuallyEquivalentToFullResolutionConvolution(int radius) {
+        BufferedImage image = createStarFieldImage(256, 256);
+        BloomPostProcessor processor = BloomPostProcessor.builder()
+                .bloomRadius(radius)
+                .bloomIntensity(0.8)
+                .bloomThreshold(0.4)
+                .build();
+
+        BufferedImage result = processor.apply(image);
+        BufferedImage reference = referenceBloom(image, radius, 0.8, 0.4);
+
+        // ConvolveOp leaves a border of the kernel radius unfiltered: only the interior is compared
+        long totalError = 0;
+        int maxError = 0;
+        int count = 0;
+        for (int y = radius; y < 256 - radius; y++) {
+            for (int x = radius; x < 256 - radius; x++) {
+                int actual = result.getRGB(x, y);
+                int expected = reference.getRGB(x, y);
+                for (int shift = 0; shift <= 16; shift += 8) {
+                    int error = Math.abs(((actual >> shift) & 0xFF) - ((expected >> shift) & 0xFF));
+                    totalError += error;
+                    maxError = Math.max(maxError, error);
+                    count++;
+                }
+            }
+        }
+        assertThat((double) totalError / count).isLessThan(1.0);
+        assertThat(maxError).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    void shouldDownsampleOnlyLargeRadii() {
+        assertThat(BloomPostProcessor.downsampleFactor(5)).isEqualTo(1);
+        assertThat(BloomPostProcessor.downsampleFactor(10)).isEqualTo(2);
+        assertThat(BloomPostProcessor.downsampleFactor(30)).isEqualTo(4);
+        assertThat(BloomPostProcessor.downsampleFactor(200)).isEqualTo(8);
+    }
+
     // Helper methods
 
+    /**
+     * Former implementation: bright pass, full resolution (2r+1)^2 ConvolveOp kernel, additive composite.
+     */
+    private BufferedImage referenceBloom(BufferedImage source, int radius, double intensity, double threshold) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        BufferedImage mask = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int rgb = source.getRGB(x, y);
+                int brightness = (((rgb >> 16) & 0xFF) + ((rgb >> 8) & 0xFF) + (rgb & 0xFF)) / 3;
+                mask.setRGB(x, y, brightness > (int) (threshold * 255) ? rgb : 0);
+            }
+        }
+
+        int size = radius * 2 + 1;
+        float[] kernelData = new float[size * size];
+        double twoSigmaSquare = 2.0 * (size / 3.0) * (size / 3.0);
+        double total = 0.0;
+        for (int i = 0; i < kernelData.length; i++) {
+            int dx = i % size - radius;
+            int dy = i / size - radius;
+            kernelData[i] = (float) Math.exp(-(dx * dx + dy * dy) / twoSigmaSquare);
+            total += kernelData[i];
+        }
+        for (int i = 0; i < kernelData.length; i++) {
+            kernelData[i] /= total;
+        }
+        BufferedImage blurred = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        new ConvolveOp(new Kernel(size, size, kernelData), ConvolveOp.EDGE_NO_OP, null).filter(mask, blurred);
+
+        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int original = source.getRGB(x, y);
+                int bloom = blurred.getRGB(x, y);
+                int rgb = 0;
+                for (int shift = 16; shift >= 0; shift -= 8) {
+                    int channel = (int) (((original >> shift) & 0xFF) + ((bloom >> shift) & 0xFF) * intensity);
+                    rgb |= Math.min(255, channel) << shift;
+                }
+                result.setRGB(x, y, rgb);
+            }
+        }
+        return result;
+    }
+
+    private BufferedImage createStarFieldImage(int width, int height) {
+        BufferedImage image = createTestImage(width, height);
+        Random random = new Random(7);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                double dx = (x - width / 2.0) / (width / 4.0);
+                double dy = (y - height / 2.0) / (height / 4.0);
+                int core = (int) (230 * Math.exp(-(dx * dx + dy * dy)));
+                setPixel(image, x, y, core, (int) (core * 0.8), (int) (core * 0.6));
+            }
+        }
+        for (int i = 0; i < 300; i++) {
+            int level = 150 + random.nextInt(106);
+            setPixel(image, random.nextInt(width), random.nextInt(height), level, level, level);
+        }
+        return image;
+    }
+
+
     private BufferedImage createTestImage(int width, int height) {
         return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
     }
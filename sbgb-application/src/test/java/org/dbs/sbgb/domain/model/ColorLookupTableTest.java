@@ -0,0 +1,87 @@
+package org.dbs.sbgb.domain.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.awt.*;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColorLookupTableTest {
+
+    private static final int SAMPLES = 200_000;
+    private static final int MAX_CHANNEL_ERROR = 2;
+
+    @ParameterizedTest
+    @EnumSource(ColorPalette.class)
+    void shouldStayWithinErrorBoundOfAnalyticGradientForEveryPalette(ColorPalette palette) {
+        GradientGalaxyColorCalculator calculator = palette.createCalculator();
+        Random random = new Random(42);
+
+        int maxError = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            double intensity = random.nextDouble();
+            maxError = Math.max(maxError,
+                    channelError(calculator.calculateGalaxyArgb(intensity), calculator.calculateAnalyticArgb(intensity)));
+        }
+
+        assertThat(maxError).isLessThanOrEqualTo(MAX_CHANNEL_ERROR);
+    }
+
+    @ParameterizedTest
+    @EnumSource(InterpolationType.class)
+    void shouldStayWithinErrorBoundOfAnalyticNoiseColorForEveryInterpolation(InterpolationType interpolationType) {
+        for (boolean transparent : new boolean[]{false, true}) {
+            DefaultNoiseColorCalculator calculator = new DefaultNoiseColorCalculator(
+                    new Color(10, 20, 60), new Color(200, 90, 30), new Color(250, 250, 255),
+                    0.2, 0.6, interpolationType, transparent);
+            Random random = new Random(42);
+
+            int maxError = 0;
+            for (int i = 0; i < SAMPLES; i++) {
+                double noiseVal = random.nextDouble();
+                maxError = Math.max(maxError,
+                        channelError(calculator.calculateNoiseArgb(noiseVal), calculator.calculateAnalyticArgb(noiseVal)));
+            }
+
+            assertThat(maxError).isLessThanOrEqualTo(MAX_CHANNEL_ERROR);
+        }
+    }
+
+    @Test
+    void shouldKeepThresholdsExact() {
+        DefaultNoiseColorCalculator calculator = new DefaultNoiseColorCalculator(
+                Color.BLACK, Color.RED, Color.WHITE, 0.3, 0.7, InterpolationType.LINEAR, true);
+
+        assertThat(PackedArgb.alpha(calculator.calculateNoiseArgb(Math.nextDown(0.3)))).isZero();
+        assertThat(PackedArgb.alpha(calculator.calculateNoiseArgb(Math.nextDown(0.7)))).isLessThan(255);
+        assertThat(PackedArgb.alpha(calculator.calculateNoiseArgb(0.7))).isEqualTo(255);
+    }
+
+    @Test
+    void shouldSampleBoundsExactlyAndClampOutOfRangeValues() {
+        ColorLookupTable table = ColorLookupTable.bake(16, t -> (int) Math.round(t * 160));
+
+        assertThat(table.lookup(0.0)).isZero();
+        assertThat(table.lookup(0.5)).isEqualTo(80);
+        assertThat(table.lookup(1.0)).isEqualTo(160);
+        assertThat(table.lookup(-3.0)).isZero();
+        assertThat(table.lookup(7.0)).isEqualTo(160);
+    }
+
+    @Test
+    void shouldRejectNonPositiveResolution() {
+        assertThatThrownBy(() -> ColorLookupTable.bake(0, t -> 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static int channelError(int actual, int expected) {
+        int error = Math.abs(PackedArgb.alpha(actual) - PackedArgb.alpha(expected));
+        error = Math.max(error, Math.abs(PackedArgb.red(actual) - PackedArgb.red(expected)));
+        error = Math.max(error, Math.abs(PackedArgb.green(actual) - PackedArgb.green(expected)));
+        return Math.max(error, Math.abs(PackedArgb.blue(actual) - PackedArgb.blue(expected)));
+    }
+}
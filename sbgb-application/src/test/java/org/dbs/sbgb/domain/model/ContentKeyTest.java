@@ -0,0 +1,64 @@
+package org.dbs.sbgb.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContentKeyTest {
+
+    @Test
+    void shouldRoundTripThroughHex() {
+        ContentKey key = ContentKey.encoder("test").putInt(42).putString("FBM").build();
+
+        assertThat(key.toHex()).hasSize(ContentKey.HEX_LENGTH).matches("[0-9a-f]+");
+        assertThat(ContentKey.fromHex(key.toHex())).isEqualTo(key);
+        assertThat(key).hasToString(key.toHex());
+    }
+
+    @Test
+    void shouldRejectMalformedHex() {
+        assertThatThrownBy(() -> ContentKey.fromHex("abc")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ContentKey.fromHex(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldBeDeterministic() {
+        ContentKey first = ContentKey.encoder("test").putLong(7L).putDouble(0.5).putBoolean(true).build();
+        ContentKey second = ContentKey.encoder("test").putLong(7L).putDouble(0.5).putBoolean(true).build();
+
+        assertThat(first).isEqualTo(second);
+    }
+
+    @Test
+    void shouldSeparateNamespaces() {
+        ContentKey noise = ContentKey.encoder("noise").putInt(1).build();
+        ContentKey galaxy = ContentKey.encoder("galaxy").putInt(1).build();
+
+        assertThat(noise).isNotEqualTo(galaxy);
+    }
+
+    @Test
+    void shouldKeepStringBoundaries() {
+        ContentKey split1 = ContentKey.encoder("test").putString("ab").putString("c").build();
+        ContentKey split2 = ContentKey.encoder("test").putString("a").putString("bc").build();
+
+        assertThat(split1).isNotEqualTo(split2);
+    }
+
+    @Test
+    void shouldDistinguishNullFromEmptyAndZero() {
+        assertThat(ContentKey.encoder("test").putString(null).build())
+                .isNotEqualTo(ContentKey.encoder("test").putString("").build());
+        assertThat(ContentKey.encoder("test").putNullableInt(null).build())
+                .isNotEqualTo(ContentKey.encoder("test").putNullableInt(0).build());
+        assertThat(ContentKey.encoder("test").putNullableDouble(null).build())
+                .isNotEqualTo(ContentKey.encoder("test").putNullableDouble(0.0).build());
+    }
+
+    @Test
+    void shouldTreatNegativeZeroAsZero() {
+        assertThat(ContentKey.encoder("test").putDouble(-0.0).build())
+                .isEqualTo(ContentKey.encoder("test").putDouble(0.0).build());
+    }
+}
@@ -111,4 +111,16 @@ class DefaultNoiseColorCalculatorTest {
 
         assertEquals(255, result.getAlpha());
     }
+
+    @Test
+    void shouldReturnPackedArgbMatchingColorForEveryInterpolation() {
+        for (InterpolationType type : InterpolationType.values()) {
+            DefaultNoiseColorCalculator calc = new DefaultNoiseColorCalculator(
+                    BG, MID, FORE, BACK_THRESHOLD, MID_THRESHOLD, type, true);
+
+            for (double noiseVal = 0.0; noiseVal <= 1.0; noiseVal += 0.05) {
+                assertEquals(calc.calculateNoiseColor(noiseVal).getRGB(), calc.calculateNoiseArgb(noiseVal));
+            }
+        }
+    }
 }
@@ -0,0 +1,80 @@
+package org.dbs.sbgb.domain.model;
+
+import de.articdive.jnoise.core.api.functions.Interpolation;
+import de.articdive.jnoise.generators.noise_parameters.fade_functions.FadeFunction;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class DisplacementFieldTest {
+
+    private static final int WIDTH = 12;
+    private static final int HEIGHT = 6;
+
+    private final TileRenderEngine engine = new TileRenderEngine(2, 4);
+
+    @Test
+    void shouldSampleBilinearlyBetweenPixels() {
+        // 0.5 + 0.125 at strength 4 = half a pixel to the right
+        DisplacementField field = new DisplacementField(uniform(0.625f), uniform(0.5f));
+
+        GalaxyIntensityField warped = field.warp(horizontalRamp(), 4.0, engine);
+
+        assertThat(warped.intensityAt(3, 2)).isEqualTo(0.35, within(1e-6));
+        assertThat(warped.intensityAt(WIDTH - 1, 2)).isEqualTo(1.1, within(1e-6));
+    }
+
+    @Test
+    void shouldClampDisplacedPositionsToTheImage() {
+        DisplacementField field = new DisplacementField(uniform(0.0f), uniform(1.0f));
+
+        GalaxyIntensityField warped = field.warp(horizontalRamp(), 100.0, engine);
+
+        assertThat(warped.intensityAt(WIDTH - 1, 0)).isEqualTo(0.0);
+    }
+
+    @Test
+    void shouldLeaveFieldUnchangedAtZeroStrength() {
+        DisplacementField field = DisplacementField.compute(42L, WIDTH, HEIGHT, Interpolation.COSINE, FadeFunction.CUBIC_POLY);
+        GalaxyIntensityField source = horizontalRamp();
+
+        assertThat(field.warp(source, 0.0, engine).values()).containsExactly(source.values());
+    }
+
+    @Test
+    void shouldShareMapsWithTheWarpCalculatorWhateverTheStrength() {
+        DisplacementField field = DisplacementField.compute(42L, 200, 100, Interpolation.COSINE, FadeFunction.CUBIC_POLY);
+        DomainWarpCalculator direct = new DomainWarpCalculator(200, 100, 30.0, 42L,
+                Interpolation.COSINE, FadeFunction.CUBIC_POLY);
+
+        double[] shared = new DomainWarpCalculator(field, 30.0).warpCoordinates(150, 40);
+
+        assertThat(shared).containsExactly(direct.warpCoordinates(150, 40));
+    }
+
+    @Test
+    void shouldRejectMapsOfAnotherSize() {
+        DisplacementField field = new DisplacementField(uniform(0.5f), uniform(0.5f));
+
+        assertThatThrownBy(() -> field.warp(new GalaxyIntensityField(new float[4], 2, 2), 1.0, engine))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static NormalizedNoiseGrid uniform(float value) {
+        float[] values = new float[WIDTH * HEIGHT];
+        Arrays.fill(values, value);
+        return new NormalizedNoiseGrid(values, 0.0, 1.0, WIDTH, HEIGHT);
+    }
+
+    private static GalaxyIntensityField horizontalRamp() {
+        float[] values = new float[WIDTH * HEIGHT];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (i % WIDTH) / 10.0f;
+        }
+        return new GalaxyIntensityField(values, WIDTH, HEIGHT);
+    }
+}
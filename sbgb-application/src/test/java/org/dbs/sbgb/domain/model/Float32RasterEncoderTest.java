@@ -0,0 +1,66 @@
+package org.dbs.sbgb.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Float32RasterEncoderTest {
+
+    @Test
+    void shouldWriteLittleEndianHeaderThenPlanesInOrder() throws IOException {
+        float[] first = {0f, 0.25f, 0.5f, 1f, -1f, Float.MAX_VALUE};
+        float[] second = {6f, 5f, 4f, 3f, 2f, 1f};
+
+        byte[] raster = write(3, 2, List.of(first, second));
+
+        assertThat(raster).hasSize((int) Float32RasterEncoder.length(3, 2, 2));
+        ByteBuffer buffer = ByteBuffer.wrap(raster).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(new String(raster, 0, 4, StandardCharsets.US_ASCII)).isEqualTo("SBGF");
+        assertThat(buffer.getInt(4)).isEqualTo(Float32RasterEncoder.VERSION);
+        assertThat(buffer.getInt(8)).isEqualTo(3);
+        assertThat(buffer.getInt(12)).isEqualTo(2);
+        assertThat(buffer.getInt(16)).isEqualTo(2);
+        buffer.position(Float32RasterEncoder.HEADER_BYTES);
+        for (float expected : first) {
+            assertThat(buffer.getFloat()).isEqualTo(expected);
+        }
+        for (float expected : second) {
+            assertThat(buffer.getFloat()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void shouldWritePlanesLargerThanTheCopyBuffer() throws IOException {
+        float[] plane = new float[300 * 200];
+        for (int i = 0; i < plane.length; i++) {
+            plane[i] = i;
+        }
+
+        byte[] raster = write(300, 200, List.of(plane));
+
+        ByteBuffer buffer = ByteBuffer.wrap(raster).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(raster).hasSize((int) Float32RasterEncoder.length(300, 200, 1));
+        assertThat(buffer.getFloat(raster.length - Float.BYTES)).isEqualTo(plane.length - 1f);
+    }
+
+    @Test
+    void shouldRejectPlaneOfWrongSize() {
+        assertThatThrownBy(() -> write(3, 2, List.of(new float[5])))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Plane size mismatch");
+    }
+
+    private static byte[] write(int width, int height, List<float[]> planes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Float32RasterEncoder.write(width, height, planes, out);
+        return out.toByteArray();
+    }
+}
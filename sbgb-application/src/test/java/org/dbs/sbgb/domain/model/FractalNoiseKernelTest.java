@@ -0,0 +1,107 @@
+package org.dbs.sbgb.domain.model;
+
+import de.articdive.jnoise.core.api.functions.Interpolation;
+import de.articdive.jnoise.modules.octavation.fractal_functions.FractalFunction;
+import de.articdive.jnoise.pipeline.JNoise;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class FractalNoiseKernelTest {
+
+    private static final long SEED = 4242L;
+    private static final int WIDTH = 131;
+    private static final int HEIGHT = 67;
+    private static final int OCTAVES = 5;
+    private static final double PERSISTENCE = 0.55;
+    private static final double LACUNARITY = 2.1;
+    private static final double SCALE = 37.0;
+
+    @ParameterizedTest
+    @EnumSource(NoiseType.class)
+    void scalarKernelShouldMatchTheJNoisePipelineBitForBit(NoiseType noiseType) {
+        JNoise pipeline = jnoise(noiseType);
+        FractalNoiseKernel kernel = kernel(NoiseEngine.SCALAR, noiseType);
+
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                double expected = pipeline.evaluateNoise(x * 1.0 / WIDTH, y * 1.0 / HEIGHT);
+                assertThat(kernel.sample(x, y)).isEqualTo(expected);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(NoiseType.class)
+    void vectorKernelShouldMatchTheJNoisePipelineWithinTolerance(NoiseType noiseType) {
+        JNoise pipeline = jnoise(noiseType);
+        FractalNoiseKernel kernel = kernel(NoiseEngine.SIMD, noiseType);
+        double[] row = new double[WIDTH];
+
+        assertThat(kernel.isVectorized()).isTrue();
+        for (int y = 0; y < HEIGHT; y++) {
+            kernel.fillRow(y, 0, WIDTH, row);
+            for (int x = 0; x < WIDTH; x++) {
+                double expected = pipeline.evaluateNoise(x * 1.0 / WIDTH, y * 1.0 / HEIGHT);
+                assertThat(row[x]).isCloseTo(expected, within(1e-12));
+            }
+        }
+    }
+
+    @Test
+    void fillTileShouldWriteOnlyTheTileAtItsFullWidthOffset() {
+        FractalNoiseKernel kernel = kernel(NoiseEngine.SIMD, NoiseType.FBM);
+        float[] buffer = new float[WIDTH * HEIGHT];
+
+        kernel.fillTile(buffer, 10, 5, 90, 20);
+
+        assertThat(buffer[5 * WIDTH + 9]).isZero();
+        assertThat(buffer[20 * WIDTH + 10]).isZero();
+        assertThat(buffer[5 * WIDTH + 10]).isEqualTo((float) kernel.sample(10, 5), within(1e-6f));
+        assertThat(buffer[19 * WIDTH + 89]).isEqualTo((float) kernel.sample(89, 19), within(1e-6f));
+    }
+
+    @Test
+    void shouldFallBackToTheScalarKernelForOtherInterpolations() {
+        FractalNoiseKernel kernel = FractalNoiseKernel.create(NoiseEngine.SIMD,
+                Interpolation.LINEAR, NoiseImageCalculator.DEFAULT_FADE_FUNCTION, SEED, WIDTH, HEIGHT,
+                OCTAVES, PERSISTENCE, LACUNARITY, SCALE, NoiseType.FBM);
+
+        assertThat(kernel.isVectorized()).isFalse();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = NoiseEngine.class, names = {"SCALAR", "SIMD"})
+    void perlinGeneratorShouldProduceTheJNoiseGridWithEveryEngine(NoiseEngine engine) {
+        NormalizedNoiseGrid expected = new PerlinGenerator(NoiseImageCalculator.DEFAULT_INTERPOLATION,
+                NoiseImageCalculator.DEFAULT_FADE_FUNCTION)
+                .computeAndNormalize(SEED, WIDTH, HEIGHT, OCTAVES, PERSISTENCE, LACUNARITY, SCALE, NoiseType.RIDGED);
+
+        NormalizedNoiseGrid grid = new PerlinGenerator(NoiseImageCalculator.DEFAULT_INTERPOLATION,
+                NoiseImageCalculator.DEFAULT_FADE_FUNCTION, engine)
+                .computeAndNormalize(SEED, WIDTH, HEIGHT, OCTAVES, PERSISTENCE, LACUNARITY, SCALE, NoiseType.RIDGED);
+
+        assertThat(grid.values()).containsExactly(expected.values(), within(1e-6f));
+        assertThat(grid.minVal()).isCloseTo(expected.minVal(), within(1e-6));
+        assertThat(grid.maxVal()).isCloseTo(expected.maxVal(), within(1e-6));
+    }
+
+    private static FractalNoiseKernel kernel(NoiseEngine engine, NoiseType noiseType) {
+        return FractalNoiseKernel.create(engine, NoiseImageCalculator.DEFAULT_INTERPOLATION,
+                NoiseImageCalculator.DEFAULT_FADE_FUNCTION, SEED, WIDTH, HEIGHT,
+                OCTAVES, PERSISTENCE, LACUNARITY, SCALE, noiseType);
+    }
+
+    private static JNoise jnoise(NoiseType noiseType) {
+        return JNoise.newBuilder()
+                .perlin(SEED, NoiseImageCalculator.DEFAULT_INTERPOLATION, NoiseImageCalculator.DEFAULT_FADE_FUNCTION)
+                .scale(SCALE)
+                .octavate(OCTAVES, PERSISTENCE, LACUNARITY,
+                        noiseType == NoiseType.RIDGED ? FractalFunction.RIDGED_MULTI : FractalFunction.FBM, true)
+                .clamp(0.0, 3.0)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package org.dbs.sbgb.domain.model;
+
+import org.dbs.sbgb.domain.factory.NoiseGeneratorFactory;
+import org.dbs.sbgb.domain.model.parameters.BloomParameters;
+import org.dbs.sbgb.domain.model.parameters.CoreParameters;
+import org.dbs.sbgb.domain.model.parameters.DomainWarpParameters;
+import org.dbs.sbgb.domain.model.parameters.MultiLayerNoiseParameters;
+import org.dbs.sbgb.domain.model.parameters.NoiseTextureParameters;
+import org.dbs.sbgb.domain.model.parameters.SpiralStructureParameters;
+import org.dbs.sbgb.domain.model.parameters.StarFieldParameters;
+import org.dbs.sbgb.domain.service.BloomApplicator;
+import org.dbs.sbgb.domain.service.StarFieldApplicator;
+import org.dbs.sbgb.domain.strategy.GalaxyGeneratorFactory;
+import org.dbs.sbgb.domain.strategy.SpiralGeneratorStrategy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GalaxyBandRendererTest {
+
+    private static final int WIDTH = 240;
+    private static final int HEIGHT = 180;
+    private static final long SEED = 2024L;
+
+    @ParameterizedTest
+    @CsvSource({
+            "0.0, false, false, 23",
+            "30.0, false, false, 23",
+            "0.0, true, false, 23",
+            "30.0, true, true, 23",
+            "30.0, true, false, 1",
+            "30.0, true, false, 0"
+    })
+    void shouldRenderTheSamePixelsAsTheWholeImage(double warpStrength, boolean bloom, boolean multiLayer,
+                                                  int bandRows) throws IOException {
+        GalaxyImageRenderer renderer = renderer(parameters(warpStrength, bloom, multiLayer, false));
+        BufferedImage expected = renderer.create(SEED);
+        CollectingSink sink = new CollectingSink(WIDTH, HEIGHT);
+        List<Integer> progress = new ArrayList<>();
+
+        renderer.renderBands(SEED, bandRows, sink, progress::add);
+
+        assertThat(sink.pixels).containsExactly(ArgbImageBuffer.wrap(expected).pixels());
+        assertThat(sink.rows).isEqualTo(HEIGHT);
+        assertThat(progress).isSorted().last().isEqualTo(HEIGHT);
+        assertThat(renderer.isOpaqueOutput()).isEqualTo(bloom);
+    }
+
+    @Test
+    void shouldStampTheTiledStarLayoutIntoTheBands() throws IOException {
+        GalaxyImageRenderer withStars = renderer(parameters(0.0, false, false, true));
+        GalaxyImageRenderer withoutStars = renderer(parameters(0.0, false, false, false));
+        CollectingSink stars = new CollectingSink(WIDTH, HEIGHT);
+        CollectingSink plain = new CollectingSink(WIDTH, HEIGHT);
+
+        withStars.renderBands(SEED, 17, stars, rows -> { });
+        withoutStars.renderBands(SEED, 17, plain, rows -> { });
+
+        assertThat(stars.pixels).isNotEqualTo(plain.pixels);
+    }
+
+    @Test
+    void shouldSizeAutomaticBandsFromTheWidthAndTheBloomOverlap() {
+        BloomPostProcessor bloom = BloomPostProcessor.builder().bloomRadius(40).build();
+
+        assertThat(GalaxyBandRenderer.bandRows(65536, 65536, 0, null)).isEqualTo(64);
+        assertThat(GalaxyBandRenderer.bandRows(1024, 100, 0, null)).isEqualTo(100);
+        assertThat(GalaxyBandRenderer.bandRows(65536, 65536, 0, bloom)).isEqualTo(4 * bloom.bandOverlap());
+        assertThat(GalaxyBandRenderer.bandRows(65536, 65536, 8, bloom)).isEqualTo(8);
+    }
+
+    private static GalaxyImageRenderer renderer(GalaxyParameters parameters) {
+        return new GalaxyImageRenderer.Builder()
+                .withWidth(WIDTH)
+                .withHeight(HEIGHT)
+                .withParameters(parameters)
+                .withColorCalculator(ColorPalette.NEBULA.createCalculator())
+                .withGeneratorFactory(new GalaxyGeneratorFactory(List.of(new SpiralGeneratorStrategy())))
+                .withNoiseGeneratorFactory(new NoiseGeneratorFactory())
+                .withStarFieldApplicator(new StarFieldApplicator(TileRenderEngine.shared()))
+                .withBloomApplicator(new BloomApplicator())
+                .withTileRenderEngine(TileRenderEngine.shared())
+                .build();
+    }
+
+    private static GalaxyParameters parameters(double warpStrength, boolean bloom, boolean multiLayer, boolean stars) {
+        return GalaxyParameters.builder()
+                .galaxyType(GalaxyType.SPIRAL)
+                .coreParameters(CoreParameters.builder().coreSize(0.08).galaxyRadius(90.0).build())
+                .noiseTextureParameters(NoiseTextureParameters.builder()
+                        .octaves(4).persistence(0.5).lacunarity(2.0).scale(3.0).build())
+                .domainWarpParameters(DomainWarpParameters.builder().warpStrength(warpStrength).build())
+                .multiLayerNoiseParameters(MultiLayerNoiseParameters.builder().enabled(multiLayer).build())
+                .starFieldParameters(StarFieldParameters.builder()
+                        .enabled(stars).starDensity(0.002).maxStarSize(4).build())
+                .bloomParameters(BloomParameters.builder()
+                        .enabled(bloom).bloomRadius(9).bloomIntensity(0.8).bloomThreshold(0.2).build())
+                .spiralParameters(SpiralStructureParameters.builder()
+                        .numberOfArms(2).armWidth(0.4).armRotation(3.0).build())
+                .build();
+    }
+
+    /** Sink keeping the whole image, to compare the bands with the in-memory render. */
+    private static final class CollectingSink implements ImageRowSink {
+        private final int width;
+        private final int[] pixels;
+        private int rows;
+
+        CollectingSink(int width, int height) {
+            this.width = width;
+            this.pixels = new int[width * height];
+        }
+
+        @Override
+        public void writeRows(int[] source, int offset, int count) {
+            System.arraycopy(source, offset, pixels, rows * width, count * width);
+            rows += count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
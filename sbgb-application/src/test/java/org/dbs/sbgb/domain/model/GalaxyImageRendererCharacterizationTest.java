@@ -45,7 +45,7 @@ class GalaxyImageRendererCharacterizationTest {
 
         GalaxyGeneratorFactory generatorFactory = new GalaxyGeneratorFactory(List.of(new SpiralGeneratorStrategy()));
         NoiseGeneratorFactory noiseFactory = new NoiseGeneratorFactory();
-        StarFieldApplicator starFieldApplicator = new StarFieldApplicator();
+        StarFieldApplicator starFieldApplicator = new StarFieldApplicator(TileRenderEngine.shared());
         BloomApplicator bloomApplicator = new BloomApplicator();
 
         GalaxyImageRenderer renderer = new GalaxyImageRenderer.Builder()
@@ -59,6 +59,7 @@ class GalaxyImageRendererCharacterizationTest {
                 .withBloomApplicator(bloomApplicator)
                 .withParameters(spiralParams)
                 .withColorCalculator(colorCalculator)
+                .withTileRenderEngine(TileRenderEngine.shared())
                 .build();
 
         BufferedImage image = renderer.create(12345L);
@@ -0,0 +1,68 @@
+package org.dbs.sbgb.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class GaussianSpatialIndexTest {
+
+    private static final int SIZE = 400;
+
+    @Test
+    void shouldMatchBruteForceWithinTolerance() {
+        double tolerance = GaussianSpatialIndex.DEFAULT_TOLERANCE;
+        int blobCount = 200;
+        GaussianSpatialIndex index = randomIndex(blobCount, tolerance);
+
+        double maxError = 0.0;
+        for (int y = -20; y < SIZE + 20; y += 3) {
+            for (int x = -20; x < SIZE + 20; x += 3) {
+                maxError = Math.max(maxError, Math.abs(index.sum(x, y) - index.sumBruteForce(x, y)));
+            }
+        }
+
+        // Each skipped blob contributes less than weight * tolerance
+        assertThat(maxError).isLessThanOrEqualTo(blobCount * tolerance);
+        assertThat(index.size()).isEqualTo(blobCount);
+    }
+
+    @Test
+    void shouldSumSingleBlobExactlyInsideCutoff() {
+        GaussianSpatialIndex index = GaussianSpatialIndex.builder()
+                .add(100.0, 100.0, 10.0, 2.0, 0.8)
+                .build();
+
+        assertThat(index.sum(100.0, 100.0)).isEqualTo(0.8, within(1e-12));
+        assertThat(index.sum(110.0, 100.0)).isEqualTo(0.8 * Math.exp(-0.5), within(1e-12));
+        assertThat(index.sum(200.0, 100.0)).isZero();
+    }
+
+    @Test
+    void shouldReturnZeroWhenEmpty() {
+        GaussianSpatialIndex index = GaussianSpatialIndex.builder().build();
+
+        assertThat(index.sum(0.0, 0.0)).isZero();
+    }
+
+    @Test
+    void shouldRejectInvalidTolerance() {
+        assertThatThrownBy(() -> GaussianSpatialIndex.builder().tolerance(0.0).build())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GaussianSpatialIndex.builder().tolerance(1.0).build())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private GaussianSpatialIndex randomIndex(int count, double tolerance) {
+        Random random = new Random(7L);
+        GaussianSpatialIndex.Builder builder = GaussianSpatialIndex.builder().tolerance(tolerance);
+        for (int i = 0; i < count; i++) {
+            builder.add(random.nextDouble() * SIZE, random.nextDouble() * SIZE,
+                    5.0 + random.nextDouble() * 40.0, 2.0, 0.3 + random.nextDouble() * 0.7);
+        }
+        return builder.build();
+    }
+}
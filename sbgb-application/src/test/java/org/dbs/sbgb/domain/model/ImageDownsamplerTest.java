@@ -0,0 +1,99 @@
+package org.dbs.sbgb.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ImageDownsamplerTest {
+
+    private final ImageDownsampler downsampler = new ImageDownsampler(new TileRenderEngine(2, 16));
+
+    @Test
+    void shouldFitWithinSquareKeepingAspectRatioWithoutUpscaling() {
+        assertThat(ImageDownsampler.fit(4000, 2000, 200)).isEqualTo(new Dimension(200, 100));
+        assertThat(ImageDownsampler.fit(300, 1200, 200)).isEqualTo(new Dimension(50, 200));
+        assertThat(ImageDownsampler.fit(120, 80, 200)).isEqualTo(new Dimension(120, 80));
+        assertThat(ImageDownsampler.fit(5000, 1, 200)).isEqualTo(new Dimension(200, 1));
+    }
+
+    @Test
+    void shouldAverageEachBlockOfSourcePixels() {
+        BufferedImage source = new BufferedImage(4, 2, BufferedImage.TYPE_INT_RGB);
+        source.setRGB(0, 0, 0x000000);
+        source.setRGB(1, 0, 0xFF0000);
+        source.setRGB(0, 1, 0x00FF00);
+        source.setRGB(1, 1, 0x0000FF);
+        for (int y = 0; y < 2; y++) {
+            source.setRGB(2, y, 0xFFFFFF);
+            source.setRGB(3, y, 0xFFFFFF);
+        }
+
+        BufferedImage result = downsampler.downsample(source, 2, 1);
+
+        assertThat(result.getType()).isEqualTo(BufferedImage.TYPE_INT_RGB);
+        assertThat(result.getRGB(0, 0)).isEqualTo(0xFF404040);
+        assertThat(result.getRGB(1, 0)).isEqualTo(0xFFFFFFFF);
+    }
+
+    @Test
+    void shouldNotDarkenColoursWithTransparentNeighbours() {
+        BufferedImage source = new BufferedImage(2, 1, BufferedImage.TYPE_INT_ARGB);
+        source.setRGB(0, 0, 0xFFFF8000);
+        source.setRGB(1, 0, 0x00000000);
+
+        int pixel = downsampler.downsample(source, 1, 1).getRGB(0, 0);
+
+        assertThat(pixel >>> 24).isEqualTo(128);
+        assertThat(pixel & 0xFFFFFF).isEqualTo(0xFF8000);
+    }
+
+    @Test
+    void shouldKeepMeanBrightnessForNonIntegerRatios() {
+        BufferedImage source = new BufferedImage(7, 5, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 7; x++) {
+            for (int y = 0; y < 5; y++) {
+                int grey = (x + y) % 2 == 0 ? 200 : 100;
+                source.setRGB(x, y, grey << 16 | grey << 8 | grey);
+            }
+        }
+
+        BufferedImage result = downsampler.downsample(source, 3, 2);
+
+        for (int x = 0; x < 3; x++) {
+            for (int y = 0; y < 2; y++) {
+                assertThat(result.getRGB(x, y) & 0xFF).isBetween(130, 170);
+            }
+        }
+    }
+
+    @Test
+    void shouldReturnSmallImagesUnchanged() {
+        BufferedImage source = new BufferedImage(50, 30, BufferedImage.TYPE_INT_ARGB);
+
+        assertThat(downsampler.fitWithin(source, 200)).isSameAs(source);
+        assertThat(downsampler.fitWithin(new BufferedImage(400, 100, BufferedImage.TYPE_INT_ARGB), 200).getHeight())
+                .isEqualTo(50);
+    }
+
+    @Test
+    void shouldBuildMipmapOfNormalizedGrid() {
+        float[] values = new float[6 * 3];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (i % 6) < 3 ? 0.2f : 0.8f;
+        }
+        NormalizedNoiseGrid grid = new NormalizedNoiseGrid(values, -1.0, 2.0, 6, 3);
+
+        NormalizedNoiseGrid mipmap = downsampler.downsample(grid, 2, 1);
+
+        assertThat(mipmap.width()).isEqualTo(2);
+        assertThat(mipmap.height()).isEqualTo(1);
+        assertThat(mipmap.values()[0]).isCloseTo(0.2f, within(1e-6f));
+        assertThat(mipmap.values()[1]).isCloseTo(0.8f, within(1e-6f));
+        assertThat(mipmap.minVal()).isEqualTo(-1.0);
+        assertThat(mipmap.maxVal()).isEqualTo(2.0);
+    }
+}
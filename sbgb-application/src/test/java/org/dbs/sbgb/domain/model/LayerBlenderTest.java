@@ -0,0 +1,39 @@
+package org.dbs.sbgb.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LayerBlenderTest {
+
+    @Test
+    void shouldBlendPackedArgbLikeComponentBlending() {
+        Color base = new Color(200, 40, 90, 120);
+        Color overlay = new Color(30, 180, 250, 255);
+
+        for (BlendMode mode : BlendMode.values()) {
+            int blended = LayerBlender.blendArgb(base.getRGB(), overlay.getRGB(), mode, 0.6);
+
+            assertThat(PackedArgb.red(blended))
+                    .isEqualTo(LayerBlender.blendColorComponent(base.getRed(), overlay.getRed(), mode, 0.6));
+            assertThat(PackedArgb.green(blended))
+                    .isEqualTo(LayerBlender.blendColorComponent(base.getGreen(), overlay.getGreen(), mode, 0.6));
+            assertThat(PackedArgb.blue(blended))
+                    .isEqualTo(LayerBlender.blendColorComponent(base.getBlue(), overlay.getBlue(), mode, 0.6));
+            assertThat(PackedArgb.alpha(blended)).isEqualTo(255);
+        }
+    }
+
+    @Test
+    void shouldKeepMostOpaqueAlpha() {
+        int base = PackedArgb.pack(40, 10, 20, 30);
+        int overlay = PackedArgb.pack(90, 50, 60, 70);
+
+        int blended = LayerBlender.blendArgb(base, overlay, BlendMode.NORMAL, 1.0);
+
+        assertThat(PackedArgb.alpha(blended)).isEqualTo(90);
+        assertThat(blended).isEqualTo(PackedArgb.pack(90, 50, 60, 70));
+    }
+}
@@ -0,0 +1,70 @@
+package org.dbs.sbgb.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NestedLatticeSamplerTest {
+
+    private static final int WIDTH = 50;
+    private static final int HEIGHT = 37;
+
+    @Test
+    void shouldEvaluateEveryPointExactlyOnceAcrossPasses() {
+        AtomicInteger evaluations = new AtomicInteger();
+        NestedLatticeSampler sampler = new NestedLatticeSampler(WIDTH, HEIGHT, (x, y) -> {
+            evaluations.incrementAndGet();
+            return x + y;
+        });
+
+        for (int stride : PreviewPass.DIVISORS) {
+            sampler.refine(stride);
+        }
+
+        assertThat(evaluations.get()).isEqualTo(WIDTH * HEIGHT);
+    }
+
+    @Test
+    void shouldSubsampleTheFullResolutionLatticeInCoarsePasses() {
+        NestedLatticeSampler sampler = new NestedLatticeSampler(WIDTH, HEIGHT, (x, y) -> x * 1000 + y);
+
+        NormalizedNoiseGrid coarse = sampler.refine(8);
+
+        assertThat(coarse.width()).isEqualTo(7);
+        assertThat(coarse.height()).isEqualTo(5);
+        assertThat(coarse.minVal()).isEqualTo(0.0);
+        assertThat(coarse.maxVal()).isEqualTo(48 * 1000 + 32);
+        assertThat(coarse.normalizedValueAt(6, 4)).isEqualTo(1.0f);
+    }
+
+    @Test
+    void shouldMatchTheDirectComputationAtFullResolution() {
+        PerlinGenerator direct = new PerlinGenerator(NoiseImageCalculator.DEFAULT_INTERPOLATION,
+                NoiseImageCalculator.DEFAULT_FADE_FUNCTION);
+        NormalizedNoiseGrid expected = direct.computeAndNormalize(7L, WIDTH, HEIGHT, 3, 0.5, 2.0, 40.0, NoiseType.FBM);
+        NestedLatticeSampler sampler = new PerlinGenerator(NoiseImageCalculator.DEFAULT_INTERPOLATION,
+                NoiseImageCalculator.DEFAULT_FADE_FUNCTION)
+                .nestedLattice(7L, WIDTH, HEIGHT, 3, 0.5, 2.0, 40.0, NoiseType.FBM);
+
+        NormalizedNoiseGrid result = null;
+        for (int stride : PreviewPass.DIVISORS) {
+            result = sampler.refine(stride);
+        }
+
+        assertThat(result.values()).containsExactly(expected.values());
+        assertThat(result.minVal()).isEqualTo(expected.minVal());
+        assertThat(result.maxVal()).isEqualTo(expected.maxVal());
+    }
+
+    @Test
+    void shouldRejectStridesThatDoNotRefineThePreviousPass() {
+        NestedLatticeSampler sampler = new NestedLatticeSampler(WIDTH, HEIGHT, (x, y) -> 0.0);
+        sampler.refine(4);
+
+        assertThatThrownBy(() -> sampler.refine(3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sampler.refine(8)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
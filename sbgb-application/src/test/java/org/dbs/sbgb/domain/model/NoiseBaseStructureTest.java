@@ -9,36 +9,45 @@ import static org.assertj.core.api.Assertions.assertThat;
 class NoiseBaseStructureTest {
 
     @Test
-    void shouldProduceSameConfigHashForIdenticalParams() {
+    void shouldProduceSameConfigKeyForIdenticalParams() {
         NoiseBaseStructure base1 = buildBase(UUID.randomUUID(), 1920, 1080, 42, 4, 0.5, 2.0, 100.0, "FBM", false, null);
         NoiseBaseStructure base2 = buildBase(UUID.randomUUID(), 1920, 1080, 42, 4, 0.5, 2.0, 100.0, "FBM", false, null);
 
-        assertThat(base1.configHash()).isEqualTo(base2.configHash());
+        assertThat(base1.configKey()).isEqualTo(base2.configKey());
     }
 
     @Test
-    void shouldProduceDifferentConfigHashForDifferentSeed() {
+    void shouldProduceDifferentConfigKeyForDifferentSeed() {
         NoiseBaseStructure base1 = buildBase(UUID.randomUUID(), 1920, 1080, 42, 4, 0.5, 2.0, 100.0, "FBM", false, null);
         NoiseBaseStructure base2 = buildBase(UUID.randomUUID(), 1920, 1080, 99, 4, 0.5, 2.0, 100.0, "FBM", false, null);
 
-        assertThat(base1.configHash()).isNotEqualTo(base2.configHash());
+        assertThat(base1.configKey()).isNotEqualTo(base2.configKey());
     }
 
     @Test
-    void shouldProduceStableConfigHash() {
+    void shouldNotCollideWhereObjectsHashDoes() {
+        // Objects.hash(1, 0, ...) == Objects.hash(0, 31, ...)
+        NoiseBaseStructure base1 = buildBase(UUID.randomUUID(), 1, 0, 42, 4, 0.5, 2.0, 100.0, "FBM", false, null);
+        NoiseBaseStructure base2 = buildBase(UUID.randomUUID(), 0, 31, 42, 4, 0.5, 2.0, 100.0, "FBM", false, null);
+
+        assertThat(base1.configKey()).isNotEqualTo(base2.configKey());
+    }
+
+    @Test
+    void shouldProduceStableConfigKey() {
         NoiseBaseStructure base = buildBase(UUID.randomUUID(), 1920, 1080, 42, 4, 0.5, 2.0, 100.0, "FBM", false, null);
 
-        assertThat(base.configHash()).isEqualTo(base.configHash());
+        assertThat(base.configKey()).isEqualTo(base.configKey());
     }
 
     @Test
-    void shouldIgnoreIdAndMaxNoteInConfigHash() {
+    void shouldIgnoreIdAndMaxNoteInConfigKey() {
         UUID id1 = UUID.randomUUID();
         UUID id2 = UUID.randomUUID();
         NoiseBaseStructure base1 = new NoiseBaseStructure(id1, "desc", 5, 1920, 1080, 42, 4, 0.5, 2.0, 100.0, "FBM", false, null);
         NoiseBaseStructure base2 = new NoiseBaseStructure(id2, "other desc", 0, 1920, 1080, 42, 4, 0.5, 2.0, 100.0, "FBM", false, null);
 
-        assertThat(base1.configHash()).isEqualTo(base2.configHash());
+        assertThat(base1.configKey()).isEqualTo(base2.configKey());
     }
 
     @Test
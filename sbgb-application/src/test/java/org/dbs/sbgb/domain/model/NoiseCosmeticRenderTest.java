@@ -9,38 +9,38 @@ import static org.assertj.core.api.Assertions.assertThat;
 class NoiseCosmeticRenderTest {
 
     @Test
-    void shouldProduceSameCosmeticHashForIdenticalParams() {
+    void shouldProduceSameCosmeticKeyForIdenticalParams() {
         UUID baseId = UUID.randomUUID();
         NoiseCosmeticRender render1 = buildRender(UUID.randomUUID(), baseId, "#000000", "#888888", "#FFFFFF", 0.4, 0.7, "LINEAR", false, 3);
         NoiseCosmeticRender render2 = buildRender(UUID.randomUUID(), baseId, "#000000", "#888888", "#FFFFFF", 0.4, 0.7, "LINEAR", false, 5);
 
-        assertThat(render1.cosmeticHash()).isEqualTo(render2.cosmeticHash());
+        assertThat(render1.cosmeticKey()).isEqualTo(render2.cosmeticKey());
     }
 
     @Test
-    void shouldProduceDifferentCosmeticHashForDifferentColors() {
+    void shouldProduceDifferentCosmeticKeyForDifferentColors() {
         UUID baseId = UUID.randomUUID();
         NoiseCosmeticRender render1 = buildRender(UUID.randomUUID(), baseId, "#000000", "#888888", "#FFFFFF", 0.4, 0.7, "LINEAR", false, 3);
         NoiseCosmeticRender render2 = buildRender(UUID.randomUUID(), baseId, "#FF0000", "#888888", "#FFFFFF", 0.4, 0.7, "LINEAR", false, 3);
 
-        assertThat(render1.cosmeticHash()).isNotEqualTo(render2.cosmeticHash());
+        assertThat(render1.cosmeticKey()).isNotEqualTo(render2.cosmeticKey());
     }
 
     @Test
-    void shouldIgnoreIdAndBaseStructureIdAndNoteAndThumbnailInCosmeticHash() {
+    void shouldIgnoreIdAndBaseStructureIdAndNoteAndThumbnailInCosmeticKey() {
         UUID baseId1 = UUID.randomUUID();
         UUID baseId2 = UUID.randomUUID();
         NoiseCosmeticRender render1 = new NoiseCosmeticRender(UUID.randomUUID(), baseId1, "#000000", "#888888", "#FFFFFF", 0.4, 0.7, "LINEAR", false, 1, new byte[]{1}, "desc1");
         NoiseCosmeticRender render2 = new NoiseCosmeticRender(UUID.randomUUID(), baseId2, "#000000", "#888888", "#FFFFFF", 0.4, 0.7, "LINEAR", false, 5, new byte[]{2, 3}, "desc2");
 
-        assertThat(render1.cosmeticHash()).isEqualTo(render2.cosmeticHash());
+        assertThat(render1.cosmeticKey()).isEqualTo(render2.cosmeticKey());
     }
 
     @Test
-    void shouldProduceStableCosmeticHash() {
+    void shouldProduceStableCosmeticKey() {
         NoiseCosmeticRender render = buildRender(UUID.randomUUID(), UUID.randomUUID(), "#000000", "#888888", "#FFFFFF", 0.4, 0.7, "SMOOTHSTEP", false, 4);
 
-        assertThat(render.cosmeticHash()).isEqualTo(render.cosmeticHash());
+        assertThat(render.cosmeticKey()).isEqualTo(render.cosmeticKey());
     }
 
     @Test
@@ -0,0 +1,86 @@
+package org.dbs.sbgb.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class NoiseFieldEvaluatorTest {
+
+    private static final int WIDTH = 64;
+    private static final int HEIGHT = 48;
+
+    @Test
+    void shouldCaptureRawValuesAndReduceRangeInSinglePass() {
+        float[] buffer = new float[WIDTH * HEIGHT];
+
+        NoiseFieldEvaluator.ValueRange range = NoiseFieldEvaluator.evaluateInto(buffer, WIDTH, HEIGHT,
+                (x, y) -> x * 0.5 - y);
+
+        assertThat(range.min()).isEqualTo(-(HEIGHT - 1));
+        assertThat(range.max()).isEqualTo((WIDTH - 1) * 0.5);
+        assertThat(buffer[3 * WIDTH + 10]).isEqualTo(2.0f);
+    }
+
+    @Test
+    void shouldNormalizeInPlaceBetweenZeroAndOne() {
+        float[] buffer = new float[WIDTH * HEIGHT];
+        NoiseFieldEvaluator.ValueRange range = NoiseFieldEvaluator.evaluateInto(buffer, WIDTH, HEIGHT,
+                (x, y) -> Math.sin(x * 0.3) * Math.cos(y * 0.2));
+
+        NoiseFieldEvaluator.normalizeInPlace(buffer, WIDTH, HEIGHT, range);
+
+        float min = Float.MAX_VALUE;
+        float max = -Float.MAX_VALUE;
+        for (float value : buffer) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        assertThat(min).isEqualTo(0.0f, within(1e-6f));
+        assertThat(max).isEqualTo(1.0f, within(1e-6f));
+    }
+
+    @Test
+    void shouldReturnMiddleValueForDegenerateRange() {
+        float[] buffer = new float[WIDTH * HEIGHT];
+        NoiseFieldEvaluator.ValueRange range = NoiseFieldEvaluator.evaluateInto(buffer, WIDTH, HEIGHT, (x, y) -> 0.7);
+
+        NoiseFieldEvaluator.normalizeInPlace(buffer, WIDTH, HEIGHT, range);
+
+        assertThat(buffer[0]).isEqualTo(0.5f);
+        assertThat(buffer[buffer.length - 1]).isEqualTo(0.5f);
+    }
+
+    @Test
+    void sampleRangeShouldIncludeTheLastRowAndColumnOfTheLattice() {
+        NoiseFieldEvaluator.ValueRange range = NoiseFieldEvaluator.sampleRange(WIDTH + 3, HEIGHT + 5, 8,
+                (x, y) -> x + 1000.0 * y);
+
+        assertThat(range.min()).isEqualTo(0.0);
+        assertThat(range.max()).isEqualTo((WIDTH + 2) + 1000.0 * (HEIGHT + 4));
+    }
+
+    @Test
+    void sampleRangeShouldBeInsideTheScannedRange() {
+        NoiseFieldEvaluator.PixelSampler sampler = (x, y) -> Math.sin(x * 0.37) * Math.cos(y * 0.23);
+
+        NoiseFieldEvaluator.ValueRange sampled = NoiseFieldEvaluator.sampleRange(WIDTH, HEIGHT, 8, sampler);
+        NoiseFieldEvaluator.ValueRange scanned = NoiseFieldEvaluator.scanRange(WIDTH, HEIGHT, (y, row) -> {
+            for (int x = 0; x < WIDTH; x++) {
+                row[x] = sampler.sample(x, y);
+            }
+        });
+
+        assertThat(sampled.min()).isGreaterThanOrEqualTo(scanned.min());
+        assertThat(sampled.max()).isLessThanOrEqualTo(scanned.max());
+    }
+
+    @Test
+    void shouldClampValuesOutsideAnEstimatedRange() {
+        NoiseFieldEvaluator.ValueRange range = new NoiseFieldEvaluator.ValueRange(0.2, 0.6);
+
+        assertThat(range.normalize(0.1)).isEqualTo(0.0);
+        assertThat(range.normalize(0.7)).isEqualTo(1.0);
+        assertThat(range.normalize(0.4)).isCloseTo(0.5, within(1e-12));
+    }
+}
@@ -0,0 +1,50 @@
+package org.dbs.sbgb.domain.model;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NoiseImageCalculatorTest {
+
+    private static final int WIDTH = 150;
+    private static final int HEIGHT = 110;
+
+    @ParameterizedTest
+    @CsvSource({"JNOISE, FBM, 16", "SCALAR, RIDGED, 33", "SIMD, FBM, 110", "SCALAR, FBM, 500"})
+    void bandRenderShouldMatchTheInMemoryImage(NoiseEngine engine, NoiseType noiseType, int bandRows)
+            throws IOException {
+        NoiseImageCalculator calculator = new NoiseImageCalculator.Builder()
+                .withWidth(WIDTH)
+                .withHeight(HEIGHT)
+                .withOctaves(5)
+                .withScale(8.0)
+                .withNoiseType(noiseType)
+                .withNoiseEngine(engine)
+                .withNoiseColorCalculator(new DefaultNoiseColorCalculator(Color.BLACK, Color.BLUE, Color.WHITE,
+                        0.3, 0.6, InterpolationType.LINEAR))
+                .build();
+        BufferedImage expected = calculator.create(77L);
+        int[] pixels = new int[WIDTH * HEIGHT];
+        int[] rows = {0};
+
+        calculator.renderBands(77L, bandRows, new ImageRowSink() {
+            @Override
+            public void writeRows(int[] source, int offset, int count) {
+                System.arraycopy(source, offset, pixels, rows[0] * WIDTH, count * WIDTH);
+                rows[0] += count;
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        assertThat(rows[0]).isEqualTo(HEIGHT);
+        assertThat(pixels).containsExactly(expected.getRGB(0, 0, WIDTH, HEIGHT, null, 0, WIDTH));
+    }
+}
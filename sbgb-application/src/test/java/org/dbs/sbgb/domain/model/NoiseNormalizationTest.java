@@ -0,0 +1,160 @@
+package org.dbs.sbgb.domain.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class NoiseNormalizationTest {
+
+    private static final int WIDTH = 1024;
+    private static final int HEIGHT = 768;
+    private static final int OCTAVES = 4;
+    private static final double PERSISTENCE = 0.5;
+    private static final double LACUNARITY = 2.0;
+    /** Dominant octave period of 256 px: the widest lattice, a stride of 8 px. */
+    private static final double SCALE = 3.0;
+    /** Documented bound on the sampled range: each end within 4 % of the exact span. */
+    private static final double RANGE_TOLERANCE = 0.04;
+
+    @Test
+    void sampleStrideShouldKeepThirtyTwoStridesPerDominantPeriod() {
+        assertThat(NoiseNormalization.sampleStride(WIDTH, HEIGHT, SCALE)).isEqualTo(8);
+        assertThat(NoiseNormalization.sampleStride(WIDTH, HEIGHT, 6.0)).isEqualTo(4);
+        assertThat(NoiseNormalization.sampleStride(WIDTH, HEIGHT, 12.0)).isEqualTo(2);
+        assertThat(NoiseNormalization.sampleStride(WIDTH, HEIGHT, 100.0)).isEqualTo(1);
+        assertThat(NoiseNormalization.sampleStride(65536, 65536, 100.0)).isEqualTo(NoiseNormalization.MAX_SAMPLE_STRIDE);
+    }
+
+    /**
+     * Covers the documented domain: 1 to 6 octaves, fBm and ridged, grids of 384 to 2048 px, and both
+     * lattice strides of 4 and 8 px that an estimated range can use.
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "1024, 768, 4, 3.0, 8, 7, FBM", "1024, 768, 4, 3.0, 8, 42, RIDGED", "1024, 768, 4, 3.0, 8, 1234, FBM",
+            "1024, 768, 1, 3.0, 8, 42, FBM", "1024, 768, 1, 6.0, 4, 7, RIDGED",
+            "1024, 768, 6, 3.0, 8, 1234, RIDGED", "1024, 768, 6, 6.0, 4, 42, FBM",
+            "384, 384, 1, 1.5, 8, 7, FBM", "384, 384, 6, 1.5, 8, 42, RIDGED", "384, 384, 4, 3.0, 4, 1234, FBM",
+            "2048, 1536, 1, 6.0, 8, 42, RIDGED", "2048, 1536, 6, 6.0, 8, 7, FBM", "2048, 1536, 6, 12.0, 4, 1234, RIDGED"
+    })
+    void stridedSampleRangeShouldStayInsideTheFullScanRangeWithinTheDocumentedBound(
+            int width, int height, int octaves, double scale, int stride, long seed, NoiseType noiseType) {
+        NormalizedNoiseGrid full = grid(NoiseNormalization.FULL_SCAN, width, height, octaves, scale, seed, noiseType);
+        NormalizedNoiseGrid sampled = grid(NoiseNormalization.STRIDED_SAMPLE, width, height, octaves, scale, seed, noiseType);
+        double span = full.maxVal() - full.minVal();
+
+        assertThat(NoiseNormalization.sampleStride(width, height, scale)).isEqualTo(stride);
+        assertThat(sampled.minVal()).isGreaterThanOrEqualTo(full.minVal());
+        assertThat(sampled.maxVal()).isLessThanOrEqualTo(full.maxVal());
+        assertThat(sampled.minVal() - full.minVal()).isLessThanOrEqualTo(RANGE_TOLERANCE * span);
+        assertThat(full.maxVal() - sampled.maxVal()).isLessThanOrEqualTo(RANGE_TOLERANCE * span);
+    }
+
+    @ParameterizedTest
+    @EnumSource(NoiseType.class)
+    void stridedSampleValuesShouldBeClampedAndCloseToTheFullScan(NoiseType noiseType) {
+        float[] full = grid(NoiseNormalization.FULL_SCAN, 42L, noiseType).values();
+        float[] sampled = grid(NoiseNormalization.STRIDED_SAMPLE, 42L, noiseType).values();
+
+        for (int i = 0; i < full.length; i++) {
+            assertThat(sampled[i]).isBetween(0.0f, 1.0f);
+            assertThat(sampled[i]).isCloseTo(full[i], within((float) (2.5 * RANGE_TOLERANCE)));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = NoiseNormalization.class, names = {"STRIDED_SAMPLE", "ANALYTIC_BOUNDS"})
+    void streamedRowsShouldMatchTheMaterializedGridWithAnEstimatedRange(NoiseNormalization normalization) {
+        NormalizedNoiseGrid expected = grid(normalization, 42L, NoiseType.FBM);
+        PerlinGenerator generator = generator(normalization);
+        generator.createNoisePipeline(42L, WIDTH, HEIGHT, OCTAVES, PERSISTENCE, LACUNARITY, SCALE, NoiseType.FBM);
+        generator.computeNormalizationRange();
+        float[] rows = new float[WIDTH * HEIGHT];
+
+        generator.fillNormalizedRows(rows, 0, HEIGHT);
+
+        assertThat(rows).isEqualTo(expected.values());
+        assertThat(generator.scaleNoiseNormalizedValue(100, 200)).isEqualTo(expected.normalizedValueAt(100, 200));
+    }
+
+    @ParameterizedTest
+    @EnumSource(NoiseType.class)
+    void analyticBoundsShouldContainTheFullScanRange(NoiseType noiseType) {
+        NormalizedNoiseGrid full = grid(NoiseNormalization.FULL_SCAN, 42L, noiseType);
+        NormalizedNoiseGrid analytic = grid(NoiseNormalization.ANALYTIC_BOUNDS, 42L, noiseType);
+
+        assertThat(analytic.minVal()).isEqualTo(0.0);
+        assertThat(analytic.maxVal()).isEqualTo(1.0);
+        assertThat(full.minVal()).isGreaterThanOrEqualTo(analytic.minVal());
+        assertThat(full.maxVal()).isLessThanOrEqualTo(analytic.maxVal());
+    }
+
+    @Test
+    void multiLayerStridedSampleShouldStayCloseToTheFullScan() {
+        MultiLayerNoiseGenerator full = multiLayer(NoiseNormalization.FULL_SCAN);
+        MultiLayerNoiseGenerator sampled = multiLayer(NoiseNormalization.STRIDED_SAMPLE);
+
+        for (int y = 0; y < HEIGHT; y += 7) {
+            for (int x = 0; x < WIDTH; x += 7) {
+                assertThat(sampled.evaluate(x, y)).isBetween(0.0, 1.0);
+                assertThat(sampled.evaluate(x, y)).isCloseTo(full.evaluate(x, y), within(2.5 * RANGE_TOLERANCE));
+            }
+        }
+    }
+
+    @Test
+    void multiLayerAnalyticBoundsShouldKeepValuesInTheUnitRange() {
+        MultiLayerNoiseGenerator analytic = multiLayer(NoiseNormalization.ANALYTIC_BOUNDS);
+
+        for (int y = 0; y < HEIGHT; y += 7) {
+            for (int x = 0; x < WIDTH; x += 7) {
+                assertThat(analytic.evaluate(x, y)).isBetween(0.0, 1.0);
+            }
+        }
+    }
+
+    @Test
+    void resolveShouldDefaultToTheFullScan() {
+        assertThat(NoiseNormalization.resolve(null)).isEqualTo(NoiseNormalization.FULL_SCAN);
+        assertThat(NoiseNormalization.resolve("STRIDED_SAMPLE")).isEqualTo(NoiseNormalization.STRIDED_SAMPLE);
+    }
+
+    private static NormalizedNoiseGrid grid(NoiseNormalization normalization, long seed, NoiseType noiseType) {
+        return grid(normalization, WIDTH, HEIGHT, OCTAVES, SCALE, seed, noiseType);
+    }
+
+    private static NormalizedNoiseGrid grid(NoiseNormalization normalization, int width, int height, int octaves,
+                                            double scale, long seed, NoiseType noiseType) {
+        return generator(normalization)
+                .computeAndNormalize(seed, width, height, octaves, PERSISTENCE, LACUNARITY, scale, noiseType);
+    }
+
+    private static PerlinGenerator generator(NoiseNormalization normalization) {
+        return new PerlinGenerator(NoiseImageCalculator.DEFAULT_INTERPOLATION,
+                NoiseImageCalculator.DEFAULT_FADE_FUNCTION, NoiseEngine.SCALAR, normalization);
+    }
+
+    private static MultiLayerNoiseGenerator multiLayer(NoiseNormalization normalization) {
+        MultiLayerNoiseGenerator generator = MultiLayerNoiseGenerator.builder()
+                .seed(42L)
+                .width(WIDTH)
+                .height(HEIGHT)
+                .interpolation(NoiseImageCalculator.DEFAULT_INTERPOLATION)
+                .fadeFunction(NoiseImageCalculator.DEFAULT_FADE_FUNCTION)
+                .noiseType(NoiseType.FBM)
+                .macroScale(2.0)
+                .macroWeight(0.5)
+                .mesoScale(3.0)
+                .mesoWeight(0.3)
+                .microScale(4.0)
+                .microWeight(0.2)
+                .normalization(normalization)
+                .build();
+        generator.initialize();
+        return generator;
+    }
+}
@@ -7,6 +7,8 @@ import org.junit.jupiter.api.Test;
 import java.awt.image.BufferedImage;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
 
 class NormalizedNoiseGridTest {
 
@@ -45,6 +47,27 @@ class NormalizedNoiseGridTest {
         assertThat(grid1.normalizedValueAt(50, 50)).isEqualTo(grid2.normalizedValueAt(50, 50));
     }
 
+    @Test
+    void shouldMaterializeSameValuesAsPipelineEvaluation() {
+        NormalizedNoiseGrid grid = computeGrid();
+        PerlinGenerator generator = new PerlinGenerator(Interpolation.LINEAR, FadeFunction.NONE);
+        generator.createNoisePipeline(42L, WIDTH, HEIGHT, 3, 0.5, 2.0, 100.0, NoiseType.FBM);
+        generator.performNormalization();
+
+        for (int x = 0; x < WIDTH; x += 7) {
+            for (int y = 0; y < HEIGHT; y += 7) {
+                assertThat(grid.normalizedValueAt(x, y))
+                        .isEqualTo(generator.scaleNoiseNormalizedValue(x, y), within(1e-6));
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectValuesNotMatchingDimensions() {
+        assertThatThrownBy(() -> new NormalizedNoiseGrid(new float[10], 0.0, 1.0, WIDTH, HEIGHT))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     private NormalizedNoiseGrid computeGrid() {
         PerlinGenerator generator = new PerlinGenerator(Interpolation.LINEAR, FadeFunction.NONE);
         return generator.computeAndNormalize(42L, WIDTH, HEIGHT, 3, 0.5, 2.0, 100.0, NoiseType.FBM);
@@ -0,0 +1,79 @@
+package org.dbs.sbgb.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PixelGeometryTableTest {
+
+    private static final int WIDTH = 120;
+    private static final int HEIGHT = 80;
+
+    @Test
+    void shouldMatchAnalyticPolarCoordinates() {
+        PixelGeometryTable table = PixelGeometryTable.forSize(WIDTH, HEIGHT);
+
+        for (int y = 0; y < HEIGHT; y += 7) {
+            for (int x = 0; x < WIDTH; x += 5) {
+                double dx = x - WIDTH / 2.0;
+                double dy = y - HEIGHT / 2.0;
+                double r = Math.sqrt(dx * dx + dy * dy);
+                assertThat(table.radius(x, y)).isEqualTo(r, within(1e-4));
+                assertThat(table.angle(x, y)).isEqualTo(Math.atan2(dy, dx), within(1e-6));
+                if (r > 0.0) {
+                    assertThat(table.logRadius(x, y)).isEqualTo(Math.log(r), within(1e-6));
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldFallBackToAnalyticOutsideImage() {
+        PixelGeometryTable table = PixelGeometryTable.forSize(WIDTH, HEIGHT);
+
+        assertThat(table.radius(-30, HEIGHT / 2)).isEqualTo(WIDTH / 2.0 + 30);
+        assertThat(table.angle(WIDTH / 2, HEIGHT + 10)).isEqualTo(Math.PI / 2);
+        assertThat(table.logRadius(WIDTH + 40, HEIGHT / 2)).isEqualTo(Math.log(WIDTH / 2.0 + 40), within(1e-12));
+    }
+
+    @Test
+    void shouldShareTablesBetweenCallersOfSameSize() {
+        assertThat(PixelGeometryTable.forSize(WIDTH, HEIGHT)).isSameAs(PixelGeometryTable.forSize(WIDTH, HEIGHT));
+        assertThat(PixelGeometryTable.forSize(WIDTH, HEIGHT)).isNotSameAs(PixelGeometryTable.forSize(HEIGHT, WIDTH));
+    }
+
+    @Test
+    void shouldFillOnlyPreparedTablesOnTheGivenEngine() {
+        PixelGeometryTable table = PixelGeometryTable.forSize(WIDTH + 1, HEIGHT + 1);
+        try (TileRenderEngine engine = new TileRenderEngine(2, 16)) {
+            table.prepareRadius(engine);
+            assertThat(table.footprintBytes()).isEqualTo((long) (WIDTH + 1) * (HEIGHT + 1) * Float.BYTES);
+
+            table.prepareAngles(engine);
+            assertThat(table.footprintBytes()).isEqualTo(3L * (WIDTH + 1) * (HEIGHT + 1) * Float.BYTES);
+        }
+        assertThat(PixelGeometryTable.cachedFootprintBytes()).isGreaterThanOrEqualTo(table.footprintBytes());
+    }
+
+    @Test
+    void shouldKeepTheFullSizeTableWhileReducedSizesAreRendered() {
+        PixelGeometryTable full = PixelGeometryTable.forSize(WIDTH * 4, HEIGHT * 4);
+
+        for (int pass = 0; pass < 3; pass++) {
+            PixelGeometryTable.forSize(WIDTH, HEIGHT);
+            PixelGeometryTable.forSize(WIDTH * 2, HEIGHT * 2);
+            assertThat(PixelGeometryTable.forSize(WIDTH * 4, HEIGHT * 4)).isSameAs(full);
+        }
+    }
+
+    @Test
+    void shouldDropTheLeastRecentlyUsedSizeBeyondTheLimit() {
+        PixelGeometryTable oldest = PixelGeometryTable.forSize(WIDTH + 3, HEIGHT + 3);
+        for (int i = 1; i <= PixelGeometryTable.MAX_CACHED_SIZES; i++) {
+            PixelGeometryTable.forSize(WIDTH + 3 + i, HEIGHT + 3);
+        }
+
+        assertThat(PixelGeometryTable.forSize(WIDTH + 3, HEIGHT + 3)).isNotSameAs(oldest);
+    }
+}
@@ -0,0 +1,119 @@
+package org.dbs.sbgb.domain.model;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.zip.Adler32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PngEncoderTest {
+
+    /** Small segments so that a 97x61 image is cut into many parallel deflate streams. */
+    private final PngEncoder encoder = new PngEncoder(TileRenderEngine.shared(), 1024);
+
+    @ParameterizedTest
+    @EnumSource(PngFilter.class)
+    void shouldDecodeToTheSamePixelsWithEveryFilter(PngFilter filter) throws IOException {
+        BufferedImage image = gradientWithNoise(97, 61, BufferedImage.TYPE_INT_ARGB);
+
+        byte[] png = encoder.encode(image, new PngEncodingOptions(6, filter));
+
+        assertSamePixels(decode(png), image);
+    }
+
+    @Test
+    void shouldWriteOpaqueImagesAsRgb() throws IOException {
+        BufferedImage image = gradientWithNoise(80, 40, BufferedImage.TYPE_INT_RGB);
+
+        BufferedImage decoded = decode(encoder.encode(image, PngEncodingOptions.PREVIEW));
+
+        assertThat(decoded.getColorModel().hasAlpha()).isFalse();
+        assertSamePixels(decoded, image);
+    }
+
+    @Test
+    void shouldProduceSmallerFilesAtMaximumCompression() throws IOException {
+        BufferedImage image = gradientWithNoise(256, 256, BufferedImage.TYPE_INT_ARGB);
+
+        byte[] fast = encoder.encode(image, PngEncodingOptions.PREVIEW);
+        byte[] best = encoder.encode(image, PngEncodingOptions.DOWNLOAD);
+
+        assertThat(best.length).isLessThan(fast.length);
+        assertSamePixels(decode(best), image);
+    }
+
+    @Test
+    void shouldDecodeWhateverTheSegmentSize() throws IOException {
+        BufferedImage image = gradientWithNoise(64, 64, BufferedImage.TYPE_INT_ARGB);
+
+        byte[] oneRowSegments = new PngEncoder(TileRenderEngine.shared(), 1).encode(image, PngEncodingOptions.DOWNLOAD);
+        byte[] singleSegment = new PngEncoder(TileRenderEngine.shared(), Integer.MAX_VALUE).encode(image, PngEncodingOptions.DOWNLOAD);
+
+        assertSamePixels(decode(oneRowSegments), image);
+        assertSamePixels(decode(singleSegment), image);
+    }
+
+    @Test
+    void shouldCombineAdler32OfConsecutiveBlocks() {
+        byte[] data = new byte[100_000];
+        new Random(7).nextBytes(data);
+        int split = 37_123;
+
+        long combined = PngEncoder.combineAdler32(adler32(data, 0, split), adler32(data, split, data.length),
+                data.length - split);
+
+        assertThat(combined).isEqualTo(adler32(data, 0, data.length));
+    }
+
+    @Test
+    void shouldRejectOutOfRangeCompressionLevel() {
+        assertThatThrownBy(() -> new PngEncodingOptions(10, PngFilter.NONE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("compressionLevel");
+    }
+
+    private static BufferedImage gradientWithNoise(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Random random = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int alpha = 128 + (x + y) % 128;
+                int red = x * 255 / width;
+                int green = y * 255 / height;
+                int blue = random.nextInt(32);
+                image.setRGB(x, y, alpha << 24 | red << 16 | green << 8 | blue);
+            }
+        }
+        return image;
+    }
+
+    private static BufferedImage decode(byte[] png) throws IOException {
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(png));
+        assertThat(decoded).isNotNull();
+        return decoded;
+    }
+
+    private static void assertSamePixels(BufferedImage actual, BufferedImage expected) {
+        assertThat(actual.getWidth()).isEqualTo(expected.getWidth());
+        assertThat(actual.getHeight()).isEqualTo(expected.getHeight());
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertThat(actual.getRGB(x, y)).as("pixel (%d, %d)", x, y).isEqualTo(expected.getRGB(x, y));
+            }
+        }
+    }
+
+    private static long adler32(byte[] data, int from, int to) {
+        Adler32 adler = new Adler32();
+        adler.update(data, from, to - from);
+        return adler.getValue();
+    }
+}
@@ -0,0 +1,90 @@
+package org.dbs.sbgb.domain.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PngStripWriterTest {
+
+    @ParameterizedTest
+    @EnumSource(PngFilter.class)
+    void shouldDecodeBandsToTheSamePixelsWithEveryFilter(PngFilter filter) throws IOException {
+        int[] pixels = noise(97, 61, false);
+
+        byte[] png = writeInBands(pixels, 97, 61, false, new PngEncodingOptions(6, filter), 13);
+
+        BufferedImage decoded = decode(png);
+        assertThat(decoded.getColorModel().hasAlpha()).isTrue();
+        assertThat(decoded.getRGB(0, 0, 97, 61, null, 0, 97)).containsExactly(pixels);
+    }
+
+    @Test
+    void shouldWriteOpaqueImagesAsRgb() throws IOException {
+        int[] pixels = noise(80, 40, true);
+
+        BufferedImage decoded = decode(writeInBands(pixels, 80, 40, true, PngEncodingOptions.STREAMING, 7));
+
+        assertThat(decoded.getColorModel().hasAlpha()).isFalse();
+        assertThat(decoded.getRGB(0, 0, 80, 40, null, 0, 80)).containsExactly(pixels);
+    }
+
+    @Test
+    void shouldSplitLargeImagesIntoSeveralIdatChunks() throws IOException {
+        int width = 700;
+        int height = 400;
+        int[] pixels = noise(width, height, false);
+
+        byte[] png = writeInBands(pixels, width, height, false, new PngEncodingOptions(0, PngFilter.NONE), 64);
+
+        assertThat(png.length).isGreaterThan(PngStripWriter.CHUNK_BYTES);
+        assertThat(decode(png).getRGB(0, 0, width, height, null, 0, width)).containsExactly(pixels);
+    }
+
+    @Test
+    void shouldRejectClosingAnIncompleteImage() throws IOException {
+        PngStripWriter writer = new PngStripWriter(new ByteArrayOutputStream(), 10, 10, true,
+                PngEncodingOptions.STREAMING);
+        writer.writeRows(new int[100], 0, 5);
+
+        assertThatThrownBy(writer::close)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("5 rows written of 10");
+    }
+
+    private static byte[] writeInBands(int[] pixels, int width, int height, boolean opaque,
+                                       PngEncodingOptions options, int bandRows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PngStripWriter writer = new PngStripWriter(out, width, height, opaque, options)) {
+            for (int y = 0; y < height; y += bandRows) {
+                writer.writeRows(pixels, y * width, Math.min(bandRows, height - y));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static int[] noise(int width, int height, boolean opaque) {
+        Random random = new Random(42);
+        int[] pixels = new int[width * height];
+        for (int i = 0; i < pixels.length; i++) {
+            int alpha = opaque ? 0xFF : 128 + random.nextInt(128);
+            pixels[i] = alpha << 24 | (i % width) * 255 / width << 16 | random.nextInt(256) << 8 | random.nextInt(32);
+        }
+        return pixels;
+    }
+
+    private static BufferedImage decode(byte[] png) throws IOException {
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(png));
+        assertThat(decoded).isNotNull();
+        return decoded;
+    }
+}
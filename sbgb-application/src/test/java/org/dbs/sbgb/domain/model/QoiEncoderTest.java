@@ -0,0 +1,132 @@
+package org.dbs.sbgb.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QoiEncoderTest {
+
+    private final QoiEncoder encoder = new QoiEncoder();
+
+    @Test
+    void shouldRoundTripTranslucentPixels() throws IOException {
+        BufferedImage image = noisyGradient(97, 61, BufferedImage.TYPE_INT_ARGB);
+
+        byte[] qoi = encode(image);
+
+        assertThat(qoi[12]).isEqualTo((byte) 4);
+        assertThat(decode(qoi)).containsExactly(image.getRGB(0, 0, 97, 61, null, 0, 97));
+    }
+
+    @Test
+    void shouldWriteOpaqueImagesWithThreeChannels() throws IOException {
+        BufferedImage image = noisyGradient(80, 40, BufferedImage.TYPE_INT_RGB);
+
+        byte[] qoi = encode(image);
+
+        assertThat(qoi[12]).isEqualTo((byte) 3);
+        assertThat(decode(qoi)).containsExactly(image.getRGB(0, 0, 80, 40, null, 0, 80));
+    }
+
+    @Test
+    void shouldCompressUniformAreasIntoRuns() throws IOException {
+        BufferedImage image = new BufferedImage(256, 256, BufferedImage.TYPE_INT_RGB);
+
+        byte[] qoi = encode(image);
+
+        // 65536 identical pixels: about 1057 runs of 62, plus header and end marker
+        assertThat(qoi.length).isLessThan(1200);
+        assertThat(decode(qoi)).containsOnly(0xFF000000);
+    }
+
+    @Test
+    void shouldWriteHeaderAndEndMarker() throws IOException {
+        byte[] qoi = encode(noisyGradient(7, 3, BufferedImage.TYPE_INT_ARGB));
+
+        ByteBuffer header = ByteBuffer.wrap(qoi);
+        assertThat(new String(qoi, 0, 4, StandardCharsets.US_ASCII)).isEqualTo("qoif");
+        assertThat(header.getInt(4)).isEqualTo(7);
+        assertThat(header.getInt(8)).isEqualTo(3);
+        assertThat(Arrays.copyOfRange(qoi, qoi.length - 8, qoi.length)).containsExactly(0, 0, 0, 0, 0, 0, 0, 1);
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.encode(image, out);
+        return out.toByteArray();
+    }
+
+    /** Reference decoder following the QOI specification, returning ARGB pixels. */
+    private static int[] decode(byte[] qoi) {
+        ByteBuffer in = ByteBuffer.wrap(qoi);
+        int width = in.getInt(4);
+        int height = in.getInt(8);
+        in.position(14);
+        int[] pixels = new int[width * height];
+        int[] index = new int[64];
+        int r = 0, g = 0, b = 0, a = 255;
+        int run = 0;
+        for (int i = 0; i < pixels.length; i++) {
+            if (run > 0) {
+                run--;
+            } else {
+                int op = in.get() & 0xFF;
+                if (op == 0xFE) {
+                    r = in.get() & 0xFF;
+                    g = in.get() & 0xFF;
+                    b = in.get() & 0xFF;
+                } else if (op == 0xFF) {
+                    r = in.get() & 0xFF;
+                    g = in.get() & 0xFF;
+                    b = in.get() & 0xFF;
+                    a = in.get() & 0xFF;
+                } else if ((op & 0xC0) == 0x00) {
+                    int pixel = index[op];
+                    a = pixel >>> 24;
+                    r = (pixel >>> 16) & 0xFF;
+                    g = (pixel >>> 8) & 0xFF;
+                    b = pixel & 0xFF;
+                } else if ((op & 0xC0) == 0x40) {
+                    r = (r + ((op >> 4) & 3) - 2) & 0xFF;
+                    g = (g + ((op >> 2) & 3) - 2) & 0xFF;
+                    b = (b + (op & 3) - 2) & 0xFF;
+                } else if ((op & 0xC0) == 0x80) {
+                    int second = in.get() & 0xFF;
+                    int dg = (op & 0x3F) - 32;
+                    r = (r + dg + ((second >> 4) & 0xF) - 8) & 0xFF;
+                    g = (g + dg) & 0xFF;
+                    b = (b + dg + (second & 0xF) - 8) & 0xFF;
+                } else {
+                    run = op & 0x3F;
+                }
+            }
+            int pixel = a << 24 | r << 16 | g << 8 | b;
+            index[(r * 3 + g * 5 + b * 7 + a * 11) & 63] = pixel;
+            pixels[i] = pixel;
+        }
+        return pixels;
+    }
+
+    private static BufferedImage noisyGradient(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Random random = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int alpha = x < width / 3 ? 255 : 128 + (x + y) % 128;
+                int red = x * 255 / width;
+                int green = y / 4 * 4 * 255 / height;
+                int blue = random.nextInt(4) == 0 ? random.nextInt(256) : 16;
+                image.setRGB(x, y, alpha << 24 | red << 16 | green << 8 | blue);
+            }
+        }
+        return image;
+    }
+}
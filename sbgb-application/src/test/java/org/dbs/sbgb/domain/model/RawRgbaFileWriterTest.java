@@ -0,0 +1,64 @@
+package org.dbs.sbgb.domain.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RawRgbaFileWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldWriteTheHeaderThenRgbaBytesRowByRow() throws IOException {
+        Path file = directory.resolve("image.rgba");
+        int[] pixels = {0x80112233, 0xFF445566, 0x00778899, 0x10AABBCC, 0xFFDDEEFF, 0x01020304};
+
+        try (RawRgbaFileWriter writer = new RawRgbaFileWriter(file, 2, 3, false)) {
+            writer.writeRows(pixels, 0, 1);
+            writer.writeRows(pixels, 2, 2);
+        }
+
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(bytes.capacity()).isEqualTo(RawRgbaFileWriter.length(2, 3));
+        assertThat(new String(bytes.array(), 0, 4)).isEqualTo("SBGR");
+        assertThat(bytes.getInt(4)).isEqualTo(RawRgbaFileWriter.VERSION);
+        assertThat(bytes.getInt(8)).isEqualTo(2);
+        assertThat(bytes.getInt(12)).isEqualTo(3);
+        assertThat(bytes.getInt(16)).isEqualTo(RawRgbaFileWriter.CHANNELS);
+        bytes.order(ByteOrder.BIG_ENDIAN);
+        assertThat(bytes.getInt(20)).isEqualTo(0x11223380);
+        assertThat(bytes.getInt(24)).isEqualTo(0x445566FF);
+        assertThat(bytes.getInt(40)).isEqualTo(0x02030401);
+    }
+
+    @Test
+    void shouldWriteOpaqueImagesWithFullAlpha() throws IOException {
+        Path file = directory.resolve("opaque.rgba");
+
+        try (RawRgbaFileWriter writer = new RawRgbaFileWriter(file, 1, 1, true)) {
+            writer.writeRows(new int[]{0x00123456}, 0, 1);
+        }
+
+        assertThat(ByteBuffer.wrap(Files.readAllBytes(file)).getInt(RawRgbaFileWriter.HEADER_BYTES))
+                .isEqualTo(0x123456FF);
+    }
+
+    @Test
+    void shouldRejectClosingAnIncompleteImage() throws IOException {
+        RawRgbaFileWriter writer = new RawRgbaFileWriter(directory.resolve("partial.rgba"), 4, 4, true);
+        writer.writeRows(new int[16], 0, 3);
+
+        assertThatThrownBy(writer::close)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("3 rows written of 4");
+    }
+}
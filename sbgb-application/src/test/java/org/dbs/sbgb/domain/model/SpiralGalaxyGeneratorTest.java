@@ -90,7 +90,7 @@ class SpiralGalaxyGeneratorTest {
 
     @Test
     void testGenerateBuffer() {
-        float[] buffer = generator.generateBuffer();
+        float[] buffer = generator.generateBuffer(TileRenderEngine.shared());
         assertThat(buffer).hasSize(WIDTH * HEIGHT);
         // Center should be bright (modulated by noise, could be low but > 0.05)
         assertThat(buffer[(HEIGHT / 2) * WIDTH + (WIDTH / 2)]).isGreaterThan(0.05f);
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -21,6 +22,7 @@ class StarFieldGeneratorTest {
             .diffractionSpikes(false)
             .spikeCount(4)
             .seed(12345L)
+            .tileRenderEngine(TileRenderEngine.shared())
             .build();
 
         // When
@@ -42,6 +44,7 @@ class StarFieldGeneratorTest {
             .diffractionSpikes(false)
             .spikeCount(4)
             .seed(12345L)
+            .tileRenderEngine(TileRenderEngine.shared())
             .build();
 
         // When
@@ -71,6 +74,7 @@ class StarFieldGeneratorTest {
             .diffractionSpikes(false)
             .spikeCount(4)
             .seed(42L)
+            .tileRenderEngine(TileRenderEngine.shared())
             .build();
 
         StarFieldGenerator generator2 = StarFieldGenerator.builder()
@@ -81,6 +85,7 @@ class StarFieldGeneratorTest {
             .diffractionSpikes(false)
             .spikeCount(4)
             .seed(42L)
+            .tileRenderEngine(TileRenderEngine.shared())
             .build();
 
         // When
@@ -105,6 +110,7 @@ class StarFieldGeneratorTest {
             .diffractionSpikes(false)
             .spikeCount(4)
             .seed(42L)
+            .tileRenderEngine(TileRenderEngine.shared())
             .build();
 
         StarFieldGenerator generator2 = StarFieldGenerator.builder()
@@ -115,6 +121,7 @@ class StarFieldGeneratorTest {
             .diffractionSpikes(false)
             .spikeCount(4)
             .seed(999L)
+            .tileRenderEngine(TileRenderEngine.shared())
             .build();
 
         // When
@@ -143,6 +150,7 @@ class StarFieldGeneratorTest {
             .diffractionSpikes(false)
             .spikeCount(4)
             .seed(12345L)
+            .tileRenderEngine(TileRenderEngine.shared())
             .build();
 
         StarFieldGenerator highDensity = StarFieldGenerator.builder()
@@ -153,6 +161,7 @@ class StarFieldGeneratorTest {
             .diffractionSpikes(false)
             .spikeCount(4)
             .seed(12345L)
+            .tileRenderEngine(TileRenderEngine.shared())
             .build();
 
         // When
@@ -166,6 +175,95 @@ class StarFieldGeneratorTest {
         assertThat(highCount).isGreaterThan(lowCount * 2);  // At least 2x more pixels
     }
 
+    @Test
+    void shouldRenderTheSamePixelsWhateverTheTilingAndThreadCount() {
+        BufferedImage galaxy = createBlackImage(300, 200);
+
+        try (TileRenderEngine sequential = new TileRenderEngine(1, 16);
+             TileRenderEngine parallel = new TileRenderEngine(4, 64)) {
+            BufferedImage first = spikedGenerator(sequential).applyStarField(galaxy);
+            BufferedImage second = spikedGenerator(parallel).applyStarField(galaxy);
+
+            assertThat(pixels(first)).containsExactly(pixels(second));
+        }
+    }
+
+    @Test
+    void shouldKeepTheSameStarsWhenSpikesAreEnabled() {
+        BufferedImage galaxy = createBlackImage(300, 200);
+        StarFieldGenerator plain = StarFieldGenerator.builder()
+            .width(300)
+            .height(200)
+            .starDensity(0.002)
+            .maxStarSize(6)
+            .diffractionSpikes(false)
+            .spikeCount(4)
+            .seed(7L)
+            .tileRenderEngine(TileRenderEngine.shared())
+            .build();
+
+        int plainCount = countNonBlackPixels(plain.applyStarField(galaxy));
+        int spikedCount = countNonBlackPixels(spikedGenerator(TileRenderEngine.shared()).applyStarField(galaxy));
+
+        assertThat(spikedCount).isGreaterThan(plainCount);
+    }
+
+    @Test
+    void shouldCopyAnOpaqueGalaxyAsOpaquePixels() {
+        BufferedImage galaxy = new BufferedImage(120, 100, BufferedImage.TYPE_INT_RGB);
+        galaxy.setRGB(5, 5, 0x123456);
+
+        BufferedImage result = spikedGenerator(TileRenderEngine.shared(), 120, 100, 0.00005).applyStarField(galaxy);
+
+        assertThat(result.getRGB(0, 0) >>> 24).isEqualTo(0xFF);
+        assertThat(result.getRGB(5, 5) & 0xFFFFFF).isEqualTo(0x123456);
+    }
+
+    @Test
+    void shouldStampTheSameTiledStarsWhateverTheBandHeight() {
+        StarFieldGenerator generator = spikedGenerator(TileRenderEngine.shared(), 300, 600, 0.002);
+        ArgbImageBuffer whole = blackBuffer(300, 600);
+        generator.stampBand(whole, 0);
+
+        for (int bandRows : new int[]{1, 37, 256, 599}) {
+            int[] joined = new int[300 * 600];
+            for (int top = 0; top < 600; top += bandRows) {
+                ArgbImageBuffer band = blackBuffer(300, Math.min(bandRows, 600 - top));
+                generator.stampBand(band, top);
+                System.arraycopy(band.pixels(), 0, joined, top * 300, band.pixels().length);
+            }
+            assertThat(joined).as("bands of %d rows", bandRows).containsExactly(whole.pixels());
+        }
+        assertThat(Arrays.stream(whole.pixels()).anyMatch(argb -> (argb & 0xFFFFFF) != 0)).isTrue();
+    }
+
+    private ArgbImageBuffer blackBuffer(int width, int height) {
+        ArgbImageBuffer buffer = ArgbImageBuffer.create(width, height);
+        Arrays.fill(buffer.pixels(), 0xFF000000);
+        return buffer;
+    }
+
+    private StarFieldGenerator spikedGenerator(TileRenderEngine engine) {
+        return spikedGenerator(engine, 300, 200, 0.002);
+    }
+
+    private StarFieldGenerator spikedGenerator(TileRenderEngine engine, int width, int height, double density) {
+        return StarFieldGenerator.builder()
+            .width(width)
+            .height(height)
+            .starDensity(density)
+            .maxStarSize(6)
+            .diffractionSpikes(true)
+            .spikeCount(6)
+            .seed(7L)
+            .tileRenderEngine(engine)
+            .build();
+    }
+
+    private int[] pixels(BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+
     private BufferedImage createBlackImage(int width, int height) {
         BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
         Graphics2D g2d = image.createGraphics();
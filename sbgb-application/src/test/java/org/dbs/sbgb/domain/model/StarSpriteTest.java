@@ -0,0 +1,67 @@
+package org.dbs.sbgb.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StarSpriteTest {
+
+    private static final int WIDTH = 40;
+    private static final int OPAQUE_BLACK = 0xFF000000;
+
+    @Test
+    void shouldStampASmallStarScaledByItsBrightness() {
+        int[] raster = blackRaster();
+        StarSprite sprite = StarSpriteAtlas.sprite(2, StarSpriteAtlas.ColorClass.WHITE, 0);
+
+        sprite.stamp(raster, WIDTH, 10, 10, 0.5f, 0, 0, WIDTH, WIDTH);
+
+        assertThat(raster[10 * WIDTH + 10]).isEqualTo(0xFF808080);
+        assertThat(raster[11 * WIDTH + 11]).isEqualTo(0xFF808080);
+        assertThat(raster[12 * WIDTH + 12]).isEqualTo(OPAQUE_BLACK);
+    }
+
+    @Test
+    void shouldOnlyWriteInsideTheClipRectangle() {
+        int[] raster = blackRaster();
+        StarSprite sprite = StarSpriteAtlas.sprite(5, StarSpriteAtlas.ColorClass.YELLOW_WHITE, 4);
+
+        sprite.stamp(raster, WIDTH, 20, 20, 1.0f, 20, 0, WIDTH, WIDTH);
+
+        for (int y = 0; y < WIDTH; y++) {
+            for (int x = 0; x < 20; x++) {
+                assertThat(raster[y * WIDTH + x]).isEqualTo(OPAQUE_BLACK);
+            }
+        }
+        assertThat(raster[20 * WIDTH + 20]).isNotEqualTo(OPAQUE_BLACK);
+    }
+
+    @Test
+    void shouldReachFartherWithDiffractionSpikes() {
+        StarSprite plain = StarSpriteAtlas.sprite(4, StarSpriteAtlas.ColorClass.WHITE, 0);
+        StarSprite spiked = StarSpriteAtlas.sprite(4, StarSpriteAtlas.ColorClass.WHITE, 4);
+        int[] plainRaster = blackRaster();
+        int[] spikedRaster = blackRaster();
+
+        plain.stamp(plainRaster, WIDTH, 20, 20, 1.0f, 0, 0, WIDTH, WIDTH);
+        spiked.stamp(spikedRaster, WIDTH, 20, 20, 1.0f, 0, 0, WIDTH, WIDTH);
+
+        // 12px to the right of the star: outside the 8px glow, on the horizontal spike
+        assertThat(plainRaster[20 * WIDTH + 32]).isEqualTo(OPAQUE_BLACK);
+        assertThat(spikedRaster[20 * WIDTH + 32]).isNotEqualTo(OPAQUE_BLACK);
+    }
+
+    @Test
+    void shouldShareSpritesBetweenStarsOfTheSameClass() {
+        assertThat(StarSpriteAtlas.sprite(3, StarSpriteAtlas.ColorClass.BLUE_WHITE, 6))
+                .isSameAs(StarSpriteAtlas.sprite(3, StarSpriteAtlas.ColorClass.BLUE_WHITE, 6));
+    }
+
+    private static int[] blackRaster() {
+        int[] raster = new int[WIDTH * WIDTH];
+        Arrays.fill(raster, OPAQUE_BLACK);
+        return raster;
+    }
+}
@@ -0,0 +1,95 @@
+package org.dbs.sbgb.domain.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TileRenderEngineTest {
+
+    private static final int WIDTH = 150;
+    private static final int HEIGHT = 70;
+
+    private final TileRenderEngine engine = new TileRenderEngine(4, 32);
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    void shouldVisitEveryPixelExactlyOnce() {
+        AtomicIntegerArray visits = new AtomicIntegerArray(WIDTH * HEIGHT);
+
+        TileRenderEngine.TileRenderReport report = engine.forEachTile(WIDTH, HEIGHT, (x0, y0, x1, y1) -> {
+            for (int y = y0; y < y1; y++) {
+                for (int x = x0; x < x1; x++) {
+                    visits.incrementAndGet(y * WIDTH + x);
+                }
+            }
+        });
+
+        for (int i = 0; i < visits.length(); i++) {
+            assertThat(visits.get(i)).as("pixel %d", i).isEqualTo(1);
+        }
+        assertThat(report.tilesX()).isEqualTo(5);
+        assertThat(report.tilesY()).isEqualTo(3);
+        assertThat(report.tileCount()).isEqualTo(15);
+        assertThat(report.maxTileMillis()).isGreaterThanOrEqualTo(report.minTileMillis());
+    }
+
+    @Test
+    void shouldWriteArgbRasterInRowMajorOrder() {
+        int[] raster = new int[WIDTH * HEIGHT];
+
+        engine.renderArgb(raster, WIDTH, HEIGHT, (x, y) -> y * 1000 + x);
+
+        assertThat(raster[0]).isEqualTo(0);
+        assertThat(raster[WIDTH - 1]).isEqualTo(WIDTH - 1);
+        assertThat(raster[5 * WIDTH + 40]).isEqualTo(5040);
+        assertThat(raster[raster.length - 1]).isEqualTo((HEIGHT - 1) * 1000 + WIDTH - 1);
+    }
+
+    @Test
+    void shouldRenderIntensityLikeSequentialEvaluation() {
+        GalaxyIntensityCalculator calculator = (x, y) -> Math.sin(x * 0.1) * Math.cos(y * 0.07);
+
+        float[] buffer = engine.renderIntensity(WIDTH, HEIGHT, calculator);
+
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                assertThat(buffer[y * WIDTH + x]).isEqualTo((float) calculator.calculateGalaxyIntensity(x, y));
+            }
+        }
+    }
+
+    @Test
+    void shouldRenderNothingForAGridWithoutRows() {
+        TileRenderEngine.TileRenderReport report = engine.forEachTile(WIDTH, 0, (x0, y0, x1, y1) -> {
+            throw new AssertionError("no tile expected");
+        });
+
+        assertThat(report.tileCount()).isZero();
+        assertThat(report.tilesY()).isZero();
+        assertThat(report.maxTileMillis()).isZero();
+    }
+
+    @Test
+    void shouldRenderNothingForAGridWithoutColumns() {
+        float[] buffer = engine.renderIntensity(0, HEIGHT, (x, y) -> 1.0);
+
+        assertThat(buffer).isEmpty();
+        assertThat(engine.forEachTile(0, HEIGHT, (x0, y0, x1, y1) -> {
+            throw new AssertionError("no tile expected");
+        }).tilesX()).isZero();
+    }
+
+    @Test
+    void shouldRejectNonPositiveTileSize() {
+        assertThatThrownBy(() -> new TileRenderEngine(2, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
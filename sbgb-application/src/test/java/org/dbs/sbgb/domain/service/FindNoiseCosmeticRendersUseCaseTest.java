@@ -1,7 +1,9 @@
 package org.dbs.sbgb.domain.service;
 
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.domain.model.NoiseBaseStructure;
 import org.dbs.sbgb.domain.model.NoiseCosmeticRender;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
 import org.dbs.sbgb.port.in.ImageRequestCmd;
 import org.dbs.sbgb.port.out.NoiseBaseStructureRepository;
 import org.dbs.sbgb.port.out.NoiseCosmeticRenderRepository;
@@ -22,7 +24,7 @@ class FindNoiseCosmeticRendersUseCaseTest {
         imagesService = new ImagesService(
                 new InMemoryNoiseBaseStructureRepository(),
                 new InMemoryNoiseCosmeticRenderRepository(),
-                new cucumber.steps.NoiseGridComputationPortStub());
+                new cucumber.steps.NoiseGridComputationPortStub(), new ImageSerializer(TileRenderEngine.shared()));
     }
 
     @Test
@@ -82,8 +84,8 @@ class FindNoiseCosmeticRendersUseCaseTest {
         public List<NoiseBaseStructure> findAll() { return List.copyOf(db); }
 
         @Override
-        public Optional<NoiseBaseStructure> findByConfigHash(int hash) {
-            return db.stream().filter(b -> b.configHash() == hash).findFirst();
+        public Optional<NoiseBaseStructure> findByConfigKey(ContentKey configKey) {
+            return db.stream().filter(b -> b.configKey().equals(configKey)).findFirst();
         }
 
         @Override
@@ -121,9 +123,9 @@ class FindNoiseCosmeticRendersUseCaseTest {
         }
 
         @Override
-        public Optional<NoiseCosmeticRender> findByBaseStructureIdAndCosmeticHash(UUID baseStructureId, int cosmeticHash) {
+        public Optional<NoiseCosmeticRender> findByBaseStructureIdAndCosmeticKey(UUID baseStructureId, ContentKey cosmeticKey) {
             return db.stream()
-                    .filter(r -> r.baseStructureId().equals(baseStructureId) && r.cosmeticHash() == cosmeticHash)
+                    .filter(r -> r.baseStructureId().equals(baseStructureId) && r.cosmeticKey().equals(cosmeticKey))
                     .findFirst();
         }
 
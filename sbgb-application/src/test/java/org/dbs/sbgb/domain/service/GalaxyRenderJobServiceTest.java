@@ -0,0 +1,160 @@
+package org.dbs.sbgb.domain.service;
+
+import org.dbs.sbgb.domain.exception.RenderJobQueueFullException;
+import org.dbs.sbgb.domain.model.RenderJob;
+import org.dbs.sbgb.domain.model.TiledImageFormat;
+import org.dbs.sbgb.port.in.GalaxyRequestCmd;
+import org.dbs.sbgb.port.in.SpiralParameters;
+import org.dbs.sbgb.port.out.GalaxyTiledRenderPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class GalaxyRenderJobServiceTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    @Mock private GalaxyTiledRenderPort galaxyTiledRenderPort;
+    @Mock private Clock clock;
+
+    private final List<Runnable> queued = new ArrayList<>();
+    private GalaxyRenderJobService service;
+
+    @BeforeEach
+    void setUp() {
+        org.mockito.MockitoAnnotations.openMocks(this);
+        when(clock.instant()).thenReturn(NOW);
+        service = new GalaxyRenderJobService(galaxyTiledRenderPort, queued::add, TTL, clock);
+    }
+
+    @Test
+    void shouldQueueThenRenderTheJobAtTheRequestedSize() throws IOException {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder()
+                .width(1000).height(1000).seed(9L).galaxyRadius(400.0).warpStrength(20.0)
+                .spiralParameters(new SpiralParameters(2, 40.0, 4.0, 0.0)).build();
+        Path output = Path.of("galaxy.png");
+        ArgumentCaptor<GalaxyRequestCmd> rendered = ArgumentCaptor.forClass(GalaxyRequestCmd.class);
+        when(galaxyTiledRenderPort.render(any(), rendered.capture(), eq(TiledImageFormat.PNG), any()))
+                .thenReturn(output);
+
+        RenderJob job = service.submit(cmd, 16000, 9000, TiledImageFormat.PNG);
+
+        assertThat(job.status()).isEqualTo(RenderJob.Status.QUEUED);
+        assertThat(service.findJob(job.id())).contains(job);
+
+        queued.forEach(Runnable::run);
+
+        RenderJob done = service.findJob(job.id()).orElseThrow();
+        assertThat(done.status()).isEqualTo(RenderJob.Status.DONE);
+        assertThat(done.output()).isEqualTo(output);
+        assertThat(done.rowsWritten()).isEqualTo(9000);
+        assertThat(rendered.getValue().getWidth()).isEqualTo(16000);
+        assertThat(rendered.getValue().getHeight()).isEqualTo(9000);
+        assertThat(rendered.getValue().getGalaxyRadius()).isEqualTo(6400.0);
+        assertThat(rendered.getValue().getWarpStrength()).isEqualTo(320.0);
+        assertThat(rendered.getValue().getSpiralParameters().armWidth()).isEqualTo(640.0);
+        assertThat(rendered.getValue().getSeed()).isEqualTo(9L);
+    }
+
+    @Test
+    void shouldReportProgressWhileRunning() throws IOException {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder().width(500).height(500).build();
+        List<RenderJob> seen = new ArrayList<>();
+        when(galaxyTiledRenderPort.render(any(), any(), any(), any())).thenAnswer(invocation -> {
+            IntConsumer progress = invocation.getArgument(3);
+            progress.accept(120);
+            seen.add(service.findJob(invocation.getArgument(0)).orElseThrow());
+            return Path.of("galaxy.rgba");
+        });
+
+        RenderJob job = service.submit(cmd, 500, 500, TiledImageFormat.RAW_RGBA);
+        queued.forEach(Runnable::run);
+
+        assertThat(seen).singleElement().satisfies(running -> {
+            assertThat(running.id()).isEqualTo(job.id());
+            assertThat(running.status()).isEqualTo(RenderJob.Status.RUNNING);
+            assertThat(running.rowsWritten()).isEqualTo(120);
+        });
+    }
+
+    @Test
+    void shouldMarkTheJobAsFailedWhenTheRenderFails() throws IOException {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder().width(500).height(500).build();
+        when(galaxyTiledRenderPort.render(any(), any(), any(), any())).thenThrow(new IOException("disk full"));
+
+        RenderJob job = service.submit(cmd, 500, 500, TiledImageFormat.PNG);
+        queued.forEach(Runnable::run);
+
+        RenderJob failed = service.findJob(job.id()).orElseThrow();
+        assertThat(failed.status()).isEqualTo(RenderJob.Status.FAILED);
+        assertThat(failed.error()).isEqualTo("disk full");
+        assertThat(failed.output()).isNull();
+    }
+
+    @Test
+    void shouldRejectSizesOutOfRange() {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder().width(500).height(500).build();
+
+        assertThatThrownBy(() -> service.submit(cmd, 70000, 500, TiledImageFormat.PNG))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("width");
+        assertThatThrownBy(() -> service.submit(cmd, 500, 99, TiledImageFormat.PNG))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("height");
+        assertThat(queued).isEmpty();
+        verifyNoInteractions(galaxyTiledRenderPort);
+    }
+
+    @Test
+    void shouldRefuseTheJobWhenTheQueueIsFull() {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder().width(500).height(500).build();
+        GalaxyRenderJobService saturated = new GalaxyRenderJobService(galaxyTiledRenderPort, task -> {
+            throw new RejectedExecutionException("queue full");
+        }, TTL, clock);
+
+        assertThatThrownBy(() -> saturated.submit(cmd, 500, 500, TiledImageFormat.PNG))
+                .isInstanceOf(RenderJobQueueFullException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void shouldForgetFinishedJobsAndTheirFilesOnceExpired() throws IOException {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder().width(500).height(500).build();
+        when(galaxyTiledRenderPort.render(any(), any(), any(), any())).thenReturn(Path.of("galaxy.png"));
+        RenderJob finished = service.submit(cmd, 500, 500, TiledImageFormat.PNG);
+        queued.forEach(Runnable::run);
+        queued.clear();
+        RenderJob waiting = service.submit(cmd, 500, 500, TiledImageFormat.PNG);
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL));
+        service.purgeExpired();
+        assertThat(service.findJob(finished.id())).isPresent();
+        verify(galaxyTiledRenderPort).deleteOutputsOlderThan(NOW);
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL).plusSeconds(1));
+        service.purgeExpired();
+        assertThat(service.findJob(finished.id())).isEmpty();
+        assertThat(service.findJob(waiting.id())).isPresent();
+        verify(galaxyTiledRenderPort).deleteOutputsOlderThan(NOW.plusSeconds(1));
+    }
+}
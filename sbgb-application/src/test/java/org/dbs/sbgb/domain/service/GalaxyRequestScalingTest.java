@@ -0,0 +1,59 @@
+package org.dbs.sbgb.domain.service;
+
+import org.dbs.sbgb.port.in.BloomParameters;
+import org.dbs.sbgb.port.in.EllipticalParameters;
+import org.dbs.sbgb.port.in.GalaxyRequestCmd;
+import org.dbs.sbgb.port.in.IrregularParameters;
+import org.dbs.sbgb.port.in.RingParameters;
+import org.dbs.sbgb.port.in.SpiralParameters;
+import org.dbs.sbgb.port.in.VoronoiParameters;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GalaxyRequestScalingTest {
+
+    @Test
+    void shouldScaleEveryPixelParameterByTheWidthRatio() {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder()
+                .width(1000).height(800).seed(7L)
+                .galaxyType("RING").coreSize(0.05)
+                .galaxyRadius(400.0).warpStrength(100.0)
+                .spiralParameters(new SpiralParameters(3, 80.0, 4.0, 0.2))
+                .voronoiParameters(new VoronoiParameters(50, 60.0, 0.7))
+                .ellipticalParameters(new EllipticalParameters(4.0, 0.7, 30.0))
+                .ringParameters(new RingParameters(300.0, 40.0, 1.0, 0.3))
+                .irregularParameters(new IrregularParameters(0.8, 15, 120.0))
+                .build();
+
+        GalaxyRequestCmd scaled = GalaxyRequestScaling.rescaled(cmd, 250, 200).build();
+
+        assertThat(scaled.getWidth()).isEqualTo(250);
+        assertThat(scaled.getHeight()).isEqualTo(200);
+        assertThat(scaled.getSeed()).isEqualTo(7L);
+        assertThat(scaled.getCoreSize()).isEqualTo(0.05);
+        assertThat(scaled.getGalaxyRadius()).isEqualTo(100.0);
+        assertThat(scaled.getWarpStrength()).isEqualTo(25.0);
+        assertThat(scaled.getSpiralParameters()).isEqualTo(new SpiralParameters(3, 20.0, 4.0, 0.2));
+        assertThat(scaled.getVoronoiParameters()).isEqualTo(new VoronoiParameters(50, 15.0, 0.7));
+        assertThat(scaled.getEllipticalParameters()).isEqualTo(cmd.getEllipticalParameters());
+        assertThat(scaled.getRingParameters()).isEqualTo(new RingParameters(75.0, 10.0, 1.0, 0.3));
+        assertThat(scaled.getIrregularParameters()).isEqualTo(new IrregularParameters(0.8, 15, 30.0));
+    }
+
+    @Test
+    void shouldScaleDefaultsOfMissingPixelParameters() {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder()
+                .width(1000).height(1000)
+                .spiralParameters(new SpiralParameters(2, null, 4.0, 0.0))
+                .bloomParameters(BloomParameters.disabled())
+                .build();
+
+        GalaxyRequestCmd scaled = GalaxyRequestScaling.rescaled(cmd, 500, 500).build();
+
+        assertThat(scaled.getGalaxyRadius()).isEqualTo(750.0);
+        assertThat(scaled.getSpiralParameters().armWidth()).isEqualTo(40.0);
+        assertThat(scaled.getRingParameters()).isNull();
+        assertThat(scaled.getBloomParameters()).isEqualTo(cmd.getBloomParameters());
+    }
+}
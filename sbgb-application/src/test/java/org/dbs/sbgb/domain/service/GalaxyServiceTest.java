@@ -1,15 +1,25 @@
 package org.dbs.sbgb.domain.service;
 
+import org.dbs.sbgb.domain.model.ContentKey;
+import org.dbs.sbgb.domain.model.EncodedImage;
+import org.dbs.sbgb.domain.model.ImageEncoding;
+import org.dbs.sbgb.domain.model.ImageFormat;
+import org.dbs.sbgb.domain.model.PreviewPass;
 import org.dbs.sbgb.port.in.GalaxyRequestCmd;
 import org.dbs.sbgb.port.out.GalaxyBaseStructureRepository;
 import org.dbs.sbgb.port.out.GalaxyCosmeticRenderRepository;
 import org.dbs.sbgb.port.out.GalaxyImageComputationPort;
+import org.dbs.sbgb.port.out.GalaxyIntensityFieldComputationPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -21,6 +31,7 @@ class GalaxyServiceTest {
     @Mock private GalaxyCosmeticRenderRepository cosmeticRenderRepository;
     @Mock private ImageSerializer imageSerializer;
     @Mock private GalaxyImageComputationPort galaxyImageComputationPort;
+    @Mock private GalaxyIntensityFieldComputationPort galaxyIntensityFieldComputationPort;
 
     private GalaxyService galaxyService;
 
@@ -28,7 +39,7 @@ class GalaxyServiceTest {
     void setUp() {
         org.mockito.MockitoAnnotations.openMocks(this);
         galaxyService = new GalaxyService(baseStructureRepository, cosmeticRenderRepository,
-                imageSerializer, galaxyImageComputationPort);
+                imageSerializer, galaxyImageComputationPort, galaxyIntensityFieldComputationPort);
     }
 
     @Test
@@ -39,15 +50,65 @@ class GalaxyServiceTest {
                 .multiLayerNoiseParameters(new org.dbs.sbgb.port.in.MultiLayerNoiseParameters(false, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0))
                 .build();
 
-        BufferedImage mockImage = mock(BufferedImage.class);
-        when(galaxyImageComputationPort.computeImage(anyInt(), eq(cmd))).thenReturn(mockImage);
-
         byte[] fakeBytes = new byte[]{10, 11, 12};
-        when(imageSerializer.toByteArray(mockImage)).thenReturn(fakeBytes);
+        when(galaxyImageComputationPort.computeEncoded(any(ContentKey.class), any(ContentKey.class), eq(cmd),
+                eq(ImageEncoding.preview(ImageFormat.PNG))))
+                .thenReturn(fakeBytes);
+
+        EncodedImage result = galaxyService.buildGalaxyImage(cmd, ImageEncoding.preview(ImageFormat.PNG));
+
+        assertThat(result.toByteArray()).isEqualTo(fakeBytes);
+        assertThat(result.contentLength()).hasValue(fakeBytes.length);
+        verify(imageSerializer, never()).toByteArray(any());
+    }
+
+    @Test
+    void shouldRenderReducedPassesBeforeTheFinalImage() throws IOException {
+        GalaxyRequestCmd cmd = buildCmd(100, 60);
+        ImageEncoding encoding = ImageEncoding.preview(ImageFormat.PNG);
+        byte[] finalBytes = new byte[]{1, 2, 3};
+        when(galaxyImageComputationPort.findThumbnail(any(ContentKey.class), any(ContentKey.class))).thenReturn(Optional.empty());
+        when(galaxyImageComputationPort.renderUncached(any(GalaxyRequestCmd.class)))
+                .thenReturn(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB));
+        when(imageSerializer.toByteArray(any(BufferedImage.class), eq(encoding))).thenReturn(new byte[]{9});
+        when(galaxyImageComputationPort.computeEncoded(any(ContentKey.class), any(ContentKey.class), eq(cmd), eq(encoding)))
+                .thenReturn(finalBytes);
+        List<PreviewPass> passes = new ArrayList<>();
+
+        galaxyService.buildGalaxyPreview(cmd, encoding, passes::add);
+
+        assertThat(passes).extracting(PreviewPass::divisor).containsExactly(8, 4, 2, 1);
+        assertThat(passes).extracting(PreviewPass::width).containsExactly(12, 25, 50, 100);
+        assertThat(passes).extracting(PreviewPass::height).containsExactly(7, 15, 30, 60);
+        assertThat(passes.getLast().image()).isEqualTo(finalBytes);
+        ArgumentCaptor<GalaxyRequestCmd> scaled = ArgumentCaptor.forClass(GalaxyRequestCmd.class);
+        verify(galaxyImageComputationPort, times(3)).renderUncached(scaled.capture());
+        verify(galaxyImageComputationPort, never()).computeImage(any(), any());
+        assertThat(scaled.getAllValues()).extracting(GalaxyRequestCmd::getGalaxyRadius).containsExactly(180.0, 375.0, 750.0);
+    }
+
+    @Test
+    void shouldSendOnlyTheFinalPassWhenTheRenderIsAlreadyCached() throws IOException {
+        GalaxyRequestCmd cmd = buildCmd(100, 60);
+        ImageEncoding encoding = ImageEncoding.preview(ImageFormat.PNG);
+        when(galaxyImageComputationPort.findThumbnail(any(ContentKey.class), any(ContentKey.class)))
+                .thenReturn(Optional.of(new byte[]{7}));
+        when(galaxyImageComputationPort.computeEncoded(any(ContentKey.class), any(ContentKey.class), eq(cmd), eq(encoding)))
+                .thenReturn(new byte[]{1});
+        List<PreviewPass> passes = new ArrayList<>();
+
+        galaxyService.buildGalaxyPreview(cmd, encoding, passes::add);
 
-        byte[] result = galaxyService.buildGalaxyImage(cmd);
+        assertThat(passes).extracting(PreviewPass::divisor).containsExactly(1);
+        verify(galaxyImageComputationPort, never()).renderUncached(any());
+    }
 
-        assertThat(result).isEqualTo(fakeBytes);
-        verify(imageSerializer).toByteArray(mockImage);
+    private GalaxyRequestCmd buildCmd(int width, int height) {
+        return GalaxyRequestCmd.builder()
+                .width(width).height(height)
+                .galaxyRadius(1500.0)
+                .noiseParameters(new org.dbs.sbgb.port.in.NoiseParameters(4, 0.5, 2.0, 1.0))
+                .multiLayerNoiseParameters(new org.dbs.sbgb.port.in.MultiLayerNoiseParameters(false, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0))
+                .build();
     }
 }
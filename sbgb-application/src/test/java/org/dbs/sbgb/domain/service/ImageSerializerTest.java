@@ -1,11 +1,20 @@
 package org.dbs.sbgb.domain.service;
 
+import org.dbs.sbgb.domain.model.EncodedImage;
+import org.dbs.sbgb.domain.model.Float32RasterEncoder;
+import org.dbs.sbgb.domain.model.ImageEncoding;
+import org.dbs.sbgb.domain.model.ImageFormat;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -16,7 +25,7 @@ class ImageSerializerTest {
 
     @BeforeEach
     void setUp() {
-        serializer = new ImageSerializer();
+        serializer = new ImageSerializer(TileRenderEngine.shared());
     }
 
     @Test
@@ -63,7 +72,7 @@ class ImageSerializerTest {
         BufferedImage image = createTestImage(10, 10, Color.WHITE);
 
         // When/Then
-        assertThatThrownBy(() -> serializer.toByteArray(image, null))
+        assertThatThrownBy(() -> serializer.toByteArray(image, (String) null))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Format cannot be null or blank");
     }
@@ -93,6 +102,56 @@ class ImageSerializerTest {
         assertThat(largeBytes.length).isGreaterThan(smallBytes.length);
     }
 
+    @Test
+    void shouldSerializeTranslucentImageToOpaqueJpeg() throws IOException {
+        // Given
+        BufferedImage image = createTestImage(40, 40, new Color(255, 255, 255, 128));
+
+        // When
+        byte[] jpeg = serializer.toByteArray(image, ImageEncoding.download(ImageFormat.JPEG));
+
+        // Then
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertThat(decoded.getColorModel().hasAlpha()).isFalse();
+        assertThat(decoded.getRGB(20, 20) & 0xFF).isBetween(120, 136); // half white over black
+    }
+
+    @Test
+    void shouldSerializeImageToQoiByName() throws IOException {
+        // Given
+        BufferedImage image = createTestImage(20, 20, Color.ORANGE);
+
+        // When
+        byte[] qoi = serializer.toByteArray(image, "qoi");
+
+        // Then
+        assertThat(new String(qoi, 0, 4, StandardCharsets.US_ASCII)).isEqualTo("qoif");
+    }
+
+    @Test
+    void shouldRejectFloat32AsRasterEncoding() {
+        // Given
+        BufferedImage image = createTestImage(10, 10, Color.WHITE);
+
+        // When/Then
+        assertThatThrownBy(() -> serializer.toByteArray(image, ImageEncoding.preview(ImageFormat.FLOAT32)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("FLOAT32");
+    }
+
+    @Test
+    void shouldStreamFloat32PlanesWithKnownLength() throws IOException {
+        // Given
+        List<float[]> planes = List.of(new float[6], new float[6]);
+
+        // When
+        EncodedImage raster = serializer.float32(3, 2, planes);
+
+        // Then
+        assertThat(raster.contentLength()).hasValue(Float32RasterEncoder.HEADER_BYTES + 2 * 6 * Float.BYTES);
+        assertThat(raster.toByteArray()).hasSize((int) raster.contentLength().getAsLong());
+    }
+
     private BufferedImage createTestImage(int width, int height, Color color) {
         BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
         Graphics2D g2d = image.createGraphics();
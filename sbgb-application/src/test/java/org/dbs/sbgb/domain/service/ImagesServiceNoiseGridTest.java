@@ -3,17 +3,31 @@ package org.dbs.sbgb.domain.service;
 import cucumber.steps.NoiseBaseStructureRepositoryStub;
 import cucumber.steps.NoiseCosmeticRenderRepositoryStub;
 import cucumber.steps.NoiseGridComputationPortStub;
+import org.dbs.sbgb.domain.model.ContentKey;
+import org.dbs.sbgb.domain.model.EncodedImage;
+import org.dbs.sbgb.domain.model.ImageEncoding;
+import org.dbs.sbgb.domain.model.ImageFormat;
+import org.dbs.sbgb.domain.model.NoiseCosmeticRender;
 import org.dbs.sbgb.domain.model.NormalizedNoiseGrid;
+import org.dbs.sbgb.domain.model.PreviewPass;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
 import org.dbs.sbgb.port.in.ImageRequestCmd;
 import org.dbs.sbgb.port.out.NoiseGridComputationPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class ImagesServiceNoiseGridTest {
 
@@ -26,14 +40,14 @@ class ImagesServiceNoiseGridTest {
         imagesService = new ImagesService(
                 new NoiseBaseStructureRepositoryStub(),
                 new NoiseCosmeticRenderRepositoryStub(),
-                noiseGridPort);
+                noiseGridPort, new ImageSerializer(TileRenderEngine.shared()));
     }
 
     @Test
     void shouldDelegateNoiseGridComputationToPort() throws IOException {
         ImageRequestCmd cmd = buildCmd();
 
-        imagesService.buildNoiseImage(cmd);
+        imagesService.buildNoiseImage(cmd, ImageEncoding.preview(ImageFormat.PNG));
 
         assertThat(noiseGridPort.computeCount()).isEqualTo(1);
     }
@@ -42,16 +56,97 @@ class ImagesServiceNoiseGridTest {
     void shouldCallPortForEachBuildRequest() throws IOException {
         ImageRequestCmd cmd = buildCmd();
 
-        imagesService.buildNoiseImage(cmd);
-        imagesService.buildNoiseImage(cmd);
+        imagesService.buildNoiseImage(cmd, ImageEncoding.preview(ImageFormat.PNG));
+        imagesService.buildNoiseImage(cmd, ImageEncoding.preview(ImageFormat.PNG));
 
         assertThat(noiseGridPort.computeCount()).isEqualTo(2);
     }
 
+    @Test
+    void shouldStreamPngWithoutKnownLengthWhenRenderedOnTheFly() throws IOException {
+        EncodedImage image = imagesService.buildNoiseImage(buildCmd(), ImageEncoding.preview(ImageFormat.PNG));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        image.writeTo(out);
+
+        assertThat(image.contentLength()).isEmpty();
+        assertThat(ImageIO.read(new ByteArrayInputStream(out.toByteArray())).getWidth()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldDownsampleCachedGridsIntoThumbnailWithoutComputing() throws IOException {
+        ImageRequestCmd cmd = buildCmd(400, 200);
+        noiseGridPort.cachedGrids = List.of(new NoiseGridComputationPortStub()
+                .computeSingleLayerGrid(new ContentKey(0L, 1L), cmd.getSizeCmd()));
+
+        NoiseCosmeticRender render = imagesService.rate(cmd);
+
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(render.thumbnail()));
+        assertThat(thumbnail.getWidth()).isEqualTo(200);
+        assertThat(thumbnail.getHeight()).isEqualTo(100);
+        assertThat(noiseGridPort.computeCount()).isZero();
+    }
+
+    @Test
+    void shouldRenderThumbnailAtReducedSizeWhenNothingIsCached() throws IOException {
+        NoiseCosmeticRender render = imagesService.rate(buildCmd(400, 200));
+
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(render.thumbnail()));
+        assertThat(thumbnail.getWidth()).isEqualTo(200);
+        assertThat(thumbnail.getHeight()).isEqualTo(100);
+        assertThat(noiseGridPort.computeCount()).isEqualTo(1);
+        assertThat(noiseGridPort.lastSizeCmd().getWidth()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldDeliverProgressivePassesFromCoarsestToFullResolution() throws IOException {
+        List<PreviewPass> passes = new ArrayList<>();
+
+        imagesService.buildNoisePreview(buildCmd(160, 80), ImageEncoding.preview(ImageFormat.PNG), passes::add);
+
+        assertThat(passes).extracting(PreviewPass::divisor).containsExactly(8, 4, 2, 1);
+        assertThat(passes).extracting(PreviewPass::width).containsExactly(20, 40, 80, 160);
+        BufferedImage last = ImageIO.read(new ByteArrayInputStream(passes.getLast().image()));
+        assertThat(last.getHeight()).isEqualTo(80);
+        assertThat(noiseGridPort.computeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCancelRemainingPassesWhenTheListenerFails() {
+        List<PreviewPass> passes = new ArrayList<>();
+
+        assertThatThrownBy(() -> imagesService.buildNoisePreview(buildCmd(), ImageEncoding.preview(ImageFormat.PNG),
+                pass -> {
+                    passes.add(pass);
+                    throw new IOException("client gone");
+                }))
+                .isInstanceOf(IOException.class);
+
+        assertThat(passes).extracting(PreviewPass::divisor).containsExactly(8);
+    }
+
+    @Test
+    void shouldSendOnlyTheFinalPassWhenGridsAreCached() throws IOException {
+        ImageRequestCmd cmd = buildCmd();
+        noiseGridPort.cachedGrids = List.of(new NoiseGridComputationPortStub()
+                .computeSingleLayerGrid(new ContentKey(0L, 1L), cmd.getSizeCmd()));
+        List<PreviewPass> passes = new ArrayList<>();
+
+        imagesService.buildNoisePreview(cmd, ImageEncoding.preview(ImageFormat.PNG), passes::add);
+
+        assertThat(passes).extracting(PreviewPass::divisor).containsExactly(1);
+        assertThat(noiseGridPort.computeCount()).isZero();
+    }
+
     private ImageRequestCmd buildCmd() {
+        return buildCmd(100, 100);
+    }
+
+    private ImageRequestCmd buildCmd(int width, int height) {
         return ImageRequestCmd.builder()
+                .note(3)
                 .sizeCmd(ImageRequestCmd.SizeCmd.builder()
-                        .width(100).height(100).seed(42)
+                        .width(width).height(height).seed(42)
                         .octaves(1).persistence(0.5).lacunarity(2.0).scale(100.0)
                         .noiseType("FBM").useMultiLayer(false)
                         .build())
@@ -69,21 +164,42 @@ class ImagesServiceNoiseGridTest {
 
         private final AtomicInteger count = new AtomicInteger(0);
         private final NoiseGridComputationPortStub delegate = new NoiseGridComputationPortStub();
+        private List<NormalizedNoiseGrid> cachedGrids;
+        private ImageRequestCmd.SizeCmd lastSizeCmd;
+
+        @Override
+        public NormalizedNoiseGrid computeSingleLayerGrid(ContentKey configKey, ImageRequestCmd.SizeCmd sizeCmd) {
+            count.incrementAndGet();
+            lastSizeCmd = sizeCmd;
+            return delegate.computeSingleLayerGrid(configKey, sizeCmd);
+        }
 
         @Override
-        public NormalizedNoiseGrid computeSingleLayerGrid(int configHash, ImageRequestCmd.SizeCmd sizeCmd) {
+        public List<NormalizedNoiseGrid> computeMultiLayerGrids(ContentKey configKey, ImageRequestCmd.SizeCmd sizeCmd) {
             count.incrementAndGet();
-            return delegate.computeSingleLayerGrid(configHash, sizeCmd);
+            lastSizeCmd = sizeCmd;
+            return delegate.computeMultiLayerGrids(configKey, sizeCmd);
         }
 
         @Override
-        public List<NormalizedNoiseGrid> computeMultiLayerGrids(int configHash, ImageRequestCmd.SizeCmd sizeCmd) {
+        public Optional<List<NormalizedNoiseGrid>> findCachedGrids(ContentKey configKey, ImageRequestCmd.SizeCmd sizeCmd) {
+            return Optional.ofNullable(cachedGrids);
+        }
+
+        @Override
+        public void computeGridsProgressively(ContentKey configKey, ImageRequestCmd.SizeCmd sizeCmd,
+                                              List<Integer> strides, GridPassListener listener) throws IOException {
             count.incrementAndGet();
-            return delegate.computeMultiLayerGrids(configHash, sizeCmd);
+            lastSizeCmd = sizeCmd;
+            delegate.computeGridsProgressively(configKey, sizeCmd, strides, listener);
         }
 
         int computeCount() {
             return count.get();
         }
+
+        ImageRequestCmd.SizeCmd lastSizeCmd() {
+            return lastSizeCmd;
+        }
     }
 }
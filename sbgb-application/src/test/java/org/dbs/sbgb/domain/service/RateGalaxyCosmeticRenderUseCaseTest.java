@@ -16,6 +16,7 @@ import org.dbs.sbgb.port.out.GalaxyBaseStructureRepository;
 import org.dbs.sbgb.port.out.GalaxyCosmeticRenderRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
 import java.awt.Color;
@@ -32,6 +33,7 @@ class RateGalaxyCosmeticRenderUseCaseTest {
 
     @Mock private ImageSerializer imageSerializer;
     @Mock private org.dbs.sbgb.port.out.GalaxyImageComputationPort galaxyImageComputationPort;
+    @Mock private org.dbs.sbgb.port.out.GalaxyIntensityFieldComputationPort galaxyIntensityFieldComputationPort;
 
     private List<GalaxyBaseStructure> baseDb;
     private List<GalaxyCosmeticRender> renderDb;
@@ -49,9 +51,10 @@ class RateGalaxyCosmeticRenderUseCaseTest {
         galaxyService = new GalaxyService(
                 baseRepo, renderRepo,
                 imageSerializer,
-                galaxyImageComputationPort);
+                galaxyImageComputationPort,
+                galaxyIntensityFieldComputationPort);
 
-        when(galaxyImageComputationPort.computeImage(anyInt(), any())).thenReturn(new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB));
+        when(galaxyImageComputationPort.renderUncached(any())).thenReturn(new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB));
         when(imageSerializer.toByteArray(any(BufferedImage.class))).thenReturn(new byte[]{1, 2, 3});
     }
 
@@ -114,14 +117,43 @@ class RateGalaxyCosmeticRenderUseCaseTest {
         assertThat(savedBase.darkLaneOpacity()).isEqualTo(0.0);
     }
 
+    @Test
+    void shouldReuseThumbnailOfTheFullResolutionRenderWithoutRenderingAgain() throws IOException {
+        byte[] renderedThumbnail = {9, 8, 7};
+        when(galaxyImageComputationPort.findThumbnail(any(ContentKey.class), any(ContentKey.class)))
+                .thenReturn(Optional.of(renderedThumbnail));
+
+        GalaxyCosmeticRender result = galaxyService.rate(buildCmd(3));
+
+        assertThat(result.thumbnail()).isEqualTo(renderedThumbnail);
+        verify(galaxyImageComputationPort, never()).renderUncached(any());
+    }
+
+    @Test
+    void shouldRenderScaledDownGalaxyWhenNoThumbnailIsCached() throws IOException {
+        galaxyService.rate(buildCmd("#CLASSIC", 3, 800));
+
+        ArgumentCaptor<GalaxyRequestCmd> rendered = ArgumentCaptor.forClass(GalaxyRequestCmd.class);
+        verify(galaxyImageComputationPort).renderUncached(rendered.capture());
+        verify(galaxyImageComputationPort, never()).computeImage(any(), any());
+        assertThat(rendered.getValue().getWidth()).isEqualTo(200);
+        assertThat(rendered.getValue().getHeight()).isEqualTo(200);
+        assertThat(rendered.getValue().getGalaxyRadius()).isEqualTo(50.0);
+        assertThat(rendered.getValue().getSpiralParameters().armWidth()).isEqualTo(20.0);
+    }
+
     private GalaxyRequestCmd buildCmd(int note) {
         return buildCmd("#CLASSIC", note);
     }
 
     private GalaxyRequestCmd buildCmd(String palette, int note) {
+        return buildCmd(palette, note, 100);
+    }
+
+    private GalaxyRequestCmd buildCmd(String palette, int note, int size) {
         return GalaxyRequestCmd.builder()
                 .note(note)
-                .width(100).height(100).seed(42L)
+                .width(size).height(size).seed(42L)
                 .galaxyType("SPIRAL")
                 .coreSize(0.05).galaxyRadius(200.0).warpStrength(0.0)
                 .noiseParameters(NoiseParameters.defaultNoise())
@@ -161,8 +193,8 @@ class RateGalaxyCosmeticRenderUseCaseTest {
         }
 
         @Override
-        public Optional<GalaxyBaseStructure> findByConfigHash(int hash) {
-            return db.stream().filter(b -> b.configHash() == hash).findFirst();
+        public Optional<GalaxyBaseStructure> findByConfigKey(ContentKey configKey) {
+            return db.stream().filter(b -> b.configKey().equals(configKey)).findFirst();
         }
 
         @Override
@@ -215,9 +247,9 @@ class RateGalaxyCosmeticRenderUseCaseTest {
         }
 
         @Override
-        public Optional<GalaxyCosmeticRender> findByBaseStructureIdAndCosmeticHash(UUID baseId, int cosmeticHash) {
+        public Optional<GalaxyCosmeticRender> findByBaseStructureIdAndCosmeticKey(UUID baseId, ContentKey cosmeticKey) {
             return db.stream()
-                    .filter(r -> r.baseStructureId().equals(baseId) && r.cosmeticHash() == cosmeticHash)
+                    .filter(r -> r.baseStructureId().equals(baseId) && r.cosmeticKey().equals(cosmeticKey))
                     .findFirst();
         }
 
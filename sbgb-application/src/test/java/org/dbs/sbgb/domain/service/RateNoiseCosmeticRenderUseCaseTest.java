@@ -1,7 +1,9 @@
 package org.dbs.sbgb.domain.service;
 
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.domain.model.NoiseBaseStructure;
 import org.dbs.sbgb.domain.model.NoiseCosmeticRender;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
 import org.dbs.sbgb.port.in.ImageRequestCmd;
 import org.dbs.sbgb.port.out.NoiseBaseStructureRepository;
 import org.dbs.sbgb.port.out.NoiseCosmeticRenderRepository;
@@ -28,7 +30,8 @@ class RateNoiseCosmeticRenderUseCaseTest {
         renderDb = new ArrayList<>();
         baseRepo = new InMemoryNoiseBaseStructureRepository(baseDb);
         renderRepo = new InMemoryNoiseCosmeticRenderRepository(renderDb);
-        imagesService = new ImagesService(baseRepo, renderRepo, new cucumber.steps.NoiseGridComputationPortStub());
+        imagesService = new ImagesService(baseRepo, renderRepo, new cucumber.steps.NoiseGridComputationPortStub(),
+                new ImageSerializer(TileRenderEngine.shared()));
     }
 
     @Test
@@ -122,8 +125,8 @@ class RateNoiseCosmeticRenderUseCaseTest {
         }
 
         @Override
-        public Optional<NoiseBaseStructure> findByConfigHash(int hash) {
-            return db.stream().filter(b -> b.configHash() == hash).findFirst();
+        public Optional<NoiseBaseStructure> findByConfigKey(ContentKey configKey) {
+            return db.stream().filter(b -> b.configKey().equals(configKey)).findFirst();
         }
 
         @Override
@@ -169,9 +172,9 @@ class RateNoiseCosmeticRenderUseCaseTest {
         }
 
         @Override
-        public Optional<NoiseCosmeticRender> findByBaseStructureIdAndCosmeticHash(UUID baseStructureId, int cosmeticHash) {
+        public Optional<NoiseCosmeticRender> findByBaseStructureIdAndCosmeticKey(UUID baseStructureId, ContentKey cosmeticKey) {
             return db.stream()
-                    .filter(r -> r.baseStructureId().equals(baseStructureId) && r.cosmeticHash() == cosmeticHash)
+                    .filter(r -> r.baseStructureId().equals(baseStructureId) && r.cosmeticKey().equals(cosmeticKey))
                     .findFirst();
         }
 
@@ -1,6 +1,7 @@
 package org.dbs.sbgb.domain.service;
 
 import org.dbs.sbgb.domain.model.GalaxyParameters;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
 import org.dbs.sbgb.domain.model.parameters.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,7 +19,7 @@ class StarFieldApplicatorTest {
 
     @BeforeEach
     void setUp() {
-        applicator = new StarFieldApplicator();
+        applicator = new StarFieldApplicator(TileRenderEngine.shared());
     }
 
     @Test
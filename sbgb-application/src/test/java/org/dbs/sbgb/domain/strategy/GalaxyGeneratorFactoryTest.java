@@ -3,6 +3,7 @@ package org.dbs.sbgb.domain.strategy;
 import org.dbs.sbgb.domain.model.GalaxyIntensityCalculator;
 import org.dbs.sbgb.domain.model.GalaxyParameters;
 import org.dbs.sbgb.domain.model.GalaxyType;
+import org.dbs.sbgb.domain.model.GaussianSpatialIndex;
 import org.dbs.sbgb.domain.model.PerlinGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -122,6 +123,43 @@ class GalaxyGeneratorFactoryTest {
                 .hasMessageContaining("Unsupported galaxy type");
     }
 
+    @Test
+    void shouldOnlyRequestNoiseForGeneratorsThatSampleIt() {
+        assertThat(factory.usesNoise(GalaxyType.RING)).isTrue();
+        assertThat(factory.usesNoise(GalaxyType.IRREGULAR)).isTrue();
+        assertThat(factory.usesNoise(GalaxyType.SPIRAL)).isFalse();
+        assertThat(factory.usesNoise(GalaxyType.VORONOI_CLUSTER)).isFalse();
+        assertThat(factory.usesNoise(GalaxyType.ELLIPTICAL)).isFalse();
+        assertThat(factory.usesNoise(GalaxyType.LENTICULAR)).isFalse();
+    }
+
+    @Test
+    void shouldPassTheGaussianToleranceToTheClusterIndex() {
+        GalaxyParameters params = GalaxyParameters.createDefaultVoronoi();
+        GalaxyGenerationContext defaultContext = createContext(params);
+        GalaxyGenerationContext coarseContext = GalaxyGenerationContext.builder()
+                .width(1000)
+                .height(1000)
+                .noiseGenerator(noiseGenerator)
+                .seed(12345L)
+                .parameters(params)
+                .gaussianTolerance(0.5)
+                .build();
+
+        GalaxyIntensityCalculator precise = factory.create(GalaxyType.VORONOI_CLUSTER, defaultContext);
+        GalaxyIntensityCalculator coarse = factory.create(GalaxyType.VORONOI_CLUSTER, coarseContext);
+
+        assertThat(defaultContext.getGaussianTolerance()).isEqualTo(GaussianSpatialIndex.DEFAULT_TOLERANCE);
+        double maxDifference = 0.0;
+        for (int y = 0; y < 1000; y += 10) {
+            for (int x = 0; x < 1000; x += 10) {
+                maxDifference = Math.max(maxDifference,
+                        Math.abs(precise.calculateGalaxyIntensity(x, y) - coarse.calculateGalaxyIntensity(x, y)));
+            }
+        }
+        assertThat(maxDifference).isPositive();
+    }
+
     private GalaxyGenerationContext createContext(GalaxyParameters params) {
         return GalaxyGenerationContext.builder()
                 .width(1000)
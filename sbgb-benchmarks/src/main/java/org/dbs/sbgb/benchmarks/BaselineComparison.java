@@ -0,0 +1,67 @@
+package org.dbs.sbgb.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (average time mode) benchmark by benchmark.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar org.dbs.sbgb.benchmarks.BaselineComparison baseline.json current.json [tolerance]}
+ * <p>
+ * Exits with status 1 when a benchmark present in both files is slower than the baseline
+ * by more than the tolerance (0.10 by default).
+ */
+public final class BaselineComparison {
+
+    private static final double DEFAULT_TOLERANCE = 0.10;
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <current.json> [tolerance]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE;
+        Map<String, Double> baseline = readScores(new File(args[0]));
+        Map<String, Double> current = readScores(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, Double> entry : current.entrySet()) {
+            Double reference = baseline.get(entry.getKey());
+            if (reference == null) {
+                System.out.printf("%-90s %12.3f      (new)%n", entry.getKey(), entry.getValue());
+                continue;
+            }
+            double ratio = entry.getValue() / reference;
+            boolean regression = ratio > 1.0 + tolerance;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-90s %12.3f x%.2f%s%n", entry.getKey(), entry.getValue(), ratio,
+                    regression ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) slower than baseline by more than %.0f%%%n", regressions, tolerance * 100);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Double> readScores(File file) throws IOException {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            scores.put(result.get("benchmark").asText() + params, result.path("primaryMetric").get("score").asDouble());
+        }
+        return scores;
+    }
+}
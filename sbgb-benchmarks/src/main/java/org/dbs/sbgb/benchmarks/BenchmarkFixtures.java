@@ -0,0 +1,126 @@
+package org.dbs.sbgb.benchmarks;
+
+import de.articdive.jnoise.core.api.functions.Interpolation;
+import de.articdive.jnoise.generators.noise_parameters.fade_functions.FadeFunction;
+import org.dbs.sbgb.domain.model.GalaxyIntensityCalculator;
+import org.dbs.sbgb.domain.model.GalaxyParameters;
+import org.dbs.sbgb.domain.model.GalaxyType;
+import org.dbs.sbgb.domain.model.NoiseType;
+import org.dbs.sbgb.domain.model.PerlinGenerator;
+import org.dbs.sbgb.domain.model.parameters.CoreParameters;
+import org.dbs.sbgb.domain.model.parameters.NoiseTextureParameters;
+import org.dbs.sbgb.domain.strategy.EllipticalGeneratorStrategy;
+import org.dbs.sbgb.domain.strategy.GalaxyGenerationContext;
+import org.dbs.sbgb.domain.strategy.GalaxyGeneratorFactory;
+import org.dbs.sbgb.domain.strategy.IrregularGeneratorStrategy;
+import org.dbs.sbgb.domain.strategy.LenticularGeneratorStrategy;
+import org.dbs.sbgb.domain.strategy.RingGeneratorStrategy;
+import org.dbs.sbgb.domain.strategy.SpiralGeneratorStrategy;
+import org.dbs.sbgb.domain.strategy.VoronoiGeneratorStrategy;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Shared inputs of the benchmarks: default presets scaled to the benchmarked image size,
+ * and a pool bounding the parallelism of code running on parallel streams.
+ */
+final class BenchmarkFixtures {
+
+    static final long SEED = 12345L;
+    static final Interpolation INTERPOLATION = Interpolation.COSINE;
+    static final FadeFunction FADE_FUNCTION = FadeFunction.CUBIC_POLY;
+
+    /** Presets are tuned for 4000x4000 images with a 1500 pixel radius. */
+    private static final double RADIUS_RATIO = 1500.0 / 4000.0;
+
+    private static final NoiseTextureParameters DEFAULT_NOISE = NoiseTextureParameters.builder()
+            .octaves(4)
+            .persistence(0.5)
+            .lacunarity(2.0)
+            .scale(200.0)
+            .build();
+
+    private BenchmarkFixtures() {
+    }
+
+    static GalaxyParameters parametersFor(GalaxyType type, int size) {
+        GalaxyParameters preset = switch (type) {
+            case SPIRAL -> GalaxyParameters.createDefault();
+            case VORONOI_CLUSTER -> GalaxyParameters.createDefaultVoronoi();
+            case ELLIPTICAL -> GalaxyParameters.createDefaultElliptical();
+            case LENTICULAR -> GalaxyParameters.createDefaultLenticular();
+            case RING -> GalaxyParameters.createDefaultRing();
+            case IRREGULAR -> GalaxyParameters.createDefaultIrregular();
+        };
+        return GalaxyParameters.builder()
+                .galaxyType(preset.getGalaxyType())
+                .coreParameters(CoreParameters.builder()
+                        .coreSize(preset.getCoreParameters().getCoreSize())
+                        .galaxyRadius(size * RADIUS_RATIO)
+                        .build())
+                .noiseTextureParameters(preset.getNoiseTextureParameters() != null
+                        ? preset.getNoiseTextureParameters()
+                        : DEFAULT_NOISE)
+                .spiralParameters(preset.getSpiralParameters())
+                .voronoiParameters(preset.getVoronoiParameters())
+                .ellipticalParameters(preset.getEllipticalParameters())
+                .lenticularParameters(preset.getLenticularParameters())
+                .ringParameters(preset.getRingParameters())
+                .irregularParameters(preset.getIrregularParameters())
+                .build();
+    }
+
+    static PerlinGenerator normalizedNoise(GalaxyParameters parameters, int size) {
+        NoiseTextureParameters noise = parameters.getNoiseTextureParameters();
+        PerlinGenerator generator = new PerlinGenerator(INTERPOLATION, FADE_FUNCTION);
+        generator.computeAndNormalize(SEED, size, size, noise.getOctaves(), noise.getPersistence(),
+                noise.getLacunarity(), noise.getScale(), NoiseType.FBM);
+        return generator;
+    }
+
+    static GalaxyIntensityCalculator intensityCalculator(GalaxyType type, int size) {
+        GalaxyParameters parameters = parametersFor(type, size);
+        GalaxyGeneratorFactory factory = new GalaxyGeneratorFactory(List.of(
+                new SpiralGeneratorStrategy(), new VoronoiGeneratorStrategy(), new EllipticalGeneratorStrategy(),
+                new LenticularGeneratorStrategy(), new RingGeneratorStrategy(), new IrregularGeneratorStrategy()));
+        return factory.create(type, GalaxyGenerationContext.builder()
+                .width(size)
+                .height(size)
+                .seed(SEED)
+                .noiseGenerator(normalizedNoise(parameters, size))
+                .parameters(parameters)
+                .build());
+    }
+
+    /** Dark image with a bright core and sparse stars, close to a rendered galaxy. */
+    static BufferedImage galaxyLikeImage(int size) {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Random random = new Random(SEED);
+        double half = size / 2.0;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                double dx = (x - half) / (size * 0.2);
+                double dy = (y - half) / (size * 0.2);
+                int level = (int) (220 * Math.exp(-(dx * dx + dy * dy)));
+                if (random.nextInt(100) < 2) {
+                    level = 255;
+                }
+                image.setRGB(x, y, 0xFF000000 | level << 16 | level << 8 | level);
+            }
+        }
+        return image;
+    }
+
+    /** Pool with the given parallelism; parallel streams started from its tasks stay on its workers. */
+    static ForkJoinPool pool(int threads) {
+        return new ForkJoinPool(threads);
+    }
+
+    static <T> T runIn(ForkJoinPool pool, Callable<T> task) {
+        return pool.submit(task).join();
+    }
+}
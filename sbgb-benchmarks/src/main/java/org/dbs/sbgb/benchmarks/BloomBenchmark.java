@@ -0,0 +1,74 @@
+package org.dbs.sbgb.benchmarks;
+
+import org.dbs.sbgb.domain.model.BloomPostProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Separable downsampled bloom against the former full resolution ConvolveOp implementation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class BloomBenchmark {
+
+    private static final double INTENSITY = 0.6;
+    private static final double THRESHOLD = 0.4;
+
+    @Param({"200", "1000", "4000"})
+    int size;
+
+    @Param({"10", "30"})
+    int radius;
+
+    @Param({"1", "4"})
+    int threads;
+
+    private ForkJoinPool pool;
+    private BufferedImage source;
+    private BloomPostProcessor processor;
+
+    @Setup
+    public void setUp() {
+        pool = BenchmarkFixtures.pool(threads);
+        source = BenchmarkFixtures.galaxyLikeImage(size);
+        processor = BloomPostProcessor.builder()
+                .bloomRadius(radius)
+                .bloomIntensity(INTENSITY)
+                .bloomThreshold(THRESHOLD)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public BufferedImage separableDownsampled() {
+        return BenchmarkFixtures.runIn(pool, () -> processor.apply(source));
+    }
+
+    /** Single-threaded whatever the thread count; very slow at 4000 pixels with a radius of 30. */
+    @Benchmark
+    public BufferedImage convolveOp() {
+        return ConvolveOpBloom.apply(source, radius, INTENSITY, THRESHOLD);
+    }
+}
@@ -0,0 +1,66 @@
+package org.dbs.sbgb.benchmarks;
+
+import org.dbs.sbgb.domain.model.ColorPalette;
+import org.dbs.sbgb.domain.model.GradientGalaxyColorCalculator;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gradient coloring of a precomputed intensity field into a packed ARGB raster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ColorBenchmark {
+
+    @Param({"200", "1000", "4000"})
+    int size;
+
+    @Param({"1", "4"})
+    int threads;
+
+    private TileRenderEngine engine;
+    private GradientGalaxyColorCalculator calculator;
+    private float[] intensities;
+    private int[] raster;
+
+    @Setup
+    public void setUp() {
+        engine = new TileRenderEngine(threads, TileRenderEngine.DEFAULT_TILE_SIZE);
+        calculator = ColorPalette.NEBULA.createCalculator();
+        intensities = new float[size * size];
+        Random random = new Random(BenchmarkFixtures.SEED);
+        for (int i = 0; i < intensities.length; i++) {
+            intensities[i] = random.nextFloat();
+        }
+        raster = new int[size * size];
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public int[] gradientColoring() {
+        engine.renderArgb(raster, size, size, (x, y) -> calculator.calculateGalaxyArgb(intensities[y * size + x]));
+        return raster;
+    }
+}
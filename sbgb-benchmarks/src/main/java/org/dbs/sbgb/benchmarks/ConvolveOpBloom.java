@@ -0,0 +1,68 @@
+package org.dbs.sbgb.benchmarks;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ConvolveOp;
+import java.awt.image.Kernel;
+
+/**
+ * Former bloom implementation kept as the comparison point of {@link BloomBenchmark}:
+ * single-threaded bright pass, full resolution (2r+1)^2 Gaussian kernel applied with
+ * {@link ConvolveOp}, per-pixel getRGB/setRGB composite.
+ */
+final class ConvolveOpBloom {
+
+    private ConvolveOpBloom() {
+    }
+
+    static BufferedImage apply(BufferedImage source, int radius, double intensity, double threshold) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+
+        BufferedImage mask = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        int thresholdValue = (int) (threshold * 255);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int rgb = source.getRGB(x, y);
+                int brightness = (((rgb >> 16) & 0xFF) + ((rgb >> 8) & 0xFF) + (rgb & 0xFF)) / 3;
+                mask.setRGB(x, y, brightness > thresholdValue ? rgb : 0);
+            }
+        }
+
+        int size = radius * 2 + 1;
+        BufferedImage blurred = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        new ConvolveOp(new Kernel(size, size, gaussianKernel(size)), ConvolveOp.EDGE_NO_OP, null).filter(mask, blurred);
+
+        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int original = source.getRGB(x, y);
+                int bloom = blurred.getRGB(x, y);
+                int rgb = 0;
+                for (int shift = 16; shift >= 0; shift -= 8) {
+                    int channel = (int) (((original >> shift) & 0xFF) + ((bloom >> shift) & 0xFF) * intensity);
+                    rgb |= Math.clamp(channel, 0, 255) << shift;
+                }
+                result.setRGB(x, y, rgb);
+            }
+        }
+        return result;
+    }
+
+    private static float[] gaussianKernel(int size) {
+        float[] kernel = new float[size * size];
+        double sigma = size / 3.0;
+        double twoSigmaSquare = 2.0 * sigma * sigma;
+        double total = 0.0;
+        int center = size / 2;
+        for (int i = 0; i < kernel.length; i++) {
+            int dx = i % size - center;
+            int dy = i / size - center;
+            kernel[i] = (float) Math.exp(-(dx * dx + dy * dy) / twoSigmaSquare);
+            total += kernel[i];
+        }
+        for (int i = 0; i < kernel.length; i++) {
+            kernel[i] /= (float) total;
+        }
+        return kernel;
+    }
+}
@@ -0,0 +1,77 @@
+package org.dbs.sbgb.benchmarks;
+
+import org.dbs.sbgb.domain.model.DisplacementField;
+import org.dbs.sbgb.domain.model.GalaxyIntensityField;
+import org.dbs.sbgb.domain.model.GalaxyType;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Domain warp stage: computing the X/Y displacement maps (cached by seed and size in the application)
+ * and warping a spiral intensity field with bilinear sampling, the only cost left once the maps are cached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class DomainWarpBenchmark {
+
+    private static final double WARP_STRENGTH = 40.0;
+
+    @Param({"200", "1000", "4000"})
+    int size;
+
+    @Param({"1", "4"})
+    int threads;
+
+    private ForkJoinPool pool;
+    private TileRenderEngine engine;
+    private DisplacementField displacementField;
+    private GalaxyIntensityField field;
+
+    @Setup
+    public void setUp() {
+        pool = BenchmarkFixtures.pool(threads);
+        engine = new TileRenderEngine(threads, TileRenderEngine.DEFAULT_TILE_SIZE);
+        displacementField = computeMaps();
+        float[] values = engine.renderIntensity(size, size, BenchmarkFixtures.intensityCalculator(GalaxyType.SPIRAL, size));
+        field = new GalaxyIntensityField(values, size, size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public DisplacementField displacementMaps() {
+        return computeMaps();
+    }
+
+    @Benchmark
+    public GalaxyIntensityField warpField() {
+        return displacementField.warp(field, WARP_STRENGTH, engine);
+    }
+
+    private DisplacementField computeMaps() {
+        return BenchmarkFixtures.runIn(pool, () -> DisplacementField.compute(BenchmarkFixtures.SEED, size, size,
+                BenchmarkFixtures.INTERPOLATION, BenchmarkFixtures.FADE_FUNCTION));
+    }
+}
@@ -0,0 +1,60 @@
+package org.dbs.sbgb.benchmarks;
+
+import org.dbs.sbgb.domain.model.GalaxyIntensityCalculator;
+import org.dbs.sbgb.domain.model.GalaxyType;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Intensity field of each galaxy generator, evaluated over the whole image on the tile engine.
+ * The noise grid is computed once in the setup and is not part of the measure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class GalaxyIntensityBenchmark {
+
+    @Param({"SPIRAL", "VORONOI_CLUSTER", "ELLIPTICAL", "LENTICULAR", "RING", "IRREGULAR"})
+    GalaxyType type;
+
+    @Param({"200", "1000", "4000"})
+    int size;
+
+    @Param({"1", "4"})
+    int threads;
+
+    private TileRenderEngine engine;
+    private GalaxyIntensityCalculator calculator;
+
+    @Setup
+    public void setUp() {
+        engine = new TileRenderEngine(threads, TileRenderEngine.DEFAULT_TILE_SIZE);
+        calculator = BenchmarkFixtures.intensityCalculator(type, size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public float[] intensityField() {
+        return engine.renderIntensity(size, size, calculator);
+    }
+}
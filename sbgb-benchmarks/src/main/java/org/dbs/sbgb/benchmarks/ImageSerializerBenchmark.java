@@ -0,0 +1,79 @@
+package org.dbs.sbgb.benchmarks;
+
+import org.dbs.sbgb.domain.model.ImageEncoding;
+import org.dbs.sbgb.domain.model.ImageFormat;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
+import org.dbs.sbgb.domain.service.ImageSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of a rendered image: PNG at download and preview settings, QOI and JPEG preview.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ImageSerializerBenchmark {
+
+    @Param({"200", "1000", "4000"})
+    int size;
+
+    @Param({"1", "4"})
+    int threads;
+
+    private ForkJoinPool pool;
+    private TileRenderEngine engine;
+    private BufferedImage image;
+    private ImageSerializer serializer;
+
+    @Setup
+    public void setUp() {
+        pool = BenchmarkFixtures.pool(threads);
+        engine = new TileRenderEngine(threads, TileRenderEngine.DEFAULT_TILE_SIZE);
+        image = BenchmarkFixtures.galaxyLikeImage(size);
+        serializer = new ImageSerializer(engine);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+        engine.close();
+    }
+
+    @Benchmark
+    public byte[] toPng() {
+        return BenchmarkFixtures.runIn(pool, () -> serializer.toByteArray(image));
+    }
+
+    @Benchmark
+    public byte[] toPngPreview() {
+        return BenchmarkFixtures.runIn(pool, () -> serializer.toByteArray(image, ImageEncoding.preview(ImageFormat.PNG)));
+    }
+
+    @Benchmark
+    public byte[] toQoi() {
+        return BenchmarkFixtures.runIn(pool, () -> serializer.toByteArray(image, ImageEncoding.preview(ImageFormat.QOI)));
+    }
+
+    @Benchmark
+    public byte[] toJpeg() {
+        return BenchmarkFixtures.runIn(pool, () -> serializer.toByteArray(image, ImageEncoding.preview(ImageFormat.JPEG)));
+    }
+}
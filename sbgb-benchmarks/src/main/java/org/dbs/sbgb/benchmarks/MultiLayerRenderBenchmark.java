@@ -0,0 +1,95 @@
+package org.dbs.sbgb.benchmarks;
+
+import org.dbs.sbgb.domain.model.BlendMode;
+import org.dbs.sbgb.domain.model.DefaultNoiseColorCalculator;
+import org.dbs.sbgb.domain.model.InterpolationType;
+import org.dbs.sbgb.domain.model.LayerConfig;
+import org.dbs.sbgb.domain.model.MultiLayerRenderer;
+import org.dbs.sbgb.domain.model.NoiseType;
+import org.dbs.sbgb.domain.model.NormalizedNoiseGrid;
+import org.dbs.sbgb.domain.model.PerlinGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coloring and blending of three precomputed noise grids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class MultiLayerRenderBenchmark {
+
+    @Param({"200", "1000", "4000"})
+    int size;
+
+    @Param({"1", "4"})
+    int threads;
+
+    private ForkJoinPool pool;
+    private MultiLayerRenderer renderer;
+    private List<NormalizedNoiseGrid> grids;
+    private List<LayerConfig> layers;
+
+    @Setup
+    public void setUp() {
+        pool = BenchmarkFixtures.pool(threads);
+        layers = List.of(
+                layer("base", 4, 200.0, BlendMode.NORMAL, 1.0, 0),
+                layer("detail", 6, 60.0, BlendMode.SCREEN, 0.5, 1),
+                layer("dust", 3, 400.0, BlendMode.MULTIPLY, 0.7, 2));
+        grids = layers.stream()
+                .map(layer -> new PerlinGenerator(BenchmarkFixtures.INTERPOLATION, BenchmarkFixtures.FADE_FUNCTION)
+                        .computeAndNormalize(BenchmarkFixtures.SEED + layer.getSeedOffset(), size, size,
+                                layer.getOctaves(), layer.getPersistence(), layer.getLacunarity(), layer.getScale(),
+                                layer.getNoiseType()))
+                .toList();
+        renderer = new MultiLayerRenderer(size, size, new DefaultNoiseColorCalculator(
+                new Color(5, 5, 20), new Color(120, 60, 160), new Color(250, 240, 255),
+                0.2, 0.6, InterpolationType.SMOOTHSTEP));
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public BufferedImage renderLayers() {
+        return BenchmarkFixtures.runIn(pool, () -> renderer.renderLayers(grids, layers));
+    }
+
+    private static LayerConfig layer(String name, int octaves, double scale, BlendMode blendMode,
+                                     double opacity, long seedOffset) {
+        return LayerConfig.builder()
+                .name(name)
+                .enabled(true)
+                .octaves(octaves)
+                .persistence(0.5)
+                .lacunarity(2.0)
+                .scale(scale)
+                .opacity(opacity)
+                .blendMode(blendMode)
+                .noiseType(NoiseType.FBM)
+                .seedOffset(seedOffset)
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package org.dbs.sbgb.benchmarks;
+
+import org.dbs.sbgb.domain.model.NoiseType;
+import org.dbs.sbgb.domain.model.NormalizedNoiseGrid;
+import org.dbs.sbgb.domain.model.PerlinGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Perlin pipeline evaluation, min/max scan and normalization of a full grid.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class NoiseBenchmark {
+
+    @Param({"200", "1000", "4000"})
+    int size;
+
+    @Param({"1", "4"})
+    int threads;
+
+    private ForkJoinPool pool;
+    private PerlinGenerator generator;
+
+    @Setup
+    public void setUp() {
+        pool = BenchmarkFixtures.pool(threads);
+        generator = new PerlinGenerator(BenchmarkFixtures.INTERPOLATION, BenchmarkFixtures.FADE_FUNCTION);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public NormalizedNoiseGrid computeAndNormalize() {
+        return BenchmarkFixtures.runIn(pool, () -> generator.computeAndNormalize(
+                BenchmarkFixtures.SEED, size, size, 4, 0.5, 2.0, 200.0, NoiseType.FBM));
+    }
+}
@@ -0,0 +1,66 @@
+package org.dbs.sbgb.benchmarks;
+
+import org.dbs.sbgb.domain.model.NoiseEngine;
+import org.dbs.sbgb.domain.model.NoiseType;
+import org.dbs.sbgb.domain.model.NormalizedNoiseGrid;
+import org.dbs.sbgb.domain.model.PerlinGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Noise grid evaluation per engine: JNoise pipeline point by point, in-house scalar kernel and
+ * Vector API kernel filling whole rows. The fork loads {@code jdk.incubator.vector} so that SIMD is vectorized.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class NoiseKernelBenchmark {
+
+    @Param({"200", "1000", "4000"})
+    int size;
+
+    @Param({"1", "4"})
+    int threads;
+
+    @Param({"JNOISE", "SCALAR", "SIMD"})
+    NoiseEngine engine;
+
+    @Param({"FBM", "RIDGED"})
+    NoiseType noiseType;
+
+    private ForkJoinPool pool;
+    private PerlinGenerator generator;
+
+    @Setup
+    public void setUp() {
+        pool = BenchmarkFixtures.pool(threads);
+        generator = new PerlinGenerator(BenchmarkFixtures.INTERPOLATION, BenchmarkFixtures.FADE_FUNCTION, engine);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public NormalizedNoiseGrid computeAndNormalize() {
+        return BenchmarkFixtures.runIn(pool, () -> generator.computeAndNormalize(
+                BenchmarkFixtures.SEED, size, size, 4, 0.5, 2.0, 200.0, noiseType));
+    }
+}
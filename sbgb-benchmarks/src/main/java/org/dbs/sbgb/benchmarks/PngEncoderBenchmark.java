@@ -0,0 +1,79 @@
+package org.dbs.sbgb.benchmarks;
+
+import org.dbs.sbgb.domain.model.PngEncoder;
+import org.dbs.sbgb.domain.model.PngEncodingOptions;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parallel PNG encoder against ImageIO, at preview and download settings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PngEncoderBenchmark {
+
+    @Param({"1000", "4000"})
+    int size;
+
+    @Param({"1", "4"})
+    int threads;
+
+    private ForkJoinPool pool;
+    private TileRenderEngine engine;
+    private BufferedImage image;
+    private PngEncoder encoder;
+
+    @Setup
+    public void setUp() {
+        pool = BenchmarkFixtures.pool(threads);
+        engine = new TileRenderEngine(threads, TileRenderEngine.DEFAULT_TILE_SIZE);
+        image = BenchmarkFixtures.galaxyLikeImage(size);
+        encoder = new PngEncoder(engine);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+        engine.close();
+    }
+
+    @Benchmark
+    public byte[] imageIo() {
+        return BenchmarkFixtures.runIn(pool, () -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        });
+    }
+
+    @Benchmark
+    public byte[] parallelPreview() {
+        return BenchmarkFixtures.runIn(pool, () -> encoder.encode(image, PngEncodingOptions.PREVIEW));
+    }
+
+    @Benchmark
+    public byte[] parallelDownload() {
+        return BenchmarkFixtures.runIn(pool, () -> encoder.encode(image, PngEncodingOptions.DOWNLOAD));
+    }
+}
@@ -0,0 +1,67 @@
+package org.dbs.sbgb.benchmarks;
+
+import org.dbs.sbgb.domain.model.StarFieldGenerator;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Star field overlay on a galaxy-sized image: seeded star list, tile binning and parallel sprite stamping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class StarFieldBenchmark {
+
+    @Param({"200", "1000", "4000"})
+    int size;
+
+    @Param({"1", "4"})
+    int threads;
+
+    private TileRenderEngine engine;
+    private BufferedImage galaxy;
+    private StarFieldGenerator generator;
+
+    @Setup
+    public void setUp() {
+        engine = new TileRenderEngine(threads, TileRenderEngine.DEFAULT_TILE_SIZE);
+        galaxy = BenchmarkFixtures.galaxyLikeImage(size);
+        generator = StarFieldGenerator.builder()
+                .width(size)
+                .height(size)
+                .starDensity(0.002)
+                .maxStarSize(4)
+                .diffractionSpikes(true)
+                .spikeCount(4)
+                .seed(BenchmarkFixtures.SEED)
+                .tileRenderEngine(engine)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public BufferedImage applyStarField() {
+        return generator.applyStarField(galaxy);
+    }
+}
@@ -1,13 +1,22 @@
 package org.dbs.sbgb.sbgbcmd;
 
+import org.dbs.sbgb.domain.model.DefaultNoiseColorCalculator;
+import org.dbs.sbgb.domain.model.ImageRowSink;
+import org.dbs.sbgb.domain.model.InterpolationType;
+import org.dbs.sbgb.domain.model.NoiseEngine;
 import org.dbs.sbgb.domain.model.NoiseImageCalculator;
+import org.dbs.sbgb.domain.model.NoiseNormalization;
+import org.dbs.sbgb.domain.model.TiledImageFormat;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
 
 import javax.imageio.ImageIO;
+import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 
 @ShellComponent
 public class ImageCmd {
@@ -33,4 +42,34 @@ public class ImageCmd {
             ex.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Very large noise background (up to 65536 px a side) rendered by bands straight to disk:
+     * only one band of {@code bandRows} rows is held in memory, whatever the height. STRIDED_SAMPLE or
+     * ANALYTIC_BOUNDS normalization skips the full pre-scan, so the first band is written right away.
+     */
+    @ShellMethod("Generate a very large noise image by bands, streamed to a PNG or raw RGBA file")
+    public void buildImageTiled(long seed, String fileName, int width, int height,
+                                @ShellOption(defaultValue = "png") String format,
+                                @ShellOption(defaultValue = "SCALAR") String engine,
+                                @ShellOption(defaultValue = "256") int bandRows,
+                                @ShellOption(defaultValue = "FULL_SCAN") String normalization) throws IOException {
+        TiledImageFormat imageFormat = TiledImageFormat.fromName(format);
+        NoiseImageCalculator noiseImageCalculator = new NoiseImageCalculator.Builder()
+                .withWidth(width)
+                .withHeight(height)
+                .withNoiseEngine(NoiseEngine.resolve(engine))
+                .withNormalization(NoiseNormalization.resolve(normalization))
+                .withNoiseColorCalculator(new DefaultNoiseColorCalculator(Color.BLACK, new Color(40, 60, 140), Color.WHITE,
+                        0.3, 0.6, InterpolationType.SMOOTHSTEP))
+                .build();
+
+        if (!fileName.endsWith("." + imageFormat.extension())) {
+            fileName += "." + imageFormat.extension();
+        }
+
+        try (ImageRowSink sink = imageFormat.open(Path.of(fileName), width, height, true)) {
+            noiseImageCalculator.renderBands(seed, bandRows, sink);
+        }
+    }
+}
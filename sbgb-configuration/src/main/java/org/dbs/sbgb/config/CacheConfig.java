@@ -1,40 +1,145 @@
 package org.dbs.sbgb.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.dbs.sbgb.domain.model.DisplacementField;
+import org.dbs.sbgb.domain.model.GalaxyIntensityField;
+import org.dbs.sbgb.domain.model.NormalizedNoiseGrid;
+import org.dbs.sbgb.infrastructure.cache.DiskCacheStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
- * Configuration du cache Caffeine pour les grilles de bruit normalisées.
- * TTL : 30 minutes — taille max : 50 entrées.
+ * Configuration du cache Caffeine pour les grilles de bruit normalisées, les champs d'intensité de galaxie,
+ * les cartes de déplacement du domain warp (par graine et taille, indépendantes de la force)
+ * et les images de galaxie encodées (PNG, QOI ou JPEG, une entrée par encodage) avec leurs vignettes de notation.
+ * Chaque cache est borné par un budget mémoire (poids = taille du raster, de la grille ou de l'image encodée, en Kio)
+ * et un TTL, configurables dans {@code sbgb.cache.*}.
+ * Sous ces caches mémoire (L1), un cache disque (L2, {@code sbgb.cache.disk.*}) conserve grilles et images encodées
+ * au-delà du TTL et des redémarrages.
+ * Les statistiques sont activées : Spring Boot les publie dans Micrometer
+ * ({@code cache.gets}, {@code cache.puts}, {@code cache.evictions}, {@code cache.eviction.weight})
+ * et elles sont consultables via {@code /actuator/metrics}.
+ * Les caches sont asynchrones : les requêtes identiques simultanées partagent un seul calcul
+ * (voir {@link CoalescingCaffeineCache}).
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
-    @Bean
-    public CacheManager cacheManager() {
-        CaffeineCache noiseGridCache = new CaffeineCache("noiseGrid",
-                Caffeine.newBuilder()
-                        .expireAfterWrite(30, TimeUnit.MINUTES)
-                        .maximumSize(50)
-                        .build());
+    /**
+     * Poids d'une entrée en Kio (au moins 1) : le poids Caffeine est un int, les octets d'une
+     * grande image déborderaient une fois plusieurs grilles additionnées.
+     */
+    static final Weigher<Object, Object> KILOBYTE_WEIGHER =
+            (key, value) -> (int) Math.max(1L, Math.min(Integer.MAX_VALUE, (sizeInBytes(value) + 1023) / 1024));
 
-        CaffeineCache galaxyImageCache = new CaffeineCache("galaxyImage",
-                Caffeine.newBuilder()
-                        .expireAfterWrite(30, TimeUnit.MINUTES)
-                        .maximumSize(50)
-                        .build());
+    @Bean
+    public CacheManager cacheManager(@Value("${sbgb.cache.noise-grid.max-memory:512MB}") DataSize noiseGridBudget,
+                                     @Value("${sbgb.cache.noise-grid.ttl:30m}") Duration noiseGridTtl,
+                                     @Value("${sbgb.cache.galaxy-intensity.max-memory:512MB}") DataSize galaxyIntensityBudget,
+                                     @Value("${sbgb.cache.galaxy-intensity.ttl:30m}") Duration galaxyIntensityTtl,
+                                     @Value("${sbgb.cache.galaxy-warp.max-memory:256MB}") DataSize galaxyWarpBudget,
+                                     @Value("${sbgb.cache.galaxy-warp.ttl:30m}") Duration galaxyWarpTtl,
+                                     @Value("${sbgb.cache.galaxy-png.max-memory:256MB}") DataSize galaxyPngBudget,
+                                     @Value("${sbgb.cache.galaxy-png.ttl:30m}") Duration galaxyPngTtl,
+                                     @Qualifier("cacheLoadExecutor") ExecutorService cacheLoadExecutor,
+                                     MeterRegistry meterRegistry) {
+        CaffeineCache noiseGridCache = weightedCache("noiseGrid", noiseGridBudget, noiseGridTtl,
+                cacheLoadExecutor, meterRegistry);
+        CaffeineCache galaxyIntensityCache = weightedCache("galaxyIntensity", galaxyIntensityBudget, galaxyIntensityTtl,
+                cacheLoadExecutor, meterRegistry);
+        CaffeineCache galaxyWarpCache = weightedCache("galaxyWarp", galaxyWarpBudget, galaxyWarpTtl,
+                cacheLoadExecutor, meterRegistry);
+        CaffeineCache galaxyPngCache = weightedCache("galaxyPng", galaxyPngBudget, galaxyPngTtl,
+                cacheLoadExecutor, meterRegistry);
 
         SimpleCacheManager manager = new SimpleCacheManager();
-        manager.setCaches(List.of(noiseGridCache, galaxyImageCache));
+        manager.setCaches(List.of(noiseGridCache, galaxyIntensityCache, galaxyWarpCache, galaxyPngCache));
         return manager;
     }
+
+    /**
+     * Cache disque L2 : un budget nul le désactive. Taille, nombre d'entrées, succès et défauts
+     * sont publiés sous {@code cache.disk.*}.
+     */
+    @Bean
+    public DiskCacheStore diskCacheStore(@Value("${sbgb.cache.disk.directory:${java.io.tmpdir}/sbgb-cache}") Path directory,
+                                         @Value("${sbgb.cache.disk.max-size:4GB}") DataSize maxSize,
+                                         MeterRegistry meterRegistry) {
+        DiskCacheStore store = new DiskCacheStore(directory, maxSize.toBytes());
+        Gauge.builder("cache.disk.size", store, DiskCacheStore::sizeInBytes).baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("cache.disk.entries", store, DiskCacheStore::entryCount).register(meterRegistry);
+        FunctionCounter.builder("cache.disk.hits", store, DiskCacheStore::hitCount).register(meterRegistry);
+        FunctionCounter.builder("cache.disk.misses", store, DiskCacheStore::missCount).register(meterRegistry);
+        return store;
+    }
+
+    /**
+     * Threads virtuels qui pilotent les calculs en cours : le rendu lui-même s'exécute sur le
+     * moteur de tuiles, ces threads ne font qu'attendre et ne bloquent pas le pool commun.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService cacheLoadExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    private static CaffeineCache weightedCache(String name, DataSize budget, Duration ttl,
+                                               ExecutorService executor, MeterRegistry meterRegistry) {
+        return new CoalescingCaffeineCache(name,
+                Caffeine.newBuilder()
+                        .expireAfterWrite(ttl)
+                        .maximumWeight(budget.toKilobytes())
+                        .weigher(KILOBYTE_WEIGHER)
+                        .executor(executor)
+                        .recordStats()
+                        .buildAsync(),
+                meterRegistry);
+    }
+
+    /**
+     * Taille mémoire des valeurs mises en cache : grille ou champ float, cartes de déplacement, liste de grilles,
+     * image ou PNG encodé.
+     */
+    static long sizeInBytes(Object value) {
+        if (value instanceof DisplacementField field) {
+            return sizeInBytes(field.dx()) + sizeInBytes(field.dy());
+        }
+        if (value instanceof NormalizedNoiseGrid grid) {
+            return (long) grid.values().length * Float.BYTES;
+        }
+        if (value instanceof GalaxyIntensityField field) {
+            return (long) field.values().length * Float.BYTES;
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (value instanceof BufferedImage image) {
+            DataBuffer buffer = image.getRaster().getDataBuffer();
+            return (long) buffer.getSize() * buffer.getNumBanks() * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+        }
+        if (value instanceof Collection<?> values) {
+            return values.stream().mapToLong(CacheConfig::sizeInBytes).sum();
+        }
+        return 0L;
+    }
 }
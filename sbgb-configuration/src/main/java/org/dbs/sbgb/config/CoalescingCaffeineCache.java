@@ -0,0 +1,43 @@
+package org.dbs.sbgb.config;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Cache Caffeine asynchrone qui mutualise les calculs concurrents d'une même clé (single-flight).
+ * Avec {@code @Cacheable(sync = true)}, le premier appelant installe un futur en cours de calcul ;
+ * les appelants suivants sur la même clé attendent ce futur au lieu de relancer le rendu.
+ * Ces appelants mutualisés sont comptés dans {@code cache.coalesced} (tag {@code cache}).
+ */
+public class CoalescingCaffeineCache extends CaffeineCache {
+
+    private final AsyncCache<Object, Object> asyncCache;
+    private final Counter coalesced;
+
+    public CoalescingCaffeineCache(String name, AsyncCache<Object, Object> asyncCache, MeterRegistry meterRegistry) {
+        super(name, asyncCache, false);
+        this.asyncCache = asyncCache;
+        this.coalesced = Counter.builder("cache.coalesced")
+                .description("Requêtes ayant attendu un calcul déjà en cours pour la même clé")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CompletableFuture<Object> inFlight = asyncCache.getIfPresent(key);
+        if (inFlight != null && !inFlight.isDone()) {
+            coalesced.increment();
+        }
+        return super.get(key, valueLoader);
+    }
+
+    public double coalescedCount() {
+        return coalesced.count();
+    }
+}
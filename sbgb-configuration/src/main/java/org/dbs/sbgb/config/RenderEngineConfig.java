@@ -0,0 +1,52 @@
+package org.dbs.sbgb.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.dbs.sbgb.domain.model.PixelGeometryTable;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration du moteur de rendu par tuiles.
+ * parallelism : nombre de threads du pool (0 = nombre de cœurs) — tile-size : côté d'une tuile en pixels.
+ * jobs.* : rendus par bandes en tâche de fond — concurrency : tâches simultanées, queue-capacity : tâches en attente
+ * au-delà desquelles une soumission est refusée, directory : fichiers produits, band-rows : hauteur des bandes
+ * (0 = automatique), ttl : conservation d'une tâche terminée et de son fichier, purge-interval : période de la purge.
+ * La mémoire des tables de géométrie partagées ({@link PixelGeometryTable}) est publiée sous
+ * {@code render.geometry.table.size}.
+ */
+@Configuration
+@EnableScheduling
+public class RenderEngineConfig {
+
+    @Bean(destroyMethod = "close")
+    public TileRenderEngine tileRenderEngine(@Value("${sbgb.render.parallelism:0}") int parallelism,
+                                             @Value("${sbgb.render.tile-size:64}") int tileSize,
+                                             MeterRegistry meterRegistry) {
+        Gauge.builder("render.geometry.table.size", PixelGeometryTable::cachedFootprintBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        return new TileRenderEngine(parallelism, tileSize);
+    }
+
+    /**
+     * Tâches de rendu par bandes : chacune occupe déjà tout le moteur de tuiles, elles sont donc exécutées
+     * une à une par défaut. La file d'attente est bornée : une soumission de plus est rejetée
+     * ({@link java.util.concurrent.RejectedExecutionException}) plutôt que d'accumuler des tâches sans limite.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService renderJobExecutor(@Value("${sbgb.render.jobs.concurrency:1}") int concurrency,
+                                             @Value("${sbgb.render.jobs.queue-capacity:4}") int queueCapacity) {
+        return new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("render-job-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
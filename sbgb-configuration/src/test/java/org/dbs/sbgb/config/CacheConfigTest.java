@@ -0,0 +1,120 @@
+package org.dbs.sbgb.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.dbs.sbgb.domain.model.DisplacementField;
+import org.dbs.sbgb.domain.model.GalaxyIntensityField;
+import org.dbs.sbgb.domain.model.NormalizedNoiseGrid;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.util.unit.DataSize;
+
+import java.awt.image.BufferedImage;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheConfigTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService loadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void closeExecutor() {
+        loadExecutor.close();
+    }
+
+    @Test
+    void shouldWeighImagesAndGridsByTheirRasterSize() {
+        BufferedImage argb = new BufferedImage(1000, 1000, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage gray = new BufferedImage(1000, 1000, BufferedImage.TYPE_BYTE_GRAY);
+        NormalizedNoiseGrid grid = new NormalizedNoiseGrid(new float[500 * 400], 0.0, 1.0, 500, 400);
+
+        assertThat(CacheConfig.sizeInBytes(argb)).isEqualTo(4_000_000L);
+        assertThat(CacheConfig.sizeInBytes(gray)).isEqualTo(1_000_000L);
+        assertThat(CacheConfig.sizeInBytes(grid)).isEqualTo(800_000L);
+        assertThat(CacheConfig.sizeInBytes(List.of(grid, grid))).isEqualTo(1_600_000L);
+        assertThat(CacheConfig.sizeInBytes(new GalaxyIntensityField(new float[100 * 100], 100, 100)))
+                .isEqualTo(40_000L);
+        assertThat(CacheConfig.sizeInBytes(new DisplacementField(grid, grid))).isEqualTo(1_600_000L);
+        assertThat(CacheConfig.sizeInBytes(new byte[2048])).isEqualTo(2048L);
+        assertThat(CacheConfig.KILOBYTE_WEIGHER.weigh("key", argb)).isEqualTo(3907);
+        assertThat(CacheConfig.KILOBYTE_WEIGHER.weigh("key", "unknown")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldEvictByMemoryBudgetAndRecordStats() {
+        CaffeineCache cache = (CaffeineCache) cacheManager().getCache("galaxyIntensity");
+        Cache<Object, Object> nativeCache = cache.getNativeCache();
+
+        for (int i = 0; i < 5; i++) {
+            cache.put(i, new BufferedImage(1000, 1000, BufferedImage.TYPE_INT_ARGB));
+        }
+        cache.get(4);
+        cache.get(99);
+        nativeCache.cleanUp();
+
+        assertThat(nativeCache.estimatedSize()).isLessThanOrEqualTo(2);
+        assertThat(nativeCache.stats().hitCount()).isEqualTo(1);
+        assertThat(nativeCache.stats().missCount()).isEqualTo(1);
+        assertThat(nativeCache.stats().evictionCount()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void shouldShareOneComputationBetweenConcurrentCallersOfSameKey() throws Exception {
+        CoalescingCaffeineCache cache = (CoalescingCaffeineCache) cacheManager().getCache("noiseGrid");
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<String> slowRender = () -> {
+            computations.incrementAndGet();
+            started.countDown();
+            release.await();
+            return "grid";
+        };
+
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            Future<String> leader = callers.submit(() -> cache.get(42, slowRender));
+            started.await();
+            while (cache.getAsyncCache().getIfPresent(42) == null) {
+                Thread.onSpinWait();
+            }
+            Future<String> waiter1 = callers.submit(() -> cache.get(42, slowRender));
+            Future<String> waiter2 = callers.submit(() -> cache.get(42, slowRender));
+            while (cache.coalescedCount() < 2) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("grid");
+            assertThat(waiter1.get(5, TimeUnit.SECONDS)).isEqualTo("grid");
+            assertThat(waiter2.get(5, TimeUnit.SECONDS)).isEqualTo("grid");
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(computations).hasValue(1);
+        assertThat(meterRegistry.get("cache.coalesced").tag("cache", "noiseGrid").counter().count()).isEqualTo(2.0);
+    }
+
+    private CacheManager cacheManager() {
+        CacheManager manager = new CacheConfig().cacheManager(
+                DataSize.ofMegabytes(10), Duration.ofMinutes(30), DataSize.ofMegabytes(10), Duration.ofMinutes(30),
+                DataSize.ofMegabytes(10), Duration.ofMinutes(30), DataSize.ofMegabytes(10), Duration.ofMinutes(30),
+                loadExecutor, meterRegistry);
+        ((SimpleCacheManager) manager).afterPropertiesSet();
+        return manager;
+    }
+}
@@ -6,18 +6,32 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.dbs.sbgb.domain.model.EncodedImage;
+import org.dbs.sbgb.domain.model.ImageFormat;
+import org.dbs.sbgb.domain.model.RenderJob;
+import org.dbs.sbgb.domain.model.TiledImageFormat;
 import org.dbs.sbgb.exposition.common.LogExecutionTime;
 import org.dbs.sbgb.exposition.resources.dto.GalaxyBaseStructureDTO;
 import org.dbs.sbgb.exposition.resources.dto.GalaxyCosmeticRenderDTO;
+import org.dbs.sbgb.exposition.resources.dto.RenderJobDTO;
 import org.dbs.sbgb.exposition.resources.mapper.GalaxyBaseStructureDTOMapper;
 import org.dbs.sbgb.exposition.resources.mapper.GalaxyCosmeticRenderDTOMapper;
+import org.dbs.sbgb.exposition.resources.mapper.RenderJobDTOMapper;
 import org.dbs.sbgb.port.in.*;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 import java.util.UUID;
 
@@ -36,18 +50,90 @@ public class GalaxyResource {
     private final DeleteRendersByBaseUseCase deleteRendersByBaseUseCase;
     private final ReapplyGalaxyCosmeticsUseCase reapplyUseCase;
     private final ResolveGalaxyBaseUseCase resolveBaseUseCase;
+    private final RenderGalaxyJobUseCase renderJobUseCase;
     private final GalaxyBaseStructureDTOMapper baseMapper;
     private final GalaxyCosmeticRenderDTOMapper renderMapper;
+    private final RenderJobDTOMapper renderJobMapper;
 
-    @PostMapping(value = "/build", produces = MediaType.IMAGE_PNG_VALUE)
+    @PostMapping(value = "/build")
     @Operation(
-            description = "Generate a galaxy image without saving",
+            description = "Generate a galaxy image without saving — PNG, QOI, JPEG or raw float32 (format parameter or Accept header); fast preview, or max compression attachment with download=true",
             requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     content = @Content(schema = @Schema(implementation = GalaxyRequestCmd.class)),
                     description = "Galaxy generation parameters"))
     @LogExecutionTime
-    public ResponseEntity<byte[]> buildGalaxy(@Valid @RequestBody GalaxyRequestCmd cmd) throws IOException {
-        return ResponseEntity.ok(buildGalaxyImageUseCase.buildGalaxyImage(cmd));
+    public ResponseEntity<StreamingResponseBody> buildGalaxy(
+            @Valid @RequestBody GalaxyRequestCmd cmd,
+            @RequestParam(name = "download", defaultValue = "false") boolean download,
+            @RequestParam(name = "format", required = false) String format,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept)
+            throws IOException, HttpMediaTypeNotAcceptableException {
+        ImageFormat imageFormat = ImageResponses.negotiate(format, accept);
+        EncodedImage image = buildGalaxyImageUseCase.buildGalaxyImage(cmd, ImageResponses.encodingFor(imageFormat, download));
+        return ImageResponses.image(image, imageFormat, download, "galaxy");
+    }
+
+    @PostMapping(value = "/build/progressive", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            description = "Generate a galaxy progressively — Server-Sent Events with 1/8, 1/4, 1/2 then full resolution passes (base64 image, PNG, QOI or JPEG by format parameter)",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(schema = @Schema(implementation = GalaxyRequestCmd.class)),
+                    description = "Galaxy generation parameters"))
+    @LogExecutionTime
+    public ResponseEntity<StreamingResponseBody> buildGalaxyProgressive(
+            @Valid @RequestBody GalaxyRequestCmd cmd,
+            @RequestParam(name = "format", required = false) String format) {
+        ImageFormat imageFormat = ImageResponses.progressiveFormat(format);
+        return ImageResponses.progressive(listener -> buildGalaxyImageUseCase.buildGalaxyPreview(
+                cmd, ImageResponses.encodingFor(imageFormat, false), listener));
+    }
+
+    @PostMapping(value = "/render-jobs", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            description = "Render a very large galaxy (up to 65536 px) in the background, streamed to disk by bands — PNG or raw RGBA (format=png|rgba); pixel-sized parameters follow the scale of the requested width; 503 when too many jobs are queued",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(schema = @Schema(implementation = GalaxyRequestCmd.class)),
+                    description = "Galaxy generation parameters, at preview size"))
+    @LogExecutionTime
+    public ResponseEntity<RenderJobDTO> submitRenderJob(
+            @Valid @RequestBody GalaxyRequestCmd cmd,
+            @RequestParam(name = "width") int width,
+            @RequestParam(name = "height") int height,
+            @RequestParam(name = "format", defaultValue = "png") String format) {
+        RenderJob job = renderJobUseCase.submit(cmd, width, height, TiledImageFormat.fromName(format));
+        return ResponseEntity.accepted()
+                .location(URI.create("/galaxy/render-jobs/" + job.id()))
+                .body(renderJobMapper.toDTO(job));
+    }
+
+    @GetMapping(value = "/render-jobs/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(description = "Status and progress (rows written) of a background render job")
+    public ResponseEntity<RenderJobDTO> getRenderJob(@PathVariable("id") UUID id) {
+        return renderJobUseCase.findJob(id)
+                .map(job -> ResponseEntity.ok(renderJobMapper.toDTO(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/render-jobs/{id}/file")
+    @Operation(description = "Download the file of a completed render job (409 while it is still running, 404 once expired)")
+    public ResponseEntity<Resource> getRenderJobFile(@PathVariable("id") UUID id) throws IOException {
+        RenderJob job = renderJobUseCase.findJob(id).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!job.isDone()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        FileSystemResource file = new FileSystemResource(job.output());
+        if (!file.exists()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(job.format().mediaType()))
+                .contentLength(file.contentLength())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("galaxy." + job.format().extension()).build().toString())
+                .body(file);
     }
 
     @PostMapping(value = "/renders/rate", produces = MediaType.APPLICATION_JSON_VALUE)
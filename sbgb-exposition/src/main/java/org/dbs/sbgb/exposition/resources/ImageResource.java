@@ -6,6 +6,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.dbs.sbgb.domain.model.EncodedImage;
+import org.dbs.sbgb.domain.model.ImageFormat;
 import org.dbs.sbgb.exposition.common.LogExecutionTime;
 import org.dbs.sbgb.exposition.resources.dto.NoiseCosmeticRenderDTO;
 import org.dbs.sbgb.exposition.resources.dto.NoiseBaseStructureDTO;
@@ -17,10 +19,13 @@ import org.dbs.sbgb.port.in.FindNoiseBaseStructuresUseCase;
 import org.dbs.sbgb.port.in.FindNoiseCosmeticRendersUseCase;
 import org.dbs.sbgb.port.in.ImageRequestCmd;
 import org.dbs.sbgb.port.in.RateNoiseCosmeticRenderUseCase;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -41,15 +46,35 @@ public class ImageResource {
     private final NoiseBaseStructureMapper baseStructureMapper;
     private final NoiseCosmeticRenderMapper cosmeticRenderMapper;
 
-    @PostMapping(value = "/images/build", produces = MediaType.IMAGE_PNG_VALUE)
+    @PostMapping(value = "/images/build")
     @Operation(
-            description = "Build a noise image without saving",
+            description = "Build a noise image without saving — PNG, QOI, JPEG or raw float32 (format parameter or Accept header); fast preview, or max compression attachment with download=true",
             requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     content = @Content(schema = @Schema(implementation = ImageRequestCmd.class))))
     @LogExecutionTime
-    public ResponseEntity<byte[]> buildImage(@Valid @RequestBody ImageRequestCmd cmd) throws IOException {
-        byte[] bytes = buildNoiseImageUseCase.buildNoiseImage(cmd);
-        return ResponseEntity.ok(bytes);
+    public ResponseEntity<StreamingResponseBody> buildImage(
+            @Valid @RequestBody ImageRequestCmd cmd,
+            @RequestParam(name = "download", defaultValue = "false") boolean download,
+            @RequestParam(name = "format", required = false) String format,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept)
+            throws IOException, HttpMediaTypeNotAcceptableException {
+        ImageFormat imageFormat = ImageResponses.negotiate(format, accept);
+        EncodedImage image = buildNoiseImageUseCase.buildNoiseImage(cmd, ImageResponses.encodingFor(imageFormat, download));
+        return ImageResponses.image(image, imageFormat, download, "noise");
+    }
+
+    @PostMapping(value = "/images/build/progressive", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            description = "Build a noise image progressively — Server-Sent Events with 1/8, 1/4, 1/2 then full resolution passes (base64 image, PNG, QOI or JPEG by format parameter)",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(schema = @Schema(implementation = ImageRequestCmd.class))))
+    @LogExecutionTime
+    public ResponseEntity<StreamingResponseBody> buildImageProgressive(
+            @Valid @RequestBody ImageRequestCmd cmd,
+            @RequestParam(name = "format", required = false) String format) {
+        ImageFormat imageFormat = ImageResponses.progressiveFormat(format);
+        return ImageResponses.progressive(listener -> buildNoiseImageUseCase.buildNoisePreview(
+                cmd, ImageResponses.encodingFor(imageFormat, false), listener));
     }
 
     @PostMapping(value = "/images/renders/rate", produces = MediaType.APPLICATION_JSON_VALUE)
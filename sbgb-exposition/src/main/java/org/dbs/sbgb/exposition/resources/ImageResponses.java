@@ -0,0 +1,130 @@
+package org.dbs.sbgb.exposition.resources;
+
+import org.dbs.sbgb.domain.model.EncodedImage;
+import org.dbs.sbgb.domain.model.ImageEncoding;
+import org.dbs.sbgb.domain.model.ImageFormat;
+import org.dbs.sbgb.domain.model.PreviewPass;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Réponses image en flux : l'image encodée est écrite directement dans le flux de la réponse,
+ * sans copie {@code byte[]} intermédiaire. {@code Content-Length} n'est posé que lorsque
+ * la taille est connue d'avance (octets du cache, raster float) ; sinon la réponse part en transfert
+ * chunked dès le premier octet encodé.
+ * Le format est choisi par le paramètre {@code format} ({@code png}, {@code qoi}, {@code jpeg}, {@code f32}),
+ * à défaut par l'en-tête {@code Accept} ; PNG par défaut.
+ * Les aperçus sont encodés en compression rapide, les téléchargements ({@code ?download=true})
+ * en compression maximale et servis en pièce jointe.
+ * Le rendu progressif part en Server-Sent Events : un événement {@code pass} par passe, image en base64.
+ */
+final class ImageResponses {
+
+    private static final List<MediaType> SUPPORTED = Arrays.stream(ImageFormat.values())
+            .map(format -> MediaType.parseMediaType(format.mediaType()))
+            .toList();
+
+    private static final Comparator<MediaType> PREFERENCE = Comparator
+            .comparingDouble(MediaType::getQualityValue).reversed()
+            .thenComparing(MediaType::isWildcardType)
+            .thenComparing(MediaType::isWildcardSubtype);
+
+    private ImageResponses() {
+    }
+
+    /**
+     * Format demandé : le paramètre {@code format} prime sur {@code Accept}. Les jokers ({@code *}{@code /*},
+     * {@code image/*}) donnent PNG.
+     */
+    static ImageFormat negotiate(String format, String accept) throws HttpMediaTypeNotAcceptableException {
+        if (format != null && !format.isBlank()) {
+            return ImageFormat.fromName(format);
+        }
+        if (accept == null || accept.isBlank()) {
+            return ImageFormat.PNG;
+        }
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept).stream()
+                .filter(mediaType -> mediaType.getQualityValue() > 0)
+                .sorted(PREFERENCE)
+                .toList();
+        for (MediaType mediaType : accepted) {
+            for (ImageFormat candidate : ImageFormat.values()) {
+                if (mediaType.includes(SUPPORTED.get(candidate.ordinal()))) {
+                    return candidate;
+                }
+            }
+        }
+        throw new HttpMediaTypeNotAcceptableException(SUPPORTED);
+    }
+
+    static ImageEncoding encodingFor(ImageFormat format, boolean download) {
+        return download ? ImageEncoding.download(format) : ImageEncoding.preview(format);
+    }
+
+    static ResponseEntity<StreamingResponseBody> image(EncodedImage image, ImageFormat format, boolean download,
+                                                       String basename) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(SUPPORTED.get(format.ordinal()))
+                .varyBy(HttpHeaders.ACCEPT);
+        image.contentLength().ifPresent(response::contentLength);
+        if (download) {
+            response.header(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(basename + "." + format.extension()).build().toString());
+        }
+        return response.body(image::writeTo);
+    }
+
+    /**
+     * Format des passes progressives : le paramètre {@code format}, PNG par défaut. L'en-tête {@code Accept}
+     * porte ici {@code text/event-stream} et n'est pas consulté ; le raster float n'a pas de passe réduite.
+     */
+    static ImageFormat progressiveFormat(String format) {
+        ImageFormat imageFormat = format == null || format.isBlank() ? ImageFormat.PNG : ImageFormat.fromName(format);
+        if (!imageFormat.isRaster()) {
+            throw new IllegalArgumentException("Progressive rendering needs a raster format, got: " + format);
+        }
+        return imageFormat;
+    }
+
+    /**
+     * Rendu progressif en flux SSE : chaque passe est écrite et vidée dès que le rendu la livre.
+     * Un client qui abandonne la requête fait échouer l'écriture suivante ; l'IOException remonte dans le rendu
+     * et les passes restantes ne sont pas calculées.
+     */
+    static ResponseEntity<StreamingResponseBody> progressive(ProgressiveRender render) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noCache())
+                .body(out -> render.run(pass -> writeEvent(out, pass)));
+    }
+
+    private static void writeEvent(OutputStream out, PreviewPass pass) throws IOException {
+        String event = "event: pass\n"
+                + "data: {\"divisor\":" + pass.divisor()
+                + ",\"width\":" + pass.width()
+                + ",\"height\":" + pass.height()
+                + ",\"final\":" + pass.isFinal()
+                + ",\"mediaType\":\"" + pass.format().mediaType()
+                + "\",\"image\":\"" + Base64.getEncoder().encodeToString(pass.image()) + "\"}\n\n";
+        out.write(event.getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    @FunctionalInterface
+    interface ProgressiveRender {
+        void run(PreviewPass.Listener listener) throws IOException;
+    }
+}
@@ -0,0 +1,18 @@
+package org.dbs.sbgb.exposition.resources.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+public class RenderJobDTO {
+    private UUID id;
+    private String status;
+    private int width;
+    private int height;
+    private String format;
+    private int rowsWritten;
+    private String error;
+}
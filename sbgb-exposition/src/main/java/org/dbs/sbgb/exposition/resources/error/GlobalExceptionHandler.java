@@ -1,6 +1,8 @@
 package org.dbs.sbgb.exposition.resources.error;
 
 import org.dbs.sbgb.domain.exception.ImageNameAlreadyExistsException;
+import org.dbs.sbgb.domain.exception.RenderJobQueueFullException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -27,4 +29,14 @@ public class GlobalExceptionHandler {
         error.put("status", String.valueOf(HttpStatus.BAD_REQUEST.value()));
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(RenderJobQueueFullException.class)
+    public ResponseEntity<Map<String, String>> handleRenderJobQueueFullException(RenderJobQueueFullException ex) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", ex.getMessage());
+        error.put("status", String.valueOf(HttpStatus.SERVICE_UNAVAILABLE.value()));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "60")
+                .body(error);
+    }
 }
\ No newline at end of file
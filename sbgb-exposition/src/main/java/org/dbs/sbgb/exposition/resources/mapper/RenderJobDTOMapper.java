@@ -0,0 +1,11 @@
+package org.dbs.sbgb.exposition.resources.mapper;
+
+import org.dbs.sbgb.domain.model.RenderJob;
+import org.dbs.sbgb.exposition.resources.dto.RenderJobDTO;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring", implementationName = "RenderJobDTOMapperImpl")
+public interface RenderJobDTOMapper {
+
+    RenderJobDTO toDTO(RenderJob domain);
+}
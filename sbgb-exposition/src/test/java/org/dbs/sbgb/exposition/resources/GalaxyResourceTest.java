@@ -1,27 +1,44 @@
 package org.dbs.sbgb.exposition.resources;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.dbs.sbgb.domain.exception.RenderJobQueueFullException;
+import org.dbs.sbgb.domain.model.EncodedImage;
 import org.dbs.sbgb.domain.model.GalaxyBaseStructure;
 import org.dbs.sbgb.domain.model.GalaxyCosmeticRender;
+import org.dbs.sbgb.domain.model.ImageEncoding;
+import org.dbs.sbgb.domain.model.ImageFormat;
+import org.dbs.sbgb.domain.model.PreviewPass;
+import org.dbs.sbgb.domain.model.RenderJob;
+import org.dbs.sbgb.domain.model.TiledImageFormat;
 import org.dbs.sbgb.exposition.resources.dto.GalaxyBaseStructureDTO;
 import org.dbs.sbgb.exposition.resources.dto.GalaxyCosmeticRenderDTO;
+import org.dbs.sbgb.exposition.resources.dto.RenderJobDTO;
 import org.dbs.sbgb.exposition.resources.mapper.GalaxyBaseStructureDTOMapper;
 import org.dbs.sbgb.exposition.resources.mapper.GalaxyCosmeticRenderDTOMapper;
+import org.dbs.sbgb.exposition.resources.mapper.RenderJobDTOMapper;
 import org.dbs.sbgb.port.in.*;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -67,19 +84,193 @@ class GalaxyResourceTest {
     @MockitoBean
     private GalaxyCosmeticRenderDTOMapper renderMapper;
 
+    @MockitoBean
+    private RenderGalaxyJobUseCase renderJobUseCase;
+
+    @MockitoBean
+    private RenderJobDTOMapper renderJobMapper;
+
+    @TempDir
+    Path renderDirectory;
+
     @Test
     void shouldBuildGalaxyImage() throws Exception {
         GalaxyRequestCmd cmd = GalaxyRequestCmd.builder().width(500).height(500).build();
-        when(buildGalaxyImageUseCase.buildGalaxyImage(any())).thenReturn(new byte[]{1, 2, 3});
+        when(buildGalaxyImageUseCase.buildGalaxyImage(any(), eq(ImageEncoding.preview(ImageFormat.PNG))))
+                .thenReturn(EncodedImage.ofBytes(new byte[]{1, 2, 3}));
 
-        mockMvc.perform(post("/galaxy/build")
+        MvcResult result = mockMvc.perform(post("/galaxy/build")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(cmd)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 3))
+                .andExpect(content().bytes(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    void shouldEncodeDownloadWithMaxCompressionAsAttachment() throws Exception {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder().width(500).height(500).build();
+        when(buildGalaxyImageUseCase.buildGalaxyImage(any(), eq(ImageEncoding.download(ImageFormat.PNG))))
+                .thenReturn(EncodedImage.ofBytes(new byte[]{4, 5}));
+
+        MvcResult result = mockMvc.perform(post("/galaxy/build").param("download", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cmd)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"galaxy.png\""))
+                .andExpect(content().bytes(new byte[]{4, 5}));
+    }
+
+    @Test
+    void shouldStreamProgressivePassesAsServerSentEvents() throws Exception {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder().width(500).height(500).build();
+        doAnswer(invocation -> {
+            PreviewPass.Listener listener = invocation.getArgument(2);
+            listener.onPass(new PreviewPass(2, 8, 4, ImageFormat.PNG, new byte[]{1, 2}));
+            listener.onPass(new PreviewPass(1, 16, 8, ImageFormat.PNG, new byte[]{3}));
+            return null;
+        }).when(buildGalaxyImageUseCase).buildGalaxyPreview(any(), eq(ImageEncoding.preview(ImageFormat.PNG)), any());
+
+        MvcResult result = mockMvc.perform(post("/galaxy/build/progressive")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cmd)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(
+                        "event: pass\ndata: {\"divisor\":2,\"width\":8,\"height\":4,\"final\":false,"
+                                + "\"mediaType\":\"image/png\",\"image\":\"AQI=\"}\n\n"
+                                + "event: pass\ndata: {\"divisor\":1,\"width\":16,\"height\":8,\"final\":true,"
+                                + "\"mediaType\":\"image/png\",\"image\":\"Aw==\"}\n\n"));
+    }
+
+    @Test
+    void shouldRejectFloat32ForProgressiveRendering() throws Exception {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder().width(500).height(500).build();
+
+        mockMvc.perform(post("/galaxy/build/progressive").param("format", "f32")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cmd)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldServeFloat32RasterWhenRequestedByFormatParameter() throws Exception {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder().width(500).height(500).build();
+        when(buildGalaxyImageUseCase.buildGalaxyImage(any(), eq(ImageEncoding.download(ImageFormat.FLOAT32))))
+                .thenReturn(EncodedImage.streamed(3, out -> out.write(new byte[]{1, 2, 3})));
+
+        MvcResult result = mockMvc.perform(post("/galaxy/build").param("format", "f32").param("download", "true")
+                        .header(HttpHeaders.ACCEPT, MediaType.IMAGE_PNG_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cmd)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ImageFormat.FLOAT32.mediaType()))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 3))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"galaxy.f32\""))
                 .andExpect(content().bytes(new byte[]{1, 2, 3}));
     }
 
+    @Test
+    void shouldAcceptRenderJobWithItsLocation() throws Exception {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder().width(500).height(500).build();
+        RenderJob job = RenderJob.queued(UUID.randomUUID(), 16000, 9000, TiledImageFormat.RAW_RGBA);
+        when(renderJobUseCase.submit(any(), eq(16000), eq(9000), eq(TiledImageFormat.RAW_RGBA))).thenReturn(job);
+        when(renderJobMapper.toDTO(job)).thenReturn(buildRenderJobDTO(job));
+
+        mockMvc.perform(post("/galaxy/render-jobs").param("width", "16000").param("height", "9000")
+                        .param("format", "rgba")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cmd)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/galaxy/render-jobs/" + job.id()))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void shouldRejectRenderJobWithUnknownFormat() throws Exception {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder().width(500).height(500).build();
+
+        mockMvc.perform(post("/galaxy/render-jobs").param("width", "16000").param("height", "9000")
+                        .param("format", "gif")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cmd)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldAnswerServiceUnavailableWhenTheRenderQueueIsFull() throws Exception {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder().width(500).height(500).build();
+        when(renderJobUseCase.submit(any(), eq(16000), eq(9000), eq(TiledImageFormat.PNG)))
+                .thenThrow(new RenderJobQueueFullException(new RejectedExecutionException()));
+
+        mockMvc.perform(post("/galaxy/render-jobs").param("width", "16000").param("height", "9000")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cmd)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void shouldReturnNotFoundForTheExpiredFileOfARenderJob() throws Exception {
+        RenderJob job = RenderJob.queued(UUID.randomUUID(), 16000, 9000, TiledImageFormat.PNG)
+                .done(renderDirectory.resolve("purged.png"));
+        when(renderJobUseCase.findJob(job.id())).thenReturn(Optional.of(job));
+
+        mockMvc.perform(get("/galaxy/render-jobs/{id}/file", job.id())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownRenderJob() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(renderJobUseCase.findJob(id)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/galaxy/render-jobs/{id}", id)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/galaxy/render-jobs/{id}/file", id)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldRefuseTheFileOfARunningRenderJob() throws Exception {
+        RenderJob job = RenderJob.queued(UUID.randomUUID(), 16000, 9000, TiledImageFormat.PNG).running(4000);
+        when(renderJobUseCase.findJob(job.id())).thenReturn(Optional.of(job));
+        when(renderJobMapper.toDTO(job)).thenReturn(buildRenderJobDTO(job));
+
+        mockMvc.perform(get("/galaxy/render-jobs/{id}", job.id()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowsWritten").value(4000));
+        mockMvc.perform(get("/galaxy/render-jobs/{id}/file", job.id())).andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldDownloadTheFileOfACompletedRenderJob() throws Exception {
+        Path output = Files.write(renderDirectory.resolve("galaxy.png"), new byte[]{7, 8, 9});
+        RenderJob job = RenderJob.queued(UUID.randomUUID(), 16000, 9000, TiledImageFormat.PNG).done(output);
+        when(renderJobUseCase.findJob(job.id())).thenReturn(Optional.of(job));
+
+        mockMvc.perform(get("/galaxy/render-jobs/{id}/file", job.id()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 3))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"galaxy.png\""))
+                .andExpect(content().bytes(new byte[]{7, 8, 9}));
+    }
+
     @Test
     void shouldRateRenderAndReturn201() throws Exception {
         UUID renderId = UUID.randomUUID();
@@ -171,4 +362,15 @@ class GalaxyResourceTest {
         dto.setNote(3);
         return dto;
     }
+
+    private RenderJobDTO buildRenderJobDTO(RenderJob job) {
+        RenderJobDTO dto = new RenderJobDTO();
+        dto.setId(job.id());
+        dto.setStatus(job.status().name());
+        dto.setWidth(job.width());
+        dto.setHeight(job.height());
+        dto.setFormat(job.format().name());
+        dto.setRowsWritten(job.rowsWritten());
+        return dto;
+    }
 }
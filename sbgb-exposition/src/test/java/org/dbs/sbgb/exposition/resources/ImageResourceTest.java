@@ -1,5 +1,9 @@
 package org.dbs.sbgb.exposition.resources;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.dbs.sbgb.domain.model.EncodedImage;
+import org.dbs.sbgb.domain.model.ImageEncoding;
+import org.dbs.sbgb.domain.model.ImageFormat;
 import org.dbs.sbgb.domain.model.NoiseCosmeticRender;
 import org.dbs.sbgb.exposition.resources.mapper.NoiseCosmeticRenderMapper;
 import org.dbs.sbgb.exposition.resources.mapper.NoiseBaseStructureMapper;
@@ -9,17 +13,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
 import java.util.UUID;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -30,6 +37,9 @@ class ImageResourceTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockitoBean
     private BuildNoiseImageUseCase buildNoiseImageUseCase;
     @MockitoBean
@@ -45,6 +55,54 @@ class ImageResourceTest {
     @MockitoBean
     private NoiseCosmeticRenderMapper cosmeticRenderMapper;
 
+    @Test
+    void shouldStreamRenderedImageWithoutContentLength() throws Exception {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G'};
+        when(buildNoiseImageUseCase.buildNoiseImage(any(), eq(ImageEncoding.preview(ImageFormat.PNG))))
+                .thenReturn(EncodedImage.streamed(out -> out.write(png)));
+
+        MvcResult result = mockMvc.perform(post("/images/build")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildCmd())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.IMAGE_PNG))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_LENGTH))
+                .andExpect(content().bytes(png));
+    }
+
+    @Test
+    void shouldNegotiateFormatFromAcceptHeader() throws Exception {
+        byte[] qoi = {'q', 'o', 'i', 'f'};
+        when(buildNoiseImageUseCase.buildNoiseImage(any(), eq(ImageEncoding.preview(ImageFormat.QOI))))
+                .thenReturn(EncodedImage.streamed(out -> out.write(qoi)));
+
+        MvcResult result = mockMvc.perform(post("/images/build")
+                        .header(HttpHeaders.ACCEPT, "image/png;q=0.5, image/qoi")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildCmd())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/qoi"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andExpect(content().bytes(qoi));
+    }
+
+    @Test
+    void shouldRejectUnsupportedAcceptHeader() throws Exception {
+        mockMvc.perform(post("/images/build")
+                        .header(HttpHeaders.ACCEPT, "image/webp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(buildCmd())))
+                .andExpect(status().isNotAcceptable());
+    }
+
     @Test
     void shouldReturnRendersForBase() throws Exception {
         UUID baseId = UUID.randomUUID();
@@ -79,4 +137,15 @@ class ImageResourceTest {
 
         verify(deleteNoiseCosmeticRenderUseCase).deleteRender(renderId);
     }
+
+    private ImageRequestCmd buildCmd() {
+        return ImageRequestCmd.builder()
+                .sizeCmd(ImageRequestCmd.SizeCmd.builder().width(100).height(100).seed(42).build())
+                .colorCmd(ImageRequestCmd.ColorCmd.builder()
+                        .back("#000000").backThreshold(0.4)
+                        .middle("#888888").middleThreshold(0.7)
+                        .fore("#FFFFFF").interpolationType("LINEAR")
+                        .build())
+                .build();
+    }
 }
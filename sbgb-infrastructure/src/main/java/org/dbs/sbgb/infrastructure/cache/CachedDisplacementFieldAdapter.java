@@ -0,0 +1,41 @@
+package org.dbs.sbgb.infrastructure.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.dbs.sbgb.domain.model.ContentKey;
+import org.dbs.sbgb.domain.model.DisplacementField;
+import org.dbs.sbgb.domain.model.GalaxyImageRenderer;
+import org.dbs.sbgb.domain.model.NormalizedNoiseGrid;
+import org.dbs.sbgb.port.out.DisplacementFieldComputationPort;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Adaptateur de calcul des cartes de déplacement du domain warp avec mise en cache Caffeine.
+ * La clé est (graine, largeur, hauteur) : toutes les forces de warp et toutes les structures de même graine
+ * et de même taille partagent les mêmes cartes.
+ * Sur un défaut du cache mémoire, les cartes sont d'abord cherchées dans le cache disque ({@link DiskCacheStore}).
+ */
+@Component
+@RequiredArgsConstructor
+public class CachedDisplacementFieldAdapter implements DisplacementFieldComputationPort {
+
+    static final String DISPLACEMENT_SPACE = "galaxy-warp";
+
+    private final DiskCacheStore diskCacheStore;
+
+    @Override
+    @Cacheable(value = "galaxyWarp", key = "#p0 + '/' + #p1 + 'x' + #p2", sync = true)
+    public DisplacementField computeDisplacementField(long seed, int width, int height) {
+        ContentKey key = ContentKey.encoder("galaxy-warp/v1").putLong(seed).putInt(width).putInt(height).build();
+        return diskCacheStore.getGrids(DISPLACEMENT_SPACE, key)
+                .map(maps -> new DisplacementField(maps.get(0), maps.get(1)))
+                .orElseGet(() -> {
+                    DisplacementField field = DisplacementField.compute(seed, width, height,
+                            GalaxyImageRenderer.DEFAULT_INTERPOLATION, GalaxyImageRenderer.DEFAULT_FADE_FUNCTION);
+                    diskCacheStore.putGrids(DISPLACEMENT_SPACE, key, List.<NormalizedNoiseGrid>of(field.dx(), field.dy()));
+                    return field;
+                });
+    }
+}
@@ -3,50 +3,154 @@ package org.dbs.sbgb.infrastructure.cache;
 import lombok.RequiredArgsConstructor;
 import org.dbs.sbgb.domain.factory.NoiseGeneratorFactory;
 import org.dbs.sbgb.domain.mapper.GalaxyStructureMapper;
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.domain.model.GalaxyColorCalculator;
 import org.dbs.sbgb.domain.model.GalaxyImageRenderer;
-import org.dbs.sbgb.domain.model.GalaxyParameters;
+import org.dbs.sbgb.domain.model.GalaxyIntensityField;
+import org.dbs.sbgb.domain.model.ImageDownsampler;
+import org.dbs.sbgb.domain.model.ImageEncoding;
+import org.dbs.sbgb.domain.model.ImageFormat;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
 import org.dbs.sbgb.domain.service.BloomApplicator;
+import org.dbs.sbgb.domain.service.ImageSerializer;
 import org.dbs.sbgb.domain.service.StarFieldApplicator;
 import org.dbs.sbgb.domain.strategy.GalaxyGeneratorFactory;
 import org.dbs.sbgb.port.in.GalaxyRequestCmd;
 import org.dbs.sbgb.port.out.GalaxyImageComputationPort;
+import org.dbs.sbgb.port.out.GalaxyIntensityFieldComputationPort;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 
 import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
 
 /**
- * Adaptateur de calcul de l'image de la galaxie avec mise en cache Caffeine.
- * La clé de cache est le configHash (hash des paramètres structurants).
+ * Adaptateur de calcul de l'image de la galaxie à partir du champ d'intensité mis en cache.
+ * Seul le champ structurel (clé configKey) est en cache ; couleurs, étoiles et bloom
+ * sont appliqués à chaque requête, un changement cosmétique ne relance donc pas le générateur.
+ * L'image encodée (PNG, QOI ou JPEG) est mise en cache par (configKey, cosmeticKey, encodage) : en mémoire (cache {@code galaxyPng})
+ * puis sur disque ({@link DiskCacheStore}), d'où il remonte en mémoire au premier accès.
+ * Chaque rendu pleine résolution laisse aussi sa vignette de notation, réduite par moyenne de surface,
+ * dans les mêmes deux niveaux : noter une galaxie déjà affichée ne relance aucun rendu.
+ * {@link #renderUncached} contourne tous ces niveaux pour les rendus réduits et éphémères.
  */
 @Component
 @RequiredArgsConstructor
 public class CachedGalaxyImageAdapter implements GalaxyImageComputationPort {
 
+    static final String ENCODED_SPACE = "galaxy-encoded";
+    static final String THUMBNAIL_SPACE = "galaxy-thumbnail";
+    static final String ENCODED_CACHE = "galaxyPng";
+
     private final GalaxyStructureMapper galaxyStructureMapper;
+    private final GalaxyIntensityFieldComputationPort galaxyIntensityFieldComputationPort;
     private final GalaxyGeneratorFactory galaxyGeneratorFactory;
     private final NoiseGeneratorFactory noiseGeneratorFactory;
     private final StarFieldApplicator starFieldApplicator;
     private final BloomApplicator bloomApplicator;
+    private final TileRenderEngine tileRenderEngine;
+    private final ImageSerializer imageSerializer;
+    private final DiskCacheStore diskCacheStore;
+    private final CacheManager cacheManager;
 
     @Override
-    @Cacheable(value = "galaxyImage", key = "#p0")
-    public BufferedImage computeImage(int configHash, GalaxyRequestCmd cmd) {
-        GalaxyParameters parameters = galaxyStructureMapper.toGalaxyParameters(cmd);
+    public BufferedImage computeImage(ContentKey configKey, GalaxyRequestCmd cmd) {
+        GalaxyIntensityField field = galaxyIntensityFieldComputationPort.computeIntensityField(configKey, cmd);
         GalaxyColorCalculator colorCalculator = galaxyStructureMapper.createColorCalculator(cmd.getColorParameters());
 
         GalaxyImageRenderer renderer = new GalaxyImageRenderer.Builder()
                 .withWidth(cmd.getWidth())
                 .withHeight(cmd.getHeight())
-                .withParameters(parameters)
+                .withParameters(galaxyStructureMapper.toGalaxyParameters(cmd))
                 .withColorCalculator(colorCalculator)
+                .withStarFieldApplicator(starFieldApplicator)
+                .withBloomApplicator(bloomApplicator)
+                .withTileRenderEngine(tileRenderEngine)
+                .build();
+
+        return renderer.applyCosmetics(field, cmd.getSeed());
+    }
+
+    @Override
+    public BufferedImage renderUncached(GalaxyRequestCmd cmd) {
+        GalaxyImageRenderer renderer = new GalaxyImageRenderer.Builder()
+                .withWidth(cmd.getWidth())
+                .withHeight(cmd.getHeight())
+                .withParameters(galaxyStructureMapper.toGalaxyParameters(cmd))
+                .withColorCalculator(galaxyStructureMapper.createColorCalculator(cmd.getColorParameters()))
                 .withGeneratorFactory(galaxyGeneratorFactory)
                 .withNoiseGeneratorFactory(noiseGeneratorFactory)
                 .withStarFieldApplicator(starFieldApplicator)
                 .withBloomApplicator(bloomApplicator)
+                .withTileRenderEngine(tileRenderEngine)
                 .build();
 
         return renderer.create(cmd.getSeed());
     }
+
+    @Override
+    @Cacheable(value = "galaxyPng", key = "#p0 + '/' + #p1 + '/' + #p3.cacheKey()", sync = true)
+    public byte[] computeEncoded(ContentKey configKey, ContentKey cosmeticKey, GalaxyRequestCmd cmd,
+                                 ImageEncoding encoding) {
+        ContentKey renderKey = ContentKey.encoder("galaxy-render/v3").putKey(configKey).putKey(cosmeticKey)
+                .putString(encoding.cacheKey()).build();
+        return diskCacheStore.getBytes(ENCODED_SPACE, renderKey).orElseGet(() -> {
+            BufferedImage image = computeImage(configKey, cmd);
+            byte[] encoded = encode(image, encoding);
+            diskCacheStore.putBytes(ENCODED_SPACE, renderKey, encoded);
+            storeThumbnail(configKey, cosmeticKey, image);
+            return encoded;
+        });
+    }
+
+    @Override
+    public Optional<byte[]> findThumbnail(ContentKey configKey, ContentKey cosmeticKey) {
+        Cache cache = cacheManager.getCache(ENCODED_CACHE);
+        byte[] cached = cache != null ? cache.get(thumbnailCacheKey(configKey, cosmeticKey), byte[].class) : null;
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<byte[]> stored = diskCacheStore.getBytes(THUMBNAIL_SPACE, thumbnailKey(configKey, cosmeticKey));
+        stored.ifPresent(bytes -> putInMemory(configKey, cosmeticKey, bytes));
+        return stored;
+    }
+
+    /** Réduit le rendu qui vient d'être calculé ; déjà présente, la vignette n'est pas recalculée. */
+    private void storeThumbnail(ContentKey configKey, ContentKey cosmeticKey, BufferedImage image) {
+        ContentKey key = thumbnailKey(configKey, cosmeticKey);
+        if (diskCacheStore.contains(THUMBNAIL_SPACE, key)) {
+            return;
+        }
+        BufferedImage thumbnail = new ImageDownsampler(tileRenderEngine).fitWithin(image, ImageDownsampler.THUMBNAIL_SIZE);
+        byte[] bytes = encode(thumbnail, ImageEncoding.download(ImageFormat.PNG));
+        diskCacheStore.putBytes(THUMBNAIL_SPACE, key, bytes);
+        putInMemory(configKey, cosmeticKey, bytes);
+    }
+
+    private void putInMemory(ContentKey configKey, ContentKey cosmeticKey, byte[] thumbnail) {
+        Cache cache = cacheManager.getCache(ENCODED_CACHE);
+        if (cache != null) {
+            cache.put(thumbnailCacheKey(configKey, cosmeticKey), thumbnail);
+        }
+    }
+
+    private static ContentKey thumbnailKey(ContentKey configKey, ContentKey cosmeticKey) {
+        return ContentKey.encoder("galaxy-thumbnail/v1").putKey(configKey).putKey(cosmeticKey).build();
+    }
+
+    private static String thumbnailCacheKey(ContentKey configKey, ContentKey cosmeticKey) {
+        return configKey + "/" + cosmeticKey + "/thumbnail";
+    }
+
+    private byte[] encode(BufferedImage image, ImageEncoding encoding) {
+        try {
+            return imageSerializer.toByteArray(image, encoding);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,65 @@
+package org.dbs.sbgb.infrastructure.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.dbs.sbgb.domain.factory.NoiseGeneratorFactory;
+import org.dbs.sbgb.domain.mapper.GalaxyStructureMapper;
+import org.dbs.sbgb.domain.model.ContentKey;
+import org.dbs.sbgb.domain.model.DisplacementField;
+import org.dbs.sbgb.domain.model.GalaxyImageRenderer;
+import org.dbs.sbgb.domain.model.GalaxyIntensityField;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
+import org.dbs.sbgb.domain.strategy.GalaxyGeneratorFactory;
+import org.dbs.sbgb.port.in.GalaxyRequestCmd;
+import org.dbs.sbgb.port.out.DisplacementFieldComputationPort;
+import org.dbs.sbgb.port.out.GalaxyIntensityFieldComputationPort;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adaptateur de calcul du champ d'intensité structurel avec mise en cache Caffeine.
+ * La clé de cache est le configKey : mêmes paramètres structurants = même champ,
+ * quelles que soient les couleurs, les étoiles ou le bloom demandés.
+ * {@code sync = true} : les requêtes simultanées sur la même clé partagent un seul calcul.
+ * Sur un défaut du cache mémoire, le champ est d'abord cherché dans le cache disque ({@link DiskCacheStore}).
+ * Les cartes du domain warp viennent de leur propre cache ({@link DisplacementFieldComputationPort}) :
+ * un changement de la seule force du warp ne réévalue que le générateur.
+ */
+@Component
+@RequiredArgsConstructor
+public class CachedGalaxyIntensityFieldAdapter implements GalaxyIntensityFieldComputationPort {
+
+    static final String INTENSITY_SPACE = "galaxy-intensity";
+
+    private final GalaxyStructureMapper galaxyStructureMapper;
+    private final GalaxyGeneratorFactory galaxyGeneratorFactory;
+    private final NoiseGeneratorFactory noiseGeneratorFactory;
+    private final TileRenderEngine tileRenderEngine;
+    private final DiskCacheStore diskCacheStore;
+    private final DisplacementFieldComputationPort displacementFieldComputationPort;
+
+    @Override
+    @Cacheable(value = "galaxyIntensity", key = "#p0", sync = true)
+    public GalaxyIntensityField computeIntensityField(ContentKey configKey, GalaxyRequestCmd cmd) {
+        return diskCacheStore.getIntensityField(INTENSITY_SPACE, configKey).orElseGet(() -> {
+            GalaxyIntensityField field = computeField(cmd);
+            diskCacheStore.putIntensityField(INTENSITY_SPACE, configKey, field);
+            return field;
+        });
+    }
+
+    private GalaxyIntensityField computeField(GalaxyRequestCmd cmd) {
+        GalaxyImageRenderer renderer = new GalaxyImageRenderer.Builder()
+                .withWidth(cmd.getWidth())
+                .withHeight(cmd.getHeight())
+                .withParameters(galaxyStructureMapper.toGalaxyParameters(cmd))
+                .withGeneratorFactory(galaxyGeneratorFactory)
+                .withNoiseGeneratorFactory(noiseGeneratorFactory)
+                .withTileRenderEngine(tileRenderEngine)
+                .build();
+
+        DisplacementField displacementField = renderer.isWarpEnabled()
+                ? displacementFieldComputationPort.computeDisplacementField(cmd.getSeed(), cmd.getWidth(), cmd.getHeight())
+                : null;
+        return renderer.computeIntensityField(cmd.getSeed(), displacementField);
+    }
+}
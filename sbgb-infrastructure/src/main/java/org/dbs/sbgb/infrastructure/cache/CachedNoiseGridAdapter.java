@@ -2,41 +2,154 @@ package org.dbs.sbgb.infrastructure.cache;
 
 import de.articdive.jnoise.core.api.functions.Interpolation;
 import de.articdive.jnoise.generators.noise_parameters.fade_functions.FadeFunction;
+import lombok.RequiredArgsConstructor;
+import org.dbs.sbgb.domain.model.ContentKey;
+import org.dbs.sbgb.domain.model.NestedLatticeSampler;
+import org.dbs.sbgb.domain.model.NoiseEngine;
 import org.dbs.sbgb.domain.model.NormalizedNoiseGrid;
 import org.dbs.sbgb.domain.model.NoiseImageCalculator;
 import org.dbs.sbgb.domain.model.NoiseType;
 import org.dbs.sbgb.domain.model.PerlinGenerator;
 import org.dbs.sbgb.port.in.ImageRequestCmd;
 import org.dbs.sbgb.port.out.NoiseGridComputationPort;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Adaptateur de calcul de grilles de bruit avec mise en cache Caffeine.
- * La clé de cache est le configHash : même params structurants = même grille.
+ * La clé de cache est le configKey : même params structurants = même grille.
+ * {@code sync = true} : les requêtes simultanées sur la même clé partagent un seul calcul.
+ * Sur un défaut du cache mémoire, la grille est d'abord cherchée dans le cache disque
+ * ({@link DiskCacheStore}) ; une grille relue du disque remonte ainsi dans le cache mémoire.
+ * {@link #findCachedGrids} consulte les deux niveaux sans jamais calculer : les vignettes de notation
+ * en dérivent leur mipmap.
+ * {@link #computeGridsProgressively} évalue les mêmes grilles par réseaux emboîtés pour le rendu progressif ;
+ * les grilles complètes rejoignent alors les deux niveaux de cache comme un calcul direct.
+ * Le {@link NoiseEngine} de la requête choisit l'évaluation sans changer la clé : les moteurs donnent la même grille
+ * à la précision float près.
  */
 @Component
+@RequiredArgsConstructor
 public class CachedNoiseGridAdapter implements NoiseGridComputationPort {
 
+    static final String SINGLE_LAYER_SPACE = "noise-grid";
+    static final String MULTI_LAYER_SPACE = "noise-layers";
+    static final String GRID_CACHE = "noiseGrid";
+
+    private final DiskCacheStore diskCacheStore;
+    private final CacheManager cacheManager;
+
+    @Override
+    @Cacheable(value = GRID_CACHE, key = "#p0", sync = true)
+    public NormalizedNoiseGrid computeSingleLayerGrid(ContentKey configKey, ImageRequestCmd.SizeCmd sizeCmd) {
+        return diskCacheStore.getGrid(SINGLE_LAYER_SPACE, configKey).orElseGet(() -> {
+            NormalizedNoiseGrid grid = computeGrid(sizeCmd);
+            diskCacheStore.putGrid(SINGLE_LAYER_SPACE, configKey, grid);
+            return grid;
+        });
+    }
+
     @Override
-    @Cacheable(value = "noiseGrid", key = "#p0")
-    public NormalizedNoiseGrid computeSingleLayerGrid(int configHash, ImageRequestCmd.SizeCmd sizeCmd) {
+    @Cacheable(value = GRID_CACHE, key = "'multi_' + #p0", sync = true)
+    public List<NormalizedNoiseGrid> computeMultiLayerGrids(ContentKey configKey, ImageRequestCmd.SizeCmd sizeCmd) {
+        return diskCacheStore.getGrids(MULTI_LAYER_SPACE, configKey).orElseGet(() -> {
+            List<NormalizedNoiseGrid> grids = computeGrids(sizeCmd);
+            diskCacheStore.putGrids(MULTI_LAYER_SPACE, configKey, grids);
+            return grids;
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<List<NormalizedNoiseGrid>> findCachedGrids(ContentKey configKey, ImageRequestCmd.SizeCmd sizeCmd) {
+        boolean multiLayer = sizeCmd.isUseMultiLayer();
+        Cache cache = cacheManager.getCache(GRID_CACHE);
+        Object cached = cache != null ? cache.get(multiLayer ? "multi_" + configKey : configKey, Object.class) : null;
+        if (cached instanceof NormalizedNoiseGrid grid) {
+            return Optional.of(List.of(grid));
+        }
+        if (cached instanceof List<?> grids) {
+            return Optional.of((List<NormalizedNoiseGrid>) grids);
+        }
+        return multiLayer
+                ? diskCacheStore.getGrids(MULTI_LAYER_SPACE, configKey)
+                : diskCacheStore.getGrid(SINGLE_LAYER_SPACE, configKey).map(List::of);
+    }
+
+    @Override
+    public void computeGridsProgressively(ContentKey configKey, ImageRequestCmd.SizeCmd sizeCmd, List<Integer> strides,
+                                          GridPassListener listener) throws IOException {
+        List<NestedLatticeSampler> samplers = sizeCmd.isUseMultiLayer() ? layerSamplers(sizeCmd) : List.of(sampler(sizeCmd));
+        for (int stride : strides) {
+            List<NormalizedNoiseGrid> grids = samplers.stream().map(sampler -> sampler.refine(stride)).toList();
+            if (stride == 1) {
+                store(configKey, sizeCmd.isUseMultiLayer(), grids);
+            }
+            listener.onPass(stride, grids);
+        }
+    }
+
+    private void store(ContentKey configKey, boolean multiLayer, List<NormalizedNoiseGrid> grids) {
+        Cache cache = cacheManager.getCache(GRID_CACHE);
+        if (multiLayer) {
+            diskCacheStore.putGrids(MULTI_LAYER_SPACE, configKey, grids);
+            if (cache != null) {
+                cache.put("multi_" + configKey, grids);
+            }
+        } else {
+            diskCacheStore.putGrid(SINGLE_LAYER_SPACE, configKey, grids.getFirst());
+            if (cache != null) {
+                cache.put(configKey, grids.getFirst());
+            }
+        }
+    }
+
+    private NestedLatticeSampler sampler(ImageRequestCmd.SizeCmd sizeCmd) {
         PerlinGenerator generator = new PerlinGenerator(
                 NoiseImageCalculator.DEFAULT_INTERPOLATION,
-                NoiseImageCalculator.DEFAULT_FADE_FUNCTION);
+                NoiseImageCalculator.DEFAULT_FADE_FUNCTION,
+                NoiseEngine.resolve(sizeCmd.getNoiseEngine()));
+        return generator.nestedLattice(
+                sizeCmd.getSeed(), sizeCmd.getWidth(), sizeCmd.getHeight(),
+                sizeCmd.getOctaves(), sizeCmd.getPersistence(), sizeCmd.getLacunarity(),
+                sizeCmd.getScale(), resolveNoiseType(sizeCmd.getNoiseType()));
+    }
+
+    private List<NestedLatticeSampler> layerSamplers(ImageRequestCmd.SizeCmd sizeCmd) {
+        if (sizeCmd.getLayers() == null || sizeCmd.getLayers().isEmpty()) {
+            return List.of(sampler(sizeCmd));
+        }
+        return sizeCmd.getLayers().stream()
+                .filter(ImageRequestCmd.LayerCmd::isEnabled)
+                .map(layer -> new PerlinGenerator(Interpolation.COSINE, FadeFunction.CUBIC_POLY,
+                        NoiseEngine.resolve(sizeCmd.getNoiseEngine())).nestedLattice(
+                        sizeCmd.getSeed() + layer.getSeedOffset(),
+                        sizeCmd.getWidth(), sizeCmd.getHeight(),
+                        layer.getOctaves(), layer.getPersistence(), layer.getLacunarity(),
+                        layer.getScale(), resolveNoiseType(layer.getNoiseType())))
+                .toList();
+    }
+
+    private NormalizedNoiseGrid computeGrid(ImageRequestCmd.SizeCmd sizeCmd) {
+        PerlinGenerator generator = new PerlinGenerator(
+                NoiseImageCalculator.DEFAULT_INTERPOLATION,
+                NoiseImageCalculator.DEFAULT_FADE_FUNCTION,
+                NoiseEngine.resolve(sizeCmd.getNoiseEngine()));
         return generator.computeAndNormalize(
                 sizeCmd.getSeed(), sizeCmd.getWidth(), sizeCmd.getHeight(),
                 sizeCmd.getOctaves(), sizeCmd.getPersistence(), sizeCmd.getLacunarity(),
                 sizeCmd.getScale(), resolveNoiseType(sizeCmd.getNoiseType()));
     }
 
-    @Override
-    @Cacheable(value = "noiseGrid", key = "'multi_' + #p0")
-    public List<NormalizedNoiseGrid> computeMultiLayerGrids(int configHash, ImageRequestCmd.SizeCmd sizeCmd) {
+    private List<NormalizedNoiseGrid> computeGrids(ImageRequestCmd.SizeCmd sizeCmd) {
         if (sizeCmd.getLayers() == null || sizeCmd.getLayers().isEmpty()) {
-            return List.of(computeSingleLayerGrid(configHash, sizeCmd));
+            return List.of(computeGrid(sizeCmd));
         }
         return sizeCmd.getLayers().stream()
                 .filter(ImageRequestCmd.LayerCmd::isEnabled)
@@ -45,7 +158,8 @@ public class CachedNoiseGridAdapter implements NoiseGridComputationPort {
     }
 
     private NormalizedNoiseGrid computeLayerGrid(ImageRequestCmd.SizeCmd sizeCmd, ImageRequestCmd.LayerCmd layer) {
-        PerlinGenerator generator = new PerlinGenerator(Interpolation.COSINE, FadeFunction.CUBIC_POLY);
+        PerlinGenerator generator = new PerlinGenerator(Interpolation.COSINE, FadeFunction.CUBIC_POLY,
+                NoiseEngine.resolve(sizeCmd.getNoiseEngine()));
         return generator.computeAndNormalize(
                 sizeCmd.getSeed() + layer.getSeedOffset(),
                 sizeCmd.getWidth(), sizeCmd.getHeight(),
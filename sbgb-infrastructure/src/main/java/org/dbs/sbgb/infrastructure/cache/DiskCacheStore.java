@@ -0,0 +1,359 @@
+package org.dbs.sbgb.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dbs.sbgb.domain.model.ContentKey;
+import org.dbs.sbgb.domain.model.GalaxyIntensityField;
+import org.dbs.sbgb.domain.model.NormalizedNoiseGrid;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+
+/**
+ * Cache disque de second niveau (L2), sous les caches Caffeine en mémoire (L1).
+ * Chaque entrée est un fichier {@code <espace>-<clé>.bin} écrit puis relu par mapping mémoire :
+ * en-tête (magic, version, taille, CRC32C) suivi des données brutes (grilles float ou octets PNG).
+ * L'index (taille et ordre LRU) est reconstruit au démarrage à partir des en-têtes et des dates
+ * de dernier accès : le cache survit au redémarrage du pod. Le total est borné par un budget disque,
+ * les entrées les moins récemment lues sont supprimées en premier.
+ * Une entrée illisible ou dont la somme de contrôle ne correspond pas est supprimée et traitée
+ * comme absente : le L2 ne fait jamais échouer un rendu.
+ */
+@Slf4j
+public final class DiskCacheStore {
+
+    static final int MAGIC = 0x53424742; // "SBGB"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    private static final String SUFFIX = ".bin";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final Map<String, Long> index = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param directory répertoire local des entrées (créé si besoin)
+     * @param maxBytes  budget disque total ; 0 désactive le cache disque
+     */
+    public DiskCacheStore(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        if (isEnabled()) {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create disk cache directory " + directory, e);
+            }
+            loadIndex();
+        }
+    }
+
+    public static DiskCacheStore disabled() {
+        return new DiskCacheStore(null, 0L);
+    }
+
+    public boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    public Optional<NormalizedNoiseGrid> getGrid(String space, ContentKey key) {
+        return getGrids(space, key).map(List::getFirst);
+    }
+
+    public void putGrid(String space, ContentKey key, NormalizedNoiseGrid grid) {
+        putGrids(space, key, List.of(grid));
+    }
+
+    public Optional<List<NormalizedNoiseGrid>> getGrids(String space, ContentKey key) {
+        return read(space, key, payload -> {
+            int count = payload.getInt();
+            List<NormalizedNoiseGrid> grids = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                grids.add(readGrid(payload));
+            }
+            return grids;
+        });
+    }
+
+    public void putGrids(String space, ContentKey key, List<NormalizedNoiseGrid> grids) {
+        long size = Integer.BYTES;
+        for (NormalizedNoiseGrid grid : grids) {
+            size += gridBytes(grid.values().length);
+        }
+        write(space, key, size, payload -> {
+            payload.putInt(grids.size());
+            for (NormalizedNoiseGrid grid : grids) {
+                payload.putInt(grid.width()).putInt(grid.height())
+                        .putDouble(grid.minVal()).putDouble(grid.maxVal());
+                payload.asFloatBuffer().put(grid.values());
+                payload.position(payload.position() + grid.values().length * Float.BYTES);
+            }
+        });
+    }
+
+    public Optional<GalaxyIntensityField> getIntensityField(String space, ContentKey key) {
+        return read(space, key, payload -> {
+            int width = payload.getInt();
+            int height = payload.getInt();
+            float[] values = new float[width * height];
+            payload.asFloatBuffer().get(values);
+            return new GalaxyIntensityField(values, width, height);
+        });
+    }
+
+    public void putIntensityField(String space, ContentKey key, GalaxyIntensityField field) {
+        write(space, key, 2L * Integer.BYTES + (long) field.values().length * Float.BYTES, payload -> {
+            payload.putInt(field.width()).putInt(field.height());
+            payload.asFloatBuffer().put(field.values());
+        });
+    }
+
+    public Optional<byte[]> getBytes(String space, ContentKey key) {
+        return read(space, key, payload -> {
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            return bytes;
+        });
+    }
+
+    public void putBytes(String space, ContentKey key, byte[] bytes) {
+        write(space, key, bytes.length, payload -> payload.put(bytes));
+    }
+
+    /** Indique si une entrée est indexée, sans la lire ni compter de succès ou de défaut. */
+    public synchronized boolean contains(String space, ContentKey key) {
+        return isEnabled() && index.containsKey(fileName(space, key));
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public synchronized long sizeInBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int entryCount() {
+        return index.size();
+    }
+
+    private <T> Optional<T> read(String space, ContentKey key, Function<ByteBuffer, T> decoder) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        String name = fileName(space, key);
+        synchronized (this) {
+            if (index.get(name) == null) {
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+        }
+        Path file = directory.resolve(name);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ByteBuffer payload = validatedPayload(mapped);
+            if (payload == null) {
+                log.warn("Disk cache entry {} is corrupted, removing it", name);
+                remove(name);
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+            T value = decoder.apply(payload);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            hits.incrementAndGet();
+            return Optional.of(value);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Disk cache entry {} is unreadable, removing it: {}", name, e.toString());
+            remove(name);
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    private void write(String space, ContentKey key, long payloadBytes, PayloadWriter writer) {
+        long fileBytes = HEADER_BYTES + payloadBytes;
+        if (!isEnabled() || fileBytes > maxBytes || fileBytes > Integer.MAX_VALUE) {
+            return;
+        }
+        String name = fileName(space, key);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, name, ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileBytes);
+                ByteBuffer payload = mapped.slice(HEADER_BYTES, (int) payloadBytes);
+                writer.write(payload);
+                CRC32C crc = new CRC32C();
+                crc.update(mapped.slice(HEADER_BYTES, (int) payloadBytes));
+                mapped.putInt(0, MAGIC)
+                        .putInt(Integer.BYTES, VERSION)
+                        .putLong(2 * Integer.BYTES, payloadBytes)
+                        .putInt(2 * Integer.BYTES + Long.BYTES, (int) crc.getValue());
+                mapped.force();
+            }
+            moveInPlace(temp, directory.resolve(name));
+            register(name, fileBytes);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cannot write disk cache entry {}: {}", name, e.toString());
+            deleteQuietly(temp);
+        }
+    }
+
+    /** Retourne les données si l'en-tête et la somme de contrôle sont valides, sinon {@code null}. */
+    static ByteBuffer validatedPayload(ByteBuffer file) {
+        if (file.capacity() < HEADER_BYTES
+                || file.getInt(0) != MAGIC
+                || file.getInt(Integer.BYTES) != VERSION) {
+            return null;
+        }
+        long payloadBytes = file.getLong(2 * Integer.BYTES);
+        if (payloadBytes != file.capacity() - HEADER_BYTES) {
+            return null;
+        }
+        ByteBuffer payload = file.slice(HEADER_BYTES, (int) payloadBytes);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue() == file.getInt(2 * Integer.BYTES + Long.BYTES) ? payload : null;
+    }
+
+    private static NormalizedNoiseGrid readGrid(ByteBuffer payload) {
+        int width = payload.getInt();
+        int height = payload.getInt();
+        double minVal = payload.getDouble();
+        double maxVal = payload.getDouble();
+        float[] values = new float[width * height];
+        payload.asFloatBuffer().get(values);
+        payload.position(payload.position() + values.length * Float.BYTES);
+        return new NormalizedNoiseGrid(values, minVal, maxVal, width, height);
+    }
+
+    private static long gridBytes(int valueCount) {
+        return 2L * Integer.BYTES + 2L * Double.BYTES + (long) valueCount * Float.BYTES;
+    }
+
+    private synchronized void register(String name, long fileBytes) {
+        Long previous = index.put(name, fileBytes);
+        totalBytes += fileBytes - (previous != null ? previous : 0L);
+        Iterator<Map.Entry<String, Long>> eldest = index.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (entry.getKey().equals(name)) {
+                continue;
+            }
+            totalBytes -= entry.getValue();
+            eldest.remove();
+            deleteQuietly(directory.resolve(entry.getKey()));
+        }
+    }
+
+    private synchronized void remove(String name) {
+        Long size = index.remove(name);
+        if (size != null) {
+            totalBytes -= size;
+        }
+        deleteQuietly(directory.resolve(name));
+    }
+
+    /**
+     * Reconstruit l'index depuis le répertoire : fichiers temporaires et en-têtes invalides supprimés,
+     * entrées insérées de la plus ancienne à la plus récente (ordre LRU), puis budget appliqué.
+     */
+    private void loadIndex() {
+        record Found(String name, long size, FileTime lastAccess) {
+        }
+        List<Found> found = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (!name.endsWith(SUFFIX)) {
+                    deleteQuietly(file);
+                } else if (hasValidHeader(file)) {
+                    found.add(new Found(name, Files.size(file), Files.getLastModifiedTime(file)));
+                } else {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Cannot scan disk cache directory {}: {}", directory, e.toString());
+        }
+        found.sort(Comparator.comparing(Found::lastAccess));
+        synchronized (this) {
+            for (Found entry : found) {
+                register(entry.name(), entry.size());
+            }
+        }
+        log.info("Disk cache {}: {} entries, {} bytes", directory, index.size(), totalBytes);
+    }
+
+    private static boolean hasValidHeader(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    return false;
+                }
+            }
+            return header.getInt(0) == MAGIC
+                    && header.getInt(Integer.BYTES) == VERSION
+                    && header.getLong(2 * Integer.BYTES) == channel.size() - HEADER_BYTES;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void moveInPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Cannot delete disk cache file {}: {}", file, e.toString());
+        }
+    }
+
+    private static String fileName(String space, ContentKey key) {
+        return space + "-" + key.toHex() + SUFFIX;
+    }
+
+    @FunctionalInterface
+    private interface PayloadWriter {
+        void write(ByteBuffer payload);
+    }
+}
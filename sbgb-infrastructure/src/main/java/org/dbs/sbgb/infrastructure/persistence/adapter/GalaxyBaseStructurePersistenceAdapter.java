@@ -1,6 +1,7 @@
 package org.dbs.sbgb.infrastructure.persistence.adapter;
 
 import lombok.RequiredArgsConstructor;
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.domain.model.GalaxyBaseStructure;
 import org.dbs.sbgb.infrastructure.persistence.jpa.GalaxyBaseStructureJpaRepository;
 import org.dbs.sbgb.infrastructure.persistence.mapper.GalaxyBaseStructureMapper;
@@ -33,8 +34,8 @@ public class GalaxyBaseStructurePersistenceAdapter implements GalaxyBaseStructur
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<GalaxyBaseStructure> findByConfigHash(int hash) {
-        return jpaRepository.findByConfigHash(hash).map(mapper::toDomain);
+    public Optional<GalaxyBaseStructure> findByConfigKey(ContentKey configKey) {
+        return jpaRepository.findByConfigKey(configKey).map(mapper::toDomain);
     }
 
     @Override
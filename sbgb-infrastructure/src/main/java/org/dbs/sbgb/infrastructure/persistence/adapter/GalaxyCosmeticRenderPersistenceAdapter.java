@@ -1,6 +1,7 @@
 package org.dbs.sbgb.infrastructure.persistence.adapter;
 
 import lombok.RequiredArgsConstructor;
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.domain.model.GalaxyCosmeticRender;
 import org.dbs.sbgb.infrastructure.persistence.jpa.GalaxyCosmeticRenderJpaRepository;
 import org.dbs.sbgb.infrastructure.persistence.mapper.GalaxyCosmeticRenderMapper;
@@ -39,8 +40,8 @@ public class GalaxyCosmeticRenderPersistenceAdapter implements GalaxyCosmeticRen
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<GalaxyCosmeticRender> findByBaseStructureIdAndCosmeticHash(UUID baseId, int cosmeticHash) {
-        return jpaRepository.findByBaseStructureIdAndCosmeticHash(baseId, cosmeticHash).map(mapper::toDomain);
+    public Optional<GalaxyCosmeticRender> findByBaseStructureIdAndCosmeticKey(UUID baseId, ContentKey cosmeticKey) {
+        return jpaRepository.findByBaseStructureIdAndCosmeticKey(baseId, cosmeticKey).map(mapper::toDomain);
     }
 
     @Override
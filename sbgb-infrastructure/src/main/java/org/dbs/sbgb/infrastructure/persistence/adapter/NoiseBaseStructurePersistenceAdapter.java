@@ -1,6 +1,7 @@
 package org.dbs.sbgb.infrastructure.persistence.adapter;
 
 import lombok.RequiredArgsConstructor;
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.domain.model.NoiseBaseStructure;
 import org.dbs.sbgb.infrastructure.persistence.jpa.NoiseBaseStructureJpaRepository;
 import org.dbs.sbgb.infrastructure.persistence.mapper.NoiseBaseStructureMapper;
@@ -33,8 +34,8 @@ public class NoiseBaseStructurePersistenceAdapter implements NoiseBaseStructureR
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<NoiseBaseStructure> findByConfigHash(int hash) {
-        return jpaRepository.findByConfigHash(hash).map(mapper::toDomain);
+    public Optional<NoiseBaseStructure> findByConfigKey(ContentKey configKey) {
+        return jpaRepository.findByConfigKey(configKey).map(mapper::toDomain);
     }
 
     @Override
@@ -1,6 +1,7 @@
 package org.dbs.sbgb.infrastructure.persistence.adapter;
 
 import lombok.RequiredArgsConstructor;
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.domain.model.NoiseCosmeticRender;
 import org.dbs.sbgb.infrastructure.persistence.jpa.NoiseCosmeticRenderJpaRepository;
 import org.dbs.sbgb.infrastructure.persistence.mapper.NoiseCosmeticRenderMapper;
@@ -39,8 +40,8 @@ public class NoiseCosmeticRenderPersistenceAdapter implements NoiseCosmeticRende
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<NoiseCosmeticRender> findByBaseStructureIdAndCosmeticHash(UUID baseStructureId, int cosmeticHash) {
-        return jpaRepository.findByBaseStructureIdAndCosmeticHash(baseStructureId, cosmeticHash).map(mapper::toDomain);
+    public Optional<NoiseCosmeticRender> findByBaseStructureIdAndCosmeticKey(UUID baseStructureId, ContentKey cosmeticKey) {
+        return jpaRepository.findByBaseStructureIdAndCosmeticKey(baseStructureId, cosmeticKey).map(mapper::toDomain);
     }
 
     @Override
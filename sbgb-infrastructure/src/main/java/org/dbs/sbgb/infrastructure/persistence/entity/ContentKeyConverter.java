@@ -0,0 +1,23 @@
+package org.dbs.sbgb.infrastructure.persistence.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.dbs.sbgb.domain.model.ContentKey;
+
+/**
+ * Stocke une {@link ContentKey} sous sa forme hexadécimale (32 caractères) : lisible en SQL
+ * et indexable de la même façon sur PostgreSQL et H2.
+ */
+@Converter(autoApply = true)
+public class ContentKeyConverter implements AttributeConverter<ContentKey, String> {
+
+    @Override
+    public String convertToDatabaseColumn(ContentKey key) {
+        return key != null ? key.toHex() : null;
+    }
+
+    @Override
+    public ContentKey convertToEntityAttribute(String hex) {
+        return hex != null ? ContentKey.fromHex(hex) : null;
+    }
+}
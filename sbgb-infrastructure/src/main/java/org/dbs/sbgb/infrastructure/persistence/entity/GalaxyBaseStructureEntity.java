@@ -2,6 +2,7 @@ package org.dbs.sbgb.infrastructure.persistence.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.dbs.sbgb.domain.model.ContentKey;
 
 import java.util.UUID;
 
@@ -79,8 +80,8 @@ public class GalaxyBaseStructureEntity {
     @Column(name = "structure_params", columnDefinition = "TEXT")
     private String structureParams;
 
-    @Column(name = "config_hash", nullable = false, unique = true)
-    private int configHash;
+    @Column(name = "config_key", length = ContentKey.HEX_LENGTH, nullable = false, unique = true)
+    private ContentKey configKey;
 
     // Spiral
     @Column(name = "number_of_arms")
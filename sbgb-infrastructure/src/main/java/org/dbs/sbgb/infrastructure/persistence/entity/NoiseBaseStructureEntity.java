@@ -2,6 +2,7 @@ package org.dbs.sbgb.infrastructure.persistence.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.dbs.sbgb.domain.model.ContentKey;
 
 import java.util.UUID;
 
@@ -52,6 +53,6 @@ public class NoiseBaseStructureEntity {
     @Column(name = "layers_config", columnDefinition = "TEXT")
     private String layersConfig;
 
-    @Column(name = "config_hash", nullable = false, unique = true)
-    private int configHash;
+    @Column(name = "config_key", length = ContentKey.HEX_LENGTH, nullable = false, unique = true)
+    private ContentKey configKey;
 }
@@ -2,12 +2,13 @@ package org.dbs.sbgb.infrastructure.persistence.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.dbs.sbgb.domain.model.ContentKey;
 
 import java.util.UUID;
 
 @Entity
 @Table(name = "noise_cosmetic_render",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"base_structure_id", "cosmetic_hash"}))
+        uniqueConstraints = @UniqueConstraint(columnNames = {"base_structure_id", "cosmetic_key"}))
 @Getter
 @Setter
 @Builder
@@ -50,6 +51,6 @@ public class NoiseCosmeticRenderEntity {
     @Column(name = "transparent_background", nullable = false)
     private boolean transparentBackground;
 
-    @Column(name = "cosmetic_hash", nullable = false)
-    private int cosmeticHash;
+    @Column(name = "cosmetic_key", length = ContentKey.HEX_LENGTH, nullable = false)
+    private ContentKey cosmeticKey;
 }
@@ -1,5 +1,6 @@
 package org.dbs.sbgb.infrastructure.persistence.jpa;
 
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.infrastructure.persistence.entity.GalaxyBaseStructureEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -11,7 +12,7 @@ import java.util.UUID;
 
 public interface GalaxyBaseStructureJpaRepository extends JpaRepository<GalaxyBaseStructureEntity, UUID> {
 
-    Optional<GalaxyBaseStructureEntity> findByConfigHash(int configHash);
+    Optional<GalaxyBaseStructureEntity> findByConfigKey(ContentKey configKey);
 
     @Modifying
     @Query("UPDATE GalaxyBaseStructureEntity e SET e.maxNote = :maxNote WHERE e.id = :id")
@@ -1,5 +1,6 @@
 package org.dbs.sbgb.infrastructure.persistence.jpa;
 
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.infrastructure.persistence.entity.GalaxyCosmeticRenderEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -9,7 +10,7 @@ import java.util.UUID;
 
 public interface GalaxyCosmeticRenderJpaRepository extends JpaRepository<GalaxyCosmeticRenderEntity, UUID> {
 
-    Optional<GalaxyCosmeticRenderEntity> findByBaseStructureIdAndCosmeticHash(UUID baseStructureId, int cosmeticHash);
+    Optional<GalaxyCosmeticRenderEntity> findByBaseStructureIdAndCosmeticKey(UUID baseStructureId, ContentKey cosmeticKey);
 
     List<GalaxyCosmeticRenderEntity> findAllByBaseStructureId(UUID baseStructureId);
 }
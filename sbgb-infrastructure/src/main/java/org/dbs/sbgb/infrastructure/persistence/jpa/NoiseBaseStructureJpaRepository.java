@@ -1,5 +1,6 @@
 package org.dbs.sbgb.infrastructure.persistence.jpa;
 
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.infrastructure.persistence.entity.NoiseBaseStructureEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -10,7 +11,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 public interface NoiseBaseStructureJpaRepository extends JpaRepository<NoiseBaseStructureEntity, UUID> {
-    Optional<NoiseBaseStructureEntity> findByConfigHash(int configHash);
+    Optional<NoiseBaseStructureEntity> findByConfigKey(ContentKey configKey);
 
     @Modifying
     @Query("UPDATE NoiseBaseStructureEntity e SET e.maxNote = :maxNote WHERE e.id = :id")
@@ -1,5 +1,6 @@
 package org.dbs.sbgb.infrastructure.persistence.jpa;
 
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.infrastructure.persistence.entity.NoiseCosmeticRenderEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -8,7 +9,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 public interface NoiseCosmeticRenderJpaRepository extends JpaRepository<NoiseCosmeticRenderEntity, UUID> {
-    Optional<NoiseCosmeticRenderEntity> findByBaseStructureIdAndCosmeticHash(UUID baseStructureId, int cosmeticHash);
+    Optional<NoiseCosmeticRenderEntity> findByBaseStructureIdAndCosmeticKey(UUID baseStructureId, ContentKey cosmeticKey);
 
     List<NoiseCosmeticRenderEntity> findAllByBaseStructureId(UUID baseStructureId);
 }
@@ -8,7 +8,7 @@ import org.mapstruct.Mapping;
 @Mapper(componentModel = "spring")
 public interface GalaxyBaseStructureMapper {
 
-    @Mapping(target = "configHash", expression = "java(domain.configHash())")
+    @Mapping(target = "configKey", expression = "java(domain.configKey())")
     GalaxyBaseStructureEntity toEntity(GalaxyBaseStructure domain);
 
     GalaxyBaseStructure toDomain(GalaxyBaseStructureEntity entity);
@@ -8,7 +8,7 @@ import org.mapstruct.Mapping;
 @Mapper(componentModel = "spring")
 public interface GalaxyCosmeticRenderMapper {
 
-    @Mapping(target = "cosmeticHash", expression = "java(domain.cosmeticHash())")
+    @Mapping(target = "cosmeticKey", expression = "java(domain.cosmeticKey())")
     GalaxyCosmeticRenderEntity toEntity(GalaxyCosmeticRender domain);
 
     GalaxyCosmeticRender toDomain(GalaxyCosmeticRenderEntity entity);
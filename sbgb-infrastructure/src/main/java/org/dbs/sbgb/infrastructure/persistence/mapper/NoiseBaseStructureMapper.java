@@ -8,7 +8,7 @@ import org.mapstruct.Mapping;
 @Mapper(componentModel = "spring")
 public interface NoiseBaseStructureMapper {
 
-    @Mapping(target = "configHash", expression = "java(domain.configHash())")
+    @Mapping(target = "configKey", expression = "java(domain.configKey())")
     NoiseBaseStructureEntity toEntity(NoiseBaseStructure domain);
 
     NoiseBaseStructure toDomain(NoiseBaseStructureEntity entity);
@@ -11,7 +11,7 @@ public interface NoiseCosmeticRenderMapper {
     @Mapping(target = "backColor", source = "back")
     @Mapping(target = "middleColor", source = "middle")
     @Mapping(target = "foreColor", source = "fore")
-    @Mapping(target = "cosmeticHash", expression = "java(domain.cosmeticHash())")
+    @Mapping(target = "cosmeticKey", expression = "java(domain.cosmeticKey())")
     NoiseCosmeticRenderEntity toEntity(NoiseCosmeticRender domain);
 
     @Mapping(target = "back", source = "backColor")
@@ -0,0 +1,255 @@
+package org.dbs.sbgb.infrastructure.persistence.migration;
+
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import org.dbs.sbgb.domain.model.ContentKey;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Migration Liquibase : calcule la clé de contenu 128 bits des lignes existantes.
+ * L'encodage v1 de chaque clé est figé ici, champ par champ, tel que les records du domaine le calculaient
+ * à l'écriture de cette migration : une évolution ultérieure du domaine (nouvelle version de clé) ne change pas
+ * ce que la migration a déjà produit.
+ * Les bases galaxie antérieures aux colonnes typées (2026-03-01) n'ont que {@code structure_params} :
+ * les colonnes typées en sont d'abord déduites, pour que la clé soit celle que le service calcule pour ces paramètres.
+ * Si {@code structure_params} n'est pas lisible, la chaîne brute entre dans la clé : deux bases que l'ancien
+ * {@code config_hash} distinguait restent distinctes et l'index unique peut être créé.
+ */
+public class ContentKeyBackfillChange implements CustomTaskChange {
+
+    private static final Pattern STRUCTURE_PARAM = Pattern.compile("\"?(\\w+)\"?\\s*[=:]\\s*\"?([^,\"\\]}\\s]+)");
+
+    private int updatedRows;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try {
+            updatedRows = backfill(connection);
+        } catch (SQLException e) {
+            throw new CustomChangeException("Content key backfill failed", e);
+        }
+    }
+
+    static int backfill(Connection connection) throws SQLException {
+        deriveTypedColumns(connection);
+        return backfill(connection, "noise_base_structure", "config_key", ContentKeyBackfillChange::noiseBaseKey)
+                + backfill(connection, "noise_cosmetic_render", "cosmetic_key", ContentKeyBackfillChange::noiseCosmeticKey)
+                + backfill(connection, "galaxy_base_structure", "config_key", ContentKeyBackfillChange::galaxyBaseKey)
+                + backfill(connection, "galaxy_cosmetic_render", "cosmetic_key",
+                ContentKeyBackfillChange::galaxyCosmeticKey);
+    }
+
+    private static int backfill(Connection connection, String table, String keyColumn, RowKey rowKey)
+            throws SQLException {
+        int count = 0;
+        try (PreparedStatement select = connection.prepareStatement("SELECT * FROM " + table);
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE " + table + " SET " + keyColumn + " = ? WHERE id = ?");
+             ResultSet rows = select.executeQuery()) {
+            while (rows.next()) {
+                update.setString(1, rowKey.compute(rows).toHex());
+                update.setObject(2, rows.getObject("id", UUID.class));
+                update.addBatch();
+                count++;
+            }
+            update.executeBatch();
+        }
+        return count;
+    }
+
+    /** Renseigne les colonnes typées encore toutes nulles à partir de {@code structure_params}, quand il est lisible. */
+    private static void deriveTypedColumns(Connection connection) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("SELECT * FROM galaxy_base_structure");
+             ResultSet rows = select.executeQuery()) {
+            while (rows.next()) {
+                List<TypedColumn> columns = typedColumns(rows.getString("galaxy_type"));
+                Map<String, String> params = parseStructureParams(rows.getString("structure_params"));
+                if (!allNull(rows, columns) || !params.keySet().containsAll(
+                        columns.stream().map(TypedColumn::param).toList())) {
+                    continue;
+                }
+                String assignments = String.join(", ", columns.stream().map(c -> c.column() + " = ?").toList());
+                try (PreparedStatement update = connection.prepareStatement(
+                        "UPDATE galaxy_base_structure SET " + assignments + " WHERE id = ?")) {
+                    for (int i = 0; i < columns.size(); i++) {
+                        update.setObject(i + 1, columns.get(i).parse(params.get(columns.get(i).param())));
+                    }
+                    update.setObject(columns.size() + 1, rows.getObject("id", UUID.class));
+                    update.executeUpdate();
+                }
+            }
+        }
+    }
+
+    static Map<String, String> parseStructureParams(String structureParams) {
+        Map<String, String> params = new HashMap<>();
+        if (structureParams != null) {
+            Matcher matcher = STRUCTURE_PARAM.matcher(structureParams);
+            while (matcher.find()) {
+                params.put(matcher.group(1), matcher.group(2));
+            }
+        }
+        return params;
+    }
+
+    private static ContentKey noiseBaseKey(ResultSet row) throws SQLException {
+        return ContentKey.encoder("noise-base/v1")
+                .putInt(row.getInt("width")).putInt(row.getInt("height")).putInt(row.getInt("seed"))
+                .putInt(row.getInt("octaves"))
+                .putDouble(row.getDouble("persistence")).putDouble(row.getDouble("lacunarity"))
+                .putDouble(row.getDouble("scale"))
+                .putString(row.getString("noise_type")).putBoolean(row.getBoolean("use_multi_layer"))
+                .putString(row.getString("layers_config"))
+                .build();
+    }
+
+    private static ContentKey noiseCosmeticKey(ResultSet row) throws SQLException {
+        return ContentKey.encoder("noise-cosmetic/v1")
+                .putString(row.getString("back_color")).putString(row.getString("middle_color"))
+                .putString(row.getString("fore_color"))
+                .putDouble(row.getDouble("back_threshold")).putDouble(row.getDouble("middle_threshold"))
+                .putString(row.getString("interpolation_type")).putBoolean(row.getBoolean("transparent_background"))
+                .build();
+    }
+
+    private static ContentKey galaxyBaseKey(ResultSet row) throws SQLException {
+        String galaxyType = row.getString("galaxy_type");
+        ContentKey.Encoder encoder = ContentKey.encoder("galaxy-base/v1")
+                .putInt(row.getInt("width")).putInt(row.getInt("height")).putLong(row.getLong("seed"))
+                .putString(galaxyType)
+                .putDouble(row.getDouble("core_size")).putDouble(row.getDouble("galaxy_radius"))
+                .putDouble(row.getDouble("warp_strength"))
+                .putInt(row.getInt("noise_octaves")).putDouble(row.getDouble("noise_persistence"))
+                .putDouble(row.getDouble("noise_lacunarity")).putDouble(row.getDouble("noise_scale"))
+                .putBoolean(row.getBoolean("multi_layer_enabled"))
+                .putDouble(row.getDouble("macro_layer_scale")).putDouble(row.getDouble("macro_layer_weight"))
+                .putDouble(row.getDouble("meso_layer_scale")).putDouble(row.getDouble("meso_layer_weight"))
+                .putDouble(row.getDouble("micro_layer_scale")).putDouble(row.getDouble("micro_layer_weight"));
+        List<TypedColumn> columns = typedColumns(galaxyType);
+        for (TypedColumn column : columns) {
+            column.encode(encoder, row);
+        }
+        String structureParams = row.getString("structure_params");
+        if (structureParams != null && allNull(row, columns)) {
+            encoder.putString(structureParams);
+        }
+        return encoder.build();
+    }
+
+    private static ContentKey galaxyCosmeticKey(ResultSet row) throws SQLException {
+        return ContentKey.encoder("galaxy-cosmetic/v1")
+                .putString(row.getString("color_palette")).putString(row.getString("space_background_color"))
+                .putString(row.getString("core_color")).putString(row.getString("arm_color"))
+                .putString(row.getString("outer_color"))
+                .putBoolean(row.getBoolean("bloom_enabled")).putDouble(row.getDouble("bloom_radius"))
+                .putDouble(row.getDouble("bloom_intensity")).putDouble(row.getDouble("bloom_threshold"))
+                .putBoolean(row.getBoolean("star_field_enabled")).putDouble(row.getDouble("star_density"))
+                .putDouble(row.getDouble("max_star_size"))
+                .putBoolean(row.getBoolean("diffraction_spikes")).putInt(row.getInt("spike_count"))
+                .build();
+    }
+
+    /** Colonnes typées du type de galaxie, dans l'ordre de l'encodage v1. */
+    private static List<TypedColumn> typedColumns(String galaxyType) {
+        return switch (galaxyType != null ? galaxyType : "SPIRAL") {
+            case "VORONOI_CLUSTER" -> List.of(
+                    TypedColumn.integer("cluster_count", "clusterCount"),
+                    TypedColumn.decimal("cluster_size", "clusterSize"),
+                    TypedColumn.decimal("cluster_concentration", "clusterConcentration"));
+            case "ELLIPTICAL", "LENTICULAR" -> List.of(
+                    TypedColumn.decimal("sersic_index", "sersicIndex"),
+                    TypedColumn.decimal("axis_ratio", "axisRatio"),
+                    TypedColumn.decimal("orientation_angle", "orientationAngle"));
+            case "RING" -> List.of(
+                    TypedColumn.decimal("ring_radius", "ringRadius"),
+                    TypedColumn.decimal("ring_width", "ringWidth"),
+                    TypedColumn.decimal("ring_intensity", "ringIntensity"),
+                    TypedColumn.decimal("core_to_ring_ratio", "coreToRingRatio"));
+            case "IRREGULAR" -> List.of(
+                    TypedColumn.decimal("irregularity", "irregularity"),
+                    TypedColumn.integer("irregular_clump_count", "irregularClumpCount"),
+                    TypedColumn.decimal("irregular_clump_size", "irregularClumpSize"));
+            default -> List.of(
+                    TypedColumn.integer("number_of_arms", "numberOfArms"),
+                    TypedColumn.decimal("arm_width", "armWidth"),
+                    TypedColumn.decimal("arm_rotation", "armRotation"),
+                    TypedColumn.decimal("dark_lane_opacity", "darkLaneOpacity"));
+        };
+    }
+
+    private static boolean allNull(ResultSet row, List<TypedColumn> columns) throws SQLException {
+        for (TypedColumn column : columns) {
+            if (row.getObject(column.column()) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Content keys computed for " + updatedRows + " rows";
+    }
+
+    @Override
+    public void setUp() {
+        // Aucun paramètre
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+        // Aucun fichier
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+
+    @FunctionalInterface
+    private interface RowKey {
+        ContentKey compute(ResultSet row) throws SQLException;
+    }
+
+    /** Colonne typée de {@code galaxy_base_structure} et nom du paramètre correspondant dans {@code structure_params}. */
+    private record TypedColumn(String column, String param, boolean isInteger) {
+
+        static TypedColumn integer(String column, String param) {
+            return new TypedColumn(column, param, true);
+        }
+
+        static TypedColumn decimal(String column, String param) {
+            return new TypedColumn(column, param, false);
+        }
+
+        Object parse(String value) {
+            if (value == null || value.equals("null")) {
+                return null;
+            }
+            return isInteger ? Integer.valueOf(value) : Double.valueOf(value);
+        }
+
+        void encode(ContentKey.Encoder encoder, ResultSet row) throws SQLException {
+            if (isInteger) {
+                encoder.putNullableInt(row.getObject(column, Integer.class));
+            } else {
+                encoder.putNullableDouble(row.getObject(column, Double.class));
+            }
+        }
+    }
+}
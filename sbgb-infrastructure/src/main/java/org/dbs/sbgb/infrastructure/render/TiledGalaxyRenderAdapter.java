@@ -0,0 +1,120 @@
+package org.dbs.sbgb.infrastructure.render;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dbs.sbgb.domain.factory.NoiseGeneratorFactory;
+import org.dbs.sbgb.domain.mapper.GalaxyStructureMapper;
+import org.dbs.sbgb.domain.model.GalaxyImageRenderer;
+import org.dbs.sbgb.domain.model.ImageRowSink;
+import org.dbs.sbgb.domain.model.NoiseNormalization;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
+import org.dbs.sbgb.domain.model.TiledImageFormat;
+import org.dbs.sbgb.domain.service.BloomApplicator;
+import org.dbs.sbgb.domain.service.StarFieldApplicator;
+import org.dbs.sbgb.domain.strategy.GalaxyGeneratorFactory;
+import org.dbs.sbgb.port.in.GalaxyRequestCmd;
+import org.dbs.sbgb.port.out.GalaxyTiledRenderPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+/**
+ * Adaptateur de rendu par bandes vers un fichier du répertoire {@code sbgb.render.jobs.directory}.
+ * Aucun cache : ni le champ d'intensité ni l'image ne sont conservés, chaque bande est écrite dès qu'elle est prête
+ * ({@link GalaxyImageRenderer#renderBands}). Un fichier partiel est supprimé en cas d'échec,
+ * un fichier complet l'est une fois expiré ({@link #deleteOutputsOlderThan}).
+ * {@code sbgb.render.jobs.normalization} permet d'estimer les plages de normalisation
+ * ({@link NoiseNormalization}) pour que la première bande soit écrite sans passe préalable.
+ */
+@Slf4j
+@Component
+public class TiledGalaxyRenderAdapter implements GalaxyTiledRenderPort {
+
+    private final GalaxyStructureMapper galaxyStructureMapper;
+    private final GalaxyGeneratorFactory galaxyGeneratorFactory;
+    private final NoiseGeneratorFactory noiseGeneratorFactory;
+    private final StarFieldApplicator starFieldApplicator;
+    private final BloomApplicator bloomApplicator;
+    private final TileRenderEngine tileRenderEngine;
+    private final Path directory;
+    private final int bandRows;
+    private final NoiseNormalization normalization;
+
+    public TiledGalaxyRenderAdapter(GalaxyStructureMapper galaxyStructureMapper,
+                                    GalaxyGeneratorFactory galaxyGeneratorFactory,
+                                    NoiseGeneratorFactory noiseGeneratorFactory,
+                                    StarFieldApplicator starFieldApplicator,
+                                    BloomApplicator bloomApplicator,
+                                    TileRenderEngine tileRenderEngine,
+                                    @Value("${sbgb.render.jobs.directory:${java.io.tmpdir}/sbgb-renders}") Path directory,
+                                    @Value("${sbgb.render.jobs.band-rows:0}") int bandRows,
+                                    @Value("${sbgb.render.jobs.normalization:FULL_SCAN}") NoiseNormalization normalization) {
+        this.galaxyStructureMapper = galaxyStructureMapper;
+        this.galaxyGeneratorFactory = galaxyGeneratorFactory;
+        this.noiseGeneratorFactory = noiseGeneratorFactory;
+        this.starFieldApplicator = starFieldApplicator;
+        this.bloomApplicator = bloomApplicator;
+        this.tileRenderEngine = tileRenderEngine;
+        this.directory = directory;
+        this.bandRows = bandRows;
+        this.normalization = normalization;
+    }
+
+    @Override
+    public Path render(UUID jobId, GalaxyRequestCmd cmd, TiledImageFormat format, IntConsumer rowsWritten)
+            throws IOException {
+        GalaxyImageRenderer renderer = new GalaxyImageRenderer.Builder()
+                .withWidth(cmd.getWidth())
+                .withHeight(cmd.getHeight())
+                .withParameters(galaxyStructureMapper.toGalaxyParameters(cmd))
+                .withColorCalculator(galaxyStructureMapper.createColorCalculator(cmd.getColorParameters()))
+                .withGeneratorFactory(galaxyGeneratorFactory)
+                .withNoiseGeneratorFactory(noiseGeneratorFactory)
+                .withStarFieldApplicator(starFieldApplicator)
+                .withBloomApplicator(bloomApplicator)
+                .withTileRenderEngine(tileRenderEngine)
+                .withNormalization(normalization)
+                .build();
+
+        Files.createDirectories(directory);
+        Path file = directory.resolve("galaxy-" + jobId + "." + format.extension());
+        try (ImageRowSink sink = format.open(file, cmd.getWidth(), cmd.getHeight(), renderer.isOpaqueOutput())) {
+            renderer.renderBands(cmd.getSeed(), bandRows, sink, rowsWritten);
+        } catch (IOException | RuntimeException | Error e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        log.info("Render job {} written to {} ({} bytes)", jobId, file, Files.size(file));
+        return file;
+    }
+
+    @Override
+    public void deleteOutputsOlderThan(Instant cutoff) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> outputs = Files.newDirectoryStream(directory, "galaxy-*")) {
+            for (Path output : outputs) {
+                deleteIfOlderThan(output, cutoff);
+            }
+        } catch (IOException e) {
+            log.warn("Could not list render outputs in {}", directory, e);
+        }
+    }
+
+    private static void deleteIfOlderThan(Path output, Instant cutoff) {
+        try {
+            if (Files.getLastModifiedTime(output).toInstant().isBefore(cutoff) && Files.deleteIfExists(output)) {
+                log.info("Expired render output {} deleted", output);
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete expired render output {}", output, e);
+        }
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -16,8 +18,13 @@ import java.util.concurrent.TimeUnit;
 public class CacheTestConfig {
 
     @Bean
-    public CachedNoiseGridAdapter cachedNoiseGridAdapter() {
-        return new CachedNoiseGridAdapter();
+    public DiskCacheStore diskCacheStore() throws IOException {
+        return new DiskCacheStore(Files.createTempDirectory("sbgb-cache-test"), 64L * 1024 * 1024);
+    }
+
+    @Bean
+    public CachedNoiseGridAdapter cachedNoiseGridAdapter(DiskCacheStore diskCacheStore, CacheManager cacheManager) {
+        return new CachedNoiseGridAdapter(diskCacheStore, cacheManager);
     }
 
     @Bean
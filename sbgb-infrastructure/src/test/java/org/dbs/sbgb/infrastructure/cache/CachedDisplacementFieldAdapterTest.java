@@ -0,0 +1,37 @@
+package org.dbs.sbgb.infrastructure.cache;
+
+import org.dbs.sbgb.domain.model.DisplacementField;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedDisplacementFieldAdapterTest {
+
+    @TempDir
+    Path cacheDirectory;
+
+    @Test
+    void shouldReadMapsBackFromDiskAfterFirstComputation() {
+        DiskCacheStore diskCacheStore = new DiskCacheStore(cacheDirectory, 16L * 1024 * 1024);
+        DisplacementField computed = new CachedDisplacementFieldAdapter(diskCacheStore).computeDisplacementField(7L, 40, 30);
+
+        DisplacementField reread = new CachedDisplacementFieldAdapter(diskCacheStore).computeDisplacementField(7L, 40, 30);
+
+        assertThat(diskCacheStore.hitCount()).isEqualTo(1);
+        assertThat(reread.dx().values()).containsExactly(computed.dx().values());
+        assertThat(reread.dy().values()).containsExactly(computed.dy().values());
+    }
+
+    @Test
+    void shouldComputeDifferentMapsForAnotherSeed() {
+        CachedDisplacementFieldAdapter adapter = new CachedDisplacementFieldAdapter(DiskCacheStore.disabled());
+
+        DisplacementField first = adapter.computeDisplacementField(7L, 40, 30);
+        DisplacementField second = adapter.computeDisplacementField(8L, 40, 30);
+
+        assertThat(second.dx().values()).isNotEqualTo(first.dx().values());
+    }
+}
@@ -2,21 +2,38 @@ package org.dbs.sbgb.infrastructure.cache;
 
 import org.dbs.sbgb.domain.factory.NoiseGeneratorFactory;
 import org.dbs.sbgb.domain.mapper.GalaxyStructureMapper;
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.domain.model.GalaxyColorCalculator;
+import org.dbs.sbgb.domain.model.GalaxyIntensityField;
 import org.dbs.sbgb.domain.model.GalaxyParameters;
+import org.dbs.sbgb.domain.model.ImageEncoding;
+import org.dbs.sbgb.domain.model.ImageFormat;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
 import org.dbs.sbgb.domain.service.BloomApplicator;
+import org.dbs.sbgb.domain.service.ImageSerializer;
 import org.dbs.sbgb.domain.service.StarFieldApplicator;
 import org.dbs.sbgb.domain.strategy.GalaxyGeneratorFactory;
+import org.dbs.sbgb.domain.strategy.SpiralGeneratorStrategy;
 import org.dbs.sbgb.port.in.GalaxyRequestCmd;
+import org.dbs.sbgb.port.in.SpiralParameters;
+import org.dbs.sbgb.port.out.GalaxyIntensityFieldComputationPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 
+import javax.imageio.ImageIO;
 import java.awt.Color;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,49 +44,130 @@ import static org.mockito.Mockito.*;
 class CachedGalaxyImageAdapterTest {
 
     @Mock private GalaxyStructureMapper galaxyStructureMapper;
-    @Mock private GalaxyGeneratorFactory galaxyGeneratorFactory;
-    @Mock private NoiseGeneratorFactory noiseGeneratorFactory;
+    @Mock private GalaxyIntensityFieldComputationPort intensityFieldComputationPort;
     @Mock private StarFieldApplicator starFieldApplicator;
     @Mock private BloomApplicator bloomApplicator;
+    @Mock private GalaxyGeneratorFactory galaxyGeneratorFactory;
+    @Mock private NoiseGeneratorFactory noiseGeneratorFactory;
     @Mock private GalaxyParameters galaxyParameters;
     @Mock private GalaxyColorCalculator colorCalculator;
-    @Mock private org.dbs.sbgb.domain.model.GalaxyIntensityCalculator intensityCalculator;
 
     private CachedGalaxyImageAdapter adapter;
 
     @BeforeEach
     void setUp() {
-        adapter = new CachedGalaxyImageAdapter(
-                galaxyStructureMapper, galaxyGeneratorFactory,
-                noiseGeneratorFactory, starFieldApplicator, bloomApplicator
-        );
+        adapter = adapterWith(DiskCacheStore.disabled());
     }
 
     @Test
-    void shouldComputeImage() {
+    void shouldApplyCosmeticsOnTheStructuralIntensityField() {
         GalaxyRequestCmd cmd = GalaxyRequestCmd.builder()
                 .width(10).height(10).seed(123L).build();
-        
-        when(galaxyParameters.getGalaxyType()).thenReturn(org.dbs.sbgb.domain.model.GalaxyType.SPIRAL);
-        when(galaxyParameters.getDomainWarpParameters()).thenReturn(mock(org.dbs.sbgb.domain.model.parameters.DomainWarpParameters.class));
-        when(galaxyParameters.getMultiLayerNoiseParameters()).thenReturn(mock(org.dbs.sbgb.domain.model.parameters.MultiLayerNoiseParameters.class));
-        
+        float[] values = new float[100];
+        Arrays.fill(values, 0.5f);
+
+        when(intensityFieldComputationPort.computeIntensityField(new ContentKey(0L, 12345L), cmd))
+                .thenReturn(new GalaxyIntensityField(values, 10, 10));
         when(galaxyStructureMapper.toGalaxyParameters(cmd)).thenReturn(galaxyParameters);
         when(galaxyStructureMapper.createColorCalculator(any())).thenReturn(colorCalculator);
-        
-        when(colorCalculator.getSpaceBackgroundColor()).thenReturn(Color.BLACK);
-        when(colorCalculator.calculateGalaxyColor(anyDouble())).thenReturn(Color.WHITE);
-        
-        when(galaxyGeneratorFactory.create(any(), any())).thenReturn(intensityCalculator);
-        when(intensityCalculator.calculateGalaxyIntensity(anyInt(), anyInt())).thenReturn(0.5);
-
+        when(colorCalculator.calculateGalaxyArgb(anyDouble())).thenReturn(Color.WHITE.getRGB());
         when(starFieldApplicator.applyIfEnabled(any(), any(), anyLong())).thenAnswer(i -> i.getArgument(0));
         when(bloomApplicator.applyIfEnabled(any(), any())).thenAnswer(i -> i.getArgument(0));
 
-        BufferedImage result = adapter.computeImage(12345, cmd);
-        
+        BufferedImage result = adapter.computeImage(new ContentKey(0L, 12345L), cmd);
+
         assertThat(result).isNotNull();
         assertThat(result.getWidth()).isEqualTo(10);
         assertThat(result.getHeight()).isEqualTo(10);
+        assertThat(result.getRGB(3, 4)).isEqualTo(Color.WHITE.getRGB());
+        verify(colorCalculator, times(100)).calculateGalaxyArgb(0.5);
+    }
+
+    @Test
+    void shouldServeEncodedPngFromDiskWithoutRenderingAgain(@TempDir Path cacheDirectory) throws Exception {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder()
+                .width(10).height(10).seed(123L).build();
+        ContentKey configKey = new ContentKey(0L, 12345L);
+        ContentKey cosmeticKey = new ContentKey(0L, 678L);
+
+        when(intensityFieldComputationPort.computeIntensityField(configKey, cmd))
+                .thenReturn(new GalaxyIntensityField(new float[100], 10, 10));
+        when(galaxyStructureMapper.toGalaxyParameters(cmd)).thenReturn(galaxyParameters);
+        when(galaxyStructureMapper.createColorCalculator(any())).thenReturn(colorCalculator);
+        when(colorCalculator.calculateGalaxyArgb(anyDouble())).thenReturn(Color.WHITE.getRGB());
+        when(starFieldApplicator.applyIfEnabled(any(), any(), anyLong())).thenAnswer(i -> i.getArgument(0));
+        when(bloomApplicator.applyIfEnabled(any(), any())).thenAnswer(i -> i.getArgument(0));
+
+        DiskCacheStore store = new DiskCacheStore(cacheDirectory, 1024 * 1024);
+        byte[] rendered = adapterWith(store).computeEncoded(configKey, cosmeticKey, cmd, ImageEncoding.preview(ImageFormat.PNG));
+        byte[] reloaded = adapterWith(new DiskCacheStore(cacheDirectory, 1024 * 1024))
+                .computeEncoded(configKey, cosmeticKey, cmd, ImageEncoding.preview(ImageFormat.PNG));
+
+        assertThat(reloaded).isEqualTo(rendered);
+        assertThat(ImageIO.read(new ByteArrayInputStream(reloaded)).getWidth()).isEqualTo(10);
+        verify(intensityFieldComputationPort, times(1)).computeIntensityField(configKey, cmd);
+    }
+
+    @Test
+    void shouldKeepDownsampledThumbnailOfEachFullResolutionRender(@TempDir Path cacheDirectory) throws Exception {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder()
+                .width(400).height(100).seed(123L).build();
+        ContentKey configKey = new ContentKey(0L, 12345L);
+        ContentKey cosmeticKey = new ContentKey(0L, 678L);
+
+        when(intensityFieldComputationPort.computeIntensityField(configKey, cmd))
+                .thenReturn(new GalaxyIntensityField(new float[400 * 100], 400, 100));
+        when(galaxyStructureMapper.toGalaxyParameters(cmd)).thenReturn(galaxyParameters);
+        when(galaxyStructureMapper.createColorCalculator(any())).thenReturn(colorCalculator);
+        when(colorCalculator.calculateGalaxyArgb(anyDouble())).thenReturn(Color.WHITE.getRGB());
+        when(starFieldApplicator.applyIfEnabled(any(), any(), anyLong())).thenAnswer(i -> i.getArgument(0));
+        when(bloomApplicator.applyIfEnabled(any(), any())).thenAnswer(i -> i.getArgument(0));
+
+        CachedGalaxyImageAdapter rendering = adapterWith(new DiskCacheStore(cacheDirectory, 1024 * 1024));
+        assertThat(rendering.findThumbnail(configKey, cosmeticKey)).isEmpty();
+        rendering.computeEncoded(configKey, cosmeticKey, cmd, ImageEncoding.preview(ImageFormat.JPEG));
+
+        byte[] fromMemory = rendering.findThumbnail(configKey, cosmeticKey).orElseThrow();
+        byte[] fromDisk = adapterWith(new DiskCacheStore(cacheDirectory, 1024 * 1024))
+                .findThumbnail(configKey, cosmeticKey).orElseThrow();
+
+        assertThat(fromDisk).isEqualTo(fromMemory);
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(fromDisk));
+        assertThat(thumbnail.getWidth()).isEqualTo(200);
+        assertThat(thumbnail.getHeight()).isEqualTo(50);
+        assertThat(thumbnail.getRGB(100, 25)).isEqualTo(Color.WHITE.getRGB());
+        assertThat(rendering.findThumbnail(configKey, new ContentKey(0L, 679L))).isEmpty();
+    }
+
+    @Test
+    void shouldRenderWithoutTouchingAnyCache(@TempDir Path cacheDirectory) throws Exception {
+        DiskCacheStore store = new DiskCacheStore(cacheDirectory, 1024 * 1024);
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+        CachedGalaxyImageAdapter rendering = new CachedGalaxyImageAdapter(
+                new GalaxyStructureMapper(), intensityFieldComputationPort,
+                new GalaxyGeneratorFactory(List.of(new SpiralGeneratorStrategy())), new NoiseGeneratorFactory(),
+                new StarFieldApplicator(TileRenderEngine.shared()), new BloomApplicator(),
+                TileRenderEngine.shared(), new ImageSerializer(TileRenderEngine.shared()), store, cacheManager);
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder()
+                .width(40).height(30).seed(5L).galaxyRadius(15.0)
+                .spiralParameters(new SpiralParameters(2, 10.0, 3.0, 0.3)).build();
+
+        BufferedImage image = rendering.renderUncached(cmd);
+
+        assertThat(image.getWidth()).isEqualTo(40);
+        assertThat(image.getHeight()).isEqualTo(30);
+        verifyNoInteractions(intensityFieldComputationPort);
+        assertThat(cacheManager.getCacheNames()).isEmpty();
+        try (Stream<Path> files = Files.walk(cacheDirectory)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+    }
+
+    private CachedGalaxyImageAdapter adapterWith(DiskCacheStore store) {
+        return new CachedGalaxyImageAdapter(
+                galaxyStructureMapper, intensityFieldComputationPort, galaxyGeneratorFactory, noiseGeneratorFactory,
+                starFieldApplicator, bloomApplicator,
+                new TileRenderEngine(2, TileRenderEngine.DEFAULT_TILE_SIZE),
+                new ImageSerializer(TileRenderEngine.shared()), store, new ConcurrentMapCacheManager());
     }
 }
@@ -0,0 +1,100 @@
+package org.dbs.sbgb.infrastructure.cache;
+
+import org.dbs.sbgb.domain.factory.NoiseGeneratorFactory;
+import org.dbs.sbgb.domain.mapper.GalaxyStructureMapper;
+import org.dbs.sbgb.domain.model.ContentKey;
+import org.dbs.sbgb.domain.model.DisplacementField;
+import org.dbs.sbgb.domain.model.GalaxyIntensityCalculator;
+import org.dbs.sbgb.domain.model.GalaxyIntensityField;
+import org.dbs.sbgb.domain.model.GalaxyParameters;
+import org.dbs.sbgb.domain.model.GalaxyType;
+import org.dbs.sbgb.domain.model.NormalizedNoiseGrid;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
+import org.dbs.sbgb.domain.model.parameters.DomainWarpParameters;
+import org.dbs.sbgb.domain.model.parameters.MultiLayerNoiseParameters;
+import org.dbs.sbgb.domain.strategy.GalaxyGeneratorFactory;
+import org.dbs.sbgb.port.in.GalaxyRequestCmd;
+import org.dbs.sbgb.port.out.DisplacementFieldComputationPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachedGalaxyIntensityFieldAdapterTest {
+
+    @Mock private GalaxyStructureMapper galaxyStructureMapper;
+    @Mock private GalaxyGeneratorFactory galaxyGeneratorFactory;
+    @Mock private NoiseGeneratorFactory noiseGeneratorFactory;
+    @Mock private GalaxyParameters galaxyParameters;
+    @Mock private GalaxyIntensityCalculator intensityCalculator;
+    @Mock private DisplacementFieldComputationPort displacementFieldComputationPort;
+
+    private CachedGalaxyIntensityFieldAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new CachedGalaxyIntensityFieldAdapter(
+                galaxyStructureMapper, galaxyGeneratorFactory, noiseGeneratorFactory,
+                new TileRenderEngine(2, TileRenderEngine.DEFAULT_TILE_SIZE),
+                DiskCacheStore.disabled(),
+                displacementFieldComputationPort
+        );
+    }
+
+    @Test
+    void shouldComputeIntensityFieldWithoutCosmetics() {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder()
+                .width(10).height(8).seed(123L).build();
+
+        when(galaxyParameters.getGalaxyType()).thenReturn(GalaxyType.SPIRAL);
+        when(galaxyParameters.getDomainWarpParameters()).thenReturn(mock(DomainWarpParameters.class));
+        when(galaxyParameters.getMultiLayerNoiseParameters()).thenReturn(mock(MultiLayerNoiseParameters.class));
+        when(galaxyStructureMapper.toGalaxyParameters(cmd)).thenReturn(galaxyParameters);
+        when(galaxyGeneratorFactory.create(any(), any())).thenReturn(intensityCalculator);
+        when(intensityCalculator.calculateGalaxyIntensity(anyInt(), anyInt())).thenAnswer(i -> i.<Integer>getArgument(0) / 10.0);
+
+        GalaxyIntensityField field = adapter.computeIntensityField(new ContentKey(0L, 12345L), cmd);
+
+        assertThat(field.width()).isEqualTo(10);
+        assertThat(field.height()).isEqualTo(8);
+        assertThat(field.intensityAt(7, 5)).isEqualTo(0.7f);
+        verify(galaxyStructureMapper, never()).createColorCalculator(any());
+        verifyNoInteractions(displacementFieldComputationPort);
+    }
+
+    @Test
+    void shouldWarpWithDisplacementMapsFromTheirCache() {
+        GalaxyRequestCmd cmd = GalaxyRequestCmd.builder()
+                .width(10).height(8).seed(123L).build();
+        DomainWarpParameters warp = mock(DomainWarpParameters.class);
+        when(warp.getWarpStrength()).thenReturn(4.0);
+        when(galaxyParameters.getGalaxyType()).thenReturn(GalaxyType.SPIRAL);
+        when(galaxyParameters.getDomainWarpParameters()).thenReturn(warp);
+        when(galaxyParameters.getMultiLayerNoiseParameters()).thenReturn(mock(MultiLayerNoiseParameters.class));
+        when(galaxyStructureMapper.toGalaxyParameters(cmd)).thenReturn(galaxyParameters);
+        when(galaxyGeneratorFactory.create(any(), any())).thenReturn(intensityCalculator);
+        when(intensityCalculator.calculateGalaxyIntensity(anyInt(), anyInt())).thenAnswer(i -> i.<Integer>getArgument(0) / 10.0);
+        // +0.25 * 4 = one pixel to the right, no vertical shift
+        when(displacementFieldComputationPort.computeDisplacementField(123L, 10, 8))
+                .thenReturn(new DisplacementField(uniform(0.75f), uniform(0.5f)));
+
+        GalaxyIntensityField field = adapter.computeIntensityField(new ContentKey(0L, 54321L), cmd);
+
+        assertThat(field.intensityAt(3, 2)).isEqualTo(0.4f);
+        assertThat(field.intensityAt(9, 2)).isEqualTo(0.9f);
+    }
+
+    private static NormalizedNoiseGrid uniform(float value) {
+        float[] values = new float[10 * 8];
+        Arrays.fill(values, value);
+        return new NormalizedNoiseGrid(values, 0.0, 1.0, 10, 8);
+    }
+}
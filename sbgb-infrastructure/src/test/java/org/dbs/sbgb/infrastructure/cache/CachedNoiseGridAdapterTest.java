@@ -1,5 +1,6 @@
 package org.dbs.sbgb.infrastructure.cache;
 
+import org.dbs.sbgb.domain.model.ContentKey;
 import org.dbs.sbgb.domain.model.NormalizedNoiseGrid;
 import org.dbs.sbgb.port.in.ImageRequestCmd;
 import org.dbs.sbgb.port.out.NoiseGridComputationPort;
@@ -11,6 +12,10 @@ import org.springframework.cache.CacheManager;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @ExtendWith(SpringExtension.class)
@@ -23,6 +28,9 @@ class CachedNoiseGridAdapterTest {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private DiskCacheStore diskCacheStore;
+
     @BeforeEach
     void clearCache() {
         cacheManager.getCache("noiseGrid").clear();
@@ -32,7 +40,7 @@ class CachedNoiseGridAdapterTest {
     void shouldReturnValidGridForSingleLayer() {
         ImageRequestCmd.SizeCmd sizeCmd = buildSizeCmd();
 
-        NormalizedNoiseGrid grid = adapter.computeSingleLayerGrid(12345, sizeCmd);
+        NormalizedNoiseGrid grid = adapter.computeSingleLayerGrid(new ContentKey(0L, 12345L), sizeCmd);
 
         assertThat(grid).isNotNull();
         assertThat(grid.width()).isEqualTo(50);
@@ -42,20 +50,69 @@ class CachedNoiseGridAdapterTest {
     @Test
     void shouldReturnSameInstanceFromCacheOnSecondCall() {
         ImageRequestCmd.SizeCmd sizeCmd = buildSizeCmd();
-        int configHash = 99999;
+        ContentKey configKey = new ContentKey(0L, 99999L);
 
-        NormalizedNoiseGrid first = adapter.computeSingleLayerGrid(configHash, sizeCmd);
-        NormalizedNoiseGrid second = adapter.computeSingleLayerGrid(configHash, sizeCmd);
+        NormalizedNoiseGrid first = adapter.computeSingleLayerGrid(configKey, sizeCmd);
+        NormalizedNoiseGrid second = adapter.computeSingleLayerGrid(configKey, sizeCmd);
 
         assertThat(second).isSameAs(first);
     }
 
     @Test
-    void shouldReturnDifferentGridForDifferentConfigHash() {
+    void shouldReloadGridFromDiskWhenEvictedFromMemory() {
+        ImageRequestCmd.SizeCmd sizeCmd = buildSizeCmd();
+        ContentKey configKey = new ContentKey(0L, 77777L);
+
+        NormalizedNoiseGrid computed = adapter.computeSingleLayerGrid(configKey, sizeCmd);
+        cacheManager.getCache("noiseGrid").clear();
+        long diskHits = diskCacheStore.hitCount();
+        NormalizedNoiseGrid reloaded = adapter.computeSingleLayerGrid(configKey, sizeCmd);
+        NormalizedNoiseGrid promoted = adapter.computeSingleLayerGrid(configKey, sizeCmd);
+
+        assertThat(reloaded).isNotSameAs(computed);
+        assertThat(reloaded.values()).containsExactly(computed.values());
+        assertThat(reloaded.minVal()).isEqualTo(computed.minVal());
+        assertThat(diskCacheStore.hitCount()).isEqualTo(diskHits + 1);
+        assertThat(promoted).isSameAs(reloaded);
+    }
+
+    @Test
+    void shouldFindCachedGridsInMemoryThenOnDiskWithoutComputing() {
+        ImageRequestCmd.SizeCmd sizeCmd = buildSizeCmd();
+        ContentKey configKey = new ContentKey(0L, 66666L);
+
+        assertThat(adapter.findCachedGrids(configKey, sizeCmd)).isEmpty();
+
+        NormalizedNoiseGrid computed = adapter.computeSingleLayerGrid(configKey, sizeCmd);
+        assertThat(adapter.findCachedGrids(configKey, sizeCmd)).hasValueSatisfying(
+                grids -> assertThat(grids).containsExactly(computed));
+
+        cacheManager.getCache("noiseGrid").clear();
+        assertThat(adapter.findCachedGrids(configKey, sizeCmd)).hasValueSatisfying(
+                grids -> assertThat(grids.getFirst().values()).containsExactly(computed.values()));
+    }
+
+    @Test
+    void shouldCacheTheFullGridOfAProgressiveComputation() throws IOException {
+        ImageRequestCmd.SizeCmd sizeCmd = buildSizeCmd();
+        ContentKey configKey = new ContentKey(0L, 77777L);
+        List<Integer> strides = new ArrayList<>();
+
+        adapter.computeGridsProgressively(configKey, sizeCmd, List.of(8, 4, 2, 1),
+                (stride, grids) -> strides.add(stride));
+
+        assertThat(strides).containsExactly(8, 4, 2, 1);
+        NormalizedNoiseGrid direct = adapter.computeSingleLayerGrid(new ContentKey(0L, 77778L), sizeCmd);
+        assertThat(adapter.findCachedGrids(configKey, sizeCmd)).hasValueSatisfying(
+                grids -> assertThat(grids.getFirst().values()).containsExactly(direct.values()));
+    }
+
+    @Test
+    void shouldReturnDifferentGridForDifferentConfigKey() {
         ImageRequestCmd.SizeCmd sizeCmd = buildSizeCmd();
 
-        NormalizedNoiseGrid grid1 = adapter.computeSingleLayerGrid(11111, sizeCmd);
-        NormalizedNoiseGrid grid2 = adapter.computeSingleLayerGrid(22222, sizeCmd);
+        NormalizedNoiseGrid grid1 = adapter.computeSingleLayerGrid(new ContentKey(0L, 11111L), sizeCmd);
+        NormalizedNoiseGrid grid2 = adapter.computeSingleLayerGrid(new ContentKey(0L, 22222L), sizeCmd);
 
         assertThat(grid2).isNotSameAs(grid1);
     }
@@ -64,7 +121,7 @@ class CachedNoiseGridAdapterTest {
     void shouldReturnNonEmptyMultiLayerGrids() {
         ImageRequestCmd.SizeCmd sizeCmd = buildSizeCmd();
 
-        var grids = adapter.computeMultiLayerGrids(55555, sizeCmd);
+        var grids = adapter.computeMultiLayerGrids(new ContentKey(0L, 55555L), sizeCmd);
 
         assertThat(grids).isNotEmpty();
     }
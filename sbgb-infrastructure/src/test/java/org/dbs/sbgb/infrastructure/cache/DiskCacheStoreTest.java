@@ -0,0 +1,106 @@
+package org.dbs.sbgb.infrastructure.cache;
+
+import org.dbs.sbgb.domain.model.ContentKey;
+import org.dbs.sbgb.domain.model.GalaxyIntensityField;
+import org.dbs.sbgb.domain.model.NormalizedNoiseGrid;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiskCacheStoreTest {
+
+    private static final ContentKey KEY = new ContentKey(1L, 2L);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRoundTripGridsFieldsAndBytes() {
+        DiskCacheStore store = new DiskCacheStore(directory, 1024 * 1024);
+        NormalizedNoiseGrid grid = new NormalizedNoiseGrid(new float[]{0f, 0.25f, 0.5f, 1f, 0.75f, 0.1f}, -1.5, 2.5, 3, 2);
+        GalaxyIntensityField field = new GalaxyIntensityField(new float[]{0.1f, 0.2f, 0.3f, 0.4f}, 2, 2);
+
+        store.putGrid("grid", KEY, grid);
+        store.putGrids("grids", KEY, List.of(grid, grid));
+        store.putIntensityField("field", KEY, field);
+        store.putBytes("png", KEY, new byte[]{1, 2, 3});
+
+        NormalizedNoiseGrid reloaded = store.getGrid("grid", KEY).orElseThrow();
+        assertThat(reloaded.values()).containsExactly(grid.values());
+        assertThat(reloaded.minVal()).isEqualTo(-1.5);
+        assertThat(reloaded.maxVal()).isEqualTo(2.5);
+        assertThat(reloaded.width()).isEqualTo(3);
+        assertThat(store.getGrids("grids", KEY).orElseThrow())
+                .hasSize(2)
+                .allSatisfy(g -> assertThat(g.values()).containsExactly(grid.values()));
+        assertThat(store.getIntensityField("field", KEY).orElseThrow().values()).containsExactly(field.values());
+        assertThat(store.getBytes("png", KEY)).hasValueSatisfying(b -> assertThat(b).containsExactly(1, 2, 3));
+        assertThat(store.getBytes("png", new ContentKey(9L, 9L))).isEmpty();
+        assertThat(store.hitCount()).isEqualTo(4);
+        assertThat(store.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReloadIndexAfterRestart() {
+        new DiskCacheStore(directory, 1024 * 1024).putBytes("png", KEY, new byte[100]);
+
+        DiskCacheStore restarted = new DiskCacheStore(directory, 1024 * 1024);
+
+        assertThat(restarted.entryCount()).isEqualTo(1);
+        assertThat(restarted.sizeInBytes()).isEqualTo(DiskCacheStore.HEADER_BYTES + 100L);
+        assertThat(restarted.getBytes("png", KEY)).isPresent();
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntriesOverBudget() {
+        long entryBytes = DiskCacheStore.HEADER_BYTES + 1000L;
+        DiskCacheStore store = new DiskCacheStore(directory, 3 * entryBytes);
+        ContentKey first = new ContentKey(0L, 1L);
+        ContentKey second = new ContentKey(0L, 2L);
+        ContentKey third = new ContentKey(0L, 3L);
+
+        store.putBytes("png", first, new byte[1000]);
+        store.putBytes("png", second, new byte[1000]);
+        store.putBytes("png", third, new byte[1000]);
+        store.getBytes("png", first);
+        store.putBytes("png", new ContentKey(0L, 4L), new byte[1000]);
+
+        assertThat(store.entryCount()).isEqualTo(3);
+        assertThat(store.sizeInBytes()).isLessThanOrEqualTo(3 * entryBytes);
+        assertThat(store.getBytes("png", second)).isEmpty();
+        assertThat(store.getBytes("png", first)).isPresent();
+    }
+
+    @Test
+    void shouldDropEntryWhoseChecksumDoesNotMatch() throws IOException {
+        DiskCacheStore store = new DiskCacheStore(directory, 1024 * 1024);
+        store.putBytes("png", KEY, new byte[]{1, 2, 3, 4});
+        Path file = directory.resolve("png-" + KEY.toHex() + ".bin");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{9}), DiskCacheStore.HEADER_BYTES + 1);
+        }
+
+        assertThat(store.getBytes("png", KEY)).isEmpty();
+        assertThat(Files.exists(file)).isFalse();
+        assertThat(store.entryCount()).isZero();
+    }
+
+    @Test
+    void shouldDoNothingWhenDisabled() {
+        DiskCacheStore store = DiskCacheStore.disabled();
+
+        store.putBytes("png", KEY, new byte[]{1});
+
+        assertThat(store.isEnabled()).isFalse();
+        assertThat(store.getBytes("png", KEY)).isEmpty();
+    }
+}
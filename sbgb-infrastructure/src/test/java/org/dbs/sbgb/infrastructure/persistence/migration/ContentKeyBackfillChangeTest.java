@@ -0,0 +1,106 @@
+package org.dbs.sbgb.infrastructure.persistence.migration;
+
+import org.dbs.sbgb.domain.model.GalaxyBaseStructure;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentKeyBackfillChangeTest {
+
+    private static final String GALAXY_COLUMNS = """
+            id UUID PRIMARY KEY, width INT, height INT, seed BIGINT, galaxy_type VARCHAR(50),
+            core_size DOUBLE, galaxy_radius DOUBLE, warp_strength DOUBLE,
+            noise_octaves INT, noise_persistence DOUBLE, noise_lacunarity DOUBLE, noise_scale DOUBLE,
+            multi_layer_enabled BOOLEAN, macro_layer_scale DOUBLE, macro_layer_weight DOUBLE,
+            meso_layer_scale DOUBLE, meso_layer_weight DOUBLE, micro_layer_scale DOUBLE, micro_layer_weight DOUBLE,
+            structure_params TEXT,
+            number_of_arms INT, arm_width DOUBLE, arm_rotation DOUBLE, dark_lane_opacity DOUBLE,
+            cluster_count INT, cluster_size DOUBLE, cluster_concentration DOUBLE,
+            sersic_index DOUBLE, axis_ratio DOUBLE, orientation_angle DOUBLE,
+            ring_radius DOUBLE, ring_width DOUBLE, ring_intensity DOUBLE, core_to_ring_ratio DOUBLE,
+            irregularity DOUBLE, irregular_clump_count INT, irregular_clump_size DOUBLE,
+            config_key VARCHAR(32)
+            """;
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:backfill-" + UUID.randomUUID());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE noise_base_structure (id UUID PRIMARY KEY, config_key VARCHAR(32))");
+            statement.execute("CREATE TABLE noise_cosmetic_render (id UUID PRIMARY KEY, cosmetic_key VARCHAR(32))");
+            statement.execute("CREATE TABLE galaxy_cosmetic_render (id UUID PRIMARY KEY, cosmetic_key VARCHAR(32))");
+            statement.execute("CREATE TABLE galaxy_base_structure (" + GALAXY_COLUMNS + ")");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void shouldDeriveTypedColumnsOfLegacyRowsFromStructureParams() throws SQLException {
+        UUID id = insertLegacySpiral("SpiralParameters[numberOfArms=3, armWidth=80.0, armRotation=4.5, darkLaneOpacity=null]");
+
+        ContentKeyBackfillChange.backfill(connection);
+
+        try (Statement statement = connection.createStatement();
+             ResultSet row = statement.executeQuery("SELECT * FROM galaxy_base_structure")) {
+            assertThat(row.next()).isTrue();
+            assertThat(row.getObject("number_of_arms", Integer.class)).isEqualTo(3);
+            assertThat(row.getObject("arm_width", Double.class)).isEqualTo(80.0);
+            assertThat(row.getObject("arm_rotation", Double.class)).isEqualTo(4.5);
+            assertThat(row.getObject("dark_lane_opacity", Double.class)).isNull();
+            assertThat(row.getString("config_key")).isEqualTo(new GalaxyBaseStructure(id, null, 0,
+                    500, 400, 42L, "SPIRAL", 0.05, 1500.0, 0.0, 4, 0.5, 2.0, 200.0, false,
+                    1.0, 0.5, 1.0, 0.3, 1.0, 0.2,
+                    "SpiralParameters[numberOfArms=3, armWidth=80.0, armRotation=4.5, darkLaneOpacity=null]",
+                    3, 80.0, 4.5, null, null, null, null, null, null, null, null, null, null, null, null, null, null)
+                    .configKey().toHex());
+        }
+    }
+
+    @Test
+    void shouldKeepLegacyRowsDistinctWhenStructureParamsCannotBeRead() throws SQLException {
+        insertLegacySpiral("arms: three");
+        insertLegacySpiral("arms: four");
+
+        ContentKeyBackfillChange.backfill(connection);
+
+        try (Statement statement = connection.createStatement();
+             ResultSet row = statement.executeQuery(
+                     "SELECT COUNT(DISTINCT config_key), COUNT(number_of_arms) FROM galaxy_base_structure")) {
+            assertThat(row.next()).isTrue();
+            assertThat(row.getInt(1)).isEqualTo(2);
+            assertThat(row.getInt(2)).isZero();
+        }
+    }
+
+    private UUID insertLegacySpiral(String structureParams) throws SQLException {
+        UUID id = UUID.randomUUID();
+        try (var insert = connection.prepareStatement("""
+                INSERT INTO galaxy_base_structure (id, width, height, seed, galaxy_type, core_size, galaxy_radius,
+                    warp_strength, noise_octaves, noise_persistence, noise_lacunarity, noise_scale, multi_layer_enabled,
+                    macro_layer_scale, macro_layer_weight, meso_layer_scale, meso_layer_weight,
+                    micro_layer_scale, micro_layer_weight, structure_params)
+                VALUES (?, 500, 400, 42, 'SPIRAL', 0.05, 1500.0, 0.0, 4, 0.5, 2.0, 200.0, FALSE,
+                    1.0, 0.5, 1.0, 0.3, 1.0, 0.2, ?)
+                """)) {
+            insert.setObject(1, id);
+            insert.setString(2, structureParams);
+            insert.executeUpdate();
+        }
+        return id;
+    }
+}
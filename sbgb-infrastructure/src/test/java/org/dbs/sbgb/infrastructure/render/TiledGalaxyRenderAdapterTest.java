@@ -0,0 +1,109 @@
+package org.dbs.sbgb.infrastructure.render;
+
+import org.dbs.sbgb.domain.factory.NoiseGeneratorFactory;
+import org.dbs.sbgb.domain.mapper.GalaxyStructureMapper;
+import org.dbs.sbgb.domain.model.NoiseNormalization;
+import org.dbs.sbgb.domain.model.RawRgbaFileWriter;
+import org.dbs.sbgb.domain.model.TileRenderEngine;
+import org.dbs.sbgb.domain.model.TiledImageFormat;
+import org.dbs.sbgb.domain.service.BloomApplicator;
+import org.dbs.sbgb.domain.service.StarFieldApplicator;
+import org.dbs.sbgb.domain.strategy.GalaxyGeneratorFactory;
+import org.dbs.sbgb.domain.strategy.SpiralGeneratorStrategy;
+import org.dbs.sbgb.port.in.BloomParameters;
+import org.dbs.sbgb.port.in.GalaxyRequestCmd;
+import org.dbs.sbgb.port.in.SpiralParameters;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TiledGalaxyRenderAdapterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldWriteThePngOfTheJobBandByBand() throws IOException {
+        GalaxyRequestCmd cmd = spiral(160, 120)
+                .bloomParameters(BloomParameters.builder().enabled(true).bloomRadius(6).bloomIntensity(0.5)
+                        .bloomThreshold(0.3).build())
+                .build();
+        List<Integer> progress = new ArrayList<>();
+        UUID jobId = UUID.randomUUID();
+
+        Path file = adapter(32).render(jobId, cmd, TiledImageFormat.PNG, progress::add);
+
+        assertThat(file).isEqualTo(directory.resolve("galaxy-" + jobId + ".png"));
+        BufferedImage image = ImageIO.read(file.toFile());
+        assertThat(image.getWidth()).isEqualTo(160);
+        assertThat(image.getHeight()).isEqualTo(120);
+        assertThat(image.getColorModel().hasAlpha()).isFalse();
+        assertThat(progress).containsExactly(32, 64, 96, 120);
+    }
+
+    @Test
+    void shouldWriteARawRasterOfTheExpectedLength() throws IOException {
+        GalaxyRequestCmd cmd = spiral(100, 130).build();
+
+        Path file = adapter(0).render(UUID.randomUUID(), cmd, TiledImageFormat.RAW_RGBA, rows -> { });
+
+        assertThat(Files.size(file)).isEqualTo(RawRgbaFileWriter.length(100, 130));
+    }
+
+    @Test
+    void shouldDeleteThePartialFileWhenTheRenderFails() {
+        GalaxyRequestCmd cmd = spiral(100, 100).build();
+        UUID jobId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> adapter(10).render(jobId, cmd, TiledImageFormat.PNG, rows -> {
+            if (rows > 50) {
+                throw new UncheckedIOException(new IOException("client gone"));
+            }
+        })).isInstanceOf(UncheckedIOException.class);
+
+        assertThat(directory.resolve("galaxy-" + jobId + ".png")).doesNotExist();
+    }
+
+    @Test
+    void shouldDeleteOnlyOutputsOlderThanTheCutoff() throws IOException {
+        Instant cutoff = Instant.parse("2026-10-18T12:00:00Z");
+        Path expired = Files.writeString(directory.resolve("galaxy-" + UUID.randomUUID() + ".png"), "old");
+        Path recent = Files.writeString(directory.resolve("galaxy-" + UUID.randomUUID() + ".png"), "new");
+        Path unrelated = Files.writeString(directory.resolve("notes.txt"), "keep");
+        Files.setLastModifiedTime(expired, FileTime.from(cutoff.minusSeconds(1)));
+        Files.setLastModifiedTime(recent, FileTime.from(cutoff.plusSeconds(1)));
+        Files.setLastModifiedTime(unrelated, FileTime.from(cutoff.minusSeconds(3600)));
+
+        adapter(0).deleteOutputsOlderThan(cutoff);
+
+        assertThat(expired).doesNotExist();
+        assertThat(recent).exists();
+        assertThat(unrelated).exists();
+    }
+
+    private static GalaxyRequestCmd.GalaxyRequestCmdBuilder spiral(int width, int height) {
+        return GalaxyRequestCmd.builder().width(width).height(height).seed(5L).galaxyRadius(100.0)
+                .spiralParameters(new SpiralParameters(2, 40.0, 3.0, 0.3));
+    }
+
+    private TiledGalaxyRenderAdapter adapter(int bandRows) {
+        return new TiledGalaxyRenderAdapter(new GalaxyStructureMapper(),
+                new GalaxyGeneratorFactory(List.of(new SpiralGeneratorStrategy())), new NoiseGeneratorFactory(),
+                new StarFieldApplicator(TileRenderEngine.shared()), new BloomApplicator(), TileRenderEngine.shared(), directory, bandRows,
+                NoiseNormalization.FULL_SCAN);
+    }
+}